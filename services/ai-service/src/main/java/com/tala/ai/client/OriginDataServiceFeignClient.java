@@ -1,10 +1,14 @@
 package com.tala.ai.client;
 
 import com.tala.core.feign.FeignJwtConfig;
+import com.tala.core.security.JwtConstants;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.util.List;
 
 /**
  * Feign Client for Origin Data Service
@@ -25,6 +29,15 @@ public interface OriginDataServiceFeignClient {
     @PostMapping("/api/v1/chat-events")
     ChatEventResponse sendChatEvent(@RequestBody Object chatEventRequest);
     
+    /**
+     * Send a batch of chat events to origin-data-service (used by the outbox relay).
+     * The relay runs outside any request, so the user is passed explicitly.
+     */
+    @PostMapping("/api/v1/chat-events/batch")
+    ChatEventBatchResponse sendChatEventBatch(
+            @RequestHeader(JwtConstants.USER_ID_HEADER) Long userId,
+            @RequestBody List<?> chatEventRequests);
+    
     /**
      * Health check for origin-data-service
      */
@@ -40,6 +53,25 @@ public interface OriginDataServiceFeignClient {
         public String message;
     }
     
+    /**
+     * Chat Event Batch Response DTO
+     */
+    class ChatEventBatchResponse {
+        public Boolean success;
+        public List<ChatEventResult> results;
+    }
+    
+    /**
+     * Per-item result of a batch request
+     */
+    class ChatEventResult {
+        public String sourceEventId;
+        public Boolean success;
+        public Boolean duplicate;
+        public Long originalEventId;
+        public String error;
+    }
+    
     /**
      * Health Response DTO
      */
@@ -0,0 +1,64 @@
+package com.tala.ai.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+import java.time.Duration;
+
+/**
+ * Redis result cache for pattern detection
+ * 
+ * Patterns aggregate a profile's whole history, so a few minutes of staleness is
+ * invisible; cache failures are logged and fall through to ClickHouse.
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class PatternCacheConfig implements CachingConfigurer {
+    
+    public static final String CACHE_NAME = "patterns";
+    
+    @Value("${ai.patterns.cache-ttl:PT15M}")
+    private Duration cacheTtl;
+    
+    @Bean
+    public RedisCacheManagerBuilderCustomizer patternCacheCustomizer() {
+        return builder -> builder.withCacheConfiguration(CACHE_NAME, RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith("tala:ai:")
+                .entryTtl(cacheTtl)
+                .disableCachingNullValues());
+    }
+    
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new CacheErrorHandler() {
+            @Override
+            public void handleCacheGetError(RuntimeException e, Cache cache, Object key) {
+                log.warn("Pattern cache read failed for {}: {}", key, e.getMessage());
+            }
+            
+            @Override
+            public void handleCachePutError(RuntimeException e, Cache cache, Object key, Object value) {
+                log.warn("Pattern cache write failed for {}: {}", key, e.getMessage());
+            }
+            
+            @Override
+            public void handleCacheEvictError(RuntimeException e, Cache cache, Object key) {
+                log.warn("Pattern cache evict failed for {}: {}", key, e.getMessage());
+            }
+            
+            @Override
+            public void handleCacheClearError(RuntimeException e, Cache cache) {
+                log.warn("Pattern cache clear failed: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.tala.ai.controller;
 
+import com.tala.ai.dto.FeedingPattern;
+import com.tala.ai.dto.SleepPattern;
 import com.tala.ai.dto.TodayOverviewResponse;
 import com.tala.ai.service.PatternDetectionService;
 import com.tala.ai.service.TodayContentService;
@@ -11,7 +13,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * AI REST API
@@ -26,20 +27,20 @@ public class AIController {
     private final TodayContentService todayContentService;
     
     @GetMapping("/patterns/sleep")
-    public ResponseEntity<List<Map<String, Object>>> getSleepPatterns(
+    public ResponseEntity<List<SleepPattern>> getSleepPatterns(
         @RequestParam Long profileId
     ) {
         log.info("GET /api/v1/ai/patterns/sleep - profileId={}", profileId);
-        List<Map<String, Object>> patterns = patternDetectionService.detectSleepPatterns(profileId);
+        List<SleepPattern> patterns = patternDetectionService.detectSleepPatterns(profileId);
         return ResponseEntity.ok(patterns);
     }
     
     @GetMapping("/patterns/feeding")
-    public ResponseEntity<List<Map<String, Object>>> getFeedingPatterns(
+    public ResponseEntity<List<FeedingPattern>> getFeedingPatterns(
         @RequestParam Long profileId
     ) {
         log.info("GET /api/v1/ai/patterns/feeding - profileId={}", profileId);
-        List<Map<String, Object>> patterns = patternDetectionService.detectFeedingPatterns(profileId);
+        List<FeedingPattern> patterns = patternDetectionService.detectFeedingPatterns(profileId);
         return ResponseEntity.ok(patterns);
     }
     
@@ -1,8 +1,8 @@
 package com.tala.ai.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tala.ai.client.OriginDataServiceFeignClient;
 import com.tala.ai.client.UserServiceFeignClient;
+import com.tala.ai.service.OriginDataOutboxService;
 import com.tala.core.exception.ErrorCode;
 import com.tala.core.exception.TalaException;
 import com.tala.ai.dto.EventExtractionResult;
@@ -36,7 +36,7 @@ import java.util.stream.Collectors;
  * 1. Frontend sends chat message (text + optional attachments)
  * 2. Backend streams AI thinking process via SSE
  * 3. AI processes: classification → extraction → formatting
- * 4. Send formatted events to origin-data-service
+ * 4. Store assistant message and enqueue events for origin-data-service (outbox)
  * 5. Return final response to frontend
  */
 @RestController
@@ -46,10 +46,10 @@ import java.util.stream.Collectors;
 public class ChatController {
     
     private final AIProcessingOrchestrator orchestrator;
-    private final OriginDataServiceFeignClient originDataServiceFeignClient;
     private final UserServiceFeignClient userServiceFeignClient;
     private final Mem0Service mem0Service;
     private final ChatMessageService chatMessageService;
+    private final OriginDataOutboxService originDataOutboxService;
     private final ContextEnrichmentService contextEnrichmentService;
     private final Executor asyncExecutor;
     
@@ -62,7 +62,7 @@ public class ChatController {
      * - User sends message: "Baby drank 120ml formula at 2pm"
      * - AI streams thinking process
      * - Extracts structured event data
-     * - Sends to origin-data-service
+     * - Enqueues events for origin-data-service
      * - Returns confirmation
      */
     @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -178,9 +178,8 @@ public class ChatController {
                 ));
                 
                 // Step 8: Send individual events
+                Map<String, Object> chatEventRequest = null;
                 if (extraction.getEvents() != null && !extraction.getEvents().isEmpty()) {
-                    log.info("Sending {} extracted events to origin-data-service", extraction.getEvents().size());
-                    
                     for (EventExtractionResult.ExtractedEvent event : extraction.getEvents()) {
                         sendEvent(emitter, "event", Map.of(
                                 "eventType", event.getEventType(),
@@ -192,24 +191,11 @@ public class ChatController {
                         ));
                     }
                     
-                    // Step 9: Send to origin-data-service
-                    sendEvent(emitter, "thinking", Map.of(
-                            "stage", "storing_events",
-                            "message", "Saving events to database..."
-                    ));
-                    
+                    // Step 9: Build origin-data-service payload (delivered asynchronously via outbox)
                     try {
-                        String originDataResponse = sendToOriginDataService(request, result);
-                        log.info("Successfully sent {} events to origin-data-service: {}", 
-                                extraction.getEvents().size(), originDataResponse);
-                        
-                        sendEvent(emitter, "storage", Map.of(
-                                "success", true,
-                                "message", "Events stored successfully",
-                                "eventsCount", extraction.getEvents().size()
-                        ));
+                        chatEventRequest = buildChatEventRequest(request, result);
                     } catch (Exception e) {
-                        log.error("Failed to send to origin-data-service", e);
+                        log.error("Failed to build chat event for origin-data-service", e);
                         sendEvent(emitter, "storage", Map.of(
                                 "success", false,
                                 "error", e.getMessage()
@@ -222,7 +208,15 @@ public class ChatController {
                                     result.chatClassificationResult.getInteractionType() : "unknown");
                 }
                 
-                // Step 10: Store assistant message in database
+                // Step 10: Store assistant message and enqueue events in the same transaction
+                if (chatEventRequest != null) {
+                    sendEvent(emitter, "thinking", Map.of(
+                            "stage", "storing_events",
+                            "message", "Saving events to database..."
+                    ));
+                }
+                
+                boolean eventsQueued = false;
                 try {
                     String thinkingProcess = buildThinkingProcess(result);
                     chatMessageService.storeAssistantMessage(
@@ -233,10 +227,31 @@ public class ChatController {
                                     result.chatClassificationResult.getInteractionType().toString() : null,
                             extraction.getConfidence(),
                             extraction,
-                            thinkingProcess
+                            thinkingProcess,
+                            chatEventRequest
                     );
+                    eventsQueued = chatEventRequest != null;
                 } catch (Exception e) {
                     log.warn("Failed to store assistant message", e);
+                    if (chatEventRequest != null) {
+                        eventsQueued = enqueueWithoutMessage(request, chatEventRequest);
+                    }
+                }
+                    
+                if (chatEventRequest != null) {
+                    if (eventsQueued) {
+                        log.info("Queued {} extracted events for origin-data-service", extraction.getEvents().size());
+                        sendEvent(emitter, "storage", Map.of(
+                                "success", true,
+                                "message", "Events queued for storage",
+                                "eventsCount", extraction.getEvents().size()
+                        ));
+                    } else {
+                        sendEvent(emitter, "storage", Map.of(
+                                "success", false,
+                                "error", "Failed to queue events for storage"
+                        ));
+                    }
                 }
                 
                 // Step 11: Store conversation in mem0
@@ -296,17 +311,38 @@ public class ChatController {
     }
     
     /**
-     * Send processed events to origin-data-service
+     * Enqueue the chat event on its own after storing the assistant message failed,
+     * so the extracted events are not lost with the message
+     * 
+     * @return Whether the events were queued
      */
-    private String sendToOriginDataService(ChatRequest request, 
-                                          AIProcessingOrchestrator.ProcessingResult result) throws Exception {
+    private boolean enqueueWithoutMessage(ChatRequest request, Map<String, Object> chatEventRequest) {
+        try {
+            originDataOutboxService.enqueueWithoutMessage(request.profileId, request.userId, chatEventRequest);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to enqueue chat event for origin-data-service", e);
+            return false;
+        }
+    }
+    
+    /**
+     * Build ChatEventRequest payload for origin-data-service.
+     * The payload is stored in the outbox and shipped by OriginDataOutboxRelay.
+     */
+    private Map<String, Object> buildChatEventRequest(ChatRequest request, 
+                                                      AIProcessingOrchestrator.ProcessingResult result) {
         EventExtractionResult extraction = result.eventExtractionResult;
         
-        // Validate required field
+        // Validate required fields
         if (request.profileId == null) {
             throw new TalaException(ErrorCode.BAD_REQUEST, 
                     "profileId is required in chat request");
         }
+        if (request.userId == null) {
+            throw new TalaException(ErrorCode.BAD_REQUEST, 
+                    "userId is required in chat request");
+        }
         
         // Build ChatEventRequest for origin-data-service
         Map<String, Object> chatEventRequest = new HashMap<>();
@@ -335,11 +371,7 @@ public class ChatController {
         
         chatEventRequest.put("events", events);
         
-        // Send to origin-data-service
-        OriginDataServiceFeignClient.ChatEventResponse response = originDataServiceFeignClient.sendChatEvent(chatEventRequest);
-        log.info("Successfully sent {} events to origin-data-service", events.size());
-        
-        return response.message != null ? response.message : "Events sent successfully";
+        return chatEventRequest;
     }
     
     /**
@@ -500,20 +532,18 @@ public class ChatController {
             // Process
             AIProcessingOrchestrator.ProcessingResult result = orchestrator.processInput(orchRequest);
             
-            // Send to origin-data-service if we have events
-            if (result.success && result.eventExtractionResult != null && 
-                result.eventExtractionResult.getEvents() != null &&
-                !result.eventExtractionResult.getEvents().isEmpty()) {
-                
-                try {
-                    sendToOriginDataService(request, result);
-                } catch (Exception e) {
-                    log.error("Failed to send to origin-data-service", e);
-                }
-            }
-            
-            // Store assistant message
+            // Store assistant message; events are enqueued for origin-data-service in the same transaction
             if (result.success && result.eventExtractionResult != null) {
+                Map<String, Object> chatEventRequest = null;
+                if (result.eventExtractionResult.getEvents() != null &&
+                    !result.eventExtractionResult.getEvents().isEmpty()) {
+                    try {
+                        chatEventRequest = buildChatEventRequest(request, result);
+                    } catch (Exception e) {
+                        log.error("Failed to build chat event for origin-data-service", e);
+                    }
+                }
+                
                 try {
                     String thinkingProcess = buildThinkingProcess(result);
                     chatMessageService.storeAssistantMessage(
@@ -524,10 +554,14 @@ public class ChatController {
                                     result.chatClassificationResult.getInteractionType().toString() : null,
                             result.eventExtractionResult.getConfidence(),
                             result.eventExtractionResult,
-                            thinkingProcess
+                            thinkingProcess,
+                            chatEventRequest
                     );
                 } catch (Exception e) {
                     log.warn("Failed to store assistant message", e);
+                    if (chatEventRequest != null) {
+                        enqueueWithoutMessage(request, chatEventRequest);
+                    }
                 }
             }
             
@@ -0,0 +1,114 @@
+package com.tala.ai.domain;
+
+import com.tala.core.domain.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+/**
+ * Origin Data Outbox Event Entity
+ *
+ * Transactional outbox row for a chat turn whose extracted events must be
+ * delivered to origin-data-service. Written in the same transaction as the
+ * assistant chat message and relayed asynchronously by OriginDataOutboxRelay.
+ *
+ * @author Tala Team
+ */
+@Entity
+@Table(name = "origin_data_outbox", schema = "ai", indexes = {
+        @Index(name = "idx_origin_data_outbox_idempotency_key", columnList = "idempotency_key", unique = true),
+        @Index(name = "idx_origin_data_outbox_due", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OriginDataOutboxEvent extends BaseEntity {
+
+    /**
+     * Baby profile ID
+     */
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+
+    /**
+     * User ID (propagated to origin-data-service as X-User-Id)
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Assistant chat message this outbox row belongs to
+     */
+    @Column(name = "chat_message_id")
+    private Long chatMessageId;
+
+    /**
+     * Idempotency key, mapped to OriginalEvent.sourceEventId downstream
+     */
+    @Column(name = "idempotency_key", nullable = false, length = 255)
+    private String idempotencyKey;
+
+    /**
+     * ChatEventRequest payload (JSON format)
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "JSONB")
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.JSON)
+    private String payload;
+
+    /**
+     * Delivery status
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    /**
+     * Number of delivery attempts so far
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * Earliest time of the next delivery attempt
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    /**
+     * Last delivery error (if any)
+     */
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    /**
+     * Delivery timestamp
+     */
+    @Column(name = "sent_at")
+    private Instant sentAt;
+
+    /**
+     * OriginalEvent ID returned by origin-data-service
+     */
+    @Column(name = "original_event_id")
+    private Long originalEventId;
+
+    /**
+     * Outbox status enum
+     */
+    public enum OutboxStatus {
+        /** Waiting for (re)delivery */
+        PENDING,
+
+        /** Acknowledged by origin-data-service */
+        SENT,
+
+        /** Retries exhausted, needs manual attention */
+        FAILED
+    }
+}
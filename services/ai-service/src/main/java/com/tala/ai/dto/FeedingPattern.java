@@ -0,0 +1,25 @@
+package com.tala.ai.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Recurring feeding hour from weekly_patterns_mv
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class FeedingPattern implements Serializable {
+    
+    private int hourOfDay;
+    private long feedingCount;
+    private Double avgAmountMl;
+}
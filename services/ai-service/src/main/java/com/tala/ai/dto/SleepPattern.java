@@ -0,0 +1,26 @@
+package com.tala.ai.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Recurring sleep slot (weekday, hour) from weekly_patterns_mv
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class SleepPattern implements Serializable {
+    
+    private int hourOfDay;
+    private int dayOfWeek;
+    private long sleepCount;
+    private Double avgDurationMinutes;
+}
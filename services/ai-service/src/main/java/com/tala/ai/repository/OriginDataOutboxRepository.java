@@ -0,0 +1,44 @@
+package com.tala.ai.repository;
+
+import com.tala.ai.domain.OriginDataOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Origin Data Outbox Repository
+ *
+ * @author Tala Team
+ */
+@Repository
+public interface OriginDataOutboxRepository extends JpaRepository<OriginDataOutboxEvent, Long> {
+
+    /**
+     * Lock a batch of due PENDING rows.
+     * SKIP LOCKED lets several ai-service replicas relay concurrently without
+     * picking up the same rows.
+     */
+    @Query(value = "SELECT * FROM ai.origin_data_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now AND deleted_at IS NULL " +
+            "ORDER BY next_attempt_at " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OriginDataOutboxEvent> lockDueBatch(@Param("now") Instant now, @Param("limit") int limit);
+
+    /**
+     * Delete rows delivered before the cutoff (retention)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM ai.origin_data_outbox WHERE status = 'SENT' AND sent_at < :cutoff", nativeQuery = true)
+    int deleteSentBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Count rows by status (for monitoring)
+     */
+    long countByStatus(OriginDataOutboxEvent.OutboxStatus status);
+}
@@ -27,6 +27,7 @@ import java.util.Map;
 public class ChatMessageService {
     
     private final ChatMessageRepository chatMessageRepository;
+    private final OriginDataOutboxService originDataOutboxService;
     private final ObjectMapper objectMapper;
     
     /**
@@ -73,6 +74,22 @@ public class ChatMessageService {
                                              String interactionType, Double confidence,
                                              EventExtractionResult extractionResult,
                                              String thinkingProcess) {
+        return storeAssistantMessage(profileId, userId, content, interactionType, confidence,
+                extractionResult, thinkingProcess, null);
+    }
+    
+    /**
+     * Store assistant message and, in the same transaction, enqueue the chat event
+     * for asynchronous delivery to origin-data-service (transactional outbox)
+     * 
+     * @param chatEventRequest ChatEventRequest payload for origin-data-service, or null if nothing to deliver
+     */
+    @Transactional
+    public ChatMessage storeAssistantMessage(Long profileId, Long userId, String content,
+                                             String interactionType, Double confidence,
+                                             EventExtractionResult extractionResult,
+                                             String thinkingProcess,
+                                             Map<String, Object> chatEventRequest) {
         try {
             ChatMessage.ChatMessageBuilder builder = ChatMessage.builder()
                     .profileId(profileId)
@@ -111,6 +128,10 @@ public class ChatMessageService {
             log.info("Stored assistant message: id={}, profileId={}, userId={}, type={}", 
                     saved.getId(), profileId, userId, saved.getMessageType());
             
+            if (chatEventRequest != null) {
+                originDataOutboxService.enqueue(profileId, userId, saved.getId(), chatEventRequest);
+            }
+            
             return saved;
             
         } catch (Exception e) {
@@ -0,0 +1,149 @@
+package com.tala.ai.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.ai.client.OriginDataServiceFeignClient;
+import com.tala.ai.domain.OriginDataOutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Origin Data Outbox Relay
+ *
+ * Periodically ships pending outbox rows to origin-data-service in batches.
+ * Runs off the chat request path, so chat latency no longer includes the
+ * origin-data write. Rows are grouped per user because the downstream call
+ * authenticates via X-User-Id.
+ *
+ * @author Tala Team
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OriginDataOutboxRelay {
+    
+    private final OriginDataOutboxService outboxService;
+    private final OriginDataServiceFeignClient originDataServiceFeignClient;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${outbox.origin-data.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${outbox.origin-data.batch-size:50}")
+    private int batchSize;
+    
+    @Value("${outbox.origin-data.retention:P7D}")
+    private Duration retention;
+    
+    /**
+     * Relay due outbox rows
+     */
+    @Scheduled(fixedDelayString = "${outbox.origin-data.poll-interval-ms:1000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        
+        List<OriginDataOutboxEvent> batch;
+        try {
+            batch = outboxService.claimDueBatch(batchSize);
+        } catch (Exception e) {
+            log.error("Failed to claim origin-data outbox batch", e);
+            return;
+        }
+        
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        log.debug("Relaying {} outbox events to origin-data-service", batch.size());
+        
+        Map<Long, List<OriginDataOutboxEvent>> byUser = batch.stream()
+                .collect(Collectors.groupingBy(OriginDataOutboxEvent::getUserId,
+                        LinkedHashMap::new, Collectors.toList()));
+        
+        byUser.forEach(this::sendUserBatch);
+    }
+    
+    /**
+     * Delete delivered rows older than the retention period, so the outbox does not grow forever.
+     * FAILED rows are kept for inspection.
+     */
+    @Scheduled(cron = "${outbox.origin-data.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        try {
+            int deleted = outboxService.purgeSent(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Purged {} sent origin-data outbox events", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge sent origin-data outbox events", e);
+        }
+    }
+    
+    /**
+     * Send one user's rows as a single batch request and record per-item results
+     */
+    private void sendUserBatch(Long userId, List<OriginDataOutboxEvent> events) {
+        List<Map<String, Object>> payloads = new ArrayList<>(events.size());
+        List<OriginDataOutboxEvent> sendable = new ArrayList<>(events.size());
+        
+        for (OriginDataOutboxEvent event : events) {
+            try {
+                payloads.add(objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {}));
+                sendable.add(event);
+            } catch (Exception e) {
+                outboxService.markFailed(event.getId(), "Unreadable payload: " + e.getMessage());
+            }
+        }
+        
+        if (sendable.isEmpty()) {
+            return;
+        }
+        
+        OriginDataServiceFeignClient.ChatEventBatchResponse response;
+        try {
+            response = originDataServiceFeignClient.sendChatEventBatch(userId, payloads);
+        } catch (Exception e) {
+            log.warn("Origin-data batch delivery failed for userId={}, {} events: {}",
+                    userId, sendable.size(), e.getMessage());
+            sendable.forEach(event -> outboxService.markFailed(event.getId(), e.getMessage()));
+            return;
+        }
+        
+        Map<String, OriginDataServiceFeignClient.ChatEventResult> resultsByKey = new LinkedHashMap<>();
+        if (response != null && response.results != null) {
+            for (OriginDataServiceFeignClient.ChatEventResult result : response.results) {
+                if (result.sourceEventId != null) {
+                    resultsByKey.put(result.sourceEventId, result);
+                }
+            }
+        }
+        
+        int sent = 0;
+        for (OriginDataOutboxEvent event : sendable) {
+            OriginDataServiceFeignClient.ChatEventResult result = resultsByKey.get(event.getIdempotencyKey());
+            if (result != null && Boolean.TRUE.equals(result.success)) {
+                outboxService.markSent(event.getId(), result.originalEventId);
+                sent++;
+            } else {
+                outboxService.markFailed(event.getId(),
+                        result != null ? result.error : "No result returned for idempotency key");
+            }
+        }
+        
+        log.info("Relayed {}/{} outbox events to origin-data-service for userId={}",
+                sent, sendable.size(), userId);
+    }
+}
@@ -0,0 +1,177 @@
+package com.tala.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.ai.domain.OriginDataOutboxEvent;
+import com.tala.ai.repository.OriginDataOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Origin Data Outbox Service
+ *
+ * Transactional side of the chat event outbox:
+ * - enqueue() joins the caller's transaction (storeAssistantMessage)
+ * - enqueueWithoutMessage() is the fallback when the assistant message could not be stored
+ * - claimDueBatch() leases due rows so only one relay ships them
+ * - markSent() / markFailed() record delivery outcome with exponential backoff
+ * - purgeSent() removes delivered rows after the retention period
+ *
+ * @author Tala Team
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OriginDataOutboxService {
+    
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    private final OriginDataOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${outbox.origin-data.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${outbox.origin-data.initial-backoff:PT2S}")
+    private Duration initialBackoff;
+    
+    @Value("${outbox.origin-data.max-backoff:PT10M}")
+    private Duration maxBackoff;
+    
+    @Value("${outbox.origin-data.lease:PT1M}")
+    private Duration lease;
+    
+    /**
+     * Enqueue a chat event for delivery to origin-data-service.
+     * Must run inside the transaction that stores the assistant message.
+     *
+     * @param chatMessageId Assistant chat message ID (used to derive the idempotency key)
+     * @param chatEventRequest ChatEventRequest payload (without sourceEventId)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OriginDataOutboxEvent enqueue(Long profileId, Long userId, Long chatMessageId,
+                                         Map<String, Object> chatEventRequest) {
+        return save(profileId, userId, chatMessageId, "chat-message-" + chatMessageId, chatEventRequest);
+    }
+    
+    /**
+     * Enqueue a chat event without an assistant chat message.
+     * Used when storing the message failed; the idempotency key is random since
+     * there is no message ID to derive it from.
+     */
+    @Transactional
+    public OriginDataOutboxEvent enqueueWithoutMessage(Long profileId, Long userId,
+                                                       Map<String, Object> chatEventRequest) {
+        return save(profileId, userId, null, "chat-turn-" + UUID.randomUUID(), chatEventRequest);
+    }
+    
+    private OriginDataOutboxEvent save(Long profileId, Long userId, Long chatMessageId,
+                                       String idempotencyKey, Map<String, Object> chatEventRequest) {
+        try {
+            Map<String, Object> payload = new HashMap<>(chatEventRequest);
+            payload.put("sourceEventId", idempotencyKey);
+            
+            OriginDataOutboxEvent event = OriginDataOutboxEvent.builder()
+                    .profileId(profileId)
+                    .userId(userId)
+                    .chatMessageId(chatMessageId)
+                    .idempotencyKey(idempotencyKey)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .nextAttemptAt(Instant.now())
+                    .build();
+            
+            OriginDataOutboxEvent saved = outboxRepository.save(event);
+            
+            log.info("Enqueued origin-data outbox event: id={}, profileId={}, key={}",
+                    saved.getId(), profileId, idempotencyKey);
+            
+            return saved;
+        
+        } catch (Exception e) {
+            log.error("Failed to enqueue origin-data outbox event", e);
+            throw new RuntimeException("Failed to enqueue origin-data outbox event", e);
+        }
+    }
+    
+    /**
+     * Claim a batch of due rows by pushing their next attempt out by the lease.
+     * If the relay dies mid-flight the lease expires and rows are retried;
+     * the idempotency key makes the redelivery harmless.
+     */
+    @Transactional
+    public List<OriginDataOutboxEvent> claimDueBatch(int batchSize) {
+        Instant now = Instant.now();
+        List<OriginDataOutboxEvent> batch = outboxRepository.lockDueBatch(now, batchSize);
+        for (OriginDataOutboxEvent event : batch) {
+            event.setNextAttemptAt(now.plus(lease));
+            event.setAttempts(event.getAttempts() + 1);
+        }
+        return outboxRepository.saveAll(batch);
+    }
+    
+    /**
+     * Mark row as delivered
+     */
+    @Transactional
+    public void markSent(Long outboxId, Long originalEventId) {
+        outboxRepository.findById(outboxId).ifPresent(event -> {
+            event.setStatus(OriginDataOutboxEvent.OutboxStatus.SENT);
+            event.setSentAt(Instant.now());
+            event.setOriginalEventId(originalEventId);
+            event.setLastError(null);
+        });
+    }
+    
+    /**
+     * Record a failed attempt and schedule the next one with exponential backoff.
+     * Rows that exhausted maxAttempts are parked as FAILED.
+     */
+    @Transactional
+    public void markFailed(Long outboxId, String error) {
+        outboxRepository.findById(outboxId).ifPresent(event -> {
+            event.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            
+            if (event.getAttempts() >= maxAttempts) {
+                event.setStatus(OriginDataOutboxEvent.OutboxStatus.FAILED);
+                log.error("Origin-data outbox event gave up after {} attempts: id={}, key={}",
+                        event.getAttempts(), event.getId(), event.getIdempotencyKey());
+                return;
+            }
+            
+            Duration backoff = calculateBackoff(event.getAttempts());
+            event.setNextAttemptAt(Instant.now().plus(backoff));
+            log.warn("Origin-data outbox delivery failed (attempt {}), retrying in {}s: id={}, error={}",
+                    event.getAttempts(), backoff.toSeconds(), event.getId(), error);
+        });
+    }
+    
+    /**
+     * Delete rows delivered before the cutoff
+     * 
+     * @return Number of deleted rows
+     */
+    @Transactional
+    public int purgeSent(Instant cutoff) {
+        return outboxRepository.deleteSentBefore(cutoff);
+    }
+    
+    /**
+     * Exponential backoff: initialBackoff * 2^(attempts - 1), capped at maxBackoff
+     */
+    private Duration calculateBackoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -1,31 +1,61 @@
 package com.tala.ai.service;
 
-import lombok.RequiredArgsConstructor;
+import com.tala.ai.config.PatternCacheConfig;
+import com.tala.ai.dto.FeedingPattern;
+import com.tala.ai.dto.SleepPattern;
+import com.tala.core.clickhouse.ClickHouseQueryExecutor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Pattern Detection Service
  * 
- * Detects patterns in baby care data using statistical analysis
+ * Detects patterns in baby care data using statistical analysis.
+ * Queries ClickHouse through ClickHouseQueryExecutor (server-side max_execution_time,
+ * per-instance concurrency limit, one query per key in flight); pattern results are
+ * cached (see PatternCacheConfig).
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class PatternDetectionService {
     
-    private final JdbcTemplate jdbcTemplate;
+    private static final RowMapper<SleepPattern> SLEEP_PATTERN_MAPPER = (rs, rowNum) -> SleepPattern.builder()
+            .hourOfDay(rs.getInt("hour_of_day"))
+            .dayOfWeek(rs.getInt("day_of_week"))
+            .sleepCount(rs.getLong("sleep_count"))
+            .avgDurationMinutes(nullableDouble(rs, "avg_duration_minutes"))
+            .build();
+    
+    private static final RowMapper<FeedingPattern> FEEDING_PATTERN_MAPPER = (rs, rowNum) -> FeedingPattern.builder()
+            .hourOfDay(rs.getInt("hour_of_day"))
+            .feedingCount(rs.getLong("feeding_count"))
+            .avgAmountMl(nullableDouble(rs, "avg_amount_ml"))
+            .build();
+    
+    private final ClickHouseQueryExecutor queryExecutor;
+    
+    @Value("${ai.patterns.max-execution-time:PT10S}")
+    private Duration maxExecutionTime;
+    
+    public PatternDetectionService(ClickHouseQueryExecutor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+    }
     
     /**
      * Detect sleep patterns for a profile
      */
-    public List<Map<String, Object>> detectSleepPatterns(Long profileId) {
+    @Cacheable(cacheNames = PatternCacheConfig.CACHE_NAME, key = "'sleep:' + #profileId")
+    public List<SleepPattern> detectSleepPatterns(Long profileId) {
         log.info("Detecting sleep patterns for profile: {}", profileId);
         
         String sql = """
@@ -36,20 +66,21 @@ public class PatternDetectionService {
                 avgMerge(avg_duration) as avg_duration_minutes
             FROM tala_analytics.weekly_patterns_mv
             WHERE profile_id = ?
-              AND event_type = 'SLEEP'
+              AND event_type = 'SLEEPING'
             GROUP BY hour_of_day, day_of_week
             HAVING sleep_count > 3
             ORDER BY sleep_count DESC
             LIMIT 10
             """;
         
-        return jdbcTemplate.queryForList(sql, profileId);
+        return queryExecutor.query("sleep-patterns", sql, maxExecutionTime, SLEEP_PATTERN_MAPPER, profileId);
     }
     
     /**
      * Detect feeding patterns
      */
-    public List<Map<String, Object>> detectFeedingPatterns(Long profileId) {
+    @Cacheable(cacheNames = PatternCacheConfig.CACHE_NAME, key = "'feeding:' + #profileId")
+    public List<FeedingPattern> detectFeedingPatterns(Long profileId) {
         log.info("Detecting feeding patterns for profile: {}", profileId);
         
         String sql = """
@@ -65,7 +96,7 @@ public class PatternDetectionService {
             ORDER BY hour_of_day
             """;
         
-        return jdbcTemplate.queryForList(sql, profileId);
+        return queryExecutor.query("feeding-patterns", sql, maxExecutionTime, FEEDING_PATTERN_MAPPER, profileId);
     }
     
     /**
@@ -83,12 +114,12 @@ public class PatternDetectionService {
                 count() as total_sleep_events
             FROM tala_analytics.events_analytics
             WHERE profile_id = ?
-              AND event_type IN ('SLEEP', 'NAP')
+              AND event_type = 'SLEEPING'
               AND event_date BETWEEN ? AND ?
             """;
         
-        Map<String, Object> sleepStats = jdbcTemplate.queryForMap(sleepSql, profileId, startDate, endDate);
-        Double avgSleepDuration = (Double) sleepStats.get("avg_sleep_duration");
+        Double avgSleepDuration = queryExecutor.queryForObject("sleep-insights", sleepSql, maxExecutionTime,
+                (rs, rowNum) -> nullableDouble(rs, "avg_sleep_duration"), profileId, startDate, endDate);
         
         if (avgSleepDuration != null && avgSleepDuration > 0) {
             insights.add(String.format("Average sleep duration: %.1f hours", avgSleepDuration / 60));
@@ -111,10 +142,10 @@ public class PatternDetectionService {
               AND event_date BETWEEN ? AND ?
             """;
         
-        Map<String, Object> feedingStats = jdbcTemplate.queryForMap(feedingSql, profileId, startDate, endDate);
-        Long totalFeedings = ((Number) feedingStats.get("total_feedings")).longValue();
+        Long totalFeedings = queryExecutor.queryForObject("feeding-insights", feedingSql, maxExecutionTime,
+                (rs, rowNum) -> rs.getLong("total_feedings"), profileId, startDate, endDate);
         
-        if (totalFeedings > 0) {
+        if (totalFeedings != null && totalFeedings > 0) {
             long daysInRange = endDate.toEpochDay() - startDate.toEpochDay() + 1;
             double avgFeedingsPerDay = (double) totalFeedings / daysInRange;
             insights.add(String.format("Average feedings per day: %.1f", avgFeedingsPerDay));
@@ -122,4 +153,12 @@ public class PatternDetectionService {
         
         return insights;
     }
+    
+    /**
+     * NULL and NaN (avg over no values) both become null
+     */
+    private static Double nullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() || Double.isNaN(value) ? null : value;
+    }
 }
@@ -0,0 +1,34 @@
+-- V7: Transactional outbox for chat events shipped to origin-data-service
+-- Rows are written in the same transaction as the assistant chat message and
+-- relayed asynchronously in batches with retry/backoff.
+
+CREATE TABLE IF NOT EXISTS ai.origin_data_outbox (
+    id BIGINT PRIMARY KEY,
+    profile_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    chat_message_id BIGINT,
+    idempotency_key VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'SENT', 'FAILED')),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+    original_event_id BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    deleted_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_origin_data_outbox_idempotency_key ON ai.origin_data_outbox(idempotency_key);
+
+-- Relay polls only due PENDING rows
+CREATE INDEX idx_origin_data_outbox_due ON ai.origin_data_outbox(next_attempt_at) WHERE status = 'PENDING';
+
+-- Comments
+COMMENT ON TABLE ai.origin_data_outbox IS 'Outbox of chat events pending delivery to origin-data-service';
+COMMENT ON COLUMN ai.origin_data_outbox.idempotency_key IS 'Sent as OriginalEvent.sourceEventId so redeliveries are deduplicated';
+COMMENT ON COLUMN ai.origin_data_outbox.payload IS 'ChatEventRequest payload (JSON)';
+COMMENT ON COLUMN ai.origin_data_outbox.status IS 'PENDING, SENT, or FAILED (retries exhausted)';
+COMMENT ON COLUMN ai.origin_data_outbox.next_attempt_at IS 'Earliest time of next delivery attempt (backoff / claim lease)';
+COMMENT ON COLUMN ai.origin_data_outbox.original_event_id IS 'OriginalEvent ID returned by origin-data-service';
@@ -0,0 +1,3 @@
+-- V8: Index for the retention purge of delivered outbox rows
+
+CREATE INDEX IF NOT EXISTS idx_origin_data_outbox_sent ON ai.origin_data_outbox(sent_at) WHERE status = 'SENT';
@@ -25,6 +25,8 @@ import java.util.Map;
 @Slf4j
 public class FileController {
     
+    private static final int MAX_BATCH_IDS = 500;
+    
     private final FileManagementService fileManagementService;
     private final FileSecurityValidator securityValidator;
     
@@ -58,6 +60,24 @@ public class FileController {
         }
     }
     
+    /**
+     * Get metadata for multiple files in one call
+     * 
+     * GET /api/v1/files?ids=1,2,3
+     * Unknown IDs are omitted from the result.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> getFileMetadataBatch(@RequestParam("ids") List<Long> ids) {
+        log.debug("GET /api/v1/files?ids= - {} ids", ids.size());
+        
+        if (ids.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Too many ids, maximum is " + MAX_BATCH_IDS));
+        }
+        
+        return ResponseEntity.ok(fileManagementService.getFileMetadataBatch(ids));
+    }
+    
     /**
      * Get file metadata
      */
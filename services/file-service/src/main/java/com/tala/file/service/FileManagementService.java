@@ -55,6 +55,10 @@ public class FileManagementService {
         return repository.findById(fileId);
     }
     
+    public List<FileMetadata> getFileMetadataBatch(List<Long> fileIds) {
+        return repository.findAllById(fileIds);
+    }
+    
     public InputStream getFileStream(String storageKey) throws Exception {
         return storageService.getFileStream(storageKey);
     }
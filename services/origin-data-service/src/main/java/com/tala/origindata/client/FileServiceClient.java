@@ -3,6 +3,9 @@ package com.tala.origindata.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 /**
  * Feign client for File Service
@@ -15,9 +18,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 )
 public interface FileServiceClient {
     
+    int MAX_BATCH_IDS = 200;
+    
     @GetMapping("/api/v1/files/{fileId}")
     FileMetadataResponse getFileMetadata(@PathVariable("fileId") Long fileId);
     
+    /**
+     * Bulk metadata lookup; unknown IDs are omitted from the result.
+     * file-service accepts at most 500 IDs, and the query string must fit the
+     * server's header limit, so callers send at most MAX_BATCH_IDS per call.
+     */
+    @GetMapping("/api/v1/files")
+    List<FileMetadataResponse> getFileMetadataBatch(@RequestParam("ids") List<Long> fileIds);
+    
     class FileMetadataResponse {
         public Long id;
         public Long userId;
@@ -0,0 +1,26 @@
+package com.tala.origindata.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the OriginalEvent reprocessing workers
+ */
+@Configuration
+public class ReprocessingConfig {
+    
+    @Bean(name = "reprocessingExecutor")
+    public ThreadPoolTaskExecutor reprocessingExecutor(@Value("${reprocessing.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("reprocess-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.tala.origindata.config;
+
+import com.tala.origindata.service.TimelineCacheService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to timeline cache invalidations published by any instance,
+ * so every near-cache drops buckets invalidated elsewhere
+ */
+@Configuration
+@ConditionalOnProperty(name = "timeline.cache.enabled", havingValue = "true")
+public class TimelineCacheConfig {
+    
+    @Bean
+    public RedisMessageListenerContainer timelineCacheListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TimelineCacheService timelineCacheService,
+            @Value("${timeline.cache.invalidation-channel:tala:timeline:invalidate}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> timelineCacheService.onInvalidationMessage(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        return container;
+    }
+}
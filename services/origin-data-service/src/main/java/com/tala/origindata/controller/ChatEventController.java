@@ -1,17 +1,23 @@
 package com.tala.origindata.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.tala.origindata.constant.DataSourceType;
-import com.tala.origindata.domain.OriginalEvent;
 import com.tala.origindata.dto.ChatEventRequest;
-import com.tala.origindata.service.EventProcessorService;
-import com.tala.origindata.service.OriginalEventService;
+import com.tala.origindata.service.ChatEventIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.Instant;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,10 +31,14 @@ import java.util.Map;
 @Slf4j
 public class ChatEventController {
     
-    private final OriginalEventService originalEventService;
-    private final EventProcessorService eventProcessorService;
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    
+    private final ChatEventIngestService chatEventIngestService;
     private final ObjectMapper objectMapper;
     
+    @Value("${ingest.chat-events.stream-chunk-size:500}")
+    private int streamChunkSize;
+    
     /**
      * Create original event from AI-processed chat
      * 
@@ -36,69 +46,24 @@ public class ChatEventController {
      */
     @PostMapping
     public ResponseEntity<Map<String, Object>> createChatEvent(@RequestBody ChatEventRequest request) {
-        log.info("POST /api/v1/chat-events - profileId: {}, events count: {}", 
-                request.getProfileId(), 
+        log.info("POST /api/v1/chat-events - profileId: {}, events count: {}",
+                request.getProfileId(),
                 request.getEvents() != null ? request.getEvents().size() : 0);
         
         try {
-            // Convert request to JSON payload
-            String rawPayload = objectMapper.writeValueAsString(request);
-            
-            // Determine event time from first extracted event or use current time
-            Instant eventTime = Instant.now();
-            if (request.getEvents() != null && !request.getEvents().isEmpty()) {
-                ChatEventRequest.ExtractedEvent firstEvent = request.getEvents().get(0);
-                if (firstEvent.getTimestamp() != null) {
-                    eventTime = firstEvent.getTimestamp()
-                            .atZone(java.time.ZoneId.systemDefault())
-                            .toInstant();
-                }
-            }
-            
-            // Determine data source type from AI response, fallback to AI_CHAT
-            DataSourceType dataSourceType = DataSourceType.AI_CHAT;
-            if (request.getDataSourceType() != null && !request.getDataSourceType().isEmpty()) {
-                try {
-                    dataSourceType = DataSourceType.valueOf(request.getDataSourceType());
-                } catch (IllegalArgumentException e) {
-                    log.warn("Invalid data source type: {}, using AI_CHAT", request.getDataSourceType());
-                }
-            }
-            
-            // Create original event with attachments (event sourcing)
-            OriginalEvent originalEvent = originalEventService.createEvent(
-                    request.getProfileId(),
-                    dataSourceType,
-                    null,  // No external source ID for chat
-                    eventTime,
-                    rawPayload,
-                    request.getAttachmentFileIds()  // Attachment IDs from chat
-            );
-            
-            log.info("Chat event stored: originalEventId={}, profileId={}", 
-                    originalEvent.getId(), request.getProfileId());
-            
-            // Process the event immediately: OriginalEvent -> HomeEvent -> Timeline
-            List<Long> timelineIds = List.of();
-            try {
-                timelineIds = eventProcessorService.processOriginalEvent(originalEvent);
-                log.info("Successfully processed event: created {} timeline entries", timelineIds.size());
-            } catch (Exception e) {
-                log.error("Failed to process original event, but event is saved: originalEventId={}", 
-                        originalEvent.getId(), e);
-                // Don't fail the request - event is saved and can be reprocessed later
-            }
+            ChatEventIngestService.IngestResult result = chatEventIngestService.ingestOne(request);
             
             // Build response
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("originalEventId", originalEvent.getId());
-            response.put("message", "Chat event stored successfully");
+            response.put("originalEventId", result.originalEventId());
+            response.put("duplicate", result.duplicate());
+            response.put("message", result.duplicate() ? "Chat event already stored" : "Chat event stored successfully");
             response.put("eventsCount", request.getEvents() != null ? request.getEvents().size() : 0);
-            response.put("timelineIdsCreated", timelineIds.size());
+            response.put("timelineIdsCreated", result.timelineIdsCreated());
             
             return ResponseEntity.ok(response);
-            
+        
         } catch (Exception e) {
             log.error("Failed to store chat event", e);
             
@@ -110,6 +75,122 @@ public class ChatEventController {
         }
     }
     
+    /**
+     * Create original events for a batch of AI-processed chats
+     * 
+     * POST /api/v1/chat-events/batch  (application/json array)
+     * 
+     * Used by the ai-service outbox relay and bulk imports. Each item is reported
+     * with a per-item result keyed by sourceEventId, so a caller can safely retry
+     * only the failed items.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> createChatEventBatch(@RequestBody List<ChatEventRequest> requests) {
+        log.info("POST /api/v1/chat-events/batch - batch size: {}", requests.size());
+        
+        List<ChatEventIngestService.IngestResult> results = chatEventIngestService.ingestBatch(requests);
+        
+        List<Map<String, Object>> items = new ArrayList<>(results.size());
+        int succeeded = 0;
+        int duplicates = 0;
+        for (ChatEventIngestService.IngestResult result : results) {
+            items.add(toItem(result));
+            if (result.success()) {
+                succeeded++;
+            }
+            if (result.duplicate()) {
+                duplicates++;
+            }
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", succeeded == requests.size());
+        response.put("total", requests.size());
+        response.put("succeeded", succeeded);
+        response.put("duplicates", duplicates);
+        response.put("failed", requests.size() - succeeded);
+        response.put("results", items);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Stream a bulk import as NDJSON
+     * 
+     * POST /api/v1/chat-events/batch  (application/x-ndjson)
+     * 
+     * One ChatEventRequest per line. Lines are ingested in chunks as they are read,
+     * and one result line per input line is streamed back, so arbitrarily large
+     * imports never have to fit in memory.
+     */
+    @PostMapping(value = "/batch", consumes = NDJSON_VALUE, produces = NDJSON_VALUE)
+    public void createChatEventStream(HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
+        httpResponse.setContentType(NDJSON_VALUE);
+        
+        int total = 0;
+        List<ChatEventRequest> chunk = new ArrayList<>(streamChunkSize);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(httpRequest.getInputStream(), StandardCharsets.UTF_8))) {
+            
+            OutputStream out = httpResponse.getOutputStream();
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    chunk.add(objectMapper.readValue(line, ChatEventRequest.class));
+                } catch (Exception e) {
+                    // Flush what we have first so result lines stay in input order
+                    total += writeResults(out, chunk);
+                    writeLine(out, Map.of("success", false, "line", lineNumber, "error", "Invalid JSON: " + e.getMessage()));
+                    total++;
+                    continue;
+                }
+                if (chunk.size() >= streamChunkSize) {
+                    total += writeResults(out, chunk);
+                }
+            }
+            total += writeResults(out, chunk);
+        }
+        
+        log.info("POST /api/v1/chat-events/batch (ndjson) - ingested {} lines", total);
+    }
+    
+    private int writeResults(OutputStream out, List<ChatEventRequest> chunk) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        int count = chunk.size();
+        for (ChatEventIngestService.IngestResult result : chatEventIngestService.ingestBatch(chunk)) {
+            writeLine(out, toItem(result));
+        }
+        out.flush();
+        chunk.clear();
+        return count;
+    }
+    
+    private void writeLine(OutputStream out, Map<String, Object> item) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(item));
+        out.write('\n');
+    }
+    
+    private Map<String, Object> toItem(ChatEventIngestService.IngestResult result) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("sourceEventId", result.sourceEventId());
+        item.put("success", result.success());
+        if (result.success()) {
+            item.put("duplicate", result.duplicate());
+            item.put("originalEventId", result.originalEventId());
+            item.put("timelineIdsCreated", result.timelineIdsCreated());
+        } else {
+            item.put("error", result.error());
+        }
+        return item;
+    }
+    
     /**
      * Health check
      */
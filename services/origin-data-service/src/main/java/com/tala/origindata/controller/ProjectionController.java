@@ -0,0 +1,52 @@
+package com.tala.origindata.controller;
+
+import com.tala.origindata.service.ProjectionRebuildService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Projection Controller
+ * 
+ * Rebuilds home_events and timeline_entries from the original_events log
+ */
+@RestController
+@RequestMapping("/api/v1/projections")
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectionController {
+    
+    private final ProjectionRebuildService projectionRebuildService;
+    
+    /**
+     * Start a projection rebuild in the background
+     * 
+     * POST /api/v1/projections/rebuild
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<ProjectionRebuildService.Status> rebuild() {
+        log.info("POST /api/v1/projections/rebuild");
+        if (projectionRebuildService.getStatus().running()) {
+            return ResponseEntity.status(409).body(projectionRebuildService.getStatus());
+        }
+        CompletableFuture.runAsync(projectionRebuildService::rebuild)
+                .exceptionally(e -> {
+                    log.error("Projection rebuild failed", e);
+                    return null;
+                });
+        return ResponseEntity.accepted().body(projectionRebuildService.getStatus());
+    }
+    
+    /**
+     * Projection rebuild progress
+     * 
+     * GET /api/v1/projections/rebuild/status
+     */
+    @GetMapping("/rebuild/status")
+    public ResponseEntity<ProjectionRebuildService.Status> status() {
+        return ResponseEntity.ok(projectionRebuildService.getStatus());
+    }
+}
@@ -0,0 +1,49 @@
+package com.tala.origindata.controller;
+
+import com.tala.origindata.service.ReprocessingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Reprocessing Controller
+ * 
+ * Triggers and monitors reprocessing of unprocessed OriginalEvents
+ */
+@RestController
+@RequestMapping("/api/v1/reprocessing")
+@RequiredArgsConstructor
+@Slf4j
+public class ReprocessingController {
+    
+    private final ReprocessingService reprocessingService;
+    
+    /**
+     * Start a reprocessing run in the background
+     * 
+     * POST /api/v1/reprocessing/run
+     */
+    @PostMapping("/run")
+    public ResponseEntity<ReprocessingService.Status> run() {
+        log.info("POST /api/v1/reprocessing/run");
+        CompletableFuture.runAsync(reprocessingService::runAll)
+                .exceptionally(e -> {
+                    log.error("Reprocessing run failed", e);
+                    return null;
+                });
+        return ResponseEntity.accepted().body(reprocessingService.getStatus());
+    }
+    
+    /**
+     * Reprocessing progress
+     * 
+     * GET /api/v1/reprocessing/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ReprocessingService.Status> status() {
+        return ResponseEntity.ok(reprocessingService.getStatus());
+    }
+}
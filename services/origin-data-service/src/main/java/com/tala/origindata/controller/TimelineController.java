@@ -1,6 +1,10 @@
 package com.tala.origindata.controller;
 
+import com.tala.origindata.constant.TimelineEventType;
+import com.tala.origindata.dto.TimelineCursor;
 import com.tala.origindata.dto.TimelineEntryResponse;
+import com.tala.origindata.dto.TimelineSliceResponse;
+import com.tala.origindata.service.TimelineCacheService;
 import com.tala.origindata.service.TimelineService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,10 +23,14 @@ import java.util.List;
 @RequestMapping("/api/v1/timeline")
 public class TimelineController {
     
+    private static final int MAX_SLICE_SIZE = 100;
+    
     private final TimelineService timelineService;
+    private final TimelineCacheService timelineCacheService;
     
-    public TimelineController(TimelineService timelineService) {
+    public TimelineController(TimelineService timelineService, TimelineCacheService timelineCacheService) {
         this.timelineService = timelineService;
+        this.timelineCacheService = timelineCacheService;
     }
     
     @GetMapping("/profile/{profileId}")
@@ -35,14 +43,38 @@ public class TimelineController {
         return ResponseEntity.ok(timeline);
     }
     
+    /**
+     * Keyset-paginated timeline (no total count, stable latency at any depth)
+     * 
+     * GET /api/v1/timeline/profile/{profileId}/slice?size=20&cursor=...&type=FEEDING
+     * GET /api/v1/timeline/profile/{profileId}/slice?startTime=...&endTime=...
+     */
+    @GetMapping("/profile/{profileId}/slice")
+    public ResponseEntity<TimelineSliceResponse> getTimelineSlice(
+            @PathVariable Long profileId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) TimelineEventType type,
+            @RequestParam(required = false) Instant startTime,
+            @RequestParam(required = false) Instant endTime) {
+        try {
+            TimelineSliceResponse slice = timelineService.getTimelineSlice(
+                profileId, type, startTime, endTime,
+                cursor != null ? TimelineCursor.decode(cursor) : null,
+                Math.min(Math.max(size, 1), MAX_SLICE_SIZE)
+            );
+            return ResponseEntity.ok(slice);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     @GetMapping("/profile/{profileId}/range")
     public ResponseEntity<List<TimelineEntryResponse>> getTimelineByProfileAndTimeRange(
             @PathVariable Long profileId,
             @RequestParam Instant startTime,
             @RequestParam Instant endTime) {
-        List<TimelineEntryResponse> timeline = timelineService.toResponseList(
-            timelineService.getTimelineByProfileAndTimeRange(profileId, startTime, endTime)
-        );
+        List<TimelineEntryResponse> timeline = timelineCacheService.getTimelineRange(profileId, startTime, endTime);
         return ResponseEntity.ok(timeline);
     }
     
@@ -0,0 +1,66 @@
+package com.tala.origindata.controller;
+
+import com.tala.origindata.service.TimelineExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Timeline Export Controller
+ * 
+ * Bulk export of timeline entries for analytics consumers
+ */
+@RestController
+@RequestMapping("/api/v1/timeline/export")
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineExportController {
+    
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    
+    private final TimelineExportService timelineExportService;
+    
+    /**
+     * Stream a profile's and/or a time range's timeline as NDJSON
+     * 
+     * GET /api/v1/timeline/export?profileId=&startTime=&endTime=&fields=id,recordTime,aiTags&format=rows|columnar
+     * 
+     * - fields: projected fields (default id,timelineType,recordTime,aiTags)
+     * - format=rows: one object per entry
+     * - format=columnar: one object per batch, {"count":n,"<field>":[...],...}
+     * Without profileId both startTime and endTime (exclusive) are required, at most
+     * timeline.export.max-range apart.
+     */
+    @GetMapping(produces = NDJSON_VALUE)
+    public void export(
+            @RequestParam(required = false) Long profileId,
+            @RequestParam(required = false) Instant startTime,
+            @RequestParam(required = false) Instant endTime,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "rows") String format,
+            HttpServletResponse response) throws IOException {
+        log.info("GET /api/v1/timeline/export - profileId: {}, startTime: {}, endTime: {}, format: {}",
+                profileId, startTime, endTime, format);
+        
+        List<TimelineExportService.Field> projection;
+        TimelineExportService.Format exportFormat;
+        try {
+            projection = timelineExportService.parseFields(fields);
+            exportFormat = TimelineExportService.Format.valueOf(format.toUpperCase());
+            timelineExportService.validateBounds(profileId, startTime, endTime);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+        
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        timelineExportService.export(profileId, startTime, endTime, projection, exportFormat, response.getOutputStream());
+    }
+}
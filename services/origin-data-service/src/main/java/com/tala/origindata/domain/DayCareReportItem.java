@@ -17,7 +17,7 @@ import java.time.Instant;
  */
 @Entity
 @Table(name = "daycare_report_items", schema = "origin_data", indexes = {
-    @Index(name = "idx_daycare_item_report", columnList = "daycare_report_id"),
+    @Index(name = "idx_daycare_item_report_type", columnList = "daycare_report_id,item_type"),
     @Index(name = "idx_daycare_item_type", columnList = "item_type"),
     @Index(name = "idx_daycare_item_time", columnList = "event_time")
 })
@@ -14,7 +14,7 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "health_measurements", schema = "origin_data", indexes = {
-    @Index(name = "idx_health_measurement_report", columnList = "health_report_id"),
+    @Index(name = "idx_health_measurement_report_type", columnList = "health_report_id,measurement_type"),
     @Index(name = "idx_health_measurement_type", columnList = "measurement_type")
 })
 @Getter
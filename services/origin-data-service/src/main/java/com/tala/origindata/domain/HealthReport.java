@@ -18,7 +18,7 @@ import java.util.List;
 @Entity
 @Table(name = "health_reports", schema = "origin_data", indexes = {
     @Index(name = "idx_health_report_original_event", columnList = "original_event_id"),
-    @Index(name = "idx_health_report_profile", columnList = "profile_id"),
+    @Index(name = "idx_health_report_profile_visit", columnList = "profile_id,visit_time"),
     @Index(name = "idx_health_report_type", columnList = "report_type"),
     @Index(name = "idx_health_report_visit_time", columnList = "visit_time")
 })
@@ -14,7 +14,7 @@ import java.time.Instant;
  */
 @Entity
 @Table(name = "health_vaccinations", schema = "origin_data", indexes = {
-    @Index(name = "idx_health_vaccination_report", columnList = "health_report_id"),
+    @Index(name = "idx_health_vaccination_report_name", columnList = "health_report_id,vaccine_name"),
     @Index(name = "idx_health_vaccination_name", columnList = "vaccine_name")
 })
 @Getter
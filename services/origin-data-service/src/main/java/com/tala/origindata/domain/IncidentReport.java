@@ -16,7 +16,7 @@ import java.time.Instant;
 @Entity
 @Table(name = "incident_reports", schema = "origin_data", indexes = {
     @Index(name = "idx_incident_report_original_event", columnList = "original_event_id"),
-    @Index(name = "idx_incident_report_profile", columnList = "profile_id"),
+    @Index(name = "idx_incident_report_profile_time", columnList = "profile_id,incident_time"),
     @Index(name = "idx_incident_report_severity", columnList = "severity"),
     @Index(name = "idx_incident_report_time", columnList = "incident_time")
 })
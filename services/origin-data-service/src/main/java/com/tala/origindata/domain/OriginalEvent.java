@@ -59,4 +59,17 @@ public class OriginalEvent extends BaseAttachmentEntity {
     
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
+    
+    @Column(name = "processing_attempts", nullable = false)
+    @Builder.Default
+    private Integer processingAttempts = 0;
+    
+    @Column(name = "processing_lease_until")
+    private Instant processingLeaseUntil;
+    
+    @Column(name = "processing_error", columnDefinition = "TEXT")
+    private String processingError;
+    
+    @Column(name = "poisoned_at")
+    private Instant poisonedAt;
 }
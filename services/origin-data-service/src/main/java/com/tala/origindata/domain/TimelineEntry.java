@@ -10,6 +10,8 @@ import lombok.experimental.SuperBuilder;
 import org.hibernate.annotations.Type;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Timeline Entry - AI-generated display data
@@ -67,4 +69,18 @@ public class TimelineEntry extends BaseEntity {
 
     @Column(name = "original_user_message", columnDefinition = "TEXT")
     private String originalUserMessage;
+    
+    /**
+     * Structured event_data of the extracted event this entry was built from.
+     * Not persisted; carried into the TIMELINE_ENTRY_CREATED event for analytics.
+     */
+    @Transient
+    private Map<String, Object> eventData;
+    
+    /**
+     * Attachment IDs of the original event. Not persisted; carried into the
+     * TIMELINE_ENTRY_CREATED event for daily summaries.
+     */
+    @Transient
+    private List<Long> attachmentIds;
 }
@@ -0,0 +1,54 @@
+package com.tala.origindata.domain;
+
+import com.tala.core.domain.BaseEntity;
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
+
+import java.time.Instant;
+
+/**
+ * Timeline Event Outbox - pending Kafka publications
+ * 
+ * Written in the same transaction as the TimelineEntry it describes,
+ * so an event is published if and only if the entry was committed.
+ */
+@Entity
+@Table(name = "timeline_event_outbox", schema = "origin_data", indexes = {
+    @Index(name = "idx_timeline_outbox_aggregate", columnList = "aggregate_id")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEventOutbox extends BaseEntity {
+    
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+    
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+    
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+    
+    @Type(JsonBinaryType.class)
+    @Column(name = "payload", columnDefinition = "jsonb", nullable = false)
+    private String payload;
+    
+    @Column(name = "published_at")
+    private Instant publishedAt;
+    
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+}
@@ -22,6 +22,13 @@ import java.util.Map;
 public class ChatEventRequest {
     
     private Long profileId;
+    
+    /**
+     * Idempotency key from the caller (e.g. ai-service outbox key).
+     * Stored as OriginalEvent.sourceEventId so redeliveries are deduplicated.
+     */
+    private String sourceEventId;
+    
     private String userMessage;
     private String aiMessage;
     private String intent;  // EVENT_RECORDING, CONVERSATION, QUESTION, MEDICAL_CONCERN
@@ -0,0 +1,40 @@
+package com.tala.origindata.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset cursor for timeline pagination
+ * 
+ * Points at the last entry of the previous slice: (recordTime, id).
+ * Encoded as an opaque URL-safe string so clients never build it themselves.
+ */
+public record TimelineCursor(Instant recordTime, Long id) {
+    
+    public static TimelineCursor of(TimelineEntryResponse entry) {
+        return new TimelineCursor(entry.getRecordTime(), entry.getId());
+    }
+    
+    public String encode() {
+        String raw = recordTime.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor string
+     * 
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static TimelineCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TimelineCursor(
+                    Instant.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid timeline cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.tala.origindata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timeline Entry Event - published to Kafka for every created TimelineEntry
+ * 
+ * Compact, versioned fact so consumers can update incrementally instead of
+ * re-querying origin-data-service. Consumers should ignore unknown fields and
+ * skip events with a schemaVersion they do not understand.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntryEvent {
+    
+    public static final int SCHEMA_VERSION = 1;
+    public static final String TYPE_CREATED = "TIMELINE_ENTRY_CREATED";
+    
+    private Integer schemaVersion;
+    private String eventType;
+    
+    /**
+     * Stable event ID for consumer-side de-duplication
+     */
+    private String eventId;
+    private Long timelineEntryId;
+    private Long originalEventId;
+    private Long profileId;
+    private String timelineType;
+    private String dataSource;
+    private Instant recordTime;
+    private List<String> tags;
+    private String summary;
+    
+    /**
+     * Structured event_data facts (amount, unit, duration_minutes, feeding_type, ...);
+     * absent for entries that were not created from an extracted event
+     */
+    private Map<String, Object> facts;
+    
+    /**
+     * Attachment IDs of the original event (file-service IDs)
+     */
+    private List<Long> attachmentIds;
+    private Instant occurredAt;
+}
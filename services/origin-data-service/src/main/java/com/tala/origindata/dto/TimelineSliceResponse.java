@@ -0,0 +1,25 @@
+package com.tala.origindata.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Timeline Slice Response DTO
+ * 
+ * Keyset-paginated page of timeline entries without a total count.
+ * Pass nextCursor back as the cursor parameter to fetch the next slice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineSliceResponse {
+    
+    private List<TimelineEntryResponse> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
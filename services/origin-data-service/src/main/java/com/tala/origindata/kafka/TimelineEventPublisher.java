@@ -0,0 +1,149 @@
+package com.tala.origindata.kafka;
+
+import com.tala.origindata.domain.TimelineEventOutbox;
+import com.tala.origindata.repository.TimelineEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays the timeline event outbox to Kafka
+ * 
+ * Messages are keyed by profileId, so all events of one profile land on the
+ * same partition, in outbox order: one replica relays at a time (advisory lock),
+ * a profile's next row is sent only after the previous one was acknowledged, and
+ * rows behind a failed row are held back until it is published. A crash after the
+ * broker acknowledged a row but before it was marked published causes a
+ * redelivery, so consumers should de-duplicate on eventId.
+ * Published rows are purged after outbox.timeline-events.retention.
+ * Only enabled when outbox.timeline-events.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "outbox.timeline-events.enabled", havingValue = "true", matchIfMissing = false)
+public class TimelineEventPublisher {
+    
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    private final TimelineEventOutboxRepository outboxRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    
+    @Value("${outbox.timeline-events.topic:tala.timeline-events}")
+    private String topic;
+    
+    @Value("${outbox.timeline-events.batch-size:100}")
+    private int batchSize;
+    
+    @Value("${outbox.timeline-events.send-timeout:PT10S}")
+    private Duration sendTimeout;
+    
+    @Value("${outbox.timeline-events.retry-backoff:PT5S}")
+    private Duration retryBackoff;
+    
+    @Value("${outbox.timeline-events.retention:P7D}")
+    private Duration retention;
+    
+    /**
+     * Publish due outbox rows. Rows stay locked until they are acknowledged
+     * by the broker, so a crash mid-batch only results in redelivery.
+     */
+    @Scheduled(fixedDelayString = "${outbox.timeline-events.poll-interval-ms:500}")
+    @Transactional
+    public void publishPending() {
+        if (!outboxRepository.tryLockPublisher()) {
+            return;
+        }
+        List<TimelineEventOutbox> batch = outboxRepository.lockDueBatch(Instant.now(), batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        
+        // Rows of each profile in outbox order
+        Map<Long, Iterator<TimelineEventOutbox>> byProfile = new LinkedHashMap<>();
+        Map<Long, List<TimelineEventOutbox>> grouped = new LinkedHashMap<>();
+        for (TimelineEventOutbox row : batch) {
+            grouped.computeIfAbsent(row.getProfileId(), k -> new ArrayList<>()).add(row);
+        }
+        grouped.forEach((profileId, rows) -> byProfile.put(profileId, rows.iterator()));
+        
+        // Each round sends the next row of every profile and waits for the acknowledgements;
+        // a failed row stops its profile for this batch (later rows stay unpublished)
+        int published = 0;
+        while (!byProfile.isEmpty()) {
+            Map<TimelineEventOutbox, CompletableFuture<SendResult<String, String>>> inFlight = new LinkedHashMap<>();
+            for (Iterator<Iterator<TimelineEventOutbox>> it = byProfile.values().iterator(); it.hasNext(); ) {
+                Iterator<TimelineEventOutbox> rows = it.next();
+                if (!rows.hasNext()) {
+                    it.remove();
+                    continue;
+                }
+                TimelineEventOutbox row = rows.next();
+                try {
+                    inFlight.put(row, kafkaTemplate.send(topic, String.valueOf(row.getProfileId()), row.getPayload()));
+                } catch (Exception e) {
+                    markFailed(row, e);
+                    it.remove();
+                }
+            }
+        
+            Instant now = Instant.now();
+            for (Map.Entry<TimelineEventOutbox, CompletableFuture<SendResult<String, String>>> entry : inFlight.entrySet()) {
+                TimelineEventOutbox row = entry.getKey();
+                try {
+                    entry.getValue().get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                    row.setPublishedAt(now);
+                    row.setAttempts(row.getAttempts() + 1);
+                    row.setLastError(null);
+                    published++;
+                } catch (Exception e) {
+                    markFailed(row, e);
+                    byProfile.remove(row.getProfileId());
+                }
+            }
+        }
+        
+        outboxRepository.saveAll(batch);
+        log.debug("Published {}/{} timeline events to {}", published, batch.size(), topic);
+    }
+    
+    /**
+     * Delete published rows older than the retention period
+     */
+    @Scheduled(cron = "${outbox.timeline-events.purge-cron:0 45 3 * * *}")
+    public void purgePublished() {
+        try {
+            int deleted = outboxRepository.deletePublishedBefore(Instant.now().minus(retention));
+            if (deleted > 0) {
+                log.info("Purged {} published timeline events from the outbox", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge published timeline events", e);
+        }
+    }
+    
+    private void markFailed(TimelineEventOutbox row, Exception e) {
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        row.setAttempts(row.getAttempts() + 1);
+        row.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        row.setNextAttemptAt(Instant.now().plus(retryBackoff));
+        log.warn("Failed to publish timeline event: outboxId={}, profileId={}, attempt={}, error={}", 
+                row.getId(), row.getProfileId(), row.getAttempts(), error);
+    }
+}
@@ -2,9 +2,12 @@ package com.tala.origindata.repository;
 
 import com.tala.origindata.domain.DayCareReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +27,10 @@ public interface DayCareReportRepository extends JpaRepository<DayCareReport, Lo
     Optional<DayCareReport> findByProfileIdAndReportDate(Long profileId, LocalDate reportDate);
     
     long countByProfileId(Long profileId);
+    
+    /**
+     * Original event IDs among the given ones that already have a projection
+     */
+    @Query("SELECT r.originalEventId FROM DayCareReport r WHERE r.originalEventId IN :originalEventIds")
+    List<Long> findProjectedOriginalEventIds(@Param("originalEventIds") Collection<Long> originalEventIds);
 }
@@ -0,0 +1,26 @@
+package com.tala.origindata.repository;
+
+import com.tala.origindata.domain.HealthMeasurement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for Health Measurements
+ */
+@Repository
+public interface HealthMeasurementRepository extends JpaRepository<HealthMeasurement, Long> {
+    
+    /**
+     * Growth history of one measurement type (e.g. WEIGHT), newest visit first
+     */
+    @Query("SELECT m FROM HealthMeasurement m JOIN FETCH m.healthReport r " +
+           "WHERE r.profileId = :profileId AND m.measurementType = :measurementType " +
+           "ORDER BY r.visitTime DESC")
+    List<HealthMeasurement> findByProfileIdAndMeasurementType(
+        @Param("profileId") Long profileId,
+        @Param("measurementType") String measurementType);
+}
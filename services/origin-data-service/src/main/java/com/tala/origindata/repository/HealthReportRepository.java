@@ -3,9 +3,12 @@ package com.tala.origindata.repository;
 import com.tala.origindata.constant.HealthReportType;
 import com.tala.origindata.domain.HealthReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +28,10 @@ public interface HealthReportRepository extends JpaRepository<HealthReport, Long
     Optional<HealthReport> findByOriginalEventId(Long originalEventId);
     
     long countByProfileIdAndReportType(Long profileId, HealthReportType reportType);
+    
+    /**
+     * Original event IDs among the given ones that already have a projection
+     */
+    @Query("SELECT r.originalEventId FROM HealthReport r WHERE r.originalEventId IN :originalEventIds")
+    List<Long> findProjectedOriginalEventIds(@Param("originalEventIds") Collection<Long> originalEventIds);
 }
@@ -0,0 +1,33 @@
+package com.tala.origindata.repository;
+
+import com.tala.origindata.domain.HealthVaccination;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for Health Vaccinations
+ */
+@Repository
+public interface HealthVaccinationRepository extends JpaRepository<HealthVaccination, Long> {
+    
+    /**
+     * Vaccination history of a profile, newest first
+     */
+    @Query("SELECT v FROM HealthVaccination v JOIN FETCH v.healthReport r " +
+           "WHERE r.profileId = :profileId ORDER BY v.administeredDate DESC NULLS LAST")
+    List<HealthVaccination> findByProfileId(@Param("profileId") Long profileId);
+    
+    /**
+     * Doses of one vaccine for a profile, by dose number
+     */
+    @Query("SELECT v FROM HealthVaccination v JOIN FETCH v.healthReport r " +
+           "WHERE r.profileId = :profileId AND v.vaccineName = :vaccineName " +
+           "ORDER BY v.doseNumber ASC NULLS LAST")
+    List<HealthVaccination> findByProfileIdAndVaccineName(
+        @Param("profileId") Long profileId,
+        @Param("vaccineName") String vaccineName);
+}
@@ -3,9 +3,12 @@ package com.tala.origindata.repository;
 import com.tala.origindata.constant.IncidentSeverity;
 import com.tala.origindata.domain.IncidentReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,4 +28,10 @@ public interface IncidentReportRepository extends JpaRepository<IncidentReport,
     Optional<IncidentReport> findByOriginalEventId(Long originalEventId);
     
     long countByProfileIdAndSeverity(Long profileId, IncidentSeverity severity);
+    
+    /**
+     * Original event IDs among the given ones that already have a projection
+     */
+    @Query("SELECT r.originalEventId FROM IncidentReport r WHERE r.originalEventId IN :originalEventIds")
+    List<Long> findProjectedOriginalEventIds(@Param("originalEventIds") Collection<Long> originalEventIds);
 }
@@ -3,9 +3,12 @@ package com.tala.origindata.repository;
 import com.tala.origindata.constant.DataSourceType;
 import com.tala.origindata.domain.OriginalEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,7 +27,32 @@ public interface OriginalEventRepository extends JpaRepository<OriginalEvent, Lo
     
     Optional<OriginalEvent> findBySourceTypeAndSourceEventId(DataSourceType sourceType, String sourceEventId);
     
-    List<OriginalEvent> findByAiProcessedFalseOrderByEventTimeAsc();
+    List<OriginalEvent> findBySourceEventIdIn(Collection<String> sourceEventIds);
+    
+    /**
+     * Lock the next chunk of unprocessed, unleased, non-poisoned events.
+     * SKIP LOCKED lets worker threads and replicas claim disjoint chunks.
+     */
+    @Query(value = "SELECT * FROM origin_data.original_events " +
+            "WHERE ai_processed = FALSE AND poisoned_at IS NULL AND deleted_at IS NULL " +
+            "AND (processing_lease_until IS NULL OR processing_lease_until < :now) " +
+            "ORDER BY event_time, id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OriginalEvent> lockUnprocessedChunk(@Param("now") Instant now, @Param("limit") int limit);
+    
+    /**
+     * Claim an event for projection: only one caller flips ai_processed, the others get nothing.
+     * The row lock makes a concurrent claimer wait for the winner's commit (or rollback).
+     */
+    @Query(value = "UPDATE origin_data.original_events SET ai_processed = TRUE, ai_processed_at = :now " +
+            "WHERE id = :id AND ai_processed = FALSE " +
+            "RETURNING id", nativeQuery = true)
+    Optional<Long> claimUnprocessed(@Param("id") Long id, @Param("now") Instant now);
+    
+    long countByAiProcessedFalseAndPoisonedAtIsNull();
+    
+    long countByPoisonedAtIsNotNull();
     
     long countByProfileIdAndSourceType(Long profileId, DataSourceType sourceType);
 }
@@ -5,6 +5,8 @@ import com.tala.origindata.domain.TimelineEntry;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -24,6 +26,68 @@ public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Lo
     List<TimelineEntry> findByProfileIdAndRecordTimeBetweenOrderByRecordTimeDesc(
         Long profileId, Instant startTime, Instant endTime);
     
+    // ------------------------------------------------------------------------
+    // Keyset (seek) pagination: ORDER BY record_time DESC, id DESC
+    // Served by idx_timeline_entry_profile_time_id / idx_timeline_entry_profile_type_time_id.
+    // Pass the Pageable as PageRequest.of(0, limit); only its size is used.
+    // ------------------------------------------------------------------------
+    
+    @Query(value = "SELECT * FROM origin_data.timeline_entries " +
+            "WHERE profile_id = :profileId " +
+            "ORDER BY record_time DESC, id DESC", nativeQuery = true)
+    List<TimelineEntry> findFirstSliceByProfile(@Param("profileId") Long profileId, Pageable limit);
+    
+    @Query(value = "SELECT * FROM origin_data.timeline_entries " +
+            "WHERE profile_id = :profileId " +
+            "AND (record_time, id) < (:cursorTime, :cursorId) " +
+            "ORDER BY record_time DESC, id DESC", nativeQuery = true)
+    List<TimelineEntry> findSliceByProfileAfter(
+        @Param("profileId") Long profileId,
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") Long cursorId,
+        Pageable limit);
+    
+    @Query(value = "SELECT * FROM origin_data.timeline_entries " +
+            "WHERE profile_id = :profileId AND timeline_type = :timelineType " +
+            "ORDER BY record_time DESC, id DESC", nativeQuery = true)
+    List<TimelineEntry> findFirstSliceByProfileAndType(
+        @Param("profileId") Long profileId,
+        @Param("timelineType") String timelineType,
+        Pageable limit);
+    
+    @Query(value = "SELECT * FROM origin_data.timeline_entries " +
+            "WHERE profile_id = :profileId AND timeline_type = :timelineType " +
+            "AND (record_time, id) < (:cursorTime, :cursorId) " +
+            "ORDER BY record_time DESC, id DESC", nativeQuery = true)
+    List<TimelineEntry> findSliceByProfileAndTypeAfter(
+        @Param("profileId") Long profileId,
+        @Param("timelineType") String timelineType,
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") Long cursorId,
+        Pageable limit);
+    
+    @Query(value = "SELECT * FROM origin_data.timeline_entries " +
+            "WHERE profile_id = :profileId " +
+            "AND record_time >= :startTime AND record_time <= :endTime " +
+            "ORDER BY record_time DESC, id DESC", nativeQuery = true)
+    List<TimelineEntry> findFirstSliceByProfileAndTimeRange(
+        @Param("profileId") Long profileId,
+        @Param("startTime") Instant startTime,
+        @Param("endTime") Instant endTime,
+        Pageable limit);
+    
+    @Query(value = "SELECT * FROM origin_data.timeline_entries " +
+            "WHERE profile_id = :profileId " +
+            "AND record_time >= :startTime " +
+            "AND (record_time, id) < (:cursorTime, :cursorId) " +
+            "ORDER BY record_time DESC, id DESC", nativeQuery = true)
+    List<TimelineEntry> findSliceByProfileAndTimeRangeAfter(
+        @Param("profileId") Long profileId,
+        @Param("startTime") Instant startTime,
+        @Param("cursorTime") Instant cursorTime,
+        @Param("cursorId") Long cursorId,
+        Pageable limit);
+    
     List<TimelineEntry> findByOriginalEventId(Long originalEventId);
     
     long countByProfileId(Long profileId);
@@ -0,0 +1,53 @@
+package com.tala.origindata.repository;
+
+import com.tala.origindata.domain.TimelineEventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for Timeline Event Outbox
+ */
+@Repository
+public interface TimelineEventOutboxRepository extends JpaRepository<TimelineEventOutbox, Long> {
+    
+    /**
+     * Take the publisher lock for the current transaction, so only one replica
+     * relays at a time (per-profile order depends on it)
+     * 
+     * @return false if another replica holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext('origin_data.timeline_event_outbox'))", nativeQuery = true)
+    boolean tryLockPublisher();
+    
+    /**
+     * Lock the oldest due unpublished rows. A row is held back while an older row
+     * of the same profile is still waiting for its retry, so profiles are published
+     * in outbox order.
+     */
+    @Query(value = "SELECT * FROM origin_data.timeline_event_outbox o " +
+            "WHERE o.published_at IS NULL AND o.next_attempt_at <= :now AND o.deleted_at IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM origin_data.timeline_event_outbox p " +
+            "WHERE p.profile_id = o.profile_id AND p.id < o.id " +
+            "AND p.published_at IS NULL AND p.next_attempt_at > :now AND p.deleted_at IS NULL) " +
+            "ORDER BY o.id " +
+            "LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TimelineEventOutbox> lockDueBatch(@Param("now") Instant now, @Param("limit") int limit);
+    
+    /**
+     * Delete rows published before the cutoff (retention)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM origin_data.timeline_event_outbox WHERE published_at < :cutoff", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+    
+    long countByPublishedAtIsNull();
+}
@@ -1,28 +1,48 @@
 package com.tala.origindata.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.tala.core.domain.AttachmentSupport;
 import com.tala.core.dto.AttachmentRef;
 import com.tala.core.service.AttachmentResolver;
 import com.tala.origindata.client.FileServiceClient;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Resolves attachment file IDs to AttachmentRef DTOs
  * 
  * Implements unified AttachmentResolver interface.
  * Calls file-service to get metadata and constructs unified attachment references.
+ * Metadata is fetched in bulk and kept in a short-lived local cache.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AttachmentResolverService implements AttachmentResolver {
     
     private final FileServiceClient fileServiceClient;
+    private final Cache<Long, AttachmentRef> metadataCache;
+    
+    public AttachmentResolverService(
+            FileServiceClient fileServiceClient,
+            @Value("${attachments.metadata-cache.ttl:PT5M}") Duration cacheTtl,
+            @Value("${attachments.metadata-cache.max-size:10000}") long cacheMaxSize) {
+        this.fileServiceClient = fileServiceClient;
+        this.metadataCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxSize)
+                .build();
+    }
     
     @Override
     public List<AttachmentRef> resolve(List<Long> attachmentIds, AttachmentSupport.AttachmentSourceType sourceType) {
@@ -42,36 +62,79 @@ public class AttachmentResolverService implements AttachmentResolver {
      * Resolve file IDs to attachment references
      * 
      * @param fileIds List of file-service file IDs
-     * @return List of AttachmentRef with URLs and metadata
+     * @return List of AttachmentRef with URLs and metadata, in input order
      */
     public List<AttachmentRef> resolveAttachments(List<Long> fileIds) {
         if (fileIds == null || fileIds.isEmpty()) {
             return List.of();
         }
         
-        List<AttachmentRef> attachments = new ArrayList<>();
+        Map<Long, AttachmentRef> resolved = resolveAttachmentMap(fileIds);
         
+        List<AttachmentRef> attachments = new ArrayList<>(fileIds.size());
         for (Long fileId : fileIds) {
-            try {
-                FileServiceClient.FileMetadataResponse metadata = fileServiceClient.getFileMetadata(fileId);
-                
-                AttachmentRef ref = AttachmentRef.fromFileService(
-                    metadata.id,
-                    metadata.publicUrl,
-                    metadata.thumbnailUrl,
-                    metadata.mimeType,
-                    metadata.originalFilename,
-                    metadata.fileSize
-                );
-                
+            AttachmentRef ref = resolved.get(fileId);
+            if (ref != null) {
                 attachments.add(ref);
-                
+            }
+        }
+        return attachments;
+    }
+    
+    /**
+     * Resolve many file IDs with as few file-service round-trips as possible.
+     * Cached metadata is served locally; only misses are fetched via the bulk endpoint,
+     * in chunks of FileServiceClient.MAX_BATCH_IDS.
+     * 
+     * @param fileIds File IDs (duplicates allowed)
+     * @return Map of fileId to AttachmentRef; unresolvable IDs are absent
+     */
+    public Map<Long, AttachmentRef> resolveAttachmentMap(Collection<Long> fileIds) {
+        if (fileIds == null || fileIds.isEmpty()) {
+            return Map.of();
+        }
+        
+        Set<Long> uniqueIds = new LinkedHashSet<>(fileIds);
+        uniqueIds.remove(null);
+        
+        Map<Long, AttachmentRef> resolved = new HashMap<>(metadataCache.getAllPresent(uniqueIds));
+        
+        List<Long> missing = uniqueIds.stream()
+                .filter(id -> !resolved.containsKey(id))
+                .toList();
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+        
+        // A failed chunk only loses its own attachments
+        for (int from = 0; from < missing.size(); from += FileServiceClient.MAX_BATCH_IDS) {
+            List<Long> chunk = missing.subList(from, Math.min(from + FileServiceClient.MAX_BATCH_IDS, missing.size()));
+            try {
+                List<FileServiceClient.FileMetadataResponse> metadataList = fileServiceClient.getFileMetadataBatch(chunk);
+            
+                for (FileServiceClient.FileMetadataResponse metadata : metadataList) {
+                    AttachmentRef ref = AttachmentRef.fromFileService(
+                        metadata.id,
+                        metadata.publicUrl,
+                        metadata.thumbnailUrl,
+                        metadata.mimeType,
+                        metadata.originalFilename,
+                        metadata.fileSize
+                    );
+                    resolved.put(metadata.id, ref);
+                    metadataCache.put(metadata.id, ref);
+                }
             } catch (Exception e) {
-                log.warn("Failed to resolve file ID {}: {}", fileId, e.getMessage());
-                // Continue with other files, don't fail entire request
+                log.warn("Failed to resolve {} file IDs: {}", chunk.size(), e.getMessage());
+                // Return what we have, don't fail entire request
             }
         }
+            
+        if (resolved.size() < uniqueIds.size()) {
+            log.warn("File-service did not return metadata for {} of {} file IDs", 
+                    uniqueIds.size() - resolved.size(), uniqueIds.size());
+        }
         
-        return attachments;
+        return resolved;
     }
 }
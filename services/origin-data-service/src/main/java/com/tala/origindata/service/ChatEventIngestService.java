@@ -0,0 +1,312 @@
+package com.tala.origindata.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.origindata.constant.DataSourceType;
+import com.tala.origindata.domain.HomeEvent;
+import com.tala.origindata.domain.OriginalEvent;
+import com.tala.origindata.domain.TimelineEntry;
+import com.tala.origindata.dto.ChatEventRequest;
+import com.tala.origindata.repository.OriginalEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Chat Event Ingest Service
+ * 
+ * Stores AI-processed chat events and runs OriginalEvent -> HomeEvent -> Timeline
+ * (plus the typed report projections for daycare/incident/health reports).
+ * - ingestOne(): single event, processing errors don't fail the request
+ * - ingestBatch(): chunks of events, each chunk persisted in one transaction with
+ *   saveAll() so Hibernate emits JDBC batch inserts (IDs are assigned by IdGenerator
+ *   on persist, so batching is not disabled by identity columns).
+ *   A chunk that fails is retried item by item so one bad event cannot sink the rest.
+ *   An event whose home event or timeline entries cannot be built is stored unprocessed,
+ *   without projections, and picked up by ReprocessingService (as in ingestOne()).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChatEventIngestService {
+    
+    private final OriginalEventService originalEventService;
+    private final OriginalEventRepository originalEventRepository;
+    private final EventProcessorService eventProcessorService;
+    private final HomeEventService homeEventService;
+    private final TimelineService timelineService;
+    private final StructuredReportProjector structuredReportProjector;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${ingest.chat-events.chunk-size:500}")
+    private int chunkSize;
+    
+    /**
+     * Store one chat event and process it: OriginalEvent -> HomeEvent -> Timeline.
+     * Events already stored and processed under the same sourceEventId are not reprocessed.
+     */
+    public IngestResult ingestOne(ChatEventRequest request) throws Exception {
+        // Convert request to JSON payload
+        String rawPayload = objectMapper.writeValueAsString(request);
+        
+        // Create original event with attachments (event sourcing, idempotent on sourceEventId)
+        OriginalEvent originalEvent = originalEventService.createEvent(
+                request.getProfileId(),
+                resolveDataSourceType(request),
+                request.getSourceEventId(),
+                resolveEventTime(request),
+                rawPayload,
+                request.getAttachmentFileIds()  // Attachment IDs from chat
+        );
+        
+        if (Boolean.TRUE.equals(originalEvent.getAiProcessed())) {
+            log.info("Chat event already processed, skipping: originalEventId={}, sourceEventId={}",
+                    originalEvent.getId(), request.getSourceEventId());
+            return IngestResult.duplicate(request.getSourceEventId(), originalEvent.getId());
+        }
+        
+        log.info("Chat event stored: originalEventId={}, profileId={}",
+                originalEvent.getId(), request.getProfileId());
+        
+        // Process the event immediately: OriginalEvent -> HomeEvent -> Timeline
+        List<Long> timelineIds = List.of();
+        try {
+            timelineIds = eventProcessorService.processOriginalEvent(originalEvent);
+            log.info("Successfully processed event: created {} timeline entries", timelineIds.size());
+        } catch (Exception e) {
+            log.error("Failed to process original event, but event is saved: originalEventId={}",
+                    originalEvent.getId(), e);
+            // Don't fail the request - event is saved and can be reprocessed later
+        }
+        
+        return IngestResult.stored(request.getSourceEventId(), originalEvent.getId(), timelineIds.size());
+    }
+    
+    /**
+     * Store and process many chat events
+     * 
+     * @return One result per request, in request order
+     */
+    public List<IngestResult> ingestBatch(List<ChatEventRequest> requests) {
+        List<IngestResult> results = new ArrayList<>(requests.size());
+        
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            List<ChatEventRequest> chunk = requests.subList(from, Math.min(from + chunkSize, requests.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> ingestChunk(chunk)));
+            } catch (Exception e) {
+                log.warn("Batch chunk of {} chat events failed, falling back to per-item ingest: {}",
+                        chunk.size(), e.getMessage());
+                for (ChatEventRequest request : chunk) {
+                    results.add(ingestOneSafely(request));
+                }
+            }
+        }
+        
+        log.info("Ingested batch of {} chat events", requests.size());
+        return results;
+    }
+    
+    private IngestResult ingestOneSafely(ChatEventRequest request) {
+        try {
+            return ingestOne(request);
+        } catch (Exception e) {
+            log.error("Failed to store chat event: sourceEventId={}", request.getSourceEventId(), e);
+            return IngestResult.failed(request.getSourceEventId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Persist one chunk inside the caller's transaction
+     */
+    private List<IngestResult> ingestChunk(List<ChatEventRequest> chunk) {
+        // 1. Dedup against already stored events with one query
+        List<String> sourceEventIds = chunk.stream()
+                .map(ChatEventRequest::getSourceEventId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, OriginalEvent> known = new HashMap<>();
+        if (!sourceEventIds.isEmpty()) {
+            for (OriginalEvent existing : originalEventRepository.findBySourceEventIdIn(sourceEventIds)) {
+                known.put(dedupKey(existing.getSourceType(), existing.getSourceEventId()), existing);
+            }
+        }
+        
+        // 2. Build new OriginalEvents; they are processed in this transaction, so store them as processed
+        //    (events whose projections fail are flipped back below, which is rare)
+        Instant now = Instant.now();
+        IngestResult[] results = new IngestResult[chunk.size()];
+        List<OriginalEvent> newEvents = new ArrayList<>();
+        List<Integer> newEventIndexes = new ArrayList<>();
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            ChatEventRequest request = chunk.get(i);
+            DataSourceType dataSourceType = resolveDataSourceType(request);
+            String key = request.getSourceEventId() != null
+                    ? dedupKey(dataSourceType, request.getSourceEventId()) : null;
+            
+            OriginalEvent existing = key != null ? known.get(key) : null;
+            if (existing != null) {
+                if (Boolean.TRUE.equals(existing.getAiProcessed())
+                        || !originalEventService.claimForProcessing(existing)) {
+                    results[i] = IngestResult.duplicate(request.getSourceEventId(), existing.getId());
+                } else {
+                    // Stored earlier but never processed (nor picked up by reprocessing): process it now
+                    List<Long> timelineIds = eventProcessorService.processClaimedEvent(existing);
+                    results[i] = IngestResult.stored(request.getSourceEventId(), existing.getId(), timelineIds.size());
+                }
+                continue;
+            }
+            
+            OriginalEvent event;
+            try {
+                event = OriginalEvent.builder()
+                        .profileId(request.getProfileId())
+                        .sourceType(dataSourceType)
+                        .sourceEventId(request.getSourceEventId())
+                        .eventTime(resolveEventTime(request))
+                        .rawPayload(objectMapper.writeValueAsString(request))
+                        .attachmentIds(request.getAttachmentFileIds() != null ? request.getAttachmentFileIds() : List.of())
+                        .aiProcessed(true)
+                        .aiProcessedAt(now)
+                        .build();
+            } catch (Exception e) {
+                results[i] = IngestResult.failed(request.getSourceEventId(), e.getMessage());
+                continue;
+            }
+            
+            newEvents.add(event);
+            newEventIndexes.add(i);
+            if (key != null) {
+                // Later duplicates in the same chunk resolve to this event (ID assigned on persist)
+                known.put(key, event);
+            }
+        }
+        
+        originalEventRepository.saveAll(newEvents);
+        
+        // 3. One HomeEvent and N TimelineEntries per chat message with extracted events,
+        //    built per event so a failing event contributes no projections at all
+        List<HomeEvent> homeEvents = new ArrayList<>();
+        List<TimelineEntry> timelineEntries = new ArrayList<>();
+        int[] timelineCounts = new int[newEvents.size()];
+        boolean[] failed = new boolean[newEvents.size()];
+        for (int n = 0; n < newEvents.size(); n++) {
+            OriginalEvent event = newEvents.get(n);
+            ChatEventRequest request = chunk.get(newEventIndexes.get(n));
+            if (!eventProcessorService.isProcessedAsChatEvent(event.getSourceType())
+                    || request.getEvents() == null || request.getEvents().isEmpty()) {
+                continue;
+            }
+            try {
+                HomeEvent homeEvent = eventProcessorService.buildHomeEvent(event, request);
+                List<TimelineEntry> entries = new ArrayList<>(request.getEvents().size());
+                for (ChatEventRequest.ExtractedEvent extractedEvent : request.getEvents()) {
+                    entries.add(eventProcessorService.buildTimelineEntry(event, homeEvent, request, extractedEvent));
+                }
+                homeEvents.add(homeEvent);
+                timelineEntries.addAll(entries);
+                timelineCounts[n] = entries.size();
+            } catch (Exception e) {
+                log.error("Failed to build projections, event is saved unprocessed: sourceEventId={}",
+                        request.getSourceEventId(), e);
+                failed[n] = true;
+                event.setAiProcessed(false);
+                event.setAiProcessedAt(null);
+            }
+        }
+        homeEventService.createHomeEvents(homeEvents);
+        timelineService.createTimelineEntries(timelineEntries);
+        
+        // 4. Typed report projections, child rows batched across the whole chunk
+        List<StructuredReportProjector.ReportSource> reportSources = new ArrayList<>();
+        for (int n = 0; n < newEvents.size(); n++) {
+            if (!failed[n]) {
+                reportSources.add(new StructuredReportProjector.ReportSource(
+                        newEvents.get(n), chunk.get(newEventIndexes.get(n))));
+            }
+        }
+        int reports = structuredReportProjector.projectAll(reportSources);
+        
+        for (int n = 0; n < newEvents.size(); n++) {
+            int i = newEventIndexes.get(n);
+            results[i] = IngestResult.stored(chunk.get(i).getSourceEventId(), newEvents.get(n).getId(), timelineCounts[n]);
+        }
+        
+        // Fill in IDs for in-chunk duplicates now that persist assigned them
+        for (int i = 0; i < results.length; i++) {
+            if (results[i].duplicate() && results[i].originalEventId() == null) {
+                OriginalEvent first = known.get(dedupKey(resolveDataSourceType(chunk.get(i)), chunk.get(i).getSourceEventId()));
+                results[i] = IngestResult.duplicate(chunk.get(i).getSourceEventId(), first.getId());
+            }
+        }
+        
+        log.debug("Persisted chunk: {} original events, {} home events, {} timeline entries, {} structured reports",
+                newEvents.size(), homeEvents.size(), timelineEntries.size(), reports);
+        
+        return List.of(results);
+    }
+    
+    /**
+     * Determine event time from first extracted event or use current time
+     */
+    private Instant resolveEventTime(ChatEventRequest request) {
+        if (request.getEvents() != null && !request.getEvents().isEmpty()) {
+            ChatEventRequest.ExtractedEvent firstEvent = request.getEvents().get(0);
+            if (firstEvent.getTimestamp() != null) {
+                return firstEvent.getTimestamp()
+                        .atZone(ZoneId.systemDefault())
+                        .toInstant();
+            }
+        }
+        return Instant.now();
+    }
+    
+    /**
+     * Determine data source type from AI response, fallback to AI_CHAT
+     */
+    private DataSourceType resolveDataSourceType(ChatEventRequest request) {
+        if (request.getDataSourceType() != null && !request.getDataSourceType().isEmpty()) {
+            try {
+                return DataSourceType.valueOf(request.getDataSourceType());
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid data source type: {}, using AI_CHAT", request.getDataSourceType());
+            }
+        }
+        return DataSourceType.AI_CHAT;
+    }
+    
+    private String dedupKey(DataSourceType sourceType, String sourceEventId) {
+        return sourceType + "|" + sourceEventId;
+    }
+    
+    /**
+     * Outcome of storing one chat event
+     */
+    public record IngestResult(String sourceEventId, boolean success, boolean duplicate,
+                               Long originalEventId, int timelineIdsCreated, String error) {
+        
+        static IngestResult stored(String sourceEventId, Long originalEventId, int timelineIdsCreated) {
+            return new IngestResult(sourceEventId, true, false, originalEventId, timelineIdsCreated, null);
+        }
+        
+        static IngestResult duplicate(String sourceEventId, Long originalEventId) {
+            return new IngestResult(sourceEventId, true, true, originalEventId, 0, null);
+        }
+        
+        static IngestResult failed(String sourceEventId, String error) {
+            return new IngestResult(sourceEventId, false, false, null, 0, error);
+        }
+    }
+}
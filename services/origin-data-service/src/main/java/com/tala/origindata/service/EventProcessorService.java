@@ -35,38 +35,49 @@ public class EventProcessorService {
     private final HomeEventService homeEventService;
     private final TimelineService timelineService;
     private final OriginalEventService originalEventService;
+    private final StructuredReportProjector structuredReportProjector;
     private final ObjectMapper objectMapper;
     
     /**
      * Process an OriginalEvent and create corresponding HomeEvents and Timeline entries
      * 
+     * The event is claimed first (see OriginalEventService#claimForProcessing); an event
+     * already processed elsewhere is skipped.
+     * 
      * @param originalEvent The original event to process
-     * @return List of created timeline entry IDs
+     * @return List of created timeline entry IDs (empty if the event was already processed)
      */
     @Transactional
     public List<Long> processOriginalEvent(OriginalEvent originalEvent) {
-        log.info("Processing original event: id={}, sourceType={}", 
+        if (!originalEventService.claimForProcessing(originalEvent)) {
+            log.debug("Original event already processed, skipping: id={}", originalEvent.getId());
+            return List.of();
+        }
+        return processClaimedEvent(originalEvent);
+    }
+    
+    /**
+     * Create HomeEvents and Timeline entries of an event the caller already claimed
+     * 
+     * @param originalEvent The claimed original event
+     * @return List of created timeline entry IDs
+     */
+    @Transactional
+    public List<Long> processClaimedEvent(OriginalEvent originalEvent) {
+        log.debug("Processing original event: id={}, sourceType={}", 
                 originalEvent.getId(), originalEvent.getSourceType());
         
         List<Long> timelineIds = new ArrayList<>();
         
         try {
             // Parse the raw payload based on source type
-            // HOME_EVENT, DAY_CARE_REPORT, INCIDENT_REPORT, HEALTH_REPORT are all processed as AI chat events
-            if (originalEvent.getSourceType() == DataSourceType.AI_CHAT ||
-                originalEvent.getSourceType() == DataSourceType.HOME_EVENT ||
-                originalEvent.getSourceType() == DataSourceType.DAY_CARE_REPORT ||
-                originalEvent.getSourceType() == DataSourceType.INCIDENT_REPORT ||
-                originalEvent.getSourceType() == DataSourceType.HEALTH_REPORT) {
+            if (isProcessedAsChatEvent(originalEvent.getSourceType())) {
                 timelineIds = processAiChatEvent(originalEvent);
             } else {
                 log.warn("Unsupported source type for processing: {}", originalEvent.getSourceType());
             }
             
-            // Mark original event as processed
-            originalEventService.markAsProcessed(originalEvent.getId());
-            
-            log.info("Completed processing original event: id={}, created {} timeline entries", 
+            log.debug("Completed processing original event: id={}, created {} timeline entries", 
                     originalEvent.getId(), timelineIds.size());
             
         } catch (Exception e) {
@@ -77,9 +88,21 @@ public class EventProcessorService {
         return timelineIds;
     }
     
+    /**
+     * HOME_EVENT, DAY_CARE_REPORT, INCIDENT_REPORT, HEALTH_REPORT are all processed as AI chat events
+     */
+    boolean isProcessedAsChatEvent(DataSourceType sourceType) {
+        return sourceType == DataSourceType.AI_CHAT ||
+            sourceType == DataSourceType.HOME_EVENT ||
+            sourceType == DataSourceType.DAY_CARE_REPORT ||
+            sourceType == DataSourceType.INCIDENT_REPORT ||
+            sourceType == DataSourceType.HEALTH_REPORT;
+    }
+    
     /**
      * Process AI Chat event
      * Data model: 1 OriginalEvent -> 1 HomeEvent -> N TimelineEntries
+     * (+ typed report projection for DAY_CARE_REPORT / INCIDENT_REPORT / HEALTH_REPORT)
      */
     private List<Long> processAiChatEvent(OriginalEvent originalEvent) throws Exception {
         List<Long> timelineIds = new ArrayList<>();
@@ -90,26 +113,31 @@ public class EventProcessorService {
                 ChatEventRequest.class);
         
         if (chatRequest.getEvents() == null || chatRequest.getEvents().isEmpty()) {
-            log.info("No extracted events in chat request, skipping HomeEvent/Timeline creation");
+            log.debug("No extracted events in chat request, skipping HomeEvent/Timeline creation");
             return timelineIds;
         }
         
+        // Typed projection (DayCareReport / IncidentReport / HealthReport) for structured reports
+        if (structuredReportProjector.isStructuredReport(originalEvent.getSourceType())) {
+            structuredReportProjector.project(originalEvent, chatRequest);
+        }
+        
         // Create ONE HomeEvent for the entire chat message
-        HomeEvent homeEvent = createHomeEventFromChatRequest(
-                originalEvent, chatRequest);
+        HomeEvent homeEvent = homeEventService.createHomeEvent(
+                buildHomeEvent(originalEvent, chatRequest));
         
-        log.info("Created HomeEvent (id={}) for chat message with {} extracted events", 
+        log.debug("Created HomeEvent (id={}) for chat message with {} extracted events", 
                 homeEvent.getId(), chatRequest.getEvents().size());
         
         // Create N TimelineEntries, one for each extracted event
         for (ChatEventRequest.ExtractedEvent extractedEvent : chatRequest.getEvents()) {
             try {
-                TimelineEntry timeline = createTimelineEntryFromExtracted(
-                        originalEvent, homeEvent, chatRequest, extractedEvent);
+                TimelineEntry timeline = timelineService.createTimelineEntry(
+                        buildTimelineEntry(originalEvent, homeEvent, chatRequest, extractedEvent));
                 
                 timelineIds.add(timeline.getId());
                 
-                log.info("Created Timeline (id={}) for event type: {}", 
+                log.debug("Created Timeline (id={}) for event type: {}", 
                         timeline.getId(), extractedEvent.getEventType());
                 
             } catch (Exception e) {
@@ -123,10 +151,10 @@ public class EventProcessorService {
     }
     
     /**
-     * Create ONE HomeEvent from the entire chat request
+     * Build (unsaved) ONE HomeEvent from the entire chat request
      * This represents the parent's single message that may contain multiple events
      */
-    private HomeEvent createHomeEventFromChatRequest(
+    HomeEvent buildHomeEvent(
             OriginalEvent originalEvent,
             ChatEventRequest chatRequest) throws Exception {
         
@@ -156,7 +184,7 @@ public class EventProcessorService {
         String location = extractLocationFromEventData(firstEvent.getEventData());
         
         // Build HomeEvent
-        HomeEvent homeEvent = HomeEvent.builder()
+        return HomeEvent.builder()
                 .originalEventId(originalEvent.getId())
                 .profileId(originalEvent.getProfileId())
                 .eventType(homeEventType)
@@ -166,14 +194,12 @@ public class EventProcessorService {
                 .details(detailsJson)
                 .location(location)
                 .build();
-        
-        return homeEventService.createHomeEvent(homeEvent);
     }
     
     /**
-     * Create TimelineEntry from extracted event data
+     * Build (unsaved) TimelineEntry from extracted event data
      */
-    private TimelineEntry createTimelineEntryFromExtracted(
+    TimelineEntry buildTimelineEntry(
             OriginalEvent originalEvent,
             HomeEvent homeEvent,
             ChatEventRequest chatRequest,
@@ -190,10 +216,10 @@ public class EventProcessorService {
                     aiTagsObj != null ? aiTagsObj.getClass().getName() : "null", aiTagsObj);
             if (aiTagsObj instanceof List || aiTagsObj instanceof String) {
                 aiTagsJson = objectMapper.writeValueAsString(aiTagsObj);
-                log.info("Extracted AI tags JSON: {}", aiTagsJson);
+                log.debug("Extracted AI tags JSON: {}", aiTagsJson);
             }
         } else {
-            log.warn("No ai_tags found in eventData. EventData keys: {}", 
+            log.debug("No ai_tags found in eventData. EventData keys: {}", 
                     extractedEvent.getEventData() != null ? extractedEvent.getEventData().keySet() : "null");
         }
         
@@ -203,7 +229,7 @@ public class EventProcessorService {
                 : homeEvent.getEventTime();
         
         // Build TimelineEntry
-        TimelineEntry timeline = TimelineEntry.builder()
+        return TimelineEntry.builder()
                 .originalEventId(originalEvent.getId())
                 .profileId(originalEvent.getProfileId())
                 .timelineType(timelineType)
@@ -215,9 +241,9 @@ public class EventProcessorService {
                 .location(extractLocationFromEventData(extractedEvent.getEventData()))
                 .aiModelVersion("gemini-2.5-flash") // TODO: Extract from event metadata
                 .originalUserMessage(chatRequest.getUserMessage())
+                .eventData(extractedEvent.getEventData())
+                .attachmentIds(originalEvent.getAttachmentIds())
                 .build();
-        
-        return timelineService.createTimelineEntry(timeline);
     }
     
     /**
@@ -269,26 +295,4 @@ public class EventProcessorService {
         Object location = eventData.get("location");
         return location != null ? location.toString() : "Home";
     }
-    
-    /**
-     * Process all unprocessed OriginalEvents
-     * This can be called by a scheduled job or on-demand
-     */
-    @Transactional
-    public void processAllUnprocessedEvents() {
-        List<OriginalEvent> unprocessedEvents = originalEventService.getUnprocessedEvents();
-        
-        log.info("Found {} unprocessed events to process", unprocessedEvents.size());
-        
-        for (OriginalEvent event : unprocessedEvents) {
-            try {
-                processOriginalEvent(event);
-            } catch (Exception e) {
-                log.error("Failed to process event: id={}", event.getId(), e);
-                // Continue processing other events
-            }
-        }
-        
-        log.info("Completed processing batch of {} events", unprocessedEvents.size());
-    }
 }
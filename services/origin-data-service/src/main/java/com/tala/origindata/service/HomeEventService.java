@@ -33,6 +33,16 @@ public class HomeEventService {
         return saved;
     }
     
+    /**
+     * Create home events in one batch (JDBC batch insert on flush)
+     */
+    @Transactional
+    public List<HomeEvent> createHomeEvents(List<HomeEvent> events) {
+        List<HomeEvent> saved = homeEventRepository.saveAll(events);
+        log.debug("Created {} home events", saved.size());
+        return saved;
+    }
+    
     /**
      * Get home events by profile
      */
@@ -3,6 +3,7 @@ package com.tala.origindata.service;
 import com.tala.origindata.constant.DataSourceType;
 import com.tala.origindata.domain.OriginalEvent;
 import com.tala.origindata.repository.OriginalEventRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,7 @@ import java.util.Optional;
 public class OriginalEventService {
     
     private final OriginalEventRepository originalEventRepository;
+    private final EntityManager entityManager;
     
     /**
      * Create a new original event (idempotent) - without attachments
@@ -74,6 +76,31 @@ public class OriginalEventService {
         return saved;
     }
     
+    /**
+     * Claim an unprocessed event for projection (joins the caller's transaction)
+     * 
+     * Used by ingest and ReprocessingService alike, so an event is projected at most once.
+     * A rollback of the caller's transaction releases the claim.
+     * 
+     * @return false if the event was already processed (or claimed by a running transaction)
+     */
+    @Transactional
+    public boolean claimForProcessing(OriginalEvent event) {
+        Instant now = Instant.now();
+        if (originalEventRepository.claimUnprocessed(event.getId(), now).isPresent()) {
+            // Keep the loaded entity in line with the row, so a later flush does not undo the claim
+            event.setAiProcessed(true);
+            event.setAiProcessedAt(now);
+            return true;
+        }
+        if (entityManager.contains(event)) {
+            entityManager.refresh(event);
+        } else {
+            event.setAiProcessed(true);
+        }
+        return false;
+    }
+    
     /**
      * Mark event as AI processed
      */
@@ -87,14 +114,6 @@ public class OriginalEventService {
         });
     }
     
-    /**
-     * Get unprocessed events for AI processing
-     */
-    @Transactional(readOnly = true)
-    public List<OriginalEvent> getUnprocessedEvents() {
-        return originalEventRepository.findByAiProcessedFalseOrderByEventTimeAsc();
-    }
-    
     /**
      * Get events by profile
      */
@@ -0,0 +1,585 @@
+package com.tala.origindata.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.core.util.IdGenerator;
+import com.tala.origindata.constant.DataSourceType;
+import com.tala.origindata.domain.HomeEvent;
+import com.tala.origindata.domain.OriginalEvent;
+import com.tala.origindata.domain.TimelineEntry;
+import com.tala.origindata.dto.ChatEventRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Projection Rebuild Service
+ * 
+ * Re-derives home_events and timeline_entries from the original_events log:
+ * 1. Create empty shadow tables (same columns, no indexes)
+ * 2. Stream processed original_events per profile partition with a server-side cursor,
+ *    re-run the HomeEvent/TimelineEntry mapping and batch-insert into the shadow tables
+ * 3. Build the live tables' constraints and indexes on the shadows
+ * 4. In one short transaction: lock the live tables, copy rows for events processed
+ *    while the rebuild ran, and swap the shadows in by renaming
+ * 
+ * Rebuilt rows keep the IDs of the rows they replace (same original event; timeline
+ * entries are matched by type in ID order), so daily summaries, analytics de-duplication
+ * and client references stay valid. They also keep the predecessor's created_at and
+ * updated_at, so audit history survives and daily summary reconciliation does not see
+ * every entry as changed. Only rows without a predecessor get new IDs and the rebuild time.
+ * Missing typed reports (daycare/incident/health) are projected into the live tables on
+ * the way; existing ones are left as they are.
+ * 
+ * One rebuild runs at a time across all instances (session advisory lock).
+ * Memory is bounded by the fetch and batch sizes, not by the log size.
+ * Rebuilt timeline entries are not published to the timeline outbox.
+ */
+@Service
+@Slf4j
+public class ProjectionRebuildService {
+    
+    private static final String SCHEMA = "origin_data";
+    private static final String HOME_EVENTS = "home_events";
+    private static final String TIMELINE_ENTRIES = "timeline_entries";
+    private static final String SHADOW_SUFFIX = "_rebuild";
+    private static final String OLD_SUFFIX = "_old";
+    private static final String NAME_SUFFIX = "_rb";
+    private static final String REBUILD_LOCK = "SELECT pg_try_advisory_lock(hashtext('origin_data.projection_rebuild'))";
+    private static final String REBUILD_UNLOCK = "SELECT pg_advisory_unlock(hashtext('origin_data.projection_rebuild'))";
+    
+    private static final String INSERT_HOME_EVENT =
+            "INSERT INTO origin_data.home_events" + SHADOW_SUFFIX +
+            " (id, original_event_id, profile_id, event_type, event_time, title, description, details, location, created_at, updated_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?)";
+    
+    private static final String INSERT_TIMELINE_ENTRY =
+            "INSERT INTO origin_data.timeline_entries" + SHADOW_SUFFIX +
+            " (id, original_event_id, profile_id, timeline_type, data_source, record_time, title, ai_summary, ai_tags," +
+            " location, ai_model_version, original_user_message, created_at, updated_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?, ?, ?, ?)";
+    
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransactionTemplate;
+    private final TransactionTemplate writeTransactionTemplate;
+    private final EventProcessorService eventProcessorService;
+    private final StructuredReportProjector structuredReportProjector;
+    private final TimelineCacheService timelineCacheService;
+    private final ObjectMapper objectMapper;
+    
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong eventsRead = new AtomicLong();
+    private final AtomicLong homeEventsWritten = new AtomicLong();
+    private final AtomicLong timelineEntriesWritten = new AtomicLong();
+    private final AtomicLong eventsSkipped = new AtomicLong();
+    private final AtomicLong reportsWritten = new AtomicLong();
+    private volatile String phase = "IDLE";
+    
+    @Value("${projections.rebuild.partitions:4}")
+    private int partitions;
+    
+    @Value("${projections.rebuild.batch-size:1000}")
+    private int batchSize;
+    
+    public ProjectionRebuildService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            EventProcessorService eventProcessorService,
+            StructuredReportProjector structuredReportProjector,
+            TimelineCacheService timelineCacheService,
+            ObjectMapper objectMapper,
+            @Value("${projections.rebuild.fetch-size:5000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        // Postgres only uses a server-side cursor inside a transaction
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        
+        // Shadow batches commit independently of the long-running read cursor
+        this.writeTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.writeTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        this.eventProcessorService = eventProcessorService;
+        this.structuredReportProjector = structuredReportProjector;
+        this.timelineCacheService = timelineCacheService;
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Rebuild both projections and swap them in. Blocks until done.
+     * 
+     * @return Rebuild summary, or null if a rebuild is already running (on any instance)
+     */
+    public Status rebuild() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Projection rebuild already in progress, skipping");
+            return null;
+        }
+        
+        Connection lockConnection;
+        try {
+            lockConnection = tryLockRebuild();
+        } catch (SQLException e) {
+            running.set(false);
+            throw new IllegalStateException("Failed to take the projection rebuild lock", e);
+        }
+        if (lockConnection == null) {
+            running.set(false);
+            log.info("Projection rebuild already in progress on another instance, skipping");
+            return null;
+        }
+        
+        eventsRead.set(0);
+        homeEventsWritten.set(0);
+        timelineEntriesWritten.set(0);
+        eventsSkipped.set(0);
+        reportsWritten.set(0);
+        long start = System.currentTimeMillis();
+        
+        try {
+            Instant startedAt = jdbcTemplate.queryForObject("SELECT now()", Timestamp.class).toInstant();
+            
+            phase = "PREPARING";
+            TableShape homeEvents = prepareShadow(HOME_EVENTS);
+            TableShape timelineEntries = prepareShadow(TIMELINE_ENTRIES);
+            
+            phase = "LOADING";
+            loadPartitions();
+            
+            phase = "INDEXING";
+            buildIndexes(homeEvents);
+            buildIndexes(timelineEntries);
+            
+            phase = "SWAPPING";
+            transactionTemplate.executeWithoutResult(status -> swap(startedAt, homeEvents, timelineEntries));
+            validateForeignKeys(homeEvents);
+            validateForeignKeys(timelineEntries);
+            
+            // Rebuilt entries may differ from the cached ones
+            timelineCacheService.invalidateAll();
+            
+            phase = "IDLE";
+            log.info("Projection rebuild completed in {}s: events={}, homeEvents={}, timelineEntries={}, reports={}, skipped={}",
+                    (System.currentTimeMillis() - start) / 1000, eventsRead.get(),
+                    homeEventsWritten.get(), timelineEntriesWritten.get(), reportsWritten.get(), eventsSkipped.get());
+            return getStatus();
+        
+        } catch (RuntimeException e) {
+            phase = "FAILED";
+            log.error("Projection rebuild failed; live tables are unchanged", e);
+            throw e;
+        
+        } finally {
+            unlockRebuild(lockConnection);
+            running.set(false);
+        }
+    }
+    
+    /**
+     * Take the rebuild lock on a dedicated connection. A session lock is held by the
+     * connection, so it is also released if this instance dies mid-rebuild.
+     * 
+     * @return Connection holding the lock, or null if another instance holds it
+     */
+    private Connection tryLockRebuild() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(REBUILD_LOCK)) {
+            if (rs.next() && rs.getBoolean(1)) {
+                return connection;
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connection.close();
+        return null;
+    }
+    
+    /**
+     * Release the rebuild lock before the connection goes back to the pool
+     */
+    private void unlockRebuild(Connection connection) {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(REBUILD_UNLOCK);
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("Failed to release the projection rebuild lock, discarding its connection: {}", e.getMessage());
+            try {
+                // A pooled connection would keep holding the lock
+                connection.abort(Runnable::run);
+            } catch (SQLException ignored) {
+                // Connection is gone, and so is the lock
+            }
+        }
+    }
+    
+    /**
+     * Current progress snapshot
+     */
+    public Status getStatus() {
+        return new Status(running.get(), phase, eventsRead.get(), homeEventsWritten.get(),
+                timelineEntriesWritten.get(), reportsWritten.get(), eventsSkipped.get());
+    }
+    
+    // ------------------------------------------------------------------------
+    // Shadow tables
+    // ------------------------------------------------------------------------
+    
+    /**
+     * Create an empty shadow table and capture the live table's constraints and indexes
+     */
+    private TableShape prepareShadow(String table) {
+        String live = SCHEMA + "." + table;
+        String shadow = live + SHADOW_SUFFIX;
+        
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + shadow);
+        jdbcTemplate.execute("CREATE TABLE " + shadow + " (LIKE " + live + " INCLUDING DEFAULTS)");
+        
+        List<Map<String, Object>> constraints = jdbcTemplate.queryForList(
+                "SELECT conname, contype, pg_get_constraintdef(oid) AS def FROM pg_constraint " +
+                "WHERE conrelid = ?::regclass AND contype IN ('p', 'u', 'f') ORDER BY contype DESC, conname", live);
+        List<Map<String, Object>> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = ? AND tablename = ? " +
+                "AND indexname NOT IN (SELECT conname FROM pg_constraint WHERE conrelid = ?::regclass)",
+                SCHEMA, table, live);
+        
+        return new TableShape(table, constraints, indexes);
+    }
+    
+    /**
+     * Create primary/unique constraints and secondary indexes on the loaded shadow table.
+     * Names get a temporary suffix and are renamed back after the swap.
+     */
+    private void buildIndexes(TableShape shape) {
+        String live = SCHEMA + "." + shape.table();
+        String shadow = live + SHADOW_SUFFIX;
+        
+        for (Map<String, Object> constraint : shape.constraints()) {
+            if (!"f".equals(String.valueOf(constraint.get("contype")))) {
+                jdbcTemplate.execute("ALTER TABLE " + shadow + " ADD CONSTRAINT " +
+                        constraint.get("conname") + NAME_SUFFIX + " " + constraint.get("def"));
+            }
+        }
+        for (Map<String, Object> index : shape.indexes()) {
+            String name = (String) index.get("indexname");
+            String def = ((String) index.get("indexdef"))
+                    .replace(" INDEX " + name + " ON " + live + " ", " INDEX " + name + NAME_SUFFIX + " ON " + shadow + " ");
+            jdbcTemplate.execute(def);
+        }
+        jdbcTemplate.execute("ANALYZE " + shadow);
+        log.info("Built {} constraints and {} indexes on {}", shape.constraints().size(), shape.indexes().size(), shadow);
+    }
+    
+    /**
+     * Catch up and swap shadow tables in; runs in one transaction
+     */
+    private void swap(Instant startedAt, TableShape... shapes) {
+        jdbcTemplate.execute("LOCK TABLE origin_data.home_events, origin_data.timeline_entries IN ACCESS EXCLUSIVE MODE");
+        
+        for (TableShape shape : shapes) {
+            String live = SCHEMA + "." + shape.table();
+            String shadow = live + SHADOW_SUFFIX;
+            
+            // Events processed on the live path while the rebuild was streaming
+            int copied = jdbcTemplate.update(
+                    "INSERT INTO " + shadow + " SELECT l.* FROM " + live + " l " +
+                    "JOIN origin_data.original_events o ON o.id = l.original_event_id " +
+                    "WHERE o.ai_processed_at >= ? " +
+                    "AND NOT EXISTS (SELECT 1 FROM " + shadow + " s WHERE s.original_event_id = l.original_event_id)",
+                    Timestamp.from(startedAt));
+            log.info("Caught up {} rows into {}", copied, shadow);
+            
+            jdbcTemplate.execute("ALTER TABLE " + live + " RENAME TO " + shape.table() + OLD_SUFFIX);
+            jdbcTemplate.execute("ALTER TABLE " + shadow + " RENAME TO " + shape.table());
+            jdbcTemplate.execute("DROP TABLE " + live + OLD_SUFFIX);
+            
+            for (Map<String, Object> constraint : shape.constraints()) {
+                String name = (String) constraint.get("conname");
+                if ("f".equals(String.valueOf(constraint.get("contype")))) {
+                    jdbcTemplate.execute("ALTER TABLE " + live + " ADD CONSTRAINT " + name + " " +
+                            constraint.get("def") + " NOT VALID");
+                } else {
+                    jdbcTemplate.execute("ALTER TABLE " + live + " RENAME CONSTRAINT " + name + NAME_SUFFIX + " TO " + name);
+                }
+            }
+            for (Map<String, Object> index : shape.indexes()) {
+                String name = (String) index.get("indexname");
+                jdbcTemplate.execute("ALTER INDEX " + SCHEMA + "." + name + NAME_SUFFIX + " RENAME TO " + name);
+            }
+        }
+    }
+    
+    /**
+     * Validate foreign keys added NOT VALID during the swap (does not block writes)
+     */
+    private void validateForeignKeys(TableShape shape) {
+        for (Map<String, Object> constraint : shape.constraints()) {
+            if ("f".equals(String.valueOf(constraint.get("contype")))) {
+                jdbcTemplate.execute("ALTER TABLE " + SCHEMA + "." + shape.table() +
+                        " VALIDATE CONSTRAINT " + constraint.get("conname"));
+            }
+        }
+    }
+    
+    // ------------------------------------------------------------------------
+    // Streaming load
+    // ------------------------------------------------------------------------
+    
+    private void loadPartitions() {
+        ExecutorService executor = Executors.newFixedThreadPool(partitions);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(partitions);
+            for (int partition = 0; partition < partitions; partition++) {
+                int p = partition;
+                futures.add(CompletableFuture.runAsync(() -> loadPartition(p), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    /**
+     * Stream one profile partition in event_time order and write shadow rows in batches.
+     * Each event comes with the IDs and timestamps of its current home event and timeline entries.
+     */
+    private void loadPartition(int partition) {
+        ShadowBatch batch = new ShadowBatch();
+        
+        readTransactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                "SELECT o.id, o.profile_id, o.source_type, o.event_time, o.raw_payload, " +
+                "h.id AS home_event_id, h.created_at AS home_created_at, h.updated_at AS home_updated_at, " +
+                "t.ids AS timeline_ids, t.types AS timeline_types, t.created AS timeline_created, t.updated AS timeline_updated " +
+                "FROM origin_data.original_events o " +
+                "LEFT JOIN LATERAL (SELECT h.id, h.created_at, h.updated_at FROM origin_data.home_events h " +
+                "WHERE h.original_event_id = o.id ORDER BY h.id LIMIT 1) h ON TRUE " +
+                "LEFT JOIN LATERAL (SELECT array_agg(t.id ORDER BY t.id) AS ids, array_agg(t.timeline_type ORDER BY t.id) AS types, " +
+                "array_agg(t.created_at ORDER BY t.id) AS created, array_agg(t.updated_at ORDER BY t.id) AS updated " +
+                "FROM origin_data.timeline_entries t WHERE t.original_event_id = o.id) t ON TRUE " +
+                "WHERE o.ai_processed = TRUE AND o.deleted_at IS NULL " +
+                "AND (hashint8(o.profile_id) & 2147483647) % ? = ? " +
+                "ORDER BY o.event_time, o.id",
+                rs -> {
+                    eventsRead.incrementAndGet();
+                    OriginalEvent event = OriginalEvent.builder()
+                            .id(rs.getLong("id"))
+                            .profileId(rs.getLong("profile_id"))
+                            .sourceType(DataSourceType.valueOf(rs.getString("source_type")))
+                            .eventTime(rs.getTimestamp("event_time").toInstant())
+                            .rawPayload(rs.getString("raw_payload"))
+                            .build();
+                    long homeEventId = rs.getLong("home_event_id");
+                    ExistingRows existing = new ExistingRows(
+                            rs.wasNull() ? null : homeEventId,
+                            instantOf(rs.getTimestamp("home_created_at")),
+                            instantOf(rs.getTimestamp("home_updated_at")),
+                            (Long[]) arrayOf(rs.getArray("timeline_ids")),
+                            (String[]) arrayOf(rs.getArray("timeline_types")),
+                            (Timestamp[]) arrayOf(rs.getArray("timeline_created")),
+                            (Timestamp[]) arrayOf(rs.getArray("timeline_updated")));
+                    derive(event, existing, batch);
+                    if (batch.size() >= batchSize) {
+                        flush(batch);
+                    }
+                },
+                partitions, partition));
+        
+        flush(batch);
+        log.info("Projection rebuild partition {}/{} loaded", partition + 1, partitions);
+    }
+    
+    private static Object arrayOf(Array array) throws SQLException {
+        return array != null ? array.getArray() : null;
+    }
+    
+    private static Instant instantOf(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+    
+    /**
+     * Re-run the OriginalEvent -> HomeEvent -> TimelineEntry mapping for one event,
+     * reusing the IDs and timestamps of the rows it produced before
+     */
+    private void derive(OriginalEvent event, ExistingRows existing, ShadowBatch batch) {
+        if (!eventProcessorService.isProcessedAsChatEvent(event.getSourceType())) {
+            eventsSkipped.incrementAndGet();
+            return;
+        }
+        
+        try {
+            ChatEventRequest chatRequest = objectMapper.readValue(event.getRawPayload(), ChatEventRequest.class);
+            if (chatRequest.getEvents() == null || chatRequest.getEvents().isEmpty()) {
+                return;
+            }
+            
+            HomeEvent homeEvent = eventProcessorService.buildHomeEvent(event, chatRequest);
+            if (existing.homeEventId() != null) {
+                homeEvent.setId(existing.homeEventId());
+                homeEvent.setCreatedAt(existing.homeCreatedAt());
+                homeEvent.setUpdatedAt(existing.homeUpdatedAt());
+            } else {
+                homeEvent.setId(IdGenerator.getInstance().nextId());
+            }
+            
+            List<TimelineEntry> entries = new ArrayList<>(chatRequest.getEvents().size());
+            boolean[] used = new boolean[existing.timelineIds() != null ? existing.timelineIds().length : 0];
+            for (ChatEventRequest.ExtractedEvent extractedEvent : chatRequest.getEvents()) {
+                TimelineEntry entry = eventProcessorService.buildTimelineEntry(event, homeEvent, chatRequest, extractedEvent);
+                int predecessor = existing.claimTimelineEntry(entry.getTimelineType().name(), used);
+                if (predecessor >= 0) {
+                    entry.setId(existing.timelineIds()[predecessor]);
+                    entry.setCreatedAt(instantOf(existing.timelineCreatedAt()[predecessor]));
+                    entry.setUpdatedAt(instantOf(existing.timelineUpdatedAt()[predecessor]));
+                } else {
+                    entry.setId(IdGenerator.getInstance().nextId());
+                }
+                entries.add(entry);
+            }
+            
+            batch.homeEvents.add(homeEvent);
+            batch.timelineEntries.addAll(entries);
+            if (structuredReportProjector.isStructuredReport(event.getSourceType())) {
+                batch.reportSources.add(new StructuredReportProjector.ReportSource(event, chatRequest));
+            }
+        } catch (Exception e) {
+            eventsSkipped.incrementAndGet();
+            log.warn("Skipping original event during rebuild: id={}, error={}", event.getId(), e.getMessage());
+        }
+    }
+    
+    private void flush(ShadowBatch batch) {
+        if (batch.size() == 0) {
+            return;
+        }
+        
+        Timestamp now = Timestamp.from(Instant.now());
+        writeTransactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_HOME_EVENT, batch.homeEvents, batch.homeEvents.size(), (ps, h) -> {
+                ps.setLong(1, h.getId());
+                ps.setLong(2, h.getOriginalEventId());
+                ps.setLong(3, h.getProfileId());
+                ps.setString(4, h.getEventType().name());
+                ps.setTimestamp(5, Timestamp.from(h.getEventTime()));
+                ps.setString(6, h.getTitle());
+                ps.setString(7, h.getDescription());
+                ps.setString(8, h.getDetails());
+                ps.setString(9, h.getLocation());
+                ps.setTimestamp(10, h.getCreatedAt() != null ? Timestamp.from(h.getCreatedAt()) : now);
+                ps.setTimestamp(11, h.getUpdatedAt() != null ? Timestamp.from(h.getUpdatedAt()) : now);
+            });
+            jdbcTemplate.batchUpdate(INSERT_TIMELINE_ENTRY, batch.timelineEntries, batch.timelineEntries.size(), (ps, t) -> {
+                ps.setLong(1, t.getId());
+                ps.setLong(2, t.getOriginalEventId());
+                ps.setLong(3, t.getProfileId());
+                ps.setString(4, t.getTimelineType().name());
+                ps.setString(5, t.getDataSource().name());
+                ps.setTimestamp(6, Timestamp.from(t.getRecordTime()));
+                ps.setString(7, t.getTitle());
+                ps.setString(8, t.getAiSummary());
+                ps.setString(9, t.getAiTags());
+                ps.setString(10, t.getLocation());
+                ps.setString(11, t.getAiModelVersion());
+                ps.setString(12, t.getOriginalUserMessage());
+                ps.setTimestamp(13, t.getCreatedAt() != null ? Timestamp.from(t.getCreatedAt()) : now);
+                ps.setTimestamp(14, t.getUpdatedAt() != null ? Timestamp.from(t.getUpdatedAt()) : now);
+            });
+        });
+        
+        // Typed reports go straight to the live tables; events that have one are skipped
+        if (!batch.reportSources.isEmpty()) {
+            try {
+                Integer reports = writeTransactionTemplate.execute(status ->
+                        structuredReportProjector.projectAll(batch.reportSources));
+                reportsWritten.addAndGet(reports != null ? reports : 0);
+            } catch (RuntimeException e) {
+                log.warn("Failed to project {} typed reports during rebuild: {}", batch.reportSources.size(), e.getMessage());
+            }
+        }
+        
+        homeEventsWritten.addAndGet(batch.homeEvents.size());
+        timelineEntriesWritten.addAndGet(batch.timelineEntries.size());
+        batch.homeEvents.clear();
+        batch.timelineEntries.clear();
+        batch.reportSources.clear();
+    }
+    
+    /**
+     * Buffered shadow rows of one partition worker
+     */
+    private static class ShadowBatch {
+        final List<HomeEvent> homeEvents = new ArrayList<>();
+        final List<TimelineEntry> timelineEntries = new ArrayList<>();
+        final List<StructuredReportProjector.ReportSource> reportSources = new ArrayList<>();
+        
+        int size() {
+            return homeEvents.size() + timelineEntries.size();
+        }
+    }
+    
+    /**
+     * IDs and timestamps of the rows an original event currently has in the live projections
+     * 
+     * @param timelineIds Timeline entry IDs in ID (creation) order
+     * @param timelineTypes Timeline types of timelineIds
+     * @param timelineCreatedAt created_at of timelineIds
+     * @param timelineUpdatedAt updated_at of timelineIds
+     */
+    private record ExistingRows(Long homeEventId, Instant homeCreatedAt, Instant homeUpdatedAt,
+                                Long[] timelineIds, String[] timelineTypes,
+                                Timestamp[] timelineCreatedAt, Timestamp[] timelineUpdatedAt) {
+        
+        /**
+         * Index of the first unused existing entry of the type, or -1 if there is none
+         */
+        int claimTimelineEntry(String timelineType, boolean[] used) {
+            for (int i = 0; i < used.length; i++) {
+                if (!used[i] && timelineType.equals(timelineTypes[i])) {
+                    used[i] = true;
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+    
+    /**
+     * Constraints and indexes of a live table, recreated on its shadow
+     */
+    private record TableShape(String table, List<Map<String, Object>> constraints, List<Map<String, Object>> indexes) {
+    }
+    
+    /**
+     * Rebuild progress snapshot
+     */
+    public record Status(boolean running, String phase, long eventsRead, long homeEventsWritten,
+                         long timelineEntriesWritten, long reportsWritten, long eventsSkipped) {
+    }
+}
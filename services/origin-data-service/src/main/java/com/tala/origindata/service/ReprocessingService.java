@@ -0,0 +1,278 @@
+package com.tala.origindata.service;
+
+import com.tala.origindata.domain.OriginalEvent;
+import com.tala.origindata.repository.OriginalEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reprocessing engine for unprocessed OriginalEvents
+ * 
+ * Workers claim chunks with SELECT ... FOR UPDATE SKIP LOCKED and a short lease,
+ * so worker threads and service replicas never process the same event twice.
+ * Each chunk is processed and committed in one transaction; if that fails the
+ * chunk is retried event by event, and events that keep failing are poisoned
+ * after max-attempts and excluded from further runs.
+ */
+@Service
+@Slf4j
+public class ReprocessingService {
+    
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    private final OriginalEventRepository originalEventRepository;
+    private final EventProcessorService eventProcessorService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter poisonedCounter;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong poisoned = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    
+    @Value("${reprocessing.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${reprocessing.workers:4}")
+    private int workers;
+    
+    @Value("${reprocessing.chunk-size:100}")
+    private int chunkSize;
+    
+    @Value("${reprocessing.max-attempts:5}")
+    private int maxAttempts;
+    
+    @Value("${reprocessing.lease:PT5M}")
+    private Duration lease;
+    
+    @Value("${reprocessing.retry-backoff:PT1M}")
+    private Duration retryBackoff;
+    
+    public ReprocessingService(
+            OriginalEventRepository originalEventRepository,
+            EventProcessorService eventProcessorService,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("reprocessingExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry) {
+        this.originalEventRepository = originalEventRepository;
+        this.eventProcessorService = eventProcessorService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        
+        this.processedCounter = Counter.builder("origin_data.reprocessing.events")
+                .tag("outcome", "processed").register(meterRegistry);
+        this.failedCounter = Counter.builder("origin_data.reprocessing.events")
+                .tag("outcome", "failed").register(meterRegistry);
+        this.poisonedCounter = Counter.builder("origin_data.reprocessing.events")
+                .tag("outcome", "poisoned").register(meterRegistry);
+        Gauge.builder("origin_data.reprocessing.backlog", backlog, AtomicLong::get)
+                .description("Unprocessed, non-poisoned original events at last check")
+                .register(meterRegistry);
+        Gauge.builder("origin_data.reprocessing.poisoned", poisoned, AtomicLong::get)
+                .description("Poisoned original events at last check")
+                .register(meterRegistry);
+        Gauge.builder("origin_data.reprocessing.active_workers", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Periodic drain of the backlog (only when reprocessing.enabled is true)
+     */
+    @Scheduled(fixedDelayString = "${reprocessing.poll-interval-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runAll();
+        }
+    }
+    
+    /**
+     * Drain all claimable events using the worker pool.
+     * Only one run per instance at a time; other replicas run concurrently via SKIP LOCKED.
+     * 
+     * @return Run summary, or null if a run is already in progress on this instance
+     */
+    public RunSummary runAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Reprocessing run already in progress, skipping");
+            return null;
+        }
+        
+        try {
+            refreshGauges();
+            if (backlog.get() == 0) {
+                return new RunSummary(0, 0, 0);
+            }
+            log.info("Starting reprocessing run: backlog={}, workers={}, chunkSize={}",
+                    backlog.get(), workers, chunkSize);
+            
+            List<CompletableFuture<RunSummary>> futures = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                futures.add(CompletableFuture.supplyAsync(this::drain, executor));
+            }
+            
+            RunSummary total = futures.stream()
+                    .map(CompletableFuture::join)
+                    .reduce(new RunSummary(0, 0, 0), RunSummary::plus);
+            
+            log.info("Completed reprocessing run: processed={}, failed={}, poisoned={}",
+                    total.processed(), total.failed(), total.poisoned());
+            return total;
+        
+        } finally {
+            refreshGauges();
+            running.set(false);
+        }
+    }
+    
+    /**
+     * Current progress snapshot
+     */
+    public Status getStatus() {
+        refreshGauges();
+        return new Status(running.get(), backlog.get(), poisoned.get(),
+                (long) processedCounter.count(), (long) failedCounter.count(), (long) poisonedCounter.count());
+    }
+    
+    /**
+     * Worker loop: claim and process chunks until nothing is claimable
+     */
+    private RunSummary drain() {
+        RunSummary summary = new RunSummary(0, 0, 0);
+        List<Long> chunk;
+        while (!(chunk = claimChunk()).isEmpty()) {
+            summary = summary.plus(processChunk(chunk));
+        }
+        return summary;
+    }
+    
+    /**
+     * Claim a chunk: lock with SKIP LOCKED, bump attempts and set the lease, commit
+     */
+    private List<Long> claimChunk() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OriginalEvent> events = originalEventRepository.lockUnprocessedChunk(now, chunkSize);
+            for (OriginalEvent event : events) {
+                event.setProcessingAttempts(event.getProcessingAttempts() + 1);
+                event.setProcessingLeaseUntil(now.plus(lease));
+            }
+            originalEventRepository.saveAll(events);
+            return events.stream().map(OriginalEvent::getId).toList();
+        });
+    }
+    
+    /**
+     * Process a claimed chunk in one transaction, falling back to per-event transactions on failure
+     */
+    private RunSummary processChunk(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<OriginalEvent> events = new ArrayList<>(originalEventRepository.findAllById(ids));
+                events.sort(Comparator.comparing(OriginalEvent::getEventTime).thenComparing(OriginalEvent::getId));
+                for (OriginalEvent event : events) {
+                    processClaimed(event);
+                }
+            });
+            processedCounter.increment(ids.size());
+            return new RunSummary(ids.size(), 0, 0);
+        
+        } catch (Exception e) {
+            log.warn("Reprocessing chunk of {} events failed, retrying individually: {}", ids.size(), e.getMessage());
+        }
+        
+        RunSummary summary = new RunSummary(0, 0, 0);
+        for (Long id : ids) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        originalEventRepository.findById(id).ifPresent(this::processClaimed));
+                processedCounter.increment();
+                summary = summary.plus(new RunSummary(1, 0, 0));
+            } catch (Exception e) {
+                boolean isPoisoned = recordFailure(id, e);
+                summary = summary.plus(new RunSummary(0, 1, isPoisoned ? 1 : 0));
+            }
+        }
+        return summary;
+    }
+    
+    private void processClaimed(OriginalEvent event) {
+        if (!Boolean.TRUE.equals(event.getAiProcessed())) {
+            eventProcessorService.processOriginalEvent(event);
+        }
+        event.setProcessingLeaseUntil(null);
+        event.setProcessingError(null);
+    }
+    
+    /**
+     * Record a failed attempt; poison the event once it exhausted max-attempts
+     * 
+     * @return true if the event was poisoned
+     */
+    private boolean recordFailure(Long id, Exception error) {
+        failedCounter.increment();
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        
+        Boolean isPoisoned = transactionTemplate.execute(status -> originalEventRepository.findById(id)
+                .map(event -> {
+                    event.setProcessingError(message.length() > MAX_ERROR_LENGTH
+                            ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                    if (event.getProcessingAttempts() >= maxAttempts) {
+                        event.setPoisonedAt(Instant.now());
+                        event.setProcessingLeaseUntil(null);
+                        return true;
+                    }
+                    event.setProcessingLeaseUntil(Instant.now().plus(retryBackoff));
+                    return false;
+                })
+                .orElse(false));
+        
+        if (Boolean.TRUE.equals(isPoisoned)) {
+            poisonedCounter.increment();
+            log.error("Original event poisoned after {} attempts: id={}, error={}", maxAttempts, id, message);
+            return true;
+        }
+        log.warn("Failed to reprocess original event: id={}, error={}", id, message);
+        return false;
+    }
+    
+    private void refreshGauges() {
+        backlog.set(originalEventRepository.countByAiProcessedFalseAndPoisonedAtIsNull());
+        poisoned.set(originalEventRepository.countByPoisonedAtIsNotNull());
+    }
+    
+    /**
+     * Outcome counts of a run (or of one worker)
+     */
+    public record RunSummary(long processed, long failed, long poisoned) {
+        
+        RunSummary plus(RunSummary other) {
+            return new RunSummary(processed + other.processed, failed + other.failed, poisoned + other.poisoned);
+        }
+    }
+    
+    /**
+     * Progress snapshot for monitoring
+     */
+    public record Status(boolean running, long backlog, long poisoned,
+                         long totalProcessed, long totalFailed, long totalPoisoned) {
+    }
+}
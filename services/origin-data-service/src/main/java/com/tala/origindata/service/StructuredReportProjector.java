@@ -0,0 +1,587 @@
+package com.tala.origindata.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.core.util.IdGenerator;
+import com.tala.origindata.constant.DataSourceType;
+import com.tala.origindata.constant.DayCareReportType;
+import com.tala.origindata.constant.HealthReportType;
+import com.tala.origindata.constant.IncidentSeverity;
+import com.tala.origindata.domain.DayCareReport;
+import com.tala.origindata.domain.DayCareReportItem;
+import com.tala.origindata.domain.HealthMeasurement;
+import com.tala.origindata.domain.HealthMedication;
+import com.tala.origindata.domain.HealthReport;
+import com.tala.origindata.domain.HealthVaccination;
+import com.tala.origindata.domain.IncidentReport;
+import com.tala.origindata.domain.OriginalEvent;
+import com.tala.origindata.dto.ChatEventRequest;
+import com.tala.origindata.repository.DayCareReportRepository;
+import com.tala.origindata.repository.HealthReportRepository;
+import com.tala.origindata.repository.IncidentReportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structured Report Projector
+ * 
+ * Writes the typed projections for DAY_CARE_REPORT, INCIDENT_REPORT and HEALTH_REPORT
+ * chat events, next to the HomeEvent/Timeline path:
+ * - DAY_CARE_REPORT → DayCareReport + one DayCareReportItem per extracted event
+ * - INCIDENT_REPORT → IncidentReport
+ * - HEALTH_REPORT → HealthReport + measurements / medications / vaccinations
+ * 
+ * Report headers are saved with saveAll() (Hibernate JDBC batching). Child rows are
+ * not cascaded through the header collections (one INSERT per row); they are written
+ * with one JDBC batch per child table for the whole set of events, after the headers
+ * are flushed. The header collections are therefore not populated in the current
+ * persistence context.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StructuredReportProjector {
+    
+    private static final String INSERT_DAYCARE_ITEM =
+            "INSERT INTO origin_data.daycare_report_items" +
+            " (id, daycare_report_id, item_type, event_time, title, description, details, created_at, updated_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?::jsonb, ?, ?)";
+    
+    private static final String INSERT_HEALTH_MEASUREMENT =
+            "INSERT INTO origin_data.health_measurements" +
+            " (id, health_report_id, measurement_type, value, unit, percentile, notes, created_at, updated_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_HEALTH_MEDICATION =
+            "INSERT INTO origin_data.health_medications" +
+            " (id, health_report_id, medication_name, dosage, frequency, start_date, end_date, purpose, notes, created_at, updated_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_HEALTH_VACCINATION =
+            "INSERT INTO origin_data.health_vaccinations" +
+            " (id, health_report_id, vaccine_name, dose_number, administered_date, lot_number, next_dose_due, reaction, notes, created_at, updated_at)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final DayCareReportRepository dayCareReportRepository;
+    private final IncidentReportRepository incidentReportRepository;
+    private final HealthReportRepository healthReportRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${projections.reports.batch-size:500}")
+    private int batchSize;
+    
+    /**
+     * Whether the source type has a typed report projection
+     */
+    public boolean isStructuredReport(DataSourceType sourceType) {
+        return sourceType == DataSourceType.DAY_CARE_REPORT ||
+            sourceType == DataSourceType.INCIDENT_REPORT ||
+            sourceType == DataSourceType.HEALTH_REPORT;
+    }
+    
+    /**
+     * Project a single event (see {@link #projectAll(List)})
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int project(OriginalEvent originalEvent, ChatEventRequest chatRequest) {
+        return projectAll(List.of(new ReportSource(originalEvent, chatRequest)));
+    }
+    
+    /**
+     * Project a set of processed events inside the caller's transaction.
+     * Events that are not structured reports, have no extracted events or
+     * already have a projection are skipped.
+     * 
+     * @return Number of report headers written
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int projectAll(List<ReportSource> sources) {
+        List<ReportSource> candidates = sources.stream()
+                .filter(s -> isStructuredReport(s.originalEvent().getSourceType()))
+                .filter(s -> s.request().getEvents() != null && !s.request().getEvents().isEmpty())
+                .toList();
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        
+        Set<Long> alreadyProjected = findAlreadyProjected(candidates);
+        
+        Batch batch = new Batch();
+        for (ReportSource source : candidates) {
+            if (alreadyProjected.contains(source.originalEvent().getId())) {
+                continue;
+            }
+            try {
+                switch (source.originalEvent().getSourceType()) {
+                    case DAY_CARE_REPORT -> addDayCareReport(batch, source);
+                    case INCIDENT_REPORT -> batch.incidentReports.add(buildIncidentReport(source));
+                    case HEALTH_REPORT -> addHealthReport(batch, source);
+                    default -> { }
+                }
+            } catch (Exception e) {
+                log.error("Failed to build structured report: originalEventId={}",
+                        source.originalEvent().getId(), e);
+            }
+        }
+        
+        // Headers first: persist assigns their IDs, the flush makes the child rows' FKs resolve
+        dayCareReportRepository.saveAll(batch.dayCareReports);
+        incidentReportRepository.saveAll(batch.incidentReports);
+        healthReportRepository.saveAll(batch.healthReports);
+        healthReportRepository.flush();
+        
+        writeChildRows(batch);
+        
+        int headers = batch.dayCareReports.size() + batch.incidentReports.size() + batch.healthReports.size();
+        log.debug("Projected {} structured reports ({} daycare items, {} measurements, {} medications, {} vaccinations)",
+                headers, batch.dayCareItems.size(), batch.measurements.size(),
+                batch.medications.size(), batch.vaccinations.size());
+        return headers;
+    }
+    
+    private Set<Long> findAlreadyProjected(List<ReportSource> candidates) {
+        List<Long> dayCareIds = originalEventIds(candidates, DataSourceType.DAY_CARE_REPORT);
+        List<Long> incidentIds = originalEventIds(candidates, DataSourceType.INCIDENT_REPORT);
+        List<Long> healthIds = originalEventIds(candidates, DataSourceType.HEALTH_REPORT);
+        
+        Set<Long> projected = new HashSet<>();
+        if (!dayCareIds.isEmpty()) {
+            projected.addAll(dayCareReportRepository.findProjectedOriginalEventIds(dayCareIds));
+        }
+        if (!incidentIds.isEmpty()) {
+            projected.addAll(incidentReportRepository.findProjectedOriginalEventIds(incidentIds));
+        }
+        if (!healthIds.isEmpty()) {
+            projected.addAll(healthReportRepository.findProjectedOriginalEventIds(healthIds));
+        }
+        return projected;
+    }
+    
+    private List<Long> originalEventIds(Collection<ReportSource> sources, DataSourceType sourceType) {
+        return sources.stream()
+                .map(ReportSource::originalEvent)
+                .filter(e -> e.getSourceType() == sourceType && e.getId() != null)
+                .map(OriginalEvent::getId)
+                .toList();
+    }
+    
+    // ==================== Day Care ====================
+    
+    private void addDayCareReport(Batch batch, ReportSource source) throws Exception {
+        OriginalEvent originalEvent = source.originalEvent();
+        ChatEventRequest request = source.request();
+        
+        DayCareReport report = DayCareReport.builder()
+                .originalEventId(originalEvent.getId())
+                .profileId(originalEvent.getProfileId())
+                .reportDate(LocalDate.ofInstant(eventTime(request.getEvents().get(0), originalEvent), ZoneId.systemDefault()))
+                .daycareName(firstText(request, "daycare_name", "facility_name"))
+                .teacherName(firstText(request, "teacher_name"))
+                .summary(request.getAiMessage())
+                .build();
+        batch.dayCareReports.add(report);
+        
+        for (ChatEventRequest.ExtractedEvent event : request.getEvents()) {
+            Map<String, Object> data = eventData(event);
+            batch.dayCareItems.add(DayCareReportItem.builder()
+                    .id(IdGenerator.getInstance().nextId())
+                    .dayCareReport(report)
+                    .itemType(mapDayCareReportType(event.getEventType()))
+                    .eventTime(eventTime(event, originalEvent))
+                    .title(truncate(event.getSummary(), 255))
+                    .description(text(data, "notes", "description"))
+                    .details(objectMapper.writeValueAsString(data))
+                    .build());
+        }
+    }
+    
+    private DayCareReportType mapDayCareReportType(String eventType) {
+        if (eventType == null) {
+            return DayCareReportType.TEACHER_NOTES;
+        }
+        String normalized = eventType.toUpperCase();
+        switch (normalized) {
+            case "DIAPER":
+                return DayCareReportType.DIAPER_CHANGE;
+            case "SLEEP":
+                return DayCareReportType.SLEEPING;
+            case "NOTES":
+                return DayCareReportType.TEACHER_NOTES;
+            default:
+                try {
+                    return DayCareReportType.valueOf(normalized);
+                } catch (IllegalArgumentException e) {
+                    return DayCareReportType.TEACHER_NOTES;
+                }
+        }
+    }
+    
+    // ==================== Incident ====================
+    
+    private IncidentReport buildIncidentReport(ReportSource source) {
+        OriginalEvent originalEvent = source.originalEvent();
+        ChatEventRequest request = source.request();
+        ChatEventRequest.ExtractedEvent first = request.getEvents().get(0);
+        
+        String location = firstText(request, "location");
+        return IncidentReport.builder()
+                .originalEventId(originalEvent.getId())
+                .profileId(originalEvent.getProfileId())
+                .incidentTime(eventTime(first, originalEvent))
+                .title(truncate(first.getSummary(), 255))
+                .story(firstText(request, "story", "description"))
+                .involvedPeople(firstText(request, "involved_people"))
+                .severity(mapIncidentSeverity(firstText(request, "severity")))
+                .handlingAction(firstText(request, "handling_action", "handling"))
+                .result(firstText(request, "result"))
+                .location(truncate(location, 255))
+                .reportedBy(truncate(firstText(request, "reported_by"), 255))
+                .build();
+    }
+    
+    private IncidentSeverity mapIncidentSeverity(String severity) {
+        if (severity == null) {
+            return null;
+        }
+        String normalized = severity.toUpperCase();
+        switch (normalized) {
+            case "MILD":
+            case "MINOR":
+                return IncidentSeverity.LOW;
+            case "MODERATE":
+                return IncidentSeverity.MEDIUM;
+            case "SEVERE":
+            case "SERIOUS":
+                return IncidentSeverity.HIGH;
+            default:
+                try {
+                    return IncidentSeverity.valueOf(normalized);
+                } catch (IllegalArgumentException e) {
+                    log.warn("Unknown incident severity: {}", severity);
+                    return null;
+                }
+        }
+    }
+    
+    // ==================== Health ====================
+    
+    private void addHealthReport(Batch batch, ReportSource source) {
+        OriginalEvent originalEvent = source.originalEvent();
+        ChatEventRequest request = source.request();
+        ChatEventRequest.ExtractedEvent first = request.getEvents().get(0);
+        
+        HealthReport report = HealthReport.builder()
+                .originalEventId(originalEvent.getId())
+                .profileId(originalEvent.getProfileId())
+                .reportType(mapHealthReportType(request.getEvents()))
+                .visitTime(eventTime(first, originalEvent))
+                .providerName(truncate(firstText(request, "provider_name"), 255))
+                .facilityName(truncate(firstText(request, "facility_name"), 255))
+                .diagnosis(firstText(request, "diagnosis"))
+                .summary(request.getAiMessage())
+                .nextAppointment(parseInstant(firstText(request, "next_appointment")))
+                .build();
+        batch.healthReports.add(report);
+        
+        for (ChatEventRequest.ExtractedEvent event : request.getEvents()) {
+            Map<String, Object> data = eventData(event);
+            String type = event.getEventType() != null ? event.getEventType().toUpperCase() : "";
+            
+            switch (type) {
+                case "GROWTH_MEASUREMENT" -> addMeasurements(batch, report, data);
+                case "MEDICINE" -> {
+                    String name = text(data, "medication_name");
+                    if (name != null) {
+                        batch.medications.add(HealthMedication.builder()
+                                .id(IdGenerator.getInstance().nextId())
+                                .healthReport(report)
+                                .medicationName(truncate(name, 255))
+                                .dosage(truncate(text(data, "dosage"), 100))
+                                .frequency(truncate(text(data, "frequency"), 100))
+                                .startDate(parseInstant(text(data, "start_date")))
+                                .endDate(parseInstant(text(data, "end_date")))
+                                .purpose(text(data, "purpose"))
+                                .notes(event.getSummary())
+                                .build());
+                    }
+                }
+                case "VACCINATION" -> {
+                    String name = text(data, "vaccine_name");
+                    if (name != null) {
+                        batch.vaccinations.add(HealthVaccination.builder()
+                                .id(IdGenerator.getInstance().nextId())
+                                .healthReport(report)
+                                .vaccineName(truncate(name, 255))
+                                .doseNumber(integer(data.get("dose_number")))
+                                .administeredDate(eventTime(event, originalEvent))
+                                .lotNumber(truncate(text(data, "lot_number"), 100))
+                                .nextDoseDue(parseInstant(text(data, "next_dose_due")))
+                                .reaction(text(data, "reaction"))
+                                .notes(event.getSummary())
+                                .build());
+                    }
+                }
+                case "HEALTH", "SICKNESS" -> {
+                    // A temperature reading is a measurement like any other
+                    BigDecimal temperature = decimal(data.get("temperature"));
+                    if (temperature != null) {
+                        batch.measurements.add(HealthMeasurement.builder()
+                                .id(IdGenerator.getInstance().nextId())
+                                .healthReport(report)
+                                .measurementType("TEMPERATURE")
+                                .value(temperature)
+                                .unit(truncate(text(data, "temperature_unit"), 50))
+                                .notes(event.getSummary())
+                                .build());
+                    }
+                }
+                default -> { }
+            }
+        }
+    }
+    
+    private void addMeasurements(Batch batch, HealthReport report, Map<String, Object> data) {
+        List<Map<String, Object>> measurements = new ArrayList<>();
+        if (data.get("measurements") instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?> map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> measurement = (Map<String, Object>) map;
+                    measurements.add(measurement);
+                }
+            }
+        } else if (data.containsKey("measurement_type")) {
+            measurements.add(data);
+        }
+        
+        for (Map<String, Object> measurement : measurements) {
+            String type = text(measurement, "measurement_type");
+            if (type == null) {
+                continue;
+            }
+            batch.measurements.add(HealthMeasurement.builder()
+                    .id(IdGenerator.getInstance().nextId())
+                    .healthReport(report)
+                    .measurementType(truncate(type.toUpperCase(), 100))
+                    .value(decimal(measurement.get("value")))
+                    .unit(truncate(text(measurement, "unit"), 50))
+                    .percentile(decimal(measurement.get("percentile")))
+                    .notes(text(measurement, "notes"))
+                    .build());
+        }
+    }
+    
+    /**
+     * Report type from the extracted events: vaccination and medication events win,
+     * then sickness; visits and growth measurements are physical exams
+     */
+    private HealthReportType mapHealthReportType(List<ChatEventRequest.ExtractedEvent> events) {
+        Set<String> types = new HashSet<>();
+        for (ChatEventRequest.ExtractedEvent event : events) {
+            if (event.getEventType() != null) {
+                types.add(event.getEventType().toUpperCase());
+            }
+        }
+        if (types.contains("VACCINATION")) {
+            return HealthReportType.VACCINATION;
+        }
+        if (types.contains("SICKNESS") || types.contains("HEALTH")) {
+            return HealthReportType.SICK_VISIT;
+        }
+        if (types.contains("MEDICINE") && !types.contains("MEDICAL_VISIT")) {
+            return HealthReportType.MEDICATION;
+        }
+        return HealthReportType.PHYSICAL_EXAM;
+    }
+    
+    // ==================== Child rows ====================
+    
+    private void writeChildRows(Batch batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+        
+        if (!batch.dayCareItems.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_DAYCARE_ITEM, batch.dayCareItems, batchSize, (ps, item) -> {
+                ps.setLong(1, item.getId());
+                ps.setLong(2, item.getDayCareReport().getId());
+                ps.setString(3, item.getItemType().name());
+                ps.setTimestamp(4, timestamp(item.getEventTime()));
+                ps.setString(5, item.getTitle());
+                ps.setString(6, item.getDescription());
+                ps.setString(7, item.getDetails());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            });
+        }
+        
+        if (!batch.measurements.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HEALTH_MEASUREMENT, batch.measurements, batchSize, (ps, m) -> {
+                ps.setLong(1, m.getId());
+                ps.setLong(2, m.getHealthReport().getId());
+                ps.setString(3, m.getMeasurementType());
+                ps.setBigDecimal(4, m.getValue());
+                ps.setString(5, m.getUnit());
+                ps.setBigDecimal(6, m.getPercentile());
+                ps.setString(7, m.getNotes());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            });
+        }
+        
+        if (!batch.medications.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HEALTH_MEDICATION, batch.medications, batchSize, (ps, m) -> {
+                ps.setLong(1, m.getId());
+                ps.setLong(2, m.getHealthReport().getId());
+                ps.setString(3, m.getMedicationName());
+                ps.setString(4, m.getDosage());
+                ps.setString(5, m.getFrequency());
+                ps.setTimestamp(6, timestamp(m.getStartDate()));
+                ps.setTimestamp(7, timestamp(m.getEndDate()));
+                ps.setString(8, m.getPurpose());
+                ps.setString(9, m.getNotes());
+                ps.setTimestamp(10, now);
+                ps.setTimestamp(11, now);
+            });
+        }
+        
+        if (!batch.vaccinations.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_HEALTH_VACCINATION, batch.vaccinations, batchSize, (ps, v) -> {
+                ps.setLong(1, v.getId());
+                ps.setLong(2, v.getHealthReport().getId());
+                ps.setString(3, v.getVaccineName());
+                ps.setObject(4, v.getDoseNumber(), Types.INTEGER);
+                ps.setTimestamp(5, timestamp(v.getAdministeredDate()));
+                ps.setString(6, v.getLotNumber());
+                ps.setTimestamp(7, timestamp(v.getNextDoseDue()));
+                ps.setString(8, v.getReaction());
+                ps.setString(9, v.getNotes());
+                ps.setTimestamp(10, now);
+                ps.setTimestamp(11, now);
+            });
+        }
+    }
+    
+    // ==================== Helpers ====================
+    
+    private Map<String, Object> eventData(ChatEventRequest.ExtractedEvent event) {
+        return event.getEventData() != null ? event.getEventData() : Map.of();
+    }
+    
+    private Instant eventTime(ChatEventRequest.ExtractedEvent event, OriginalEvent originalEvent) {
+        return event.getTimestamp() != null
+                ? event.getTimestamp().atZone(ZoneId.systemDefault()).toInstant()
+                : originalEvent.getEventTime();
+    }
+    
+    /**
+     * First non-blank value for any of the keys across all extracted events
+     */
+    private String firstText(ChatEventRequest request, String... keys) {
+        for (ChatEventRequest.ExtractedEvent event : request.getEvents()) {
+            String value = text(eventData(event), keys);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    private String text(Map<String, Object> data, String... keys) {
+        for (String key : keys) {
+            Object value = data.get(key);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+    
+    private BigDecimal decimal(Object value) {
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        if (value instanceof String s && !s.isBlank()) {
+            try {
+                return new BigDecimal(s.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    private Integer integer(Object value) {
+        BigDecimal decimal = decimal(value);
+        return decimal != null ? decimal.intValue() : null;
+    }
+    
+    /**
+     * Parse an ISO instant, local date-time or date (as start of day, system zone)
+     */
+    private Instant parseInstant(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (Exception ignored) {
+            // fall through
+        }
+        try {
+            return LocalDateTime.parse(value).atZone(ZoneId.systemDefault()).toInstant();
+        } catch (Exception ignored) {
+            // fall through
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        } catch (Exception e) {
+            log.debug("Unparseable date in report: {}", value);
+            return null;
+        }
+    }
+    
+    private Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+    
+    private String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+    
+    /**
+     * A processed original event and its parsed chat payload
+     */
+    public record ReportSource(OriginalEvent originalEvent, ChatEventRequest request) {
+    }
+    
+    /**
+     * Rows collected for one projection call
+     */
+    private static class Batch {
+        final List<DayCareReport> dayCareReports = new ArrayList<>();
+        final List<DayCareReportItem> dayCareItems = new ArrayList<>();
+        final List<IncidentReport> incidentReports = new ArrayList<>();
+        final List<HealthReport> healthReports = new ArrayList<>();
+        final List<HealthMeasurement> measurements = new ArrayList<>();
+        final List<HealthMedication> medications = new ArrayList<>();
+        final List<HealthVaccination> vaccinations = new ArrayList<>();
+    }
+}
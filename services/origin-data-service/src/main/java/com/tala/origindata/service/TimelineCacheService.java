@@ -0,0 +1,405 @@
+package com.tala.origindata.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tala.origindata.domain.TimelineEntry;
+import com.tala.origindata.dto.TimelineEntryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Timeline read cache
+ * 
+ * Caches rendered TimelineEntryResponses per profile and UTC day ("day bucket"):
+ * - L1: local Caffeine near-cache with a short TTL
+ * - L2: Redis, shared by all instances
+ * A range read is assembled from its day buckets; only missing days hit Postgres
+ * (one query for the span of missing days) and attachment resolution.
+ * 
+ * Invalidation is precise: after a transaction that created timeline entries commits,
+ * exactly the touched (profile, day) buckets are deleted from Redis and the local
+ * near-cache, and the keys are published so other instances drop their near-cache copy.
+ * 
+ * Each invalidation also bumps a version per (profile, day) (invalidateAll bumps a global
+ * generation). A load reads the versions before querying Postgres and stores its buckets
+ * only if they are unchanged (compare-and-set script), so a reader racing with a commit
+ * cannot store a bucket from before it. Near-cache puts are dropped likewise when an
+ * invalidation reached this instance during the read.
+ */
+@Service
+@Slf4j
+public class TimelineCacheService {
+    
+    private static final String KEY_PREFIX = "tala:timeline:v1:";
+    private static final String INVALIDATE_ALL = "*";
+    private static final String VERSION_PREFIX = KEY_PREFIX + "version:";
+    private static final String GENERATION_KEY = "tala:timeline:generation";
+    
+    /**
+     * KEYS: bucket, day version, generation; ARGV: value, expected day version, expected generation, TTL millis
+     */
+    private static final RedisScript<Long> STORE_IF_CURRENT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '') == ARGV[2] and (redis.call('GET', KEYS[3]) or '') == ARGV[3] then " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[4]) return 1 end return 0", Long.class);
+    
+    /**
+     * KEYS: n buckets followed by their n day versions; ARGV: version TTL millis
+     */
+    private static final RedisScript<Long> DELETE_AND_BUMP = new DefaultRedisScript<>(
+            "local n = #KEYS / 2 for i = 1, n do redis.call('DEL', KEYS[i]) " +
+            "redis.call('INCR', KEYS[n + i]) redis.call('PEXPIRE', KEYS[n + i], ARGV[1]) end return n", Long.class);
+    
+    private final TimelineService timelineService;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedDay> nearCache;
+    private final AtomicLong nearInvalidations = new AtomicLong();
+    
+    private final Counter nearHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter bypasses;
+    private final Counter errors;
+    private final Counter invalidations;
+    private final Timer bucketAge;
+    
+    @Value("${timeline.cache.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${timeline.cache.ttl:PT10M}")
+    private Duration ttl;
+    
+    @Value("${timeline.cache.max-days:31}")
+    private int maxDays;
+    
+    @Value("${timeline.cache.invalidation-channel:tala:timeline:invalidate}")
+    private String invalidationChannel;
+    
+    public TimelineCacheService(
+            TimelineService timelineService,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${timeline.cache.near-ttl:PT30S}") Duration nearTtl,
+            @Value("${timeline.cache.near-max-size:10000}") long nearMaxSize) {
+        this.timelineService = timelineService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.nearCache = Caffeine.newBuilder()
+                .expireAfterWrite(nearTtl)
+                .maximumSize(nearMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "timeline_near_cache");
+        
+        this.nearHits = Counter.builder("origin_data.timeline_cache.buckets")
+                .tag("result", "near_hit").register(meterRegistry);
+        this.redisHits = Counter.builder("origin_data.timeline_cache.buckets")
+                .tag("result", "redis_hit").register(meterRegistry);
+        this.misses = Counter.builder("origin_data.timeline_cache.buckets")
+                .tag("result", "miss").register(meterRegistry);
+        this.bypasses = Counter.builder("origin_data.timeline_cache.bypassed")
+                .description("Range reads served without the cache (disabled or range too wide)")
+                .register(meterRegistry);
+        this.errors = Counter.builder("origin_data.timeline_cache.errors")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("origin_data.timeline_cache.invalidations")
+                .register(meterRegistry);
+        this.bucketAge = Timer.builder("origin_data.timeline_cache.bucket_age")
+                .description("Time since a served day bucket was loaded from the database")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Timeline of a profile in [startTime, endTime], newest first
+     * (same result as TimelineService.getTimelineByProfileAndTimeRange + toResponseList)
+     */
+    public List<TimelineEntryResponse> getTimelineRange(Long profileId, Instant startTime, Instant endTime) {
+        LocalDate firstDay = day(startTime);
+        LocalDate lastDay = day(endTime);
+        if (!enabled || endTime.isBefore(startTime) || ChronoUnit.DAYS.between(firstDay, lastDay) >= maxDays) {
+            bypasses.increment();
+            return loadDirect(profileId, startTime, endTime);
+        }
+        
+        List<LocalDate> days = firstDay.datesUntil(lastDay.plusDays(1)).toList();
+        Map<LocalDate, CachedDay> buckets = new HashMap<>();
+        long nearEpoch = nearInvalidations.get();
+        
+        // 1. Near-cache
+        List<LocalDate> notNear = new ArrayList<>();
+        for (LocalDate d : days) {
+            CachedDay cached = nearCache.getIfPresent(key(profileId, d));
+            if (cached != null) {
+                buckets.put(d, cached);
+                nearHits.increment();
+                recordAge(cached);
+            } else {
+                notNear.add(d);
+            }
+        }
+        
+        // 2. Redis (one MGET)
+        List<LocalDate> missing = notNear;
+        if (!notNear.isEmpty()) {
+            missing = new ArrayList<>();
+            List<String> values = redisGet(notNear.stream().map(d -> key(profileId, d)).toList());
+            for (int i = 0; i < notNear.size(); i++) {
+                LocalDate d = notNear.get(i);
+                CachedDay cached = values != null ? deserialize(values.get(i)) : null;
+                if (cached != null) {
+                    buckets.put(d, cached);
+                    putNear(key(profileId, d), cached, nearEpoch);
+                    redisHits.increment();
+                    recordAge(cached);
+                } else {
+                    missing.add(d);
+                }
+            }
+        }
+        
+        // 3. Postgres for the span of missing days, then fill both levels
+        if (!missing.isEmpty()) {
+            misses.increment(missing.size());
+            buckets.putAll(loadAndStore(profileId, missing, nearEpoch));
+        }
+        
+        // Assemble newest day first; each bucket is already newest first
+        List<TimelineEntryResponse> result = new ArrayList<>();
+        for (int i = days.size() - 1; i >= 0; i--) {
+            for (TimelineEntryResponse entry : buckets.get(days.get(i)).entries()) {
+                Instant recordTime = entry.getRecordTime();
+                if (!recordTime.isBefore(startTime) && !recordTime.isAfter(endTime)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Drop the buckets touched by newly created entries once their transaction committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimelineEntriesCreated(TimelineService.TimelineEntriesCreated event) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> keys = event.entries().stream()
+                .filter(e -> e.getProfileId() != null && e.getRecordTime() != null)
+                .map(e -> key(e.getProfileId(), day(e.getRecordTime())))
+                .collect(Collectors.toCollection(TreeSet::new));
+        invalidate(keys);
+    }
+    
+    /**
+     * Drop every bucket (after the timeline table was rebuilt)
+     */
+    public void invalidateAll() {
+        if (!enabled) {
+            return;
+        }
+        nearInvalidations.incrementAndGet();
+        nearCache.invalidateAll();
+        try {
+            // Loads that started before cannot store their buckets any more
+            redisTemplate.opsForValue().increment(GENERATION_KEY);
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+            redisTemplate.convertAndSend(invalidationChannel, INVALIDATE_ALL);
+            invalidations.increment(keys.size());
+            log.info("Invalidated all timeline cache buckets: {} keys", keys.size());
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Failed to invalidate timeline cache: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Invalidation published by any instance (including this one): drop near-cache copies
+     */
+    public void onInvalidationMessage(String message) {
+        nearInvalidations.incrementAndGet();
+        if (INVALIDATE_ALL.equals(message)) {
+            nearCache.invalidateAll();
+            return;
+        }
+        for (String key : message.split(",")) {
+            if (!key.isBlank()) {
+                nearCache.invalidate(key);
+            }
+        }
+    }
+    
+    private void invalidate(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        nearInvalidations.incrementAndGet();
+        nearCache.invalidateAll(keys);
+        invalidations.increment(keys.size());
+        try {
+            List<String> scriptKeys = new ArrayList<>(keys);
+            keys.forEach(key -> scriptKeys.add(versionKey(key)));
+            redisTemplate.execute(DELETE_AND_BUMP, scriptKeys, String.valueOf(ttl.toMillis()));
+            redisTemplate.convertAndSend(invalidationChannel, String.join(",", keys));
+            log.debug("Invalidated timeline cache buckets: {}", keys);
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Failed to invalidate timeline cache buckets {}: {}", keys, e.getMessage());
+        }
+    }
+    
+    /**
+     * Load missing days from Postgres and store them, unless they were invalidated meanwhile
+     */
+    private Map<LocalDate, CachedDay> loadAndStore(Long profileId, List<LocalDate> missing, long nearEpoch) {
+        // Versions as of before the query; null if Redis is unavailable (then nothing is stored there)
+        List<String> versionKeys = new ArrayList<>(missing.size() + 1);
+        missing.forEach(d -> versionKeys.add(versionKey(key(profileId, d))));
+        versionKeys.add(GENERATION_KEY);
+        List<String> versions = redisGet(versionKeys);
+        
+        LocalDate from = missing.get(0);
+        LocalDate to = missing.get(missing.size() - 1);
+        Instant spanStart = from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant spanEnd = to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusNanos(1000);
+        
+        Map<LocalDate, List<TimelineEntryResponse>> byDay = loadDirect(profileId, spanStart, spanEnd).stream()
+                .collect(Collectors.groupingBy(r -> day(r.getRecordTime())));
+        
+        long now = System.currentTimeMillis();
+        Map<LocalDate, CachedDay> loaded = new HashMap<>();
+        for (int i = 0; i < missing.size(); i++) {
+            LocalDate d = missing.get(i);
+            CachedDay cached = new CachedDay(now, byDay.getOrDefault(d, List.of()));
+            loaded.put(d, cached);
+            String key = key(profileId, d);
+            putNear(key, cached, nearEpoch);
+            if (versions != null
+                    && !storeIfCurrent(key, cached, versions.get(i), versions.get(versions.size() - 1))) {
+                nearCache.invalidate(key);
+            }
+        }
+        return loaded;
+    }
+    
+    /**
+     * Put into the near-cache, unless an invalidation reached this instance since the read began
+     * (checked after the put, so an invalidation racing with it cannot be missed)
+     */
+    private void putNear(String key, CachedDay cached, long nearEpoch) {
+        nearCache.put(key, cached);
+        if (nearInvalidations.get() != nearEpoch) {
+            nearCache.invalidate(key);
+        }
+    }
+    
+    private List<TimelineEntryResponse> loadDirect(Long profileId, Instant startTime, Instant endTime) {
+        List<TimelineEntry> entries = timelineService.getTimelineByProfileAndTimeRange(profileId, startTime, endTime);
+        return timelineService.toResponseList(entries);
+    }
+    
+    private List<String> redisGet(List<String> keys) {
+        try {
+            return redisTemplate.opsForValue().multiGet(keys);
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Timeline cache read failed, falling back to database: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Store a bucket if neither its day version nor the generation changed since they were read
+     * 
+     * @return Whether the bucket was stored
+     */
+    private boolean storeIfCurrent(String key, CachedDay cached, String version, String generation) {
+        try {
+            Long stored = redisTemplate.execute(STORE_IF_CURRENT, List.of(key, versionKey(key), GENERATION_KEY),
+                    objectMapper.writeValueAsString(cached),
+                    version != null ? version : "",
+                    generation != null ? generation : "",
+                    String.valueOf(ttl.toMillis()));
+            return stored != null && stored == 1L;
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Timeline cache write failed for {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+    
+    private CachedDay deserialize(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, CachedDay.class);
+        } catch (Exception e) {
+            errors.increment();
+            log.warn("Discarding unreadable timeline cache entry: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private void recordAge(CachedDay cached) {
+        bucketAge.record(Math.max(0, System.currentTimeMillis() - cached.cachedAt()), TimeUnit.MILLISECONDS);
+    }
+    
+    private static LocalDate day(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+    
+    private static String key(Long profileId, LocalDate day) {
+        return KEY_PREFIX + profileId + ":" + day;
+    }
+    
+    private static String versionKey(String key) {
+        return VERSION_PREFIX + key.substring(KEY_PREFIX.length());
+    }
+    
+    /**
+     * One cached day bucket
+     * 
+     * @param cachedAt Epoch millis when the bucket was loaded from the database
+     * @param entries Entries of the day, newest first
+     */
+    public record CachedDay(long cachedAt, List<TimelineEntryResponse> entries) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.tala.origindata.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.origindata.domain.TimelineEntry;
+import com.tala.origindata.domain.TimelineEventOutbox;
+import com.tala.origindata.dto.TimelineEntryEvent;
+import com.tala.origindata.repository.TimelineEventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for writing timeline events to the transactional outbox
+ * 
+ * Rows are relayed to Kafka by TimelineEventPublisher.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineEventOutboxService {
+    
+    private final TimelineEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${outbox.timeline-events.enabled:false}")
+    private boolean enabled;
+    
+    /**
+     * Enqueue a TIMELINE_ENTRY_CREATED event.
+     * Must run inside the transaction that saves the timeline entry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCreated(TimelineEntry entry) {
+        if (!enabled) {
+            return;
+        }
+        
+        TimelineEntryEvent event = TimelineEntryEvent.builder()
+                .schemaVersion(TimelineEntryEvent.SCHEMA_VERSION)
+                .eventType(TimelineEntryEvent.TYPE_CREATED)
+                .eventId("timeline-entry-created-" + entry.getId())
+                .timelineEntryId(entry.getId())
+                .originalEventId(entry.getOriginalEventId())
+                .profileId(entry.getProfileId())
+                .timelineType(entry.getTimelineType() != null ? entry.getTimelineType().name() : null)
+                .dataSource(entry.getDataSource() != null ? entry.getDataSource().name() : null)
+                .recordTime(entry.getRecordTime())
+                .tags(parseTags(entry.getAiTags()))
+                .summary(entry.getAiSummary())
+                .facts(facts(entry.getEventData()))
+                .attachmentIds(entry.getAttachmentIds() != null && !entry.getAttachmentIds().isEmpty()
+                        ? entry.getAttachmentIds() : null)
+                .occurredAt(Instant.now())
+                .build();
+        
+        try {
+            TimelineEventOutbox outbox = TimelineEventOutbox.builder()
+                    .aggregateId(entry.getId())
+                    .profileId(entry.getProfileId())
+                    .eventType(TimelineEntryEvent.TYPE_CREATED)
+                    .payload(objectMapper.writeValueAsString(event))
+                    .nextAttemptAt(Instant.now())
+                    .build();
+            
+            outboxRepository.save(outbox);
+            log.debug("Enqueued timeline event: timelineEntryId={}, profileId={}", 
+                    entry.getId(), entry.getProfileId());
+            
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to enqueue timeline event for entry: " + entry.getId(), e);
+        }
+    }
+    
+    /**
+     * event_data without the presentation-only keys already carried elsewhere
+     */
+    private Map<String, Object> facts(Map<String, Object> eventData) {
+        if (eventData == null || eventData.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> facts = new HashMap<>(eventData);
+        facts.remove("ai_tags");
+        return facts;
+    }
+    
+    /**
+     * Parse ai_tags JSON (array or single string) into a list of tags
+     */
+    private List<String> parseTags(String aiTags) {
+        if (aiTags == null || aiTags.isBlank()) {
+            return List.of();
+        }
+        
+        try {
+            if (aiTags.trim().startsWith("[")) {
+                return objectMapper.readValue(aiTags, new TypeReference<List<String>>() {});
+            }
+            return List.of(objectMapper.readValue(aiTags, String.class));
+        } catch (Exception e) {
+            log.warn("Unparseable ai_tags, publishing without tags: {}", aiTags);
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.tala.origindata.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Timeline Export Service
+ * 
+ * Streams timeline entries for analytics consumers in a compact encoding:
+ * - ROWS: NDJSON, one object per entry with only the requested fields
+ * - COLUMNAR: NDJSON, one object per batch of entries holding one array per field
+ * Rows are read in keyset pages of (record_time, id), each page in its own short query,
+ * and written after the page was read: memory stays constant regardless of the export
+ * size, and a slow client does not hold a database connection or transaction open.
+ * Exports across all profiles must be bounded by a time range of at most max-range.
+ */
+@Service
+@Slf4j
+public class TimelineExportService {
+    
+    /**
+     * Exported when the caller does not project fields
+     */
+    public static final List<Field> DEFAULT_FIELDS = List.of(Field.ID, Field.TIMELINE_TYPE, Field.RECORD_TIME, Field.AI_TAGS);
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonFactory jsonFactory;
+    
+    @Value("${timeline.export.page-size:1000}")
+    private int pageSize;
+    
+    @Value("${timeline.export.columnar-batch-size:1000}")
+    private int columnarBatchSize;
+    
+    @Value("${timeline.export.max-range:P31D}")
+    private Duration maxRange;
+        
+    public TimelineExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+        
+    /**
+     * Check the export bounds: a profile, or a time range of at most max-range
+     * 
+     * @throws IllegalArgumentException if the export is unbounded
+     */
+    public void validateBounds(Long profileId, Instant startTime, Instant endTime) {
+        if (profileId != null) {
+            return;
+        }
+        if (startTime == null || endTime == null) {
+            throw new IllegalArgumentException("profileId or startTime and endTime are required");
+        }
+        if (Duration.between(startTime, endTime).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("Time range without profileId must not exceed " + maxRange);
+        }
+    }
+    
+    /**
+     * Parse a comma-separated field list (API names, e.g. "id,recordTime,aiTags")
+     * 
+     * @throws IllegalArgumentException on unknown fields
+     */
+    public List<Field> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULT_FIELDS;
+        }
+        Set<Field> parsed = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                parsed.add(Field.fromApiName(name.trim()));
+            }
+        }
+        if (parsed.isEmpty()) {
+            return DEFAULT_FIELDS;
+        }
+        return new ArrayList<>(parsed);
+    }
+    
+    /**
+     * Stream the timeline of one profile and/or a time range
+     * 
+     * @param profileId Optional profile filter
+     * @param startTime Optional range start (inclusive)
+     * @param endTime Optional range end (exclusive)
+     * @return Number of entries written
+     */
+    public long export(Long profileId, Instant startTime, Instant endTime,
+                       List<Field> fields, Format format, OutputStream out) throws IOException {
+        validateBounds(profileId, startTime, endTime);
+        
+        // The keyset columns follow the projected ones
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(fields.stream().map(Field::column).collect(Collectors.joining(", ")))
+                .append(", record_time, id FROM origin_data.timeline_entries WHERE deleted_at IS NULL");
+        if (profileId != null) {
+            sql.append(" AND profile_id = ?");
+            params.add(profileId);
+        }
+        if (startTime != null) {
+            sql.append(" AND record_time >= ?");
+            params.add(Timestamp.from(startTime));
+        }
+        if (endTime != null) {
+            sql.append(" AND record_time < ?");
+            params.add(Timestamp.from(endTime));
+        }
+        String firstPage = sql + " ORDER BY record_time, id LIMIT ?";
+        String nextPage = sql + " AND (record_time, id) > (?, ?) ORDER BY record_time, id LIMIT ?";
+        
+        long written = 0;
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        generator.setRootValueSeparator(null);
+        ColumnBatch batch = new ColumnBatch(fields.size());
+        
+        Timestamp afterTime = null;
+        long afterId = 0;
+        while (true) {
+            List<Object> pageParams = new ArrayList<>(params);
+            if (afterTime != null) {
+                pageParams.add(afterTime);
+                pageParams.add(afterId);
+            }
+            pageParams.add(pageSize);
+            
+            List<Row> page = jdbcTemplate.query(afterTime != null ? nextPage : firstPage,
+                    (rs, rowNum) -> readRow(rs, fields), pageParams.toArray());
+            
+            // The connection is back in the pool while the page is written
+            for (Row row : page) {
+                if (format == Format.COLUMNAR) {
+                    for (int i = 0; i < fields.size(); i++) {
+                        batch.columns.get(i).add(row.values()[i]);
+                    }
+                    batch.size++;
+                    if (batch.size >= columnarBatchSize) {
+                        writeBatch(generator, fields, batch);
+                    }
+                } else {
+                    writeRow(generator, fields, row);
+                }
+            }
+            written += page.size();
+            
+            if (page.size() < pageSize) {
+                break;
+            }
+            Row last = page.get(page.size() - 1);
+            afterTime = last.recordTime();
+            afterId = last.id();
+            generator.flush();
+        }
+        
+        if (batch.size > 0) {
+            writeBatch(generator, fields, batch);
+        }
+        generator.flush();
+        
+        log.info("Exported {} timeline entries: profileId={}, format={}, fields={}",
+                written, profileId, format, fields.size());
+        return written;
+    }
+    
+    private Row readRow(ResultSet rs, List<Field> fields) throws SQLException {
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            values[i] = read(rs, i + 1, fields.get(i));
+        }
+        return new Row(values, rs.getTimestamp(fields.size() + 1), rs.getLong(fields.size() + 2));
+    }
+    
+    private void writeRow(JsonGenerator generator, List<Field> fields, Row row) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < fields.size(); i++) {
+            generator.writeFieldName(fields.get(i).apiName());
+            writeValue(generator, fields.get(i), row.values()[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+    
+    private void writeBatch(JsonGenerator generator, List<Field> fields, ColumnBatch batch) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("count", batch.size);
+        for (int i = 0; i < fields.size(); i++) {
+            generator.writeArrayFieldStart(fields.get(i).apiName());
+            for (Object value : batch.columns.get(i)) {
+                writeValue(generator, fields.get(i), value);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+        generator.flush();
+        batch.clear();
+    }
+    
+    private Object read(ResultSet rs, int index, Field field) throws SQLException {
+        return switch (field.kind) {
+            case ID -> {
+                long value = rs.getLong(index);
+                yield rs.wasNull() ? null : value;
+            }
+            case INSTANT -> {
+                Timestamp value = rs.getTimestamp(index);
+                yield value != null ? value.toInstant() : null;
+            }
+            case TEXT, JSON -> rs.getString(index);
+        };
+    }
+    
+    private void writeValue(JsonGenerator generator, Field field, Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        switch (field.kind) {
+            // IDs as strings, like TimelineEntryResponse (JS number precision)
+            case ID -> generator.writeString(value.toString());
+            case INSTANT -> generator.writeString(value.toString());
+            case JSON -> generator.writeRawValue((String) value);
+            case TEXT -> generator.writeString((String) value);
+        }
+    }
+    
+    /**
+     * Projected values of one entry, with its keyset position
+     */
+    private record Row(Object[] values, Timestamp recordTime, long id) {
+    }
+    
+    /**
+     * Column values of one columnar batch
+     */
+    private static class ColumnBatch {
+        final List<List<Object>> columns;
+        int size;
+        
+        ColumnBatch(int fieldCount) {
+            columns = new ArrayList<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                columns.add(new ArrayList<>());
+            }
+        }
+        
+        void clear() {
+            columns.forEach(List::clear);
+            size = 0;
+        }
+    }
+    
+    /**
+     * Export encoding
+     */
+    public enum Format {
+        ROWS,
+        COLUMNAR
+    }
+    
+    /**
+     * Exportable timeline fields (API name → column)
+     */
+    public enum Field {
+        ID("id", "id", Kind.ID),
+        ORIGINAL_EVENT_ID("originalEventId", "original_event_id", Kind.ID),
+        PROFILE_ID("profileId", "profile_id", Kind.ID),
+        TIMELINE_TYPE("timelineType", "timeline_type", Kind.TEXT),
+        DATA_SOURCE("dataSource", "data_source", Kind.TEXT),
+        RECORD_TIME("recordTime", "record_time", Kind.INSTANT),
+        TITLE("title", "title", Kind.TEXT),
+        AI_SUMMARY("aiSummary", "ai_summary", Kind.TEXT),
+        AI_TAGS("aiTags", "ai_tags", Kind.JSON),
+        LOCATION("location", "location", Kind.TEXT),
+        AI_MODEL_VERSION("aiModelVersion", "ai_model_version", Kind.TEXT),
+        ORIGINAL_USER_MESSAGE("originalUserMessage", "original_user_message", Kind.TEXT),
+        CREATED_AT("createdAt", "created_at", Kind.INSTANT),
+        UPDATED_AT("updatedAt", "updated_at", Kind.INSTANT);
+        
+        private final String apiName;
+        private final String column;
+        private final Kind kind;
+        
+        Field(String apiName, String column, Kind kind) {
+            this.apiName = apiName;
+            this.column = column;
+            this.kind = kind;
+        }
+        
+        public String apiName() {
+            return apiName;
+        }
+        
+        String column() {
+            return column;
+        }
+        
+        static Field fromApiName(String apiName) {
+            return Arrays.stream(values())
+                    .filter(f -> f.apiName.equals(apiName))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown timeline field: " + apiName));
+        }
+    }
+    
+    private enum Kind {
+        ID,
+        TEXT,
+        INSTANT,
+        JSON
+    }
+}
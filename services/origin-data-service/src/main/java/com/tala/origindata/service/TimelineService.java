@@ -4,19 +4,28 @@ import com.tala.core.dto.AttachmentRef;
 import com.tala.origindata.constant.TimelineEventType;
 import com.tala.origindata.domain.OriginalEvent;
 import com.tala.origindata.domain.TimelineEntry;
+import com.tala.origindata.dto.TimelineCursor;
 import com.tala.origindata.dto.TimelineEntryResponse;
+import com.tala.origindata.dto.TimelineSliceResponse;
 import com.tala.origindata.repository.OriginalEventRepository;
 import com.tala.origindata.repository.TimelineEntryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,6 +39,8 @@ public class TimelineService {
     private final TimelineEntryRepository timelineEntryRepository;
     private final OriginalEventRepository originalEventRepository;
     private final AttachmentResolverService attachmentResolverService;
+    private final TimelineEventOutboxService timelineEventOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Get timeline for profile (paginated)
@@ -59,6 +70,56 @@ public class TimelineService {
                 profileId, startTime, endTime);
     }
     
+    /**
+     * Get one keyset-paginated slice of the timeline (no count query)
+     * 
+     * @param eventType Optional timeline type filter
+     * @param startTime Optional range start (requires endTime)
+     * @param endTime Optional range end (requires startTime)
+     * @param cursor Cursor of the previous slice, or null for the first slice
+     * @param size Slice size
+     */
+    @Transactional(readOnly = true)
+    public TimelineSliceResponse getTimelineSlice(
+            Long profileId, TimelineEventType eventType, Instant startTime, Instant endTime,
+            TimelineCursor cursor, int size) {
+        if (eventType != null && startTime != null) {
+            throw new IllegalArgumentException("Type filter and time range cannot be combined");
+        }
+        if ((startTime == null) != (endTime == null)) {
+            throw new IllegalArgumentException("startTime and endTime must be provided together");
+        }
+        
+        // Fetch one extra row to know whether another slice exists
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<TimelineEntry> entries;
+        if (eventType != null) {
+            entries = cursor == null
+                ? timelineEntryRepository.findFirstSliceByProfileAndType(profileId, eventType.name(), limit)
+                : timelineEntryRepository.findSliceByProfileAndTypeAfter(
+                    profileId, eventType.name(), cursor.recordTime(), cursor.id(), limit);
+        } else if (startTime != null) {
+            entries = cursor == null
+                ? timelineEntryRepository.findFirstSliceByProfileAndTimeRange(profileId, startTime, endTime, limit)
+                : timelineEntryRepository.findSliceByProfileAndTimeRangeAfter(
+                    profileId, startTime, cursor.recordTime(), cursor.id(), limit);
+        } else {
+            entries = cursor == null
+                ? timelineEntryRepository.findFirstSliceByProfile(profileId, limit)
+                : timelineEntryRepository.findSliceByProfileAfter(
+                    profileId, cursor.recordTime(), cursor.id(), limit);
+        }
+        
+        boolean hasNext = entries.size() > size;
+        List<TimelineEntryResponse> items = toResponseList(hasNext ? entries.subList(0, size) : entries);
+        
+        return TimelineSliceResponse.builder()
+            .items(items)
+            .hasNext(hasNext)
+            .nextCursor(hasNext ? TimelineCursor.of(items.get(items.size() - 1)).encode() : null)
+            .build();
+    }
+    
     /**
      * Get timeline entry by ID
      */
@@ -76,16 +137,34 @@ public class TimelineService {
     }
     
     /**
-     * Create timeline entry
+     * Create timeline entry and enqueue its TIMELINE_ENTRY_CREATED event
+     * (also published in-process as {@link TimelineEntriesCreated} for cache invalidation)
      */
     @Transactional
     public TimelineEntry createTimelineEntry(TimelineEntry entry) {
         TimelineEntry saved = timelineEntryRepository.save(entry);
+        timelineEventOutboxService.enqueueCreated(saved);
+        eventPublisher.publishEvent(new TimelineEntriesCreated(List.of(saved)));
         log.info("Created timeline entry: id={}, profileId={}, type={}", 
                 saved.getId(), saved.getProfileId(), saved.getTimelineType());
         return saved;
     }
     
+    /**
+     * Create timeline entries in one batch (JDBC batch insert on flush)
+     * and enqueue their TIMELINE_ENTRY_CREATED events
+     */
+    @Transactional
+    public List<TimelineEntry> createTimelineEntries(List<TimelineEntry> entries) {
+        List<TimelineEntry> saved = timelineEntryRepository.saveAll(entries);
+        saved.forEach(timelineEventOutboxService::enqueueCreated);
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new TimelineEntriesCreated(saved));
+        }
+        log.debug("Created {} timeline entries", saved.size());
+        return saved;
+    }
+    
     /**
      * Count timeline entries by profile
      */
@@ -106,16 +185,58 @@ public class TimelineService {
      * Convert TimelineEntry to TimelineEntryResponse with attachments
      */
     public TimelineEntryResponse toResponse(TimelineEntry entry) {
-        List<AttachmentRef> attachments = List.of();
-        
-        // Resolve attachments from OriginalEvent
-        Optional<OriginalEvent> originalEvent = originalEventRepository.findById(entry.getOriginalEventId());
-        if (originalEvent.isPresent() && originalEvent.get().hasAttachments()) {
-            attachments = attachmentResolverService.resolveAttachments(
-                originalEvent.get().getAttachmentIds()
-            );
+        return toResponseList(List.of(entry)).get(0);
+    }
+    
+    /**
+     * Convert list of TimelineEntry to TimelineEntryResponse
+     * 
+     * Resolves attachments in bulk: one query for all referenced OriginalEvents
+     * and one file-service call per 200 attachments (see AttachmentResolverService).
+     */
+    public List<TimelineEntryResponse> toResponseList(List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
         }
         
+        // Load all referenced OriginalEvents in one query
+        Set<Long> originalEventIds = entries.stream()
+            .map(TimelineEntry::getOriginalEventId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, OriginalEvent> originalEvents = originalEventRepository.findAllById(originalEventIds).stream()
+            .collect(Collectors.toMap(OriginalEvent::getId, Function.identity()));
+        
+        // Resolve all attachment IDs of the page at once
+        List<Long> allFileIds = originalEvents.values().stream()
+            .filter(OriginalEvent::hasAttachments)
+            .flatMap(event -> event.getAttachmentIds().stream())
+            .toList();
+        Map<Long, AttachmentRef> attachmentsById = attachmentResolverService.resolveAttachmentMap(allFileIds);
+        
+        return entries.stream()
+            .map(entry -> buildResponse(entry, attachmentsFor(originalEvents.get(entry.getOriginalEventId()), attachmentsById)))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Convert Page of TimelineEntry to Page of TimelineEntryResponse
+     */
+    public Page<TimelineEntryResponse> toResponsePage(Page<TimelineEntry> page) {
+        return new PageImpl<>(toResponseList(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+    
+    private List<AttachmentRef> attachmentsFor(OriginalEvent originalEvent, Map<Long, AttachmentRef> attachmentsById) {
+        if (originalEvent == null || !originalEvent.hasAttachments()) {
+            return List.of();
+        }
+        return originalEvent.getAttachmentIds().stream()
+            .map(attachmentsById::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
+    private TimelineEntryResponse buildResponse(TimelineEntry entry, List<AttachmentRef> attachments) {
         return TimelineEntryResponse.builder()
             .id(entry.getId())
             .originalEventId(entry.getOriginalEventId())
@@ -136,18 +257,9 @@ public class TimelineService {
     }
     
     /**
-     * Convert list of TimelineEntry to TimelineEntryResponse
-     */
-    public List<TimelineEntryResponse> toResponseList(List<TimelineEntry> entries) {
-        return entries.stream()
-            .map(this::toResponse)
-            .collect(Collectors.toList());
-    }
-    
-    /**
-     * Convert Page of TimelineEntry to Page of TimelineEntryResponse
+     * In-process notification that timeline entries were created
+     * (handled after commit, e.g. by TimelineCacheService)
      */
-    public Page<TimelineEntryResponse> toResponsePage(Page<TimelineEntry> page) {
-        return page.map(this::toResponse);
+    public record TimelineEntriesCreated(List<TimelineEntry> entries) {
     }
 }
@@ -0,0 +1,25 @@
+-- V5: Transactional outbox for timeline events published to Kafka
+-- Rows are written in the same transaction as the timeline entry and
+-- relayed to the timeline topic (keyed by profile_id) by TimelineEventPublisher.
+
+CREATE TABLE origin_data.timeline_event_outbox (
+    id BIGINT PRIMARY KEY,
+    aggregate_id BIGINT NOT NULL,
+    profile_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload JSONB NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_timeline_outbox_due ON origin_data.timeline_event_outbox(next_attempt_at, id) WHERE published_at IS NULL;
+CREATE INDEX idx_timeline_outbox_aggregate ON origin_data.timeline_event_outbox(aggregate_id);
+
+COMMENT ON TABLE origin_data.timeline_event_outbox IS 'Transactional outbox for timeline events published to Kafka';
+COMMENT ON COLUMN origin_data.timeline_event_outbox.aggregate_id IS 'Timeline entry ID the event describes';
+COMMENT ON COLUMN origin_data.timeline_event_outbox.payload IS 'Serialized TimelineEntryEvent (versioned JSON)';
@@ -0,0 +1,12 @@
+-- V6: Composite indexes for keyset (seek) pagination of timeline entries
+-- Order matches the ORDER BY record_time DESC, id DESC of the slice queries,
+-- so each page is a bounded index range scan regardless of scroll depth.
+
+CREATE INDEX idx_timeline_entry_profile_time_id
+    ON origin_data.timeline_entries(profile_id, record_time DESC, id DESC);
+
+CREATE INDEX idx_timeline_entry_profile_type_time_id
+    ON origin_data.timeline_entries(profile_id, timeline_type, record_time DESC, id DESC);
+
+-- Superseded by idx_timeline_entry_profile_time_id (same leading columns)
+DROP INDEX IF EXISTS origin_data.idx_timeline_entry_profile_time;
@@ -0,0 +1,16 @@
+-- V7: Claim/attempt tracking for chunked, parallel reprocessing of original events
+
+ALTER TABLE origin_data.original_events
+    ADD COLUMN processing_attempts INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN processing_lease_until TIMESTAMP WITH TIME ZONE,
+    ADD COLUMN processing_error TEXT,
+    ADD COLUMN poisoned_at TIMESTAMP WITH TIME ZONE;
+
+-- Work queue index: only unprocessed, non-poisoned rows, in claim order
+CREATE INDEX idx_original_event_reprocess_queue
+    ON origin_data.original_events(event_time, id)
+    WHERE ai_processed = FALSE AND poisoned_at IS NULL AND deleted_at IS NULL;
+
+COMMENT ON COLUMN origin_data.original_events.processing_attempts IS 'Number of times a reprocessing worker claimed this event';
+COMMENT ON COLUMN origin_data.original_events.processing_lease_until IS 'Claim lease; other workers skip the row until it expires';
+COMMENT ON COLUMN origin_data.original_events.poisoned_at IS 'Set when processing failed max-attempts times; excluded from reprocessing';
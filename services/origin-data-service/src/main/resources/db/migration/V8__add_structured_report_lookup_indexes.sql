@@ -0,0 +1,26 @@
+-- V8: Composite indexes for the typed report projections
+-- Profile lookups walk header (profile_id, time) then child (report_id, type/name),
+-- so "weight history" or "MMR doses" are index range scans instead of jsonb scans
+-- over home_events.details.
+
+CREATE INDEX idx_health_report_profile_visit
+    ON origin_data.health_reports(profile_id, visit_time DESC);
+
+CREATE INDEX idx_incident_report_profile_time
+    ON origin_data.incident_reports(profile_id, incident_time DESC);
+
+CREATE INDEX idx_health_measurement_report_type
+    ON origin_data.health_measurements(health_report_id, measurement_type);
+
+CREATE INDEX idx_health_vaccination_report_name
+    ON origin_data.health_vaccinations(health_report_id, vaccine_name);
+
+CREATE INDEX idx_daycare_item_report_type
+    ON origin_data.daycare_report_items(daycare_report_id, item_type);
+
+-- Superseded by the composites above (same leading column)
+DROP INDEX IF EXISTS origin_data.idx_health_report_profile;
+DROP INDEX IF EXISTS origin_data.idx_incident_report_profile;
+DROP INDEX IF EXISTS origin_data.idx_health_measurement_report;
+DROP INDEX IF EXISTS origin_data.idx_health_vaccination_report;
+DROP INDEX IF EXISTS origin_data.idx_daycare_item_report;
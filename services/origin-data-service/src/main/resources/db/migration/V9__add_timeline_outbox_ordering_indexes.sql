@@ -0,0 +1,7 @@
+-- V9: Indexes for per-profile ordering and retention of the timeline event outbox
+
+-- Publisher holds back rows with an older unpublished row of the same profile
+CREATE INDEX IF NOT EXISTS idx_timeline_outbox_profile_pending ON origin_data.timeline_event_outbox(profile_id, id) WHERE published_at IS NULL;
+
+-- Retention purge of published rows
+CREATE INDEX IF NOT EXISTS idx_timeline_outbox_published ON origin_data.timeline_event_outbox(published_at) WHERE published_at IS NOT NULL;
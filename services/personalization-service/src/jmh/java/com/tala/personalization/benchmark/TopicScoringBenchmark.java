@@ -0,0 +1,490 @@
+package com.tala.personalization.benchmark;
+
+import com.tala.personalization.constant.Topic;
+import com.tala.personalization.dto.PersonalizationContext;
+import com.tala.personalization.dto.TopicScores;
+import com.tala.personalization.service.PriorityCalculator;
+import com.tala.personalization.service.TopicScoringEngine;
+import com.tala.personalization.service.UrgencyCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Topic scoring: per-topic calculators (as before TopicScoringEngine) vs the one-pass engine
+ *
+ * Run with: mvn -Pjmh -pl services/personalization-service -am test -Djmh.args="TopicScoring"
+ *
+ * Setup fails if the engine and the legacy calculators disagree on any topic score,
+ * so every run doubles as an equivalence check over the generated contexts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopicScoringBenchmark {
+    
+    private static final String[] EVENT_TYPES = {
+        "SLEEP", "NAP_SLEEP", "FOOD", "FOOD_ALLERGY", "FEEDING", "HEALTH_CHECK", "MEDICAL",
+        "SICKNESS", "INCIDENT", "DEVELOPMENT_MILESTONE", "SOCIAL_PLAYDATE", "ACTIVITY",
+        "MOOD", "DIAPER", "BATH"
+    };
+    private static final String[] PRIORITIES = {"low", "normal", "high", "critical", null};
+    private static final String[] TRENDS = {"declining", "improving", "stable"};
+    
+    /**
+     * Recent events in the context (the timeline of the last 7 days)
+     */
+    @Param({"20", "200", "1000"})
+    public int eventCount;
+    
+    private PersonalizationContext context;
+    private TopicScoringEngine engine;
+    
+    @Setup
+    public void setUp() {
+        PriorityCalculator priorityCalculator = new PriorityCalculator();
+        ReflectionTestUtils.setField(priorityCalculator, "userInterestWeight", LegacyPriority.USER_INTEREST_WEIGHT);
+        ReflectionTestUtils.setField(priorityCalculator, "urgencyWeight", LegacyPriority.URGENCY_WEIGHT);
+        ReflectionTestUtils.setField(priorityCalculator, "ageRelevanceWeight", LegacyPriority.AGE_RELEVANCE_WEIGHT);
+        ReflectionTestUtils.setField(priorityCalculator, "recencyWeight", LegacyPriority.RECENCY_WEIGHT);
+        ReflectionTestUtils.setField(priorityCalculator, "trendWeight", LegacyPriority.TREND_WEIGHT);
+        engine = new TopicScoringEngine(priorityCalculator, new UrgencyCalculator());
+        
+        // Equivalence over many random contexts, then keep one for the measurement
+        Random random = new Random(eventCount);
+        for (int i = 0; i < 500; i++) {
+            verify(randomContext(random, eventCount));
+        }
+        context = randomContext(random, eventCount);
+        verify(context);
+    }
+    
+    @Benchmark
+    public void legacyPerTopic(Blackhole blackhole) {
+        for (Topic topic : Topic.all()) {
+            blackhole.consume(LegacyPriority.calculateTopicPriority(topic.key(), context));
+            blackhole.consume(LegacyUrgency.calculateTopicUrgency(topic.key(), context));
+        }
+    }
+    
+    @Benchmark
+    public TopicScores engine() {
+        context.setTopicScores(null);
+        return engine.score(context);
+    }
+    
+    private void verify(PersonalizationContext context) {
+        context.setTopicScores(null);
+        TopicScores scores = engine.score(context);
+        for (Topic topic : Topic.all()) {
+            int priority = LegacyPriority.calculateTopicPriority(topic.key(), context);
+            int urgency = LegacyUrgency.calculateTopicUrgency(topic.key(), context);
+            if (scores.priority(topic) != priority || scores.urgency(topic) != urgency) {
+                throw new IllegalStateException(String.format(
+                    "Score mismatch for topic %s: engine priority=%d urgency=%d, legacy priority=%d urgency=%d",
+                    topic.key(), scores.priority(topic), scores.urgency(topic), priority, urgency));
+            }
+        }
+    }
+    
+    private static PersonalizationContext randomContext(Random random, int eventCount) {
+        LocalDate today = LocalDate.of(2026, 3, 15);
+        
+        List<PersonalizationContext.RecentEventData> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(PersonalizationContext.RecentEventData.builder()
+                .id((long) i)
+                .eventType(pick(random, EVENT_TYPES))
+                .priority(pick(random, PRIORITIES))
+                .riskLevel(random.nextInt(10) == 0 ? "HIGH" : "LOW")
+                .occurredAt(today.minusDays(random.nextInt(8)))
+                .build());
+        }
+        
+        Map<String, Double> interestVector = new HashMap<>();
+        Map<String, String> trends = new HashMap<>();
+        for (Topic topic : Topic.all()) {
+            if (random.nextBoolean()) {
+                interestVector.put(topic.key(), random.nextInt(11) / 10.0);
+            }
+            if (random.nextBoolean()) {
+                trends.put(topic.key(), pick(random, TRENDS));
+            }
+        }
+        
+        return PersonalizationContext.builder()
+            .profileId(1L)
+            .date(today)
+            .babyAgeMonths(random.nextInt(48))
+            .dailyContext(PersonalizationContext.DailyContextData.builder()
+                .hasIncident(random.nextInt(5) == 0)
+                .hasSickness(random.nextInt(5) == 0)
+                .build())
+            .daycareReport(random.nextBoolean() ? null : PersonalizationContext.DaycareReportData.builder()
+                .hasIncident(random.nextInt(5) == 0)
+                .teacherNotes(random.nextBoolean() ? "" : pick(random, new String[] {"Great day", "Slight concern about naps"}))
+                .build())
+            .activeReminders(List.of(PersonalizationContext.ReminderData.builder()
+                .category(random.nextBoolean() ? "vaccination" : "other")
+                .priority(random.nextBoolean() ? "high" : "normal")
+                .dueDate(today.plusDays(random.nextInt(10) - 2))
+                .build()))
+            .interestProfile(PersonalizationContext.InterestProfileData.builder()
+                .interestVector(interestVector)
+                .explicitTopics(List.of(pick(random, new String[] {"sleep", "food", "health"})))
+                .recentTopics(List.of(pick(random, new String[] {"social", "mood", "activity"})))
+                .build())
+            .recentEvents(events)
+            .topicTrends(trends)
+            .build();
+    }
+    
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    /**
+     * PriorityCalculator before TopicScoringEngine (default weights), without its debug log
+     */
+    static final class LegacyPriority {
+        
+        static final double USER_INTEREST_WEIGHT = 0.30;
+        static final double URGENCY_WEIGHT = 0.25;
+        static final double AGE_RELEVANCE_WEIGHT = 0.20;
+        static final double RECENCY_WEIGHT = 0.15;
+        static final double TREND_WEIGHT = 0.10;
+        
+        static int calculateTopicPriority(String topic, PersonalizationContext context) {
+            double score = 0.0;
+            score += calculateUserInterestScore(topic, context) * USER_INTEREST_WEIGHT * 100;
+            score += calculateUrgencyScore(context) * URGENCY_WEIGHT * 100;
+            score += calculateAgeRelevanceScore(topic, context.getBabyAgeMonths()) * AGE_RELEVANCE_WEIGHT * 100;
+            score += calculateRecencyScore(topic, context) * RECENCY_WEIGHT * 100;
+            score += calculateTrendScore(topic, context) * TREND_WEIGHT * 100;
+            return (int) Math.min(Math.round(score), 100);
+        }
+        
+        private static double calculateUserInterestScore(String topic, PersonalizationContext context) {
+            if (context.getInterestProfile() == null) {
+                return 0.5;
+            }
+            
+            Map<String, Double> interestVector = context.getInterestProfile().getInterestVector();
+            if (interestVector == null || !interestVector.containsKey(topic)) {
+                return 0.5;
+            }
+            
+            double baseScore = interestVector.get(topic);
+            if (context.getInterestProfile().getExplicitTopics() != null &&
+                context.getInterestProfile().getExplicitTopics().contains(topic)) {
+                baseScore = Math.min(baseScore + 0.2, 1.0);
+            }
+            if (context.getInterestProfile().getRecentTopics() != null &&
+                context.getInterestProfile().getRecentTopics().contains(topic)) {
+                baseScore = Math.min(baseScore + 0.1, 1.0);
+            }
+            return baseScore;
+        }
+        
+        private static double calculateUrgencyScore(PersonalizationContext context) {
+            double score = 0.0;
+            
+            if (context.getDailyContext() != null) {
+                if (context.getDailyContext().getHasIncident()) {
+                    score += 0.5;
+                }
+                if (context.getDailyContext().getHasSickness()) {
+                    score += 0.5;
+                }
+            }
+            
+            if (context.getDaycareReport() != null) {
+                if (context.getDaycareReport().getHasIncident()) {
+                    score += 0.4;
+                }
+                if (context.getDaycareReport().getTeacherNotes() != null &&
+                    !context.getDaycareReport().getTeacherNotes().isEmpty()) {
+                    score += 0.2;
+                }
+            }
+            
+            if (context.getRecentEvents() != null) {
+                long highPriorityEvents = context.getRecentEvents().stream()
+                    .filter(e -> "high".equalsIgnoreCase(e.getPriority()) ||
+                               "critical".equalsIgnoreCase(e.getPriority()))
+                    .count();
+                score += Math.min(highPriorityEvents * 0.15, 0.6);
+            }
+            
+            return Math.min(score, 1.0);
+        }
+        
+        private static double calculateAgeRelevanceScore(String topic, Integer ageMonths) {
+            if (ageMonths == null) {
+                return 0.5;
+            }
+            
+            return switch (topic.toLowerCase()) {
+                case "sleep" -> {
+                    if (ageMonths < 12) yield 1.0;
+                    if (ageMonths < 24) yield 0.8;
+                    yield 0.6;
+                }
+                case "food", "feeding" -> {
+                    if (ageMonths >= 5 && ageMonths <= 7) yield 1.0;
+                    if (ageMonths >= 11 && ageMonths <= 13) yield 1.0;
+                    if (ageMonths >= 17 && ageMonths <= 19) yield 1.0;
+                    yield 0.7;
+                }
+                case "development", "milestone" -> {
+                    if (ageMonths < 24) yield 1.0;
+                    if (ageMonths < 48) yield 0.9;
+                    yield 0.7;
+                }
+                case "social", "friend" -> {
+                    if (ageMonths < 12) yield 0.3;
+                    if (ageMonths < 24) yield 0.6;
+                    yield 0.9;
+                }
+                case "potty", "toilet" -> {
+                    if (ageMonths < 18) yield 0.1;
+                    if (ageMonths >= 18 && ageMonths <= 36) yield 1.0;
+                    if (ageMonths > 36) yield 0.4;
+                    yield 0.2;
+                }
+                case "health", "medical" -> 0.9;
+                default -> 0.5;
+            };
+        }
+        
+        private static double calculateRecencyScore(String topic, PersonalizationContext context) {
+            if (context.getRecentEvents() == null || context.getRecentEvents().isEmpty()) {
+                return 0.3;
+            }
+            
+            LocalDate today = context.getDate();
+            LocalDate mostRecentDate = context.getRecentEvents().stream()
+                .filter(e -> e.getEventType().toLowerCase().contains(topic.toLowerCase()))
+                .map(PersonalizationContext.RecentEventData::getOccurredAt)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+            
+            if (mostRecentDate == null) {
+                return 0.3;
+            }
+            
+            long daysSince = Duration.between(mostRecentDate.atStartOfDay(), today.atStartOfDay()).toDays();
+            if (daysSince == 0) return 1.0;
+            if (daysSince == 1) return 0.9;
+            if (daysSince <= 3) return 0.7;
+            if (daysSince <= 7) return 0.5;
+            if (daysSince <= 14) return 0.3;
+            return 0.1;
+        }
+        
+        private static double calculateTrendScore(String topic, PersonalizationContext context) {
+            String trend = context.getTopicTrends() != null ?
+                context.getTopicTrends().get(topic) : null;
+            
+            if (trend == null) {
+                return 0.5;
+            }
+            
+            return switch (trend.toLowerCase()) {
+                case "declining" -> 1.0;
+                case "improving" -> 0.6;
+                case "stable" -> 0.4;
+                default -> 0.5;
+            };
+        }
+    }
+    
+    /**
+     * UrgencyCalculator before TopicScoringEngine, without its debug log
+     */
+    static final class LegacyUrgency {
+        
+        static int calculateTopicUrgency(String topic, PersonalizationContext context) {
+            int urgency = 0;
+            urgency += calculateEventUrgency(topic, context);
+            urgency += calculateReminderUrgency(context);
+            urgency += calculateTrendUrgency(topic, context);
+            urgency += calculateDaycareUrgency(context);
+            return Math.min(urgency, 10);
+        }
+        
+        private static int calculateEventUrgency(String topic, PersonalizationContext context) {
+            if (context.getRecentEvents() == null || context.getRecentEvents().isEmpty()) {
+                return 0;
+            }
+            
+            int maxUrgency = 0;
+            for (PersonalizationContext.RecentEventData event : context.getRecentEvents()) {
+                if (!event.getEventType().toLowerCase().contains(topic.toLowerCase())) {
+                    continue;
+                }
+                maxUrgency = Math.max(maxUrgency, calculateSingleEventUrgency(event, context.getDate()));
+            }
+            return maxUrgency;
+        }
+        
+        private static int calculateSingleEventUrgency(PersonalizationContext.RecentEventData event, LocalDate today) {
+            int urgency = 0;
+            
+            String eventType = event.getEventType().toLowerCase();
+            if (eventType.contains("incident")) {
+                urgency = 9;
+            } else if (eventType.contains("sickness") || eventType.contains("illness")) {
+                urgency = 8;
+            } else if (eventType.contains("medical")) {
+                urgency = 7;
+            } else if (eventType.contains("injury")) {
+                urgency = 8;
+            } else if (eventType.contains("allergy")) {
+                urgency = 7;
+            }
+            
+            if ("critical".equalsIgnoreCase(event.getPriority())) {
+                urgency += 2;
+            } else if ("high".equalsIgnoreCase(event.getPriority())) {
+                urgency += 1;
+            }
+            
+            if ("HIGH".equalsIgnoreCase(event.getRiskLevel())) {
+                urgency += 1;
+            }
+            
+            if (event.getOccurredAt() != null) {
+                long daysSince = Duration.between(
+                    event.getOccurredAt().atStartOfDay(),
+                    today.atStartOfDay()
+                ).toDays();
+                
+                if (daysSince > 3) {
+                    urgency = Math.max(urgency - 2, 0);
+                } else if (daysSince > 1) {
+                    urgency = Math.max(urgency - 1, 0);
+                }
+            }
+            
+            return Math.min(urgency, 10);
+        }
+        
+        private static int calculateReminderUrgency(PersonalizationContext context) {
+            if (context.getActiveReminders() == null || context.getActiveReminders().isEmpty()) {
+                return 0;
+            }
+            
+            int maxUrgency = 0;
+            LocalDate today = context.getDate();
+            
+            for (PersonalizationContext.ReminderData reminder : context.getActiveReminders()) {
+                if (reminder.getDueDate() == null) {
+                    continue;
+                }
+                
+                long daysUntilDue = Duration.between(
+                    today.atStartOfDay(),
+                    reminder.getDueDate().atStartOfDay()
+                ).toDays();
+                
+                int reminderUrgency = 0;
+                if (daysUntilDue < 0) {
+                    reminderUrgency = 8;
+                } else if (daysUntilDue == 0) {
+                    reminderUrgency = 7;
+                } else if (daysUntilDue == 1) {
+                    reminderUrgency = 5;
+                } else if (daysUntilDue <= 3) {
+                    reminderUrgency = 3;
+                } else if (daysUntilDue <= 7) {
+                    reminderUrgency = 2;
+                }
+                
+                if ("high".equalsIgnoreCase(reminder.getPriority())) {
+                    reminderUrgency += 1;
+                }
+                
+                String category = reminder.getCategory();
+                if ("appointment".equalsIgnoreCase(category) ||
+                    "vaccination".equalsIgnoreCase(category) ||
+                    "medication".equalsIgnoreCase(category)) {
+                    reminderUrgency += 1;
+                }
+                
+                maxUrgency = Math.max(maxUrgency, reminderUrgency);
+            }
+            
+            return Math.min(maxUrgency, 10);
+        }
+        
+        private static int calculateTrendUrgency(String topic, PersonalizationContext context) {
+            if (context.getTopicTrends() == null) {
+                return 0;
+            }
+            
+            String trend = context.getTopicTrends().get(topic);
+            if (trend == null) {
+                return 0;
+            }
+            
+            if ("declining".equalsIgnoreCase(trend)) {
+                if (topic.equalsIgnoreCase("sleep") ||
+                    topic.equalsIgnoreCase("food") ||
+                    topic.equalsIgnoreCase("health")) {
+                    return 6;
+                }
+                return 4;
+            }
+            
+            return 0;
+        }
+        
+        private static int calculateDaycareUrgency(PersonalizationContext context) {
+            if (context.getDaycareReport() == null) {
+                return 0;
+            }
+            
+            PersonalizationContext.DaycareReportData report = context.getDaycareReport();
+            int urgency = 0;
+            
+            if (Boolean.TRUE.equals(report.getHasIncident())) {
+                urgency = 7;
+            }
+            
+            if (report.getTeacherNotes() != null && !report.getTeacherNotes().isEmpty()) {
+                String notes = report.getTeacherNotes().toLowerCase();
+                if (notes.contains("urgent") || notes.contains("immediate") ||
+                    notes.contains("concern") || notes.contains("worried")) {
+                    urgency = Math.max(urgency, 6);
+                } else {
+                    urgency = Math.max(urgency, 3);
+                }
+            }
+            
+            return urgency;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Personalization Service - Intelligent content orchestration
@@ -15,11 +16,13 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * - Tala conversation starters generation
  * - Priority and urgency calculation
  * - Multi-service data aggregation
+ * - Morning precomputation of pages for active profiles
  */
 @SpringBootApplication(scanBasePackages = {"com.tala.personalization", "com.tala.core"})
 @EnableFeignClients
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class PersonalizationServiceApplication {
     
     public static void main(String[] args) {
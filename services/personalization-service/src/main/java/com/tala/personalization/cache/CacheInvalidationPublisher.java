@@ -0,0 +1,54 @@
+package com.tala.personalization.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Announces cache changes over Redis pub/sub, so other pods drop their L1 copies
+ * 
+ * Message format: "{instanceId}|{cache}|{KEY|GROUP|CLEAR}|{key or group}".
+ * Publishing is best-effort; the L1 TTL bounds staleness when a message is lost.
+ */
+@Slf4j
+public class CacheInvalidationPublisher {
+    
+    static final String OP_KEY = "KEY";
+    static final String OP_GROUP = "GROUP";
+    static final String OP_CLEAR = "CLEAR";
+    static final String SEPARATOR = "|";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String instanceId = UUID.randomUUID().toString();
+    
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+    
+    public String getInstanceId() {
+        return instanceId;
+    }
+    
+    void publishKey(String cache, String key) {
+        publish(cache, OP_KEY, key);
+    }
+    
+    void publishGroup(String cache, String group) {
+        publish(cache, OP_GROUP, group);
+    }
+    
+    void publishClear(String cache) {
+        publish(cache, OP_CLEAR, "");
+    }
+    
+    private void publish(String cache, String op, String arg) {
+        try {
+            redisTemplate.convertAndSend(channel, String.join(SEPARATOR, instanceId, cache, op, arg));
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation: cache={}, op={}, error={}", cache, op, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tala.personalization.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Binary codec for Redis cache entries
+ * 
+ * Layout: expiry (epoch millis), value class name, Smile (binary JSON) payload.
+ * Only classes of this service are decoded, so a tampered entry cannot instantiate
+ * arbitrary types.
+ */
+public class CacheValueCodec {
+    
+    private static final String ALLOWED_PACKAGE = "com.tala.personalization.";
+    
+    private final ObjectMapper smileMapper;
+    
+    public CacheValueCodec() {
+        this.smileMapper = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+    
+    public byte[] encode(Object value, long expiresAtMillis) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(expiresAtMillis);
+            out.writeUTF(value.getClass().getName());
+            smileMapper.writeValue((OutputStream) out, value);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * @return The decoded entry, or null if it expired
+     */
+    public Object decode(byte[] data, long nowMillis) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readLong() <= nowMillis) {
+                return null;
+            }
+            String className = in.readUTF();
+            if (!className.startsWith(ALLOWED_PACKAGE)) {
+                throw new IllegalStateException("Refusing to decode cached " + className);
+            }
+            Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+            return smileMapper.readValue((InputStream) in, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown cached type", e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.tala.personalization.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.lang.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Two-level cache: Caffeine (L1, per pod) over Redis (L2, shared)
+ * 
+ * Keys are "group:rest" strings (e.g. "profileId:userId:date"). L2 keeps one Redis
+ * hash per group, so a whole group is evicted with a single DEL. Entries carry their
+ * own expiry; TTLs get random jitter so entries written together do not expire
+ * together. Writes and evictions are announced over pub/sub so other pods drop their
+ * L1 copy. Redis errors degrade to L1-only and never fail the caller.
+ * 
+ * Each group has a version that evictGroup bumps. A load reads the version before it
+ * calls the loader and writes only if the version is unchanged, so a value loaded from
+ * data that was invalidated meanwhile is not stored. Writes also drop the group's
+ * expired entries and never shorten the hash TTL, so an active group does not
+ * accumulate expired entries nor lose live ones.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    
+    /**
+     * KEYS: group hash, group version; ARGV: expected version ("" = any), field, entry,
+     * TTL ms, now ms. Entries start with their expiry (big-endian epoch millis, see CacheValueCodec).
+     */
+    private static final RedisScript<Long> WRITE_IF_CURRENT = new DefaultRedisScript<>(
+        "if ARGV[1] ~= '' and (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+        "local now = tonumber(ARGV[5]) " +
+        "local entries = redis.call('HGETALL', KEYS[1]) " +
+        "for i = 1, #entries, 2 do " +
+        "  local entry = entries[i + 1] local expiresAt = 0 " +
+        "  if #entry >= 8 then for j = 1, 8 do expiresAt = expiresAt * 256 + string.byte(entry, j) end end " +
+        "  if expiresAt <= now then redis.call('HDEL', KEYS[1], entries[i]) end " +
+        "end " +
+        "redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) " +
+        "if redis.call('PTTL', KEYS[1]) < tonumber(ARGV[4]) then redis.call('PEXPIRE', KEYS[1], ARGV[4]) end " +
+        "return 1", Long.class);
+    
+    /**
+     * KEYS: group hash, group version; ARGV: version TTL ms
+     */
+    private static final RedisScript<Long> EVICT_GROUP = new DefaultRedisScript<>(
+        "redis.call('DEL', KEYS[1]) local v = redis.call('INCR', KEYS[2]) " +
+        "redis.call('PEXPIRE', KEYS[2], ARGV[1]) return v", Long.class);
+    
+    private final String name;
+    private final String keyPrefix;
+    private final String versionPrefix;
+    private final Cache<String, Object> local;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CacheValueCodec codec;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Duration ttl;
+    private final double jitter;
+    
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter l2Errors;
+    
+    public TwoLevelCache(String name, TwoLevelCacheSettings settings,
+                         RedisTemplate<String, byte[]> redisTemplate, CacheValueCodec codec,
+                         CacheInvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.keyPrefix = settings.keyPrefix() + name + ":";
+        this.versionPrefix = settings.keyPrefix() + name + "-version:";
+        this.redisTemplate = redisTemplate;
+        this.codec = codec;
+        this.invalidationPublisher = invalidationPublisher;
+        this.ttl = settings.ttl();
+        this.jitter = settings.ttlJitter();
+        this.local = Caffeine.newBuilder()
+            .maximumSize(settings.localMaxSize())
+            .expireAfter(new JitteredExpiry(settings.localTtl(), jitter))
+            .build();
+        
+        this.l1Hits = counter(meterRegistry, "l1", "hit");
+        this.l2Hits = counter(meterRegistry, "l2", "hit");
+        this.misses = counter(meterRegistry, "l2", "miss");
+        this.l2Errors = Counter.builder("personalization.cache.l2.errors")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+    
+    @Override
+    @NonNull
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return local;
+    }
+    
+    @Override
+    protected Object lookup(@NonNull Object key) {
+        String cacheKey = key.toString();
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        
+        value = readRemote(cacheKey);
+        if (value != null) {
+            l2Hits.increment();
+            local.put(cacheKey, value);
+            return value;
+        }
+        
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * Load through both levels; concurrent callers in this pod share one load
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        String cacheKey = key.toString();
+        Object cached = local.getIfPresent(cacheKey);
+        if (cached != null) {
+            l1Hits.increment();
+            return (T) cached;
+        }
+        
+        boolean[] superseded = new boolean[1];
+        T value = (T) local.get(cacheKey, k -> {
+            Object remote = readRemote(k);
+            if (remote != null) {
+                l2Hits.increment();
+                return remote;
+            }
+            
+            misses.increment();
+            // Read before loading, so an eviction during the load prevents the write
+            String version = readVersion(k);
+            T loaded;
+            try {
+                loaded = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (loaded != null && version != null && !writeRemote(k, loaded, version)) {
+                superseded[0] = true;
+            }
+            return loaded;
+        });
+        if (superseded[0]) {
+            // Loaded from invalidated data: hand it to this caller only
+            local.invalidate(cacheKey);
+        }
+        return value;
+    }
+    
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String cacheKey = key.toString();
+        local.put(cacheKey, value);
+        writeRemote(cacheKey, value, "");
+    }
+    
+    @Override
+    public void evict(@NonNull Object key) {
+        String cacheKey = key.toString();
+        local.invalidate(cacheKey);
+        try {
+            redisTemplate.opsForHash().delete(groupKey(group(cacheKey)), cacheKey);
+        } catch (Exception e) {
+            remoteFailed("evict", e);
+        }
+        invalidationPublisher.publishKey(name, cacheKey);
+    }
+    
+    /**
+     * Evict all entries of a group (e.g. all pages of one profile)
+     */
+    public void evictGroup(String group) {
+        evictGroupLocally(group);
+        try {
+            redisTemplate.execute(EVICT_GROUP, List.of(groupKey(group), versionKey(group)),
+                bytes(String.valueOf(versionTtl().toMillis())));
+        } catch (Exception e) {
+            remoteFailed("evictGroup", e);
+        }
+        invalidationPublisher.publishGroup(name, group);
+    }
+    
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(keyPrefix + "*").count(500).build())) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        } catch (Exception e) {
+            remoteFailed("clear", e);
+        }
+        invalidationPublisher.publishClear(name);
+    }
+    
+    /**
+     * Drop an L1 entry after another pod changed it
+     */
+    void evictLocally(String cacheKey) {
+        local.invalidate(cacheKey);
+    }
+    
+    void evictGroupLocally(String group) {
+        String groupPrefix = group + ":";
+        local.asMap().keySet().removeIf(k -> k.startsWith(groupPrefix) || k.equals(group));
+    }
+    
+    void clearLocally() {
+        local.invalidateAll();
+    }
+    
+    private Object readRemote(String cacheKey) {
+        try {
+            Object data = redisTemplate.opsForHash().get(groupKey(group(cacheKey)), cacheKey);
+            return data instanceof byte[] bytes ? codec.decode(bytes, System.currentTimeMillis()) : null;
+        } catch (Exception e) {
+            remoteFailed("read", e);
+            return null;
+        }
+    }
+    
+    /**
+     * @return The group's version, "0" if it was never evicted, or null if Redis is unavailable
+     */
+    private String readVersion(String cacheKey) {
+        try {
+            byte[] version = redisTemplate.opsForValue().get(versionKey(group(cacheKey)));
+            return version != null ? new String(version, StandardCharsets.UTF_8) : "0";
+        } catch (Exception e) {
+            remoteFailed("readVersion", e);
+            return null;
+        }
+    }
+    
+    /**
+     * @param expectedVersion Version read before loading the value; "" to write unconditionally
+     * @return False if the group was evicted since expectedVersion was read
+     */
+    private boolean writeRemote(String cacheKey, Object value, String expectedVersion) {
+        boolean written = true;
+        try {
+            long now = System.currentTimeMillis();
+            long ttlMillis = jittered(ttl, jitter).toMillis();
+            String group = group(cacheKey);
+            Long result = redisTemplate.execute(WRITE_IF_CURRENT, List.of(groupKey(group), versionKey(group)),
+                bytes(expectedVersion), bytes(cacheKey), codec.encode(value, now + ttlMillis),
+                bytes(String.valueOf(ttlMillis)), bytes(String.valueOf(now)));
+            written = result == null || result != 0L;
+        } catch (Exception e) {
+            remoteFailed("write", e);
+        }
+        invalidationPublisher.publishKey(name, cacheKey);
+        return written;
+    }
+    
+    private String groupKey(String group) {
+        return keyPrefix + "{" + group + "}";
+    }
+    
+    private String versionKey(String group) {
+        return versionPrefix + "{" + group + "}";
+    }
+    
+    private static String group(String cacheKey) {
+        int separator = cacheKey.indexOf(':');
+        return separator > 0 ? cacheKey.substring(0, separator) : cacheKey;
+    }
+    
+    /**
+     * Versions outlive any load that may have read them
+     */
+    private Duration versionTtl() {
+        return ttl.multipliedBy(2);
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static Duration jittered(Duration base, double jitter) {
+        if (jitter <= 0) {
+            return base;
+        }
+        return Duration.ofNanos((long) (base.toNanos() * (1 + ThreadLocalRandom.current().nextDouble(jitter))));
+    }
+    
+    private void remoteFailed(String operation, Exception e) {
+        l2Errors.increment();
+        log.warn("Redis cache {} failed: cache={}, error={}", operation, name, e.getMessage());
+    }
+    
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("personalization.cache.gets")
+            .tag("cache", name)
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * L1 expiry with the same jitter as L2
+     */
+    private static class JitteredExpiry implements Expiry<String, Object> {
+        
+        private final Duration ttl;
+        private final double jitter;
+        
+        JitteredExpiry(Duration ttl, double jitter) {
+            this.ttl = ttl;
+            this.jitter = jitter;
+        }
+        
+        @Override
+        public long expireAfterCreate(String key, Object value, long currentTime) {
+            return jittered(ttl, jitter).toNanos();
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
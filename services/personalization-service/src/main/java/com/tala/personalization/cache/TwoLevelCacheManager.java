@@ -0,0 +1,75 @@
+package com.tala.personalization.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * CacheManager for a fixed set of TwoLevelCaches
+ * 
+ * Also applies invalidation messages of other pods to the local (L1) tier.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractCacheManager {
+    
+    private final List<String> cacheNames;
+    private final TwoLevelCacheSettings settings;
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final CacheValueCodec codec;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    
+    public TwoLevelCacheManager(List<String> cacheNames, TwoLevelCacheSettings settings,
+                                RedisTemplate<String, byte[]> redisTemplate, CacheValueCodec codec,
+                                CacheInvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry) {
+        this.cacheNames = cacheNames;
+        this.settings = settings;
+        this.redisTemplate = redisTemplate;
+        this.codec = codec;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return cacheNames.stream()
+            .map(name -> new TwoLevelCache(name, settings, redisTemplate, codec, invalidationPublisher, meterRegistry))
+            .toList();
+    }
+    
+    /**
+     * Evict a group (e.g. a profileId) from all caches, in Redis and on all pods
+     */
+    public void evictGroup(String group) {
+        for (String name : getCacheNames()) {
+            if (getCache(name) instanceof TwoLevelCache cache) {
+                cache.evictGroup(group);
+            }
+        }
+    }
+    
+    /**
+     * Apply an invalidation message published by CacheInvalidationPublisher
+     */
+    public void onInvalidationMessage(String message) {
+        String[] parts = message.split("\\" + CacheInvalidationPublisher.SEPARATOR, 4);
+        if (parts.length != 4 || parts[0].equals(invalidationPublisher.getInstanceId())) {
+            return;
+        }
+        if (!(getCache(parts[1]) instanceof TwoLevelCache cache)) {
+            return;
+        }
+        
+        switch (parts[2]) {
+            case CacheInvalidationPublisher.OP_KEY -> cache.evictLocally(parts[3]);
+            case CacheInvalidationPublisher.OP_GROUP -> cache.evictGroupLocally(parts[3]);
+            case CacheInvalidationPublisher.OP_CLEAR -> cache.clearLocally();
+            default -> log.debug("Ignoring cache invalidation: {}", message);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.tala.personalization.cache;
+
+import java.time.Duration;
+
+/**
+ * Sizing and expiry of the TwoLevelCaches
+ * 
+ * @param keyPrefix Redis key prefix, followed by "<cache>:{<group>}" (group hash) and "<cache>-version:{<group>}"
+ * @param localMaxSize Maximum L1 entries per cache and pod
+ * @param localTtl L1 TTL; bounds staleness when an invalidation message is lost
+ * @param ttl L2 (Redis) TTL
+ * @param ttlJitter Random extra TTL as a fraction of the TTL (0.1 = up to +10%)
+ */
+public record TwoLevelCacheSettings(
+    String keyPrefix,
+    long localMaxSize,
+    Duration localTtl,
+    Duration ttl,
+    double ttlJitter
+) {
+}
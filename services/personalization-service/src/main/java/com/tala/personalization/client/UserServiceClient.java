@@ -36,6 +36,7 @@ public interface UserServiceClient {
         public LocalDate birthDate;
         public String gender;
         public Integer ageMonths;
+        public String timezone;
     }
     
     class InterestScoresResponse {
@@ -43,5 +44,6 @@ public interface UserServiceClient {
         public Map<String, Double> interestVector;
         public List<String> explicitTopics;
         public List<String> recentTopics;
+        public Long version;
     }
 }
@@ -1,14 +1,20 @@
 package com.tala.personalization.config;
 
+import com.tala.core.async.RequestContextTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Async configuration for parallel service calls
+ * 
+ * Both executors propagate the request context and JWT to their threads,
+ * so Feign calls made from them carry the caller's token.
  */
 @Configuration
 @EnableAsync
@@ -21,6 +27,46 @@ public class AsyncConfig {
         executor.setMaxPoolSize(10);
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("personalization-async-");
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Dedicated I/O executor for the ContextBuilder fan-out (blocking Feign calls)
+     * 
+     * Sized for I/O rather than cores, so concurrent page builds do not queue behind
+     * each other. When saturated, tasks are rejected (not run on the caller, where the
+     * decorator would clear the caller's context) and the source falls back.
+     */
+    @Bean(name = "contextFetchExecutor")
+    public Executor contextFetchExecutor(
+            @Value("${personalization.context.executor.pool-size:64}") int poolSize,
+            @Value("${personalization.context.executor.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("context-fetch-");
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Workers of the page precompute job (PagePrecomputeJob bounds submissions to the pool size)
+     */
+    @Bean(name = "precomputeExecutor")
+    public Executor precomputeExecutor(
+            @Value("${personalization.precompute.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(concurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("page-precompute-");
         executor.initialize();
         return executor;
     }
@@ -1,28 +1,84 @@
 package com.tala.personalization.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.cache.CacheManager;
+import com.tala.personalization.cache.CacheInvalidationPublisher;
+import com.tala.personalization.cache.CacheValueCodec;
+import com.tala.personalization.cache.TwoLevelCacheManager;
+import com.tala.personalization.cache.TwoLevelCacheSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
 
 /**
- * Cache configuration using Caffeine
+ * Cache configuration - Caffeine per pod (L1) over Redis shared by all pods (L2)
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
     
+    public static final String TODAY_PAGE = "today-page";
+    public static final String INSIGHTS = "insights";
+    public static final String TALA_STARTERS = "tala-starters";
+    
+    @Value("${personalization.cache.invalidation-channel:personalization:cache-invalidation}")
+    private String invalidationChannel;
+    
+    @Bean
+    public TwoLevelCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationPublisher cacheInvalidationPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${personalization.cache.key-prefix:personalization:cache:}") String keyPrefix,
+            @Value("${personalization.cache.l1-max-size:1000}") long localMaxSize,
+            @Value("${personalization.cache.l1-ttl:PT1M}") Duration localTtl,
+            @Value("${personalization.cache.ttl:PT5M}") Duration ttl,
+            @Value("${personalization.cache.ttl-jitter:0.1}") double ttlJitter) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setHashKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.setHashValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+        
+        return new TwoLevelCacheManager(
+            List.of(TODAY_PAGE, INSIGHTS, TALA_STARTERS),
+            new TwoLevelCacheSettings(keyPrefix, localMaxSize, localTtl, ttl, ttlJitter),
+            redisTemplate,
+            new CacheValueCodec(),
+            cacheInvalidationPublisher,
+            meterRegistry);
+    }
+    
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationPublisher(redisTemplate, invalidationChannel);
+    }
+    
+    /**
+     * Applies L1 invalidations published by other pods
+     */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("today-page", "insights", "tala-starters");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-            .maximumSize(1000)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .recordStats());
-        return cacheManager;
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            (message, pattern) -> cacheManager.onInvalidationMessage(
+                new String(message.getBody(), StandardCharsets.UTF_8)),
+            new ChannelTopic(invalidationChannel));
+        return container;
     }
 }
@@ -0,0 +1,86 @@
+package com.tala.personalization.constant;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Personalization topics (pills, insight categories)
+ * 
+ * An event belongs to every topic whose key is contained in its lower-cased event
+ * type (e.g. SLEEPING -> sleep). The topic set of each event type is resolved once
+ * and kept as a bit mask, so scoring does not repeat the substring matching.
+ */
+public enum Topic {
+    SLEEP("sleep"),
+    FOOD("food"),
+    HEALTH("health"),
+    DEVELOPMENT("development"),
+    SOCIAL("social"),
+    ACTIVITY("activity"),
+    MOOD("mood");
+    
+    private static final Topic[] VALUES = values();
+    
+    /**
+     * Event types are a small closed set; the bound only guards against junk input
+     */
+    private static final int MAX_CACHED_EVENT_TYPES = 1024;
+    private static final Map<String, Integer> MASKS_BY_EVENT_TYPE = new ConcurrentHashMap<>();
+    
+    private final String key;
+    
+    Topic(String key) {
+        this.key = key;
+    }
+    
+    public String key() {
+        return key;
+    }
+    
+    public int bit() {
+        return 1 << ordinal();
+    }
+    
+    public static Topic[] all() {
+        return VALUES;
+    }
+    
+    public static Optional<Topic> fromKey(String key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        for (Topic topic : VALUES) {
+            if (topic.key.equalsIgnoreCase(key)) {
+                return Optional.of(topic);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Bit mask of the topics an event type belongs to (0 for none)
+     */
+    public static int maskOf(String eventType) {
+        if (eventType == null) {
+            return 0;
+        }
+        Integer cached = MASKS_BY_EVENT_TYPE.get(eventType);
+        if (cached != null) {
+            return cached;
+        }
+        
+        String lower = eventType.toLowerCase(Locale.ROOT);
+        int mask = 0;
+        for (Topic topic : VALUES) {
+            if (lower.contains(topic.key)) {
+                mask |= topic.bit();
+            }
+        }
+        if (MASKS_BY_EVENT_TYPE.size() < MAX_CACHED_EVENT_TYPES) {
+            MASKS_BY_EVENT_TYPE.put(eventType, mask);
+        }
+        return mask;
+    }
+}
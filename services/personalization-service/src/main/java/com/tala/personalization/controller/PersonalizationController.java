@@ -1,18 +1,25 @@
 package com.tala.personalization.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.personalization.dto.HomePageResponse;
 import com.tala.personalization.dto.InsightsPageResponse;
 import com.tala.personalization.dto.TalaStartersResponse;
 import com.tala.personalization.dto.TodayPageResponse;
+import com.tala.personalization.service.ActiveProfileTracker;
+import com.tala.personalization.service.HomeOrchestrator;
 import com.tala.personalization.service.InsightsOrchestrator;
 import com.tala.personalization.service.PersonalizationOrchestrator;
 import com.tala.personalization.service.TalaStartersService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 
 /**
@@ -24,15 +31,19 @@ import java.time.LocalDate;
 @Slf4j
 public class PersonalizationController {
     
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    
     private final PersonalizationOrchestrator orchestrator;
     private final InsightsOrchestrator insightsOrchestrator;
     private final TalaStartersService talaStartersService;
+    private final HomeOrchestrator homeOrchestrator;
+    private final ActiveProfileTracker activeProfileTracker;
+    private final ObjectMapper objectMapper;
     
     /**
      * Get Today Menu page
      */
     @GetMapping("/today")
-    @Cacheable(value = "today-page", key = "#userId + '-' + #profileId + '-' + #date")
     public ResponseEntity<TodayPageResponse> getTodayPage(
         @RequestParam Long userId,
         @RequestParam Long profileId,
@@ -42,7 +53,7 @@ public class PersonalizationController {
             userId, profileId, date);
         
         if (date == null) {
-            date = LocalDate.now();
+            date = activeProfileTracker.localDate(userId, profileId);
         }
         
         TodayPageResponse response = orchestrator.buildTodayPage(userId, profileId, date);
@@ -53,7 +64,6 @@ public class PersonalizationController {
      * Get Insights Menu page
      */
     @GetMapping("/insights")
-    @Cacheable(value = "insights", key = "#userId + '-' + #profileId + '-' + #date")
     public ResponseEntity<InsightsPageResponse> getInsightsPage(
         @RequestParam Long userId,
         @RequestParam Long profileId,
@@ -63,7 +73,7 @@ public class PersonalizationController {
             userId, profileId, date);
         
         if (date == null) {
-            date = LocalDate.now();
+            date = activeProfileTracker.localDate(userId, profileId);
         }
         
         InsightsPageResponse response = insightsOrchestrator.buildInsightsPage(userId, profileId, date);
@@ -74,7 +84,6 @@ public class PersonalizationController {
      * Get Tala conversation starters
      */
     @GetMapping("/tala-starters")
-    @Cacheable(value = "tala-starters", key = "#userId + '-' + #profileId + '-' + #date")
     public ResponseEntity<TalaStartersResponse> getTalaStarters(
         @RequestParam Long userId,
         @RequestParam Long profileId,
@@ -84,13 +93,73 @@ public class PersonalizationController {
             userId, profileId, date);
         
         if (date == null) {
-            date = LocalDate.now();
+            date = activeProfileTracker.localDate(userId, profileId);
         }
         
         TalaStartersResponse response = talaStartersService.buildTalaStarters(userId, profileId, date);
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Get Home page (Today, Tala starters and Insights in one response)
+     */
+    @GetMapping("/home")
+    public ResponseEntity<HomePageResponse> getHomePage(
+        @RequestParam Long userId,
+        @RequestParam Long profileId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        log.info("GET /api/v1/personalization/home - userId={}, profileId={}, date={}", 
+            userId, profileId, date);
+        
+        if (date == null) {
+            date = activeProfileTracker.localDate(userId, profileId);
+        }
+        
+        HomePageResponse response = homeOrchestrator.buildHomePage(userId, profileId, date);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Stream Home page sections as they are ready (application/x-ndjson)
+     * 
+     * GET /api/v1/personalization/home?stream=true&userId=...&profileId=...
+     * One line per section in display order: {"section":"today","data":{...}}
+     */
+    @GetMapping(value = "/home", params = "stream=true")
+    public void streamHomePage(
+        @RequestParam Long userId,
+        @RequestParam Long profileId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+        HttpServletResponse response
+    ) throws IOException {
+        log.info("GET /api/v1/personalization/home?stream=true - userId={}, profileId={}, date={}", 
+            userId, profileId, date);
+        
+        if (date == null) {
+            date = activeProfileTracker.localDate(userId, profileId);
+        }
+        
+        response.setContentType(NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        
+        try {
+            homeOrchestrator.buildHomePage(userId, profileId, date, section -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(section));
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream
+            throw e.getCause();
+        }
+    }
+    
     /**
      * Health check
      */
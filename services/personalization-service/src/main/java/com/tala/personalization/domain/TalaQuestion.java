@@ -9,7 +9,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.Type;
 import org.hibernate.type.SqlTypes;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * Tala Question Entity
@@ -68,7 +68,7 @@ public class TalaQuestion extends BaseEntity {
     
     @Type(JsonBinaryType.class)
     @Column(name = "answer_choices", columnDefinition = "jsonb")
-    private Map<String, Object> answerChoices;
+    private List<String> answerChoices; // JSON array of choice labels
     
     @Column(name = "base_priority")
     @Builder.Default
@@ -0,0 +1,52 @@
+package com.tala.personalization.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Home response - Today, Tala starters and Insights of one screen load
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HomePageResponse {
+    
+    public static final String SECTION_TODAY = "today";
+    public static final String SECTION_TALA_STARTERS = "tala-starters";
+    public static final String SECTION_INSIGHTS = "insights";
+    
+    private LocalDate date;
+    private Long profileId;
+    private TodayPageResponse today;
+    private TalaStartersResponse talaStarters;
+    private InsightsPageResponse insights;
+    
+    // Context sources that fell back (sections built from partial data)
+    private List<String> unavailableSources;
+    
+    // When the sections were built (earlier than the request when precomputed)
+    private Instant generatedAt;
+    
+    /**
+     * One section of the streamed home response (one NDJSON line)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Section {
+        private String section;          // today/tala-starters/insights
+        private Object data;
+        private String error;            // Set instead of data when the section failed
+    }
+}
@@ -1,9 +1,12 @@
 package com.tala.personalization.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,7 +17,7 @@ import java.util.Map;
  * This is an in-memory object that aggregates data from multiple services
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PersonalizationContext {
@@ -25,6 +28,7 @@ public class PersonalizationContext {
     private LocalDate date;
     private Integer babyAgeMonths;
     private String babyName;
+    private String timezone;             // Profile time zone (IANA ID)
     private String careEnvironment;      // home/daycare/preschool
     
     // Aggregated data from services
@@ -36,11 +40,24 @@ public class PersonalizationContext {
     private DaycareReportData daycareReport;
     private List<RecentEventData> recentEvents;
     
+    // Sources that timed out or failed (their data is a fallback)
+    private List<String> unavailableSources;
+    
     // Calculated scores (populated by scoring engines)
     private Map<String, Integer> topicPriorityScores;
     private Map<String, Integer> topicUrgencyScores;
     private Map<String, String> topicTrends;
     
+    // Built ahead of a request (PagePrecomputeJob): nothing is shown yet, so no question exposure is recorded
+    @JsonIgnore
+    private boolean precomputed;
+    
+    // All topic scores, memoised by TopicScoringEngine
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private TopicScores topicScores;
+    
     /**
      * Daily context from query-service
      */
@@ -27,6 +27,7 @@ public class TalaStartersResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ConversationStarter {
+        private Long questionId;         // Catalog question, if any
         private String category;         // age_milestone/recent_event/seasonal/health/development
         private String title;
         private String prompt;           // The actual conversation starter text
@@ -73,6 +73,7 @@ public class TodayPageResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class AskBabyTopic {
+        private Long questionId;         // Catalog question, if any
         private String topic;            // food/news/friend/activity/incident
         private String question;         // What to ask the baby
         private String context;          // Why this question (from daycare/event)
@@ -0,0 +1,50 @@
+package com.tala.personalization.dto;
+
+import com.tala.personalization.constant.Topic;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Priority (0-100) and urgency (0-10) scores of all topics, indexed by Topic ordinal
+ */
+public final class TopicScores {
+    
+    private final int[] priority;
+    private final int[] urgency;
+    
+    public TopicScores(int[] priority, int[] urgency) {
+        this.priority = priority;
+        this.urgency = urgency;
+    }
+    
+    public int priority(Topic topic) {
+        return priority[topic.ordinal()];
+    }
+    
+    public int urgency(Topic topic) {
+        return urgency[topic.ordinal()];
+    }
+    
+    /**
+     * Priority scores keyed by topic key (for PersonalizationContext.topicPriorityScores)
+     */
+    public Map<String, Integer> priorityMap() {
+        return toMap(priority);
+    }
+    
+    /**
+     * Urgency scores keyed by topic key (for PersonalizationContext.topicUrgencyScores)
+     */
+    public Map<String, Integer> urgencyMap() {
+        return toMap(urgency);
+    }
+    
+    private static Map<String, Integer> toMap(int[] scores) {
+        Map<String, Integer> map = new HashMap<>();
+        for (Topic topic : Topic.all()) {
+            map.put(topic.key(), scores[topic.ordinal()]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,47 @@
+package com.tala.personalization.kafka;
+
+import com.tala.personalization.service.ContextSnapshotCache;
+import com.tala.personalization.service.PrecomputedPageStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidates context snapshots and precomputed pages on new timeline events and reminder changes
+ * 
+ * Both topics are keyed by profileId. Snapshots live in each instance's memory, so
+ * every instance consumes all messages with its own group, starting at the latest
+ * offset. Only enabled when personalization.context.cache.invalidation.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "personalization.context.cache.invalidation.enabled", havingValue = "true", matchIfMissing = false)
+public class ContextInvalidationConsumer {
+    
+    private final ContextSnapshotCache contextSnapshotCache;
+    private final PrecomputedPageStore precomputedPageStore;
+    
+    @KafkaListener(
+            topics = {
+                "${personalization.context.cache.invalidation.timeline-topic:tala.timeline-events}",
+                "${personalization.context.cache.invalidation.reminder-topic:tala.reminder-changes}"
+            },
+            groupId = "personalization-context-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void consume(ConsumerRecord<String, String> record) {
+        Long profileId;
+        try {
+            profileId = Long.valueOf(record.key());
+        } catch (NumberFormatException e) {
+            log.warn("Skipping invalidation without profile key: topic={}, key={}", record.topic(), record.key());
+            return;
+        }
+        
+        contextSnapshotCache.invalidateProfile(profileId);
+        precomputedPageStore.invalidateProfile(profileId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tala.personalization.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.personalization.service.InterestVectorCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached interest profiles when user-service announces a newer version
+ * 
+ * The cache lives in each instance's memory, so every instance consumes all messages
+ * with its own group, starting at the latest offset. Context snapshots are not
+ * invalidated: interest changes come in with every tap and only shift priorities
+ * slightly, so snapshots pick them up when they expire.
+ * Only enabled when personalization.interests.cache.invalidation.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "personalization.interests.cache.invalidation.enabled", havingValue = "true", matchIfMissing = false)
+public class InterestChangeConsumer {
+    
+    private final InterestVectorCache interestVectorCache;
+    private final ObjectMapper objectMapper;
+    
+    @KafkaListener(
+            topics = "${personalization.interests.cache.invalidation.topic:tala.interest-changes}",
+            groupId = "personalization-interests-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void consume(ConsumerRecord<String, String> record) {
+        try {
+            JsonNode event = objectMapper.readTree(record.value());
+            if (!event.hasNonNull("userId") || !event.hasNonNull("profileId")) {
+                log.warn("Skipping interest change without IDs: key={}", record.key());
+                return;
+            }
+            interestVectorCache.onChanged(
+                event.get("userId").asLong(),
+                event.get("profileId").asLong(),
+                event.path("version").asLong(Long.MAX_VALUE));
+        } catch (Exception e) {
+            log.warn("Skipping unreadable interest change: key={}, error={}", record.key(), e.getMessage());
+        }
+    }
+}
@@ -6,7 +6,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for TalaQuestion
@@ -16,6 +18,8 @@ public interface TalaQuestionRepository extends JpaRepository<TalaQuestion, Long
     
     List<TalaQuestion> findByQuestionTypeAndIsActiveTrue(String questionType);
     
+    List<TalaQuestion> findByIsActiveTrueAndDeletedAtIsNull();
+    
     List<TalaQuestion> findByTopicAndIsActiveTrue(String topic);
     
     @Query("SELECT q FROM TalaQuestion q WHERE q.isActive = true " +
@@ -35,4 +39,12 @@ public interface TalaQuestionRepository extends JpaRepository<TalaQuestion, Long
         @Param("topic") String topic,
         @Param("ageMonths") Integer ageMonths
     );
+    
+    long countByIsActiveTrueAndDeletedAtIsNull();
+    
+    /**
+     * Latest update of any question (change check of QuestionCatalog)
+     */
+    @Query("SELECT MAX(q.updatedAt) FROM TalaQuestion q")
+    Optional<Instant> findLastUpdatedAt();
 }
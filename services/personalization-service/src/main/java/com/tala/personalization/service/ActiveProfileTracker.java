@@ -0,0 +1,153 @@
+package com.tala.personalization.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.personalization.dto.PersonalizationContext;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tracks which (user, profile) pairs are active, for page precomputation
+ * 
+ * Recorded whenever a context is built for a request: a Redis sorted set holds the
+ * last-seen time per "userId:profileId", a hash holds what the precompute job needs
+ * offline (the profile's time zone). The same time zone decides the default date of
+ * requests, so precomputed pages are keyed by the date requests ask for.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveProfileTracker {
+    
+    private static final String ACTIVE_KEY = "personalization:active-profiles";
+    private static final String META_KEY = "personalization:active-profiles:meta";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${personalization.precompute.enabled:false}")
+    private boolean enabled;
+    
+    /**
+     * Record a request-built context (best-effort, never fails the request)
+     */
+    public void record(PersonalizationContext context) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            String member = member(context.getUserId(), context.getProfileId());
+            redisTemplate.opsForZSet().add(ACTIVE_KEY, member, System.currentTimeMillis());
+            redisTemplate.opsForHash().put(META_KEY, member, objectMapper.writeValueAsString(
+                new ProfileMeta(context.getTimezone())));
+        } catch (Exception e) {
+            log.warn("Failed to record active profile: profileId={}, error={}", context.getProfileId(), e.getMessage());
+        }
+    }
+    
+    /**
+     * Today in the profile's time zone (as recorded), else in the server's
+     */
+    public LocalDate localDate(Long userId, Long profileId) {
+        String timezone = null;
+        if (enabled) {
+            try {
+                timezone = parseMeta(redisTemplate.opsForHash().get(META_KEY, member(userId, profileId))).getTimezone();
+            } catch (Exception e) {
+                log.debug("Failed to read profile time zone: profileId={}, error={}", profileId, e.getMessage());
+            }
+        }
+        return LocalDate.now(zoneOf(timezone));
+    }
+    
+    /**
+     * Zone of a recorded time zone; the server's zone when missing or invalid
+     */
+    public static ZoneId zoneOf(String timezone) {
+        if (timezone == null || timezone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            return ZoneId.systemDefault();
+        }
+    }
+    
+    /**
+     * One page of profiles seen within the active window, oldest first
+     */
+    public List<ActiveProfile> findActive(Duration activeWindow, long offset, int limit) {
+        double since = Instant.now().minus(activeWindow).toEpochMilli();
+        Set<String> members = redisTemplate.opsForZSet()
+            .rangeByScore(ACTIVE_KEY, since, Double.MAX_VALUE, offset, limit);
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+        
+        List<String> keys = new ArrayList<>(members);
+        List<Object> metas = redisTemplate.opsForHash().multiGet(META_KEY, new ArrayList<>(keys));
+        List<ActiveProfile> profiles = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String[] ids = keys.get(i).split(":");
+            ProfileMeta meta = parseMeta(metas.get(i));
+            profiles.add(new ActiveProfile(Long.valueOf(ids[0]), Long.valueOf(ids[1]), meta.getTimezone()));
+        }
+        return profiles;
+    }
+    
+    /**
+     * Forget profiles not seen within the active window
+     */
+    public long evictInactive(Duration activeWindow) {
+        double before = Instant.now().minus(activeWindow).toEpochMilli();
+        Set<String> stale = redisTemplate.opsForZSet().rangeByScore(ACTIVE_KEY, 0, before);
+        if (stale == null || stale.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.opsForZSet().remove(ACTIVE_KEY, stale.toArray());
+        redisTemplate.opsForHash().delete(META_KEY, stale.toArray());
+        return stale.size();
+    }
+    
+    private ProfileMeta parseMeta(Object json) {
+        if (json == null) {
+            return new ProfileMeta();
+        }
+        try {
+            return objectMapper.readValue(json.toString(), ProfileMeta.class);
+        } catch (Exception e) {
+            return new ProfileMeta();
+        }
+    }
+    
+    private static String member(Long userId, Long profileId) {
+        return userId + ":" + profileId;
+    }
+    
+    public record ActiveProfile(Long userId, Long profileId, String timezone) {
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class ProfileMeta {
+        private String timezone;
+    }
+}
@@ -2,25 +2,39 @@ package com.tala.personalization.service;
 
 import com.tala.personalization.client.*;
 import com.tala.personalization.dto.PersonalizationContext;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Context builder - aggregates data from multiple services
+ * 
+ * The six downstream calls run in parallel on the dedicated context-fetch executor.
+ * Each call has its own timeout and fallback, so a slow or failing service degrades
+ * only its part of the context; those sources are listed in unavailableSources.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ContextBuilder {
     
@@ -29,6 +43,46 @@ public class ContextBuilder {
     private final MediaServiceClient mediaServiceClient;
     private final UserServiceClient userServiceClient;
     private final EventServiceClient eventServiceClient;
+    private final InterestVectorCache interestVectorCache;
+    private final Executor contextFetchExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${personalization.context.timeouts.daily-context:PT2S}")
+    private Duration dailyContextTimeout;
+    
+    @Value("${personalization.context.timeouts.reminders:PT1S}")
+    private Duration remindersTimeout;
+    
+    @Value("${personalization.context.timeouts.media:PT1S}")
+    private Duration mediaTimeout;
+    
+    @Value("${personalization.context.timeouts.interests:PT1S}")
+    private Duration interestsTimeout;
+    
+    @Value("${personalization.context.timeouts.profile:PT1S}")
+    private Duration profileTimeout;
+    
+    @Value("${personalization.context.timeouts.recent-events:PT2S}")
+    private Duration recentEventsTimeout;
+    
+    public ContextBuilder(
+            QueryServiceClient queryServiceClient,
+            ReminderServiceClient reminderServiceClient,
+            MediaServiceClient mediaServiceClient,
+            UserServiceClient userServiceClient,
+            EventServiceClient eventServiceClient,
+            InterestVectorCache interestVectorCache,
+            @Qualifier("contextFetchExecutor") Executor contextFetchExecutor,
+            MeterRegistry meterRegistry) {
+        this.queryServiceClient = queryServiceClient;
+        this.reminderServiceClient = reminderServiceClient;
+        this.mediaServiceClient = mediaServiceClient;
+        this.userServiceClient = userServiceClient;
+        this.eventServiceClient = eventServiceClient;
+        this.interestVectorCache = interestVectorCache;
+        this.contextFetchExecutor = contextFetchExecutor;
+        this.meterRegistry = meterRegistry;
+    }
     
     /**
      * Build complete personalization context
@@ -36,199 +90,209 @@ public class ContextBuilder {
     public PersonalizationContext buildContext(Long userId, Long profileId, LocalDate date) {
         log.info("Building context for user={}, profile={}, date={}", userId, profileId, date);
         
-        try {
-            // Parallel API calls for performance
-            CompletableFuture<PersonalizationContext.DailyContextData> dailyContextFuture = 
-                CompletableFuture.supplyAsync(() -> fetchDailyContext(profileId, date));
-            
-            CompletableFuture<List<PersonalizationContext.ReminderData>> remindersFuture = 
-                CompletableFuture.supplyAsync(() -> fetchReminders(userId, profileId, date));
-            
-            CompletableFuture<List<PersonalizationContext.MediaData>> mediaFuture = 
-                CompletableFuture.supplyAsync(() -> fetchMedia(profileId, date));
-            
-            CompletableFuture<PersonalizationContext.InterestProfileData> interestsFuture = 
-                CompletableFuture.supplyAsync(() -> fetchInterestProfile(userId, profileId));
-            
-            CompletableFuture<UserServiceClient.ProfileResponse> profileFuture = 
-                CompletableFuture.supplyAsync(() -> fetchProfile(profileId));
-            
-            CompletableFuture<List<PersonalizationContext.RecentEventData>> eventsFuture = 
-                CompletableFuture.supplyAsync(() -> fetchRecentEvents(profileId, date));
-            
-            // Wait for all futures to complete
-            CompletableFuture.allOf(
-                dailyContextFuture, remindersFuture, mediaFuture, 
-                interestsFuture, profileFuture, eventsFuture
-            ).join();
-            
-            // Get results
-            PersonalizationContext.DailyContextData dailyContext = dailyContextFuture.get();
-            List<PersonalizationContext.ReminderData> reminders = remindersFuture.get();
-            List<PersonalizationContext.MediaData> media = mediaFuture.get();
-            PersonalizationContext.InterestProfileData interests = interestsFuture.get();
-            UserServiceClient.ProfileResponse profile = profileFuture.get();
-            List<PersonalizationContext.RecentEventData> events = eventsFuture.get();
-            
-            // Build context
-            return PersonalizationContext.builder()
-                .userId(userId)
-                .profileId(profileId)
-                .date(date)
-                .babyAgeMonths(profile.ageMonths)
-                .babyName(profile.childName)
-                .dailyContext(dailyContext)
-                .activeReminders(reminders)
-                .todayMedia(media)
-                .interestProfile(interests)
-                .recentEvents(events)
-                .topicPriorityScores(new HashMap<>())
-                .topicUrgencyScores(new HashMap<>())
-                .topicTrends(new HashMap<>())
-                .build();
-                
-        } catch (Exception e) {
-            log.error("Error building context", e);
-            // Return minimal context on error
-            return PersonalizationContext.builder()
-                .userId(userId)
-                .profileId(profileId)
-                .date(date)
-                .topicPriorityScores(new HashMap<>())
-                .topicUrgencyScores(new HashMap<>())
-                .build();
+        Set<String> unavailable = ConcurrentHashMap.newKeySet();
+        
+        // Parallel API calls, each bounded by its own timeout
+        CompletableFuture<PersonalizationContext.DailyContextData> dailyContextFuture = fetchAsync(
+            "daily-context", () -> fetchDailyContext(profileId, date),
+            dailyContextTimeout, this::emptyDailyContext, unavailable);
+        
+        CompletableFuture<List<PersonalizationContext.ReminderData>> remindersFuture = fetchAsync(
+            "reminders", () -> fetchReminders(userId, profileId, date),
+            remindersTimeout, ArrayList::new, unavailable);
+        
+        CompletableFuture<List<PersonalizationContext.MediaData>> mediaFuture = fetchAsync(
+            "media", () -> fetchMedia(profileId, date),
+            mediaTimeout, ArrayList::new, unavailable);
+        
+        // Interest profiles change rarely; a cached one skips the call (see InterestVectorCache)
+        Optional<PersonalizationContext.InterestProfileData> cachedInterests = interestVectorCache.get(userId, profileId);
+        CompletableFuture<PersonalizationContext.InterestProfileData> interestsFuture = cachedInterests.isPresent()
+            ? CompletableFuture.completedFuture(cachedInterests.get())
+            : fetchAsync("interests", () -> fetchInterestProfile(userId, profileId),
+                interestsTimeout, this::emptyInterestProfile, unavailable);
+        
+        CompletableFuture<UserServiceClient.ProfileResponse> profileFuture = fetchAsync(
+            "profile", () -> fetchProfile(profileId),
+            profileTimeout, () -> fallbackProfile(profileId), unavailable);
+        
+        CompletableFuture<List<PersonalizationContext.RecentEventData>> eventsFuture = fetchAsync(
+            "recent-events", () -> fetchRecentEvents(profileId, date),
+            recentEventsTimeout, ArrayList::new, unavailable);
+        
+        // Every future completes normally (fallback on timeout/error), so join never throws
+        CompletableFuture.allOf(
+            dailyContextFuture, remindersFuture, mediaFuture,
+            interestsFuture, profileFuture, eventsFuture
+        ).join();
+        
+        UserServiceClient.ProfileResponse profile = profileFuture.join();
+        
+        if (!unavailable.isEmpty()) {
+            log.warn("Partial context for profile={}, date={}: unavailable={}", profileId, date, unavailable);
         }
+        
+        return PersonalizationContext.builder()
+            .userId(userId)
+            .profileId(profileId)
+            .date(date)
+            .babyAgeMonths(profile.ageMonths)
+            .babyName(profile.childName)
+            .timezone(profile.timezone)
+            .dailyContext(dailyContextFuture.join())
+            .activeReminders(remindersFuture.join())
+            .todayMedia(mediaFuture.join())
+            .interestProfile(interestsFuture.join())
+            .recentEvents(eventsFuture.join())
+            .topicPriorityScores(new HashMap<>())
+            .topicUrgencyScores(new HashMap<>())
+            .topicTrends(new HashMap<>())
+            .unavailableSources(new ArrayList<>(unavailable))
+            .build();
     }
     
-    private PersonalizationContext.DailyContextData fetchDailyContext(Long profileId, LocalDate date) {
+    /**
+     * Run one downstream call on the context executor with a timeout and fallback
+     * 
+     * A timed-out call is not interrupted (Feign blocks its thread until its own
+     * read timeout), but the context no longer waits for it.
+     */
+    private <T> CompletableFuture<T> fetchAsync(String source, Supplier<T> call, Duration timeout,
+                                                Supplier<T> fallback, Set<String> unavailable) {
+        CompletableFuture<T> future;
         try {
-            QueryServiceClient.DailyContextResponse response = 
-                queryServiceClient.getDailyContext(profileId, date);
-            
-            List<PersonalizationContext.TrendData> trends = response.recentTrends != null ?
-                response.recentTrends.stream()
-                    .map(t -> PersonalizationContext.TrendData.builder()
-                        .metric(t.metric)
-                        .trend(t.trend)
-                        .changePercent(t.changePercent)
-                        .description(t.description)
-                        .build())
-                    .collect(Collectors.toList()) : new ArrayList<>();
-            
-            return PersonalizationContext.DailyContextData.builder()
-                .totalEvents(response.totalEvents)
-                .hasIncident(response.hasIncident)
-                .hasSickness(response.hasSickness)
-                .eventsSummary(response.eventsSummary)
-                .metrics(response.metrics)
-                .recentTrends(trends)
-                .build();
-        } catch (Exception e) {
-            log.warn("Failed to fetch daily context: {}", e.getMessage());
-            return PersonalizationContext.DailyContextData.builder()
-                .totalEvents(0)
-                .hasIncident(false)
-                .hasSickness(false)
-                .build();
+            future = CompletableFuture.supplyAsync(call, contextFetchExecutor);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
         }
+        
+        return future
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .exceptionally(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                String reason = cause instanceof TimeoutException ? "timeout"
+                    : cause instanceof RejectedExecutionException ? "rejected" : "error";
+                log.warn("Failed to fetch {} ({}): {}", source, reason, cause.getMessage());
+                unavailable.add(source);
+                meterRegistry.counter("personalization.context.fallback", "source", source, "reason", reason)
+                    .increment();
+                return fallback.get();
+            });
     }
     
-    private List<PersonalizationContext.ReminderData> fetchReminders(Long userId, Long profileId, LocalDate date) {
-        try {
-            List<ReminderServiceClient.ReminderResponse> reminders = 
-                reminderServiceClient.getDueReminders(userId, profileId, date);
-            
-            return reminders.stream()
-                .map(r -> PersonalizationContext.ReminderData.builder()
-                    .id(r.id)
-                    .title(r.title)
-                    .description(r.description)
-                    .category(r.category)
-                    .dueDate(r.dueAt)
-                    .priority(r.priority)
-                    .canSnooze(r.canSnooze)
+    private PersonalizationContext.DailyContextData fetchDailyContext(Long profileId, LocalDate date) {
+        QueryServiceClient.DailyContextResponse response = 
+            queryServiceClient.getDailyContext(profileId, date);
+        
+        List<PersonalizationContext.TrendData> trends = response.recentTrends != null ?
+            response.recentTrends.stream()
+                .map(t -> PersonalizationContext.TrendData.builder()
+                    .metric(t.metric)
+                    .trend(t.trend)
+                    .changePercent(t.changePercent)
+                    .description(t.description)
                     .build())
-                .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.warn("Failed to fetch reminders: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+                .collect(Collectors.toList()) : new ArrayList<>();
+        
+        return PersonalizationContext.DailyContextData.builder()
+            .totalEvents(response.totalEvents)
+            .hasIncident(response.hasIncident)
+            .hasSickness(response.hasSickness)
+            .eventsSummary(response.eventsSummary)
+            .metrics(response.metrics)
+            .recentTrends(trends)
+            .build();
+    }
+    
+    private PersonalizationContext.DailyContextData emptyDailyContext() {
+        return PersonalizationContext.DailyContextData.builder()
+            .totalEvents(0)
+            .hasIncident(false)
+            .hasSickness(false)
+            .build();
+    }
+    
+    private List<PersonalizationContext.ReminderData> fetchReminders(Long userId, Long profileId, LocalDate date) {
+        List<ReminderServiceClient.ReminderResponse> reminders = 
+            reminderServiceClient.getDueReminders(userId, profileId, date);
+        
+        return reminders.stream()
+            .map(r -> PersonalizationContext.ReminderData.builder()
+                .id(r.id)
+                .title(r.title)
+                .description(r.description)
+                .category(r.category)
+                .dueDate(r.dueAt)
+                .priority(r.priority)
+                .canSnooze(r.canSnooze)
+                .build())
+            .collect(Collectors.toList());
     }
     
     private List<PersonalizationContext.MediaData> fetchMedia(Long profileId, LocalDate date) {
-        try {
-            List<MediaServiceClient.MediaResponse> media = 
-                mediaServiceClient.getMediaByDate(profileId, date);
-            
-            return media.stream()
-                .map(m -> PersonalizationContext.MediaData.builder()
-                    .id(m.id)
-                    .source(m.source)
-                    .mediaType(m.mediaType)
-                    .aiTags(m.aiTags)
-                    .emotionScore(m.emotionScore)
-                    .build())
-                .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.warn("Failed to fetch media: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+        List<MediaServiceClient.MediaResponse> media = 
+            mediaServiceClient.getMediaByDate(profileId, date);
+        
+        return media.stream()
+            .map(m -> PersonalizationContext.MediaData.builder()
+                .id(m.id)
+                .source(m.source)
+                .mediaType(m.mediaType)
+                .aiTags(m.aiTags)
+                .emotionScore(m.emotionScore)
+                .build())
+            .collect(Collectors.toList());
     }
     
     private PersonalizationContext.InterestProfileData fetchInterestProfile(Long userId, Long profileId) {
-        try {
-            UserServiceClient.InterestScoresResponse response = 
-                userServiceClient.getInterestScores(userId, profileId);
-            
-            return PersonalizationContext.InterestProfileData.builder()
-                .interestVector(response.interestVector)
-                .explicitTopics(response.explicitTopics)
-                .recentTopics(response.recentTopics)
-                .build();
-        } catch (Exception e) {
-            log.warn("Failed to fetch interest profile: {}", e.getMessage());
-            return PersonalizationContext.InterestProfileData.builder()
-                .interestVector(new HashMap<>())
-                .explicitTopics(new ArrayList<>())
-                .recentTopics(new ArrayList<>())
-                .build();
-        }
+        UserServiceClient.InterestScoresResponse response = 
+            userServiceClient.getInterestScores(userId, profileId);
+        
+        PersonalizationContext.InterestProfileData interests = PersonalizationContext.InterestProfileData.builder()
+            .interestVector(response.interestVector)
+            .explicitTopics(response.explicitTopics)
+            .recentTopics(response.recentTopics)
+            .build();
+        interestVectorCache.put(userId, profileId, interests, response.version != null ? response.version : 0L);
+        return interests;
+    }
+    
+    private PersonalizationContext.InterestProfileData emptyInterestProfile() {
+        return PersonalizationContext.InterestProfileData.builder()
+            .interestVector(new HashMap<>())
+            .explicitTopics(new ArrayList<>())
+            .recentTopics(new ArrayList<>())
+            .build();
     }
     
     private UserServiceClient.ProfileResponse fetchProfile(Long profileId) {
-        try {
-            return userServiceClient.getProfile(profileId);
-        } catch (Exception e) {
-            log.error("Failed to fetch profile: {}", e.getMessage());
-            UserServiceClient.ProfileResponse fallback = new UserServiceClient.ProfileResponse();
-            fallback.id = profileId;
-            fallback.childName = "Baby";
-            fallback.ageMonths = 12;
-            return fallback;
-        }
+        return userServiceClient.getProfile(profileId);
+    }
+    
+    private UserServiceClient.ProfileResponse fallbackProfile(Long profileId) {
+        UserServiceClient.ProfileResponse fallback = new UserServiceClient.ProfileResponse();
+        fallback.id = profileId;
+        fallback.childName = "Baby";
+        fallback.ageMonths = 12;
+        return fallback;
     }
     
     private List<PersonalizationContext.RecentEventData> fetchRecentEvents(Long profileId, LocalDate date) {
-        try {
-            Instant endTime = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant startTime = date.minusDays(7).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            
-            List<EventServiceClient.TimelineEntryResponse> entries = 
-                eventServiceClient.getTimelineRange(profileId, startTime, endTime);
-            
-            return entries.stream()
-                .map(e -> PersonalizationContext.RecentEventData.builder()
-                    .id(e.id)
-                    .eventType(e.timelineType)
-                    .priority(null)
-                    .urgencyHours(null)
-                    .riskLevel(null)
-                    .occurredAt(e.recordTime.atZone(ZoneId.systemDefault()).toLocalDate())
-                    .build())
-                .collect(Collectors.toList());
-        } catch (Exception e) {
-            log.warn("Failed to fetch recent events: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+        Instant endTime = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant startTime = date.minusDays(7).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        
+        List<EventServiceClient.TimelineEntryResponse> entries = 
+            eventServiceClient.getTimelineRange(profileId, startTime, endTime);
+        
+        return entries.stream()
+            .map(e -> PersonalizationContext.RecentEventData.builder()
+                .id(e.id)
+                .eventType(e.timelineType)
+                .priority(null)
+                .urgencyHours(null)
+                .riskLevel(null)
+                .occurredAt(e.recordTime.atZone(ZoneId.systemDefault()).toLocalDate())
+                .build())
+            .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,140 @@
+package com.tala.personalization.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tala.personalization.cache.TwoLevelCacheManager;
+import com.tala.personalization.dto.PersonalizationContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Shared PersonalizationContext snapshots keyed by (userId, profileId, date)
+ * 
+ * Today, Insights and Starters of one screen load read the same snapshot instead of
+ * each running the ContextBuilder fan-out. Loading is single-flight: the first caller
+ * builds the context on its own thread (keeping its request context), concurrent
+ * callers wait for that build. Partial contexts (a source fell back) expire sooner.
+ * 
+ * Snapshots are invalidated per profile on new timeline events and reminder changes
+ * (see ContextInvalidationConsumer); the TTL bounds staleness when events are lost.
+ */
+@Service
+@Slf4j
+public class ContextSnapshotCache {
+    
+    private final ContextBuilder contextBuilder;
+    private final ActiveProfileTracker activeProfileTracker;
+    private final TwoLevelCacheManager cacheManager;
+    private final AsyncCache<SnapshotKey, PersonalizationContext> snapshots;
+    
+    public ContextSnapshotCache(
+            ContextBuilder contextBuilder,
+            ActiveProfileTracker activeProfileTracker,
+            TwoLevelCacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${personalization.context.cache.max-size:10000}") long maxSize,
+            @Value("${personalization.context.cache.ttl:PT5M}") Duration ttl,
+            @Value("${personalization.context.cache.partial-ttl:PT15S}") Duration partialTtl) {
+        this.contextBuilder = contextBuilder;
+        this.activeProfileTracker = activeProfileTracker;
+        this.cacheManager = cacheManager;
+        this.snapshots = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new SnapshotExpiry(ttl, partialTtl))
+            .recordStats()
+            .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots.synchronous(), "personalization-context");
+    }
+    
+    /**
+     * Get the context snapshot, building it at most once per key at a time
+     * 
+     * @return A copy the caller may modify (scores are per page)
+     */
+    public PersonalizationContext get(Long userId, Long profileId, LocalDate date) {
+        SnapshotKey key = new SnapshotKey(userId, profileId, date);
+        CompletableFuture<PersonalizationContext> loading = new CompletableFuture<>();
+        CompletableFuture<PersonalizationContext> snapshot = snapshots.get(key, (k, executor) -> loading);
+        
+        if (snapshot == loading) {
+            PersonalizationContext built;
+            try {
+                built = contextBuilder.buildContext(userId, profileId, date);
+                loading.complete(built);
+            } catch (RuntimeException e) {
+                // Failed futures are dropped by the cache, so the next call retries
+                loading.completeExceptionally(e);
+                throw e;
+            }
+            activeProfileTracker.record(built);
+        }
+        
+        return copyOf(snapshot.join());
+    }
+    
+    /**
+     * Drop all snapshots and cached pages of a profile (all users, all dates)
+     */
+    public void invalidateProfile(Long profileId) {
+        snapshots.asMap().keySet().removeIf(key -> key.profileId().equals(profileId));
+        
+        // Page caches are keyed "profileId:userId:date", grouped by profile
+        cacheManager.evictGroup(String.valueOf(profileId));
+        log.debug("Invalidated personalization context: profileId={}", profileId);
+    }
+    
+    private PersonalizationContext copyOf(PersonalizationContext snapshot) {
+        return snapshot.toBuilder()
+            .topicPriorityScores(copyOf(snapshot.getTopicPriorityScores()))
+            .topicUrgencyScores(copyOf(snapshot.getTopicUrgencyScores()))
+            .topicTrends(copyOf(snapshot.getTopicTrends()))
+            .build();
+    }
+    
+    private <V> Map<String, V> copyOf(Map<String, V> map) {
+        return map != null ? new HashMap<>(map) : new HashMap<>();
+    }
+    
+    private record SnapshotKey(Long userId, Long profileId, LocalDate date) {
+    }
+    
+    /**
+     * Full TTL for complete contexts, short TTL when a source fell back
+     */
+    private static class SnapshotExpiry implements Expiry<SnapshotKey, PersonalizationContext> {
+        
+        private final long ttlNanos;
+        private final long partialTtlNanos;
+        
+        SnapshotExpiry(Duration ttl, Duration partialTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.partialTtlNanos = partialTtl.toNanos();
+        }
+        
+        @Override
+        public long expireAfterCreate(SnapshotKey key, PersonalizationContext value, long currentTime) {
+            boolean partial = value.getUnavailableSources() != null && !value.getUnavailableSources().isEmpty();
+            return partial ? partialTtlNanos : ttlNanos;
+        }
+        
+        @Override
+        public long expireAfterUpdate(SnapshotKey key, PersonalizationContext value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+        
+        @Override
+        public long expireAfterRead(SnapshotKey key, PersonalizationContext value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
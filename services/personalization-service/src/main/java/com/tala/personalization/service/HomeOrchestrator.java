@@ -0,0 +1,137 @@
+package com.tala.personalization.service;
+
+import com.tala.personalization.dto.HomePageResponse;
+import com.tala.personalization.dto.InsightsPageResponse;
+import com.tala.personalization.dto.PersonalizationContext;
+import com.tala.personalization.dto.TalaStartersResponse;
+import com.tala.personalization.dto.TodayPageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Home page orchestration - Today, Tala starters and Insights in one round trip
+ * 
+ * Builds the context and the topic scores once and derives all three sections
+ * from them. Sections are produced in display order (Today first, Insights last
+ * as it needs an extra downstream call), so they can be streamed as they are ready.
+ * Serves the precomputed page when one is stored (see PagePrecomputeJob). Pages built
+ * here come from a cached context snapshot that may predate an invalidation, so they
+ * are not written back to the precomputed store.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HomeOrchestrator {
+    
+    private final ContextSnapshotCache contextSnapshotCache;
+    private final PrecomputedPageStore precomputedPageStore;
+    private final PersonalizationOrchestrator personalizationOrchestrator;
+    private final TalaStartersService talaStartersService;
+    private final InsightsOrchestrator insightsOrchestrator;
+    private final QuestionExposureStore questionExposureStore;
+    
+    /**
+     * Get the complete home page (precomputed if available)
+     */
+    public HomePageResponse buildHomePage(Long userId, Long profileId, LocalDate date) {
+        Optional<HomePageResponse> precomputed = precomputedPageStore.find(userId, profileId, date);
+        if (precomputed.isPresent()) {
+            recordServed(userId, precomputed.get());
+            return precomputed.get();
+        }
+        
+        return buildHomePage(contextSnapshotCache.get(userId, profileId, date));
+    }
+    
+    /**
+     * Build the complete home page from a context
+     */
+    public HomePageResponse buildHomePage(PersonalizationContext context) {
+        HomePageResponse page = HomePageResponse.builder()
+            .date(context.getDate())
+            .profileId(context.getProfileId())
+            .build();
+        
+        buildSections(context, section -> collect(page, section));
+        
+        page.setUnavailableSources(context.getUnavailableSources());
+        page.setGeneratedAt(Instant.now());
+        return page;
+    }
+    
+    /**
+     * Get the home page section by section, handing each to the sink as soon as it is ready
+     * 
+     * A failing section is reported with an error instead of data; the others are still built.
+     */
+    public void buildHomePage(Long userId, Long profileId, LocalDate date,
+                              Consumer<HomePageResponse.Section> sink) {
+        Optional<HomePageResponse> precomputed = precomputedPageStore.find(userId, profileId, date);
+        if (precomputed.isPresent()) {
+            recordServed(userId, precomputed.get());
+            sink.accept(section(HomePageResponse.SECTION_TODAY, precomputed.get().getToday()));
+            sink.accept(section(HomePageResponse.SECTION_TALA_STARTERS, precomputed.get().getTalaStarters()));
+            sink.accept(section(HomePageResponse.SECTION_INSIGHTS, precomputed.get().getInsights()));
+            return;
+        }
+        
+        buildSections(contextSnapshotCache.get(userId, profileId, date), sink);
+    }
+    
+    /**
+     * Precompute builds record no exposure; the questions count as shown once the page is served
+     */
+    private void recordServed(Long userId, HomePageResponse page) {
+        questionExposureStore.recordServed(userId, page.getProfileId(), page.getDate(),
+            page.getToday(), page.getTalaStarters());
+    }
+    
+    private void buildSections(PersonalizationContext context, Consumer<HomePageResponse.Section> sink) {
+        log.info("Building Home page for user={}, profile={}, date={}",
+            context.getUserId(), context.getProfileId(), context.getDate());
+        
+        PersonalizationContext scored = personalizationOrchestrator.scoreTopics(context);
+        
+        sink.accept(buildSection(HomePageResponse.SECTION_TODAY,
+            () -> personalizationOrchestrator.buildTodayPage(scored)));
+        sink.accept(buildSection(HomePageResponse.SECTION_TALA_STARTERS,
+            () -> talaStartersService.buildTalaStarters(scored)));
+        sink.accept(buildSection(HomePageResponse.SECTION_INSIGHTS,
+            () -> insightsOrchestrator.buildInsightsPage(scored)));
+    }
+    
+    private void collect(HomePageResponse page, HomePageResponse.Section section) {
+        switch (section.getSection()) {
+            case HomePageResponse.SECTION_TODAY -> page.setToday((TodayPageResponse) section.getData());
+            case HomePageResponse.SECTION_TALA_STARTERS -> page.setTalaStarters((TalaStartersResponse) section.getData());
+            case HomePageResponse.SECTION_INSIGHTS -> page.setInsights((InsightsPageResponse) section.getData());
+            default -> { }
+        }
+    }
+    
+    private HomePageResponse.Section section(String name, Object data) {
+        return HomePageResponse.Section.builder()
+            .section(name)
+            .data(data)
+            .build();
+    }
+    
+    private HomePageResponse.Section buildSection(String name, Supplier<Object> builder) {
+        try {
+            return section(name, builder.get());
+        } catch (Exception e) {
+            log.error("Failed to build home section {}", name, e);
+            return HomePageResponse.Section.builder()
+                .section(name)
+                .error("Section unavailable")
+                .build();
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.tala.personalization.service;
 
 import com.tala.personalization.client.QueryServiceClient;
+import com.tala.personalization.config.CacheConfig;
+import com.tala.personalization.constant.Topic;
+import com.tala.personalization.dto.HomePageResponse;
 import com.tala.personalization.dto.InsightsPageResponse;
 import com.tala.personalization.dto.PersonalizationContext;
+import com.tala.personalization.dto.TopicScores;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -20,9 +25,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class InsightsOrchestrator {
     
-    private final ContextBuilder contextBuilder;
-    private final PriorityCalculator priorityCalculator;
-    private final UrgencyCalculator urgencyCalculator;
+    private final ContextSnapshotCache contextSnapshotCache;
+    private final PrecomputedPageStore precomputedPageStore;
+    private final TopicScoringEngine topicScoringEngine;
     private final QueryServiceClient queryServiceClient;
     
     private static final List<String> INSIGHT_CATEGORIES = Arrays.asList(
@@ -32,17 +37,34 @@ public class InsightsOrchestrator {
     /**
      * Build Insights page
      */
+    @Cacheable(cacheNames = CacheConfig.INSIGHTS, key = "#profileId + ':' + #userId + ':' + #date", sync = true)
     public InsightsPageResponse buildInsightsPage(Long userId, Long profileId, LocalDate date) {
         log.info("Building Insights page for user={}, profile={}, date={}", userId, profileId, date);
         
+        Optional<InsightsPageResponse> precomputed = precomputedPageStore.find(userId, profileId, date)
+            .map(HomePageResponse::getInsights);
+        if (precomputed.isPresent()) {
+            return precomputed.get();
+        }
+        
         // Build context
-        PersonalizationContext context = contextBuilder.buildContext(userId, profileId, date);
+        PersonalizationContext context = contextSnapshotCache.get(userId, profileId, date);
+        
+        return buildInsightsPage(context);
+    }
+    
+    /**
+     * Build Insights page from a context, reusing topic scores already stored in it
+     */
+    public InsightsPageResponse buildInsightsPage(PersonalizationContext context) {
+        // Recent summaries are the same for every category, fetch them once
+        List<QueryServiceClient.DailyContextResponse> recentSummaries = fetchRecentSummaries(context);
         
         // Generate insights for each category
         List<InsightsPageResponse.InsightCard> insights = new ArrayList<>();
         
         for (String category : INSIGHT_CATEGORIES) {
-            InsightsPageResponse.InsightCard insight = generateInsightCard(category, context);
+            InsightsPageResponse.InsightCard insight = generateInsightCard(category, context, recentSummaries);
             if (insight != null) {
                 insights.add(insight);
             }
@@ -63,7 +85,7 @@ public class InsightsOrchestrator {
         });
         
         return InsightsPageResponse.builder()
-            .profileId(profileId)
+            .profileId(context.getProfileId())
             .insights(insights)
             .build();
     }
@@ -72,12 +94,15 @@ public class InsightsOrchestrator {
      * Generate insight card for a category
      */
     private InsightsPageResponse.InsightCard generateInsightCard(
-        String category, PersonalizationContext context) {
+        String category, PersonalizationContext context,
+        List<QueryServiceClient.DailyContextResponse> recentSummaries) {
         
         try {
-            // Calculate scores
-            int priorityScore = priorityCalculator.calculateTopicPriority(category, context);
-            int urgency = urgencyCalculator.calculateTopicUrgency(category, context);
+            // Scores (memoised on the context, shared with the Today page)
+            Topic topic = Topic.fromKey(category).orElseThrow();
+            TopicScores scores = topicScoringEngine.score(context);
+            int priorityScore = scores.priority(topic);
+            int urgency = scores.urgency(topic);
             
             // Skip low-priority insights
             if (priorityScore < 20 && urgency < 3) {
@@ -88,7 +113,7 @@ public class InsightsOrchestrator {
             String trend = determineTrend(category, context);
             
             // Generate data points for visualization
-            List<InsightsPageResponse.DataPoint> dataPoints = generateDataPoints(category, context);
+            List<InsightsPageResponse.DataPoint> dataPoints = generateDataPoints(category, recentSummaries);
             
             // Generate conversation starters
             List<String> conversationStarters = generateConversationStarters(category, context);
@@ -138,29 +163,31 @@ public class InsightsOrchestrator {
         return "stable";
     }
     
+    private List<QueryServiceClient.DailyContextResponse> fetchRecentSummaries(PersonalizationContext context) {
+        // Get recent summaries for the past 7 days
+        try {
+            return queryServiceClient.getRecentSummaries(context.getProfileId(), 7);
+        } catch (Exception e) {
+            log.warn("Failed to fetch recent summaries: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
     private List<InsightsPageResponse.DataPoint> generateDataPoints(
-        String category, PersonalizationContext context) {
+        String category, List<QueryServiceClient.DailyContextResponse> summaries) {
         
         List<InsightsPageResponse.DataPoint> dataPoints = new ArrayList<>();
         
-        // Get recent summaries for the past 7 days
-        try {
-            List<QueryServiceClient.DailyContextResponse> summaries = 
-                queryServiceClient.getRecentSummaries(context.getProfileId(), 7);
-            
-            for (QueryServiceClient.DailyContextResponse summary : summaries) {
-                Double value = extractMetricValue(category, summary);
-                if (value != null) {
-                    dataPoints.add(InsightsPageResponse.DataPoint.builder()
-                        .date(summary.date)
-                        .value(value)
-                        .label(category)
-                        .metadata(new HashMap<>())
-                        .build());
-                }
+        for (QueryServiceClient.DailyContextResponse summary : summaries) {
+            Double value = extractMetricValue(category, summary);
+            if (value != null) {
+                dataPoints.add(InsightsPageResponse.DataPoint.builder()
+                    .date(summary.date)
+                    .value(value)
+                    .label(category)
+                    .metadata(new HashMap<>())
+                    .build());
             }
-        } catch (Exception e) {
-            log.warn("Failed to generate data points for {}: {}", category, e.getMessage());
         }
         
         return dataPoints;
@@ -0,0 +1,93 @@
+package com.tala.personalization.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tala.personalization.dto.PersonalizationContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of interest profiles from user-service, keyed by (userId, profileId)
+ * 
+ * Interest vectors change a few times a day, so context builds are served from memory
+ * without calling user-service. user-service publishes a change event with the new
+ * version (a per-profile write counter, independent of clocks) after each write
+ * (see InterestChangeConsumer); an entry older than the
+ * announced version is dropped. The announced version is remembered, so a response
+ * that was already in flight when the event arrived is not cached. The TTL bounds
+ * staleness when events are lost (and covers the slow lazy decay of the scores);
+ * without change events a short TTL is used instead.
+ * 
+ * Cached InterestProfileData is shared between contexts and must not be modified.
+ */
+@Service
+@Slf4j
+public class InterestVectorCache {
+    
+    private final Cache<ProfileKey, Entry> entries;
+    
+    public InterestVectorCache(
+            MeterRegistry meterRegistry,
+            @Value("${personalization.interests.cache.max-size:50000}") long maxSize,
+            @Value("${personalization.interests.cache.ttl:PT10M}") Duration ttl,
+            @Value("${personalization.interests.cache.uninvalidated-ttl:PT30S}") Duration uninvalidatedTtl,
+            @Value("${personalization.interests.cache.invalidation.enabled:false}") boolean invalidationEnabled) {
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(invalidationEnabled ? ttl : uninvalidatedTtl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "personalization-interests");
+    }
+    
+    /**
+     * Cached interest profile, if present and not superseded
+     */
+    public Optional<PersonalizationContext.InterestProfileData> get(Long userId, Long profileId) {
+        Entry entry = entries.getIfPresent(new ProfileKey(userId, profileId));
+        return entry != null ? Optional.ofNullable(entry.data()) : Optional.empty();
+    }
+    
+    /**
+     * Cache a fetched interest profile, unless a newer version was announced meanwhile
+     * 
+     * @param version Version of the response (0 when user-service sent none)
+     */
+    public void put(Long userId, Long profileId, PersonalizationContext.InterestProfileData data, long version) {
+        entries.asMap().compute(new ProfileKey(userId, profileId), (key, current) -> {
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            return new Entry(data, version);
+        });
+    }
+    
+    /**
+     * Drop the cached profile if it is older than the announced version
+     */
+    public void onChanged(Long userId, Long profileId, long version) {
+        entries.asMap().compute(new ProfileKey(userId, profileId), (key, current) -> {
+            if (current != null && current.version() >= version) {
+                return current;
+            }
+            // Remember the version, so an older in-flight response is not cached
+            return new Entry(null, version);
+        });
+        log.debug("Interest profile changed: userId={}, profileId={}, version={}", userId, profileId, version);
+    }
+    
+    private record ProfileKey(Long userId, Long profileId) {
+    }
+    
+    /**
+     * @param data Cached profile, or null when only a newer version is known
+     */
+    private record Entry(PersonalizationContext.InterestProfileData data, long version) {
+    }
+}
@@ -0,0 +1,255 @@
+package com.tala.personalization.service;
+
+import com.tala.core.security.JwtConstants;
+import com.tala.core.security.JwtContextHolder;
+import com.tala.core.security.JwtUtils;
+import com.tala.personalization.dto.HomePageResponse;
+import com.tala.personalization.dto.PersonalizationContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Precomputes home pages for active profiles shortly before their local morning
+ * 
+ * Each run walks the active profiles (see ActiveProfileTracker) and builds the page of
+ * every profile whose local time is within [local-time, local-time + window) and that
+ * was not built for its local date yet (the date requests default to, see
+ * ActiveProfileTracker#localDate). A Redis claim per profile and date keeps instances
+ * from building the same page; failed builds drop the claim and are retried by a later
+ * run within the window. A page is only stored if the profile was not invalidated
+ * while it was built (see PrecomputedPageStore).
+ * 
+ * Builds run on the bounded precompute executor. Submission blocks while all workers
+ * are busy, and the run stops early once too many builds fail or fall back, so a
+ * struggling downstream service is not kept under load. Downstream calls carry a
+ * short-lived service token identifying this service; no user token is minted.
+ * Only enabled when personalization.precompute.enabled is true.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "personalization.precompute.enabled", havingValue = "true", matchIfMissing = false)
+public class PagePrecomputeJob {
+    
+    private static final String CLAIM_PREFIX = "personalization:precompute-claim:";
+    private static final Duration CLAIM_TTL = Duration.ofHours(24);
+    private static final int PAGE_SIZE = 500;
+    private static final String SERVICE_NAME = "personalization-service";
+    
+    private final ActiveProfileTracker activeProfileTracker;
+    private final PrecomputedPageStore precomputedPageStore;
+    private final ContextBuilder contextBuilder;
+    private final HomeOrchestrator homeOrchestrator;
+    private final StringRedisTemplate redisTemplate;
+    private final Executor precomputeExecutor;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${personalization.precompute.local-time:05:30}")
+    private String localTime;
+    
+    @Value("${personalization.precompute.window:PT3H}")
+    private Duration window;
+    
+    @Value("${personalization.precompute.active-window:P7D}")
+    private Duration activeWindow;
+    
+    @Value("${personalization.precompute.concurrency:4}")
+    private int concurrency;
+    
+    @Value("${personalization.precompute.max-failure-rate:0.5}")
+    private double maxFailureRate;
+    
+    @Value("${personalization.precompute.min-samples:20}")
+    private int minSamples;
+    
+    @Value("${jwt.secret:dev-secret-key-change-in-production-minimum-64-characters-long}")
+    private String jwtSecret;
+    
+    public PagePrecomputeJob(
+            ActiveProfileTracker activeProfileTracker,
+            PrecomputedPageStore precomputedPageStore,
+            ContextBuilder contextBuilder,
+            HomeOrchestrator homeOrchestrator,
+            StringRedisTemplate redisTemplate,
+            @Qualifier("precomputeExecutor") Executor precomputeExecutor,
+            MeterRegistry meterRegistry) {
+        this.activeProfileTracker = activeProfileTracker;
+        this.precomputedPageStore = precomputedPageStore;
+        this.contextBuilder = contextBuilder;
+        this.homeOrchestrator = homeOrchestrator;
+        this.redisTemplate = redisTemplate;
+        this.precomputeExecutor = precomputeExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Scheduled(cron = "${personalization.precompute.cron:0 */15 * * * *}")
+    public void run() {
+        Instant now = Instant.now();
+        LocalTime targetTime = LocalTime.parse(localTime);
+        long evicted = activeProfileTracker.evictInactive(activeWindow);
+        
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger stored = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int submitted = 0;
+        boolean aborted = false;
+        
+        long offset = 0;
+        scan:
+        while (true) {
+            List<ActiveProfileTracker.ActiveProfile> profiles =
+                activeProfileTracker.findActive(activeWindow, offset, PAGE_SIZE);
+            offset += profiles.size();
+            
+            for (ActiveProfileTracker.ActiveProfile profile : profiles) {
+                int done = stored.get() + failed.get();
+                if (done >= minSamples && failed.get() > done * maxFailureRate) {
+                    aborted = true;
+                    break scan;
+                }
+                
+                LocalDate date = dueDate(profile, now, targetTime);
+                if (date == null || !claim(profile, date)) {
+                    continue;
+                }
+                
+                // Backpressure: wait for a free worker before submitting more
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    releaseClaim(profile, date);
+                    break scan;
+                }
+                try {
+                    precomputeExecutor.execute(() -> {
+                        try {
+                            if (precompute(profile, date)) {
+                                stored.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                    submitted++;
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    releaseClaim(profile, date);
+                    aborted = true;
+                    break scan;
+                }
+            }
+            
+            if (profiles.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        
+        // Wait for in-flight builds
+        permits.acquireUninterruptibly(concurrency);
+        permits.release(concurrency);
+        
+        if (aborted) {
+            log.warn("Page precompute stopped early: submitted={}, stored={}, failed={}",
+                submitted, stored.get(), failed.get());
+        } else if (submitted > 0 || evicted > 0) {
+            log.info("Page precompute run: submitted={}, stored={}, failed={}, evictedInactive={}",
+                submitted, stored.get(), failed.get(), evicted);
+        }
+    }
+    
+    /**
+     * Build and store the page of one profile
+     * 
+     * @return Whether a complete page was stored
+     */
+    private boolean precompute(ActiveProfileTracker.ActiveProfile profile, LocalDate date) {
+        JwtContextHolder.setToken(JwtConstants.BEARER_PREFIX + JwtUtils.generateServiceToken(SERVICE_NAME, jwtSecret));
+        try {
+            // Read before any data, so an invalidation during the build prevents the store
+            String version = precomputedPageStore.version(profile.profileId());
+            if (version == null) {
+                releaseClaim(profile, date);
+                count("error");
+                return false;
+            }
+            PersonalizationContext context = contextBuilder.buildContext(profile.userId(), profile.profileId(), date);
+            context.setPrecomputed(true);
+            if (context.getUnavailableSources() != null && !context.getUnavailableSources().isEmpty()) {
+                // A downstream service fell back; build on demand later instead
+                releaseClaim(profile, date);
+                count("fallback");
+                return false;
+            }
+            
+            HomePageResponse page = homeOrchestrator.buildHomePage(context);
+            if (!precomputedPageStore.save(profile.userId(), page, version)) {
+                releaseClaim(profile, date);
+                count("incomplete");
+                return false;
+            }
+            count("stored");
+            return true;
+        
+        } catch (Exception e) {
+            log.warn("Failed to precompute page: profileId={}, date={}, error={}",
+                profile.profileId(), date, e.getMessage());
+            releaseClaim(profile, date);
+            count("error");
+            return false;
+        } finally {
+            JwtContextHolder.clear();
+        }
+    }
+    
+    /**
+     * The profile's local date if its local time is within the precompute window, else null
+     */
+    private LocalDate dueDate(ActiveProfileTracker.ActiveProfile profile, Instant now, LocalTime targetTime) {
+        LocalDateTime localNow = LocalDateTime.ofInstant(now, ActiveProfileTracker.zoneOf(profile.timezone()));
+        LocalDateTime start = localNow.toLocalDate().atTime(targetTime);
+        if (localNow.isBefore(start) || !localNow.isBefore(start.plus(window))) {
+            return null;
+        }
+        return localNow.toLocalDate();
+    }
+    
+    private boolean claim(ActiveProfileTracker.ActiveProfile profile, LocalDate date) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+            .setIfAbsent(claimKey(profile, date), Instant.now().toString(), CLAIM_TTL));
+    }
+    
+    private void releaseClaim(ActiveProfileTracker.ActiveProfile profile, LocalDate date) {
+        try {
+            redisTemplate.delete(claimKey(profile, date));
+        } catch (Exception e) {
+            log.debug("Failed to release precompute claim: profileId={}, error={}", profile.profileId(), e.getMessage());
+        }
+    }
+    
+    private static String claimKey(ActiveProfileTracker.ActiveProfile profile, LocalDate date) {
+        return CLAIM_PREFIX + profile.userId() + ":" + profile.profileId() + ":" + date;
+    }
+    
+    private void count(String outcome) {
+        meterRegistry.counter("personalization.precompute.pages", "outcome", outcome).increment();
+    }
+}
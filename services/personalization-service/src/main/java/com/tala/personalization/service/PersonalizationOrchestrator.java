@@ -1,10 +1,14 @@
 package com.tala.personalization.service;
 
+import com.tala.personalization.config.CacheConfig;
+import com.tala.personalization.dto.HomePageResponse;
 import com.tala.personalization.dto.PersonalizationContext;
 import com.tala.personalization.dto.TodayPageResponse;
+import com.tala.personalization.dto.TopicScores;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -19,9 +23,11 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PersonalizationOrchestrator {
     
-    private final ContextBuilder contextBuilder;
-    private final PriorityCalculator priorityCalculator;
-    private final UrgencyCalculator urgencyCalculator;
+    private final ContextSnapshotCache contextSnapshotCache;
+    private final PrecomputedPageStore precomputedPageStore;
+    private final TopicScoringEngine topicScoringEngine;
+    private final QuestionCatalog questionCatalog;
+    private final QuestionExposureStore questionExposureStore;
     
     @Value("${personalization.today.max-pill-topics:5}")
     private int maxPillTopics;
@@ -29,6 +35,9 @@ public class PersonalizationOrchestrator {
     @Value("${personalization.today.min-pill-topics:3}")
     private int minPillTopics;
     
+    @Value("${personalization.today.max-ask-baby-topics:3}")
+    private int maxAskBabyTopics;
+    
     private static final List<String> ALL_TOPICS = Arrays.asList(
         "sleep", "food", "health", "development", "social", "activity", "mood"
     );
@@ -36,33 +45,67 @@ public class PersonalizationOrchestrator {
     /**
      * Build complete Today page
      */
+    @Cacheable(cacheNames = CacheConfig.TODAY_PAGE, key = "#profileId + ':' + #userId + ':' + #date", sync = true)
     public TodayPageResponse buildTodayPage(Long userId, Long profileId, LocalDate date) {
         log.info("Building Today page for user={}, profile={}, date={}", userId, profileId, date);
         
-        // 1. Build context
-        PersonalizationContext context = contextBuilder.buildContext(userId, profileId, date);
+        Optional<TodayPageResponse> precomputed = precomputedPageStore.find(userId, profileId, date)
+            .map(HomePageResponse::getToday);
+        if (precomputed.isPresent()) {
+            questionExposureStore.recordServed(userId, profileId, date, precomputed.get(), null);
+            return precomputed.get();
+        }
         
-        // 2. Calculate scores for all topics
-        Map<String, Integer> priorityScores = calculateAllTopicPriorities(context);
-        Map<String, Integer> urgencyScores = calculateAllTopicUrgencies(context);
+        // 1. Build context, 2. Calculate scores for all topics
+        PersonalizationContext context = scoreTopics(contextSnapshotCache.get(userId, profileId, date));
         
-        // Store in context
-        context.setTopicPriorityScores(priorityScores);
-        context.setTopicUrgencyScores(urgencyScores);
+        return buildTodayPage(context);
+    }
+        
+    /**
+     * Calculate priority and urgency scores of all topics and store them in the context
+     * 
+     * The scores are memoised on the context, so Insights built from it reuses them.
+     */
+    public PersonalizationContext scoreTopics(PersonalizationContext context) {
+        TopicScores scores = topicScoringEngine.score(context);
+        context.setTopicPriorityScores(scores.priorityMap());
+        context.setTopicUrgencyScores(scores.urgencyMap());
+        return context;
+    }
+    
+    /**
+     * Build Today page from a scored context (see scoreTopics)
+     */
+    public TodayPageResponse buildTodayPage(PersonalizationContext context) {
+        Map<String, Integer> priorityScores = context.getTopicPriorityScores();
+        Map<String, Integer> urgencyScores = context.getTopicUrgencyScores();
         
         // 3. Select top topics
         List<String> topTopics = selectTopTopics(priorityScores, urgencyScores);
         
-        // 4. Build sections
+        // 4. Select catalog questions the user has not been asked recently
+        QuestionExposureStore.Exposures exposures = questionExposureStore.load(context);
+        List<QuestionCatalog.CatalogQuestion> askBabyQuestions = questionCatalog.select(
+            context, QuestionCatalog.TYPE_ASK_BABY_ABOUT, exposures, maxAskBabyTopics);
+        List<QuestionCatalog.CatalogQuestion> checkinQuestions = questionCatalog.select(
+            context, QuestionCatalog.TYPE_DAYTIME_CHECKIN, exposures, 1);
+        
+        // 5. Build sections
         TodayPageResponse.AtAGlanceSection atAGlance = buildAtAGlanceSection(topTopics, context);
-        List<TodayPageResponse.AskBabyTopic> askBaby = buildAskBabySection(context);
+        List<TodayPageResponse.AskBabyTopic> askBaby = buildAskBabySection(askBabyQuestions);
         List<TodayPageResponse.HeadsUpItem> headsUp = buildHeadsUpSection(context);
         TodayPageResponse.TodaysMomentSection moment = buildMomentSection(context);
-        TodayPageResponse.DaytimeCheckinSection checkin = buildCheckinSection(context);
+        TodayPageResponse.DaytimeCheckinSection checkin = buildCheckinSection(checkinQuestions);
+        
+        List<Long> shownQuestionIds = new ArrayList<>();
+        askBabyQuestions.forEach(question -> shownQuestionIds.add(question.id()));
+        checkinQuestions.forEach(question -> shownQuestionIds.add(question.id()));
+        questionExposureStore.record(context, exposures, shownQuestionIds);
         
         return TodayPageResponse.builder()
-            .date(date)
-            .profileId(profileId)
+            .date(context.getDate())
+            .profileId(context.getProfileId())
             .atAGlance(atAGlance)
             .askBabyAbout(askBaby)
             .headsUp(headsUp)
@@ -71,24 +114,6 @@ public class PersonalizationOrchestrator {
             .build();
     }
     
-    private Map<String, Integer> calculateAllTopicPriorities(PersonalizationContext context) {
-        Map<String, Integer> scores = new HashMap<>();
-        for (String topic : ALL_TOPICS) {
-            int score = priorityCalculator.calculateTopicPriority(topic, context);
-            scores.put(topic, score);
-        }
-        return scores;
-    }
-    
-    private Map<String, Integer> calculateAllTopicUrgencies(PersonalizationContext context) {
-        Map<String, Integer> scores = new HashMap<>();
-        for (String topic : ALL_TOPICS) {
-            int score = urgencyCalculator.calculateTopicUrgency(topic, context);
-            scores.put(topic, score);
-        }
-        return scores;
-    }
-    
     private List<String> selectTopTopics(Map<String, Integer> priorityScores, Map<String, Integer> urgencyScores) {
         // Combine priority and urgency scores
         Map<String, Double> combinedScores = new HashMap<>();
@@ -167,17 +192,18 @@ public class PersonalizationOrchestrator {
         return "Monitor baby's condition and maintain regular schedule.";
     }
     
-    private List<TodayPageResponse.AskBabyTopic> buildAskBabySection(PersonalizationContext context) {
+    private List<TodayPageResponse.AskBabyTopic> buildAskBabySection(List<QuestionCatalog.CatalogQuestion> questions) {
         List<TodayPageResponse.AskBabyTopic> suggestions = new ArrayList<>();
         
-        // Generate age-appropriate questions
-        if (context.getBabyAgeMonths() != null && context.getBabyAgeMonths() >= 18) {
+        // Age-appropriate questions from the catalog (incident and daycare questions only when they apply)
+        for (QuestionCatalog.CatalogQuestion question : questions) {
             suggestions.add(TodayPageResponse.AskBabyTopic.builder()
-                .topic("food")
-                .question("What did you have for lunch today?")
-                .context("Age-appropriate conversation")
-                .priority("medium")
-                .source("age_appropriate")
+                .questionId(question.id())
+                .topic(question.topic())
+                .question(question.questionText())
+                .context(question.requiresIncident() ? "Incident reported today" : "Age-appropriate conversation")
+                .priority(mapQuestionPriority(question.basePriority()))
+                .source(question.requiresIncident() || question.requiresDaycare() ? "daycare_report" : "age_appropriate")
                 .build());
         }
         
@@ -232,8 +258,20 @@ public class PersonalizationOrchestrator {
             .build();
     }
     
-    private TodayPageResponse.DaytimeCheckinSection buildCheckinSection(PersonalizationContext context) {
-        // Simple checkin question - can be enhanced with question selection service
+    private TodayPageResponse.DaytimeCheckinSection buildCheckinSection(List<QuestionCatalog.CatalogQuestion> questions) {
+        if (!questions.isEmpty()) {
+            QuestionCatalog.CatalogQuestion question = questions.get(0);
+            return TodayPageResponse.DaytimeCheckinSection.builder()
+                .questionId(question.id())
+                .questionText(question.questionText())
+                .answerType(question.answerType())
+                .choices(question.answerChoices())
+                .context("Daily " + question.topic() + " check")
+                .topic(question.topic())
+                .build();
+        }
+        
+        // Catalog not loaded (or no question for this age)
         return TodayPageResponse.DaytimeCheckinSection.builder()
             .questionId(1L)
             .questionText("How is baby feeling today?")
@@ -244,6 +282,12 @@ public class PersonalizationOrchestrator {
             .build();
     }
     
+    private String mapQuestionPriority(int basePriority) {
+        if (basePriority >= 75) return "high";
+        if (basePriority >= 50) return "medium";
+        return "low";
+    }
+    
     private String mapPriorityLevel(int score) {
         if (score >= 75) return "critical";
         if (score >= 50) return "high";
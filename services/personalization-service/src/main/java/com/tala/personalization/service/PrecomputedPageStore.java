@@ -0,0 +1,158 @@
+package com.tala.personalization.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.personalization.dto.HomePageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Precomputed home pages in Redis
+ * 
+ * One hash per profile ("userId:date" -> HomePageResponse JSON), so new data for a
+ * profile drops all its pages with a single DEL. Entries older than max-age are not
+ * served. Disabled (nothing stored or served) unless personalization.precompute.enabled.
+ * 
+ * Invalidation also bumps a per-profile version. A builder reads the version before it
+ * reads any data and stores only if the version is unchanged (compare-and-set script),
+ * so a page built from data that was invalidated meanwhile is dropped, not served.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrecomputedPageStore {
+    
+    private static final String KEY_PREFIX = "personalization:precomputed:";
+    private static final String VERSION_PREFIX = "personalization:precomputed-version:";
+    
+    /**
+     * KEYS: page hash, version; ARGV: expected version, field, page JSON, retention ms
+     */
+    private static final RedisScript<Long> STORE_IF_CURRENT = new DefaultRedisScript<>(
+        "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+        "redis.call('HSET', KEYS[1], ARGV[2], ARGV[3]) redis.call('PEXPIRE', KEYS[1], ARGV[4]) return 1", Long.class);
+    
+    /**
+     * KEYS: page hash, version; ARGV: retention ms
+     */
+    private static final RedisScript<Long> DELETE_AND_BUMP = new DefaultRedisScript<>(
+        "redis.call('DEL', KEYS[1]) local v = redis.call('INCR', KEYS[2]) " +
+        "redis.call('PEXPIRE', KEYS[2], ARGV[1]) return v", Long.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${personalization.precompute.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${personalization.precompute.max-age:PT6H}")
+    private Duration maxAge;
+    
+    @Value("${personalization.precompute.retention:PT36H}")
+    private Duration retention;
+    
+    /**
+     * Fresh precomputed page, if any (Redis errors count as a miss)
+     */
+    public Optional<HomePageResponse> find(Long userId, Long profileId, LocalDate date) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Object json = redisTemplate.opsForHash().get(pageKey(profileId), field(userId, date));
+            if (json == null) {
+                return Optional.empty();
+            }
+            HomePageResponse page = objectMapper.readValue(json.toString(), HomePageResponse.class);
+            if (page.getGeneratedAt() == null || page.getGeneratedAt().isBefore(Instant.now().minus(maxAge))) {
+                return Optional.empty();
+            }
+            return Optional.of(page);
+        } catch (Exception e) {
+            log.warn("Failed to read precomputed page: profileId={}, error={}", profileId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * Current invalidation version of a profile; read before building a page
+     * 
+     * @return Version, or null if Redis is unavailable
+     */
+    public String version(Long profileId) {
+        try {
+            String version = redisTemplate.opsForValue().get(versionKey(profileId));
+            return version != null ? version : "0";
+        } catch (Exception e) {
+            log.warn("Failed to read precomputed page version: profileId={}, error={}", profileId, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Store a complete page (pages with a failed section or built from partial context are not stored)
+     * 
+     * @param version Version read before the page's data was read
+     * @return Whether the page was stored (false if the profile was invalidated since)
+     */
+    public boolean save(Long userId, HomePageResponse page, String version) {
+        if (!enabled || !isComplete(page) || version == null) {
+            return false;
+        }
+        try {
+            Long stored = redisTemplate.execute(STORE_IF_CURRENT,
+                List.of(pageKey(page.getProfileId()), versionKey(page.getProfileId())),
+                version, field(userId, page.getDate()), objectMapper.writeValueAsString(page),
+                String.valueOf(retention.toMillis()));
+            return stored != null && stored == 1L;
+        } catch (Exception e) {
+            log.warn("Failed to store precomputed page: profileId={}, error={}", page.getProfileId(), e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Drop all precomputed pages of a profile and bump its version (new events or reminder changes)
+     */
+    public void invalidateProfile(Long profileId) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            redisTemplate.execute(DELETE_AND_BUMP, List.of(pageKey(profileId), versionKey(profileId)),
+                String.valueOf(retention.toMillis()));
+        } catch (Exception e) {
+            log.warn("Failed to invalidate precomputed pages: profileId={}, error={}", profileId, e.getMessage());
+        }
+    }
+    
+    private static boolean isComplete(HomePageResponse page) {
+        return page.getToday() != null && page.getTalaStarters() != null && page.getInsights() != null
+            && (page.getUnavailableSources() == null || page.getUnavailableSources().isEmpty());
+    }
+    
+    /**
+     * Profile id as hash tag, so a profile's page hash and version share a cluster slot
+     */
+    private static String pageKey(Long profileId) {
+        return KEY_PREFIX + "{" + profileId + "}";
+    }
+    
+    private static String versionKey(Long profileId) {
+        return VERSION_PREFIX + "{" + profileId + "}";
+    }
+    
+    private static String field(Long userId, LocalDate date) {
+        return userId + ":" + date;
+    }
+}
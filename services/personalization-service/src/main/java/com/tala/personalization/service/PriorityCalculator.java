@@ -36,40 +36,48 @@ public class PriorityCalculator {
      * Calculate priority score for a topic (0-100)
      */
     public int calculateTopicPriority(String topic, PersonalizationContext context) {
+        double interest = calculateUserInterestScore(topic, context);
+        double urgency = calculateUrgencyScore(context);
+        double ageRelevance = calculateAgeRelevanceScore(topic, context.getBabyAgeMonths());
+        double recency = calculateRecencyScore(topic, context);
+        double trend = calculateTrendScore(topic, context);
+        
+        int finalScore = combine(interest, urgency, ageRelevance, recency, trend);
+        
+        log.debug("Priority score for topic '{}': {} (interest={}, urgency={}, age={}, recency={}, trend={})",
+            topic, finalScore, interest, urgency, ageRelevance, recency, trend);
+        
+        return finalScore;
+    }
+    
+    /**
+     * Weighted sum of the sub-scores (0-100)
+     */
+    int combine(double interest, double urgency, double ageRelevance, double recency, double trend) {
         double score = 0.0;
         
         // 1. User Interest Score (0-30 points)
-        score += calculateUserInterestScore(topic, context) * userInterestWeight * 100;
+        score += interest * userInterestWeight * 100;
         
         // 2. Urgency Score (0-25 points)
-        score += calculateUrgencyScore(topic, context) * urgencyWeight * 100;
+        score += urgency * urgencyWeight * 100;
         
         // 3. Age Relevance Score (0-20 points)
-        score += calculateAgeRelevanceScore(topic, context.getBabyAgeMonths()) * ageRelevanceWeight * 100;
+        score += ageRelevance * ageRelevanceWeight * 100;
         
         // 4. Recency Score (0-15 points)
-        score += calculateRecencyScore(topic, context) * recencyWeight * 100;
+        score += recency * recencyWeight * 100;
         
         // 5. Trend Score (0-10 points)
-        score += calculateTrendScore(topic, context) * trendWeight * 100;
+        score += trend * trendWeight * 100;
         
-        int finalScore = (int) Math.min(Math.round(score), 100);
-        
-        log.debug("Priority score for topic '{}': {} (interest={}, urgency={}, age={}, recency={}, trend={})",
-            topic, finalScore,
-            calculateUserInterestScore(topic, context),
-            calculateUrgencyScore(topic, context),
-            calculateAgeRelevanceScore(topic, context.getBabyAgeMonths()),
-            calculateRecencyScore(topic, context),
-            calculateTrendScore(topic, context));
-        
-        return finalScore;
+        return (int) Math.min(Math.round(score), 100);
     }
     
     /**
      * User interest score (0.0 - 1.0)
      */
-    private double calculateUserInterestScore(String topic, PersonalizationContext context) {
+    double calculateUserInterestScore(String topic, PersonalizationContext context) {
         if (context.getInterestProfile() == null) {
             return 0.5; // Default neutral score
         }
@@ -97,24 +105,24 @@ public class PriorityCalculator {
     }
     
     /**
-     * Urgency score based on recent events (0.0 - 1.0)
+     * Urgency score based on recent events (0.0 - 1.0), the same for every topic
      */
-    private double calculateUrgencyScore(String topic, PersonalizationContext context) {
+    double calculateUrgencyScore(PersonalizationContext context) {
         double score = 0.0;
         
         // Check daily context for incidents/issues
         if (context.getDailyContext() != null) {
-            if (context.getDailyContext().getHasIncident()) {
+            if (Boolean.TRUE.equals(context.getDailyContext().getHasIncident())) {
                 score += 0.5;
             }
-            if (context.getDailyContext().getHasSickness()) {
+            if (Boolean.TRUE.equals(context.getDailyContext().getHasSickness())) {
                 score += 0.5;
             }
         }
         
         // Check daycare report for concerns
         if (context.getDaycareReport() != null) {
-            if (context.getDaycareReport().getHasIncident()) {
+            if (Boolean.TRUE.equals(context.getDaycareReport().getHasIncident())) {
                 score += 0.4;
             }
             if (context.getDaycareReport().getTeacherNotes() != null &&
@@ -139,7 +147,7 @@ public class PriorityCalculator {
      * Age relevance score (0.0 - 1.0)
      * Different topics are more relevant at different ages
      */
-    private double calculateAgeRelevanceScore(String topic, Integer ageMonths) {
+    double calculateAgeRelevanceScore(String topic, Integer ageMonths) {
         if (ageMonths == null) {
             return 0.5;
         }
@@ -202,6 +210,13 @@ public class PriorityCalculator {
             .max(LocalDate::compareTo)
             .orElse(null);
         
+        return recencyScore(mostRecentDate, today);
+    }
+    
+    /**
+     * Recency score of a topic's most recent event date (null if none)
+     */
+    double recencyScore(LocalDate mostRecentDate, LocalDate today) {
         if (mostRecentDate == null) {
             return 0.3;
         }
@@ -220,7 +235,7 @@ public class PriorityCalculator {
     /**
      * Trend score - boost declining trends, moderate improving trends (0.0 - 1.0)
      */
-    private double calculateTrendScore(String topic, PersonalizationContext context) {
+    double calculateTrendScore(String topic, PersonalizationContext context) {
         String trend = context.getTopicTrends() != null ? 
             context.getTopicTrends().get(topic) : null;
         
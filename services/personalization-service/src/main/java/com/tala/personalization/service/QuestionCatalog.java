@@ -0,0 +1,333 @@
+package com.tala.personalization.service;
+
+import com.tala.personalization.domain.TalaQuestion;
+import com.tala.personalization.dto.PersonalizationContext;
+import com.tala.personalization.repository.TalaQuestionRepository;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory catalog of the active Tala questions
+ * 
+ * The active question set is loaded once and re-loaded when the table changes (checked
+ * by row count, active row count and last update time), so selecting questions for a page render runs no
+ * queries. Questions are indexed by question type and by (type, topic); each index holds
+ * one array per age in months with the questions valid at that age, ordered by
+ * base_priority. A selection walks one array in priority order and stops after the
+ * requested number of matches.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionCatalog {
+    
+    public static final String TYPE_ASK_BABY_ABOUT = "ask_baby_about";
+    public static final String TYPE_DAYTIME_CHECKIN = "daytime_checkin";
+    public static final String TYPE_CONVERSATION_STARTER = "conversation_starter";
+    
+    private final TalaQuestionRepository questionRepository;
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile String version;
+    
+    /**
+     * Re-load the catalog if the question table changed (runs once at startup)
+     */
+    @Scheduled(fixedDelayString = "${personalization.questions.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            String current = questionRepository.count() + "/" + questionRepository.countByIsActiveTrueAndDeletedAtIsNull() + "@" +
+                questionRepository.findLastUpdatedAt().map(Instant::toString).orElse("-");
+            if (current.equals(version)) {
+                return;
+            }
+            
+            List<CatalogQuestion> questions = questionRepository.findByIsActiveTrueAndDeletedAtIsNull().stream()
+                .map(CatalogQuestion::from)
+                .toList();
+            snapshot = Snapshot.of(questions);
+            version = current;
+            log.info("Loaded question catalog: questions={}, version={}", questions.size(), current);
+        } catch (Exception e) {
+            // Keep serving the previous catalog
+            log.warn("Failed to refresh question catalog: error={}", e.getMessage());
+        }
+    }
+    
+    public int size() {
+        return snapshot.questions.length;
+    }
+    
+    /**
+     * Longest max_frequency_days of the catalog; older exposures never suppress a question
+     */
+    public int maxFrequencyDays() {
+        return snapshot.maxFrequencyDays;
+    }
+    
+    /**
+     * Select questions of a type for a context, highest base_priority first
+     * 
+     * @param exposure Questions shown to the user before (see QuestionExposureStore)
+     */
+    public List<CatalogQuestion> select(PersonalizationContext context, String questionType,
+                                        Exposure exposure, int limit) {
+        return select(Query.forContext(context, questionType).exposure(exposure).build(), limit);
+    }
+    
+    /**
+     * Select questions matching a query, highest base_priority first
+     * 
+     * @param limit Maximum number of questions
+     */
+    public List<CatalogQuestion> select(Query query, int limit) {
+        if (query.ageMonths() == null || limit <= 0) {
+            return List.of();
+        }
+        
+        Snapshot current = snapshot;
+        AgeIndex index = query.topic() != null
+            ? current.byTypeAndTopic.get(query.questionType() + "|" + query.topic())
+            : current.byType.get(query.questionType());
+        if (index == null) {
+            return List.of();
+        }
+        
+        List<CatalogQuestion> selected = new ArrayList<>(Math.min(limit, 8));
+        for (int i : index.at(query.ageMonths())) {
+            CatalogQuestion question = current.questions[i];
+            if (matches(question, query)) {
+                selected.add(question);
+                if (selected.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+    
+    private boolean matches(CatalogQuestion question, Query query) {
+        if (question.requiresDaycare() && !query.daycare()) {
+            return false;
+        }
+        if (question.requiresIncident() && !query.incident()) {
+            return false;
+        }
+        if (question.requiresEventType() != null
+            && (query.eventTypes() == null || !query.eventTypes().contains(question.requiresEventType()))) {
+            return false;
+        }
+        if (query.tags() != null && !question.tags().containsAll(query.tags())) {
+            return false;
+        }
+        return !isSuppressed(question, query);
+    }
+    
+    /**
+     * A question is not repeated within its max_frequency_days
+     * 
+     * A question shown earlier on the same date stays eligible, so rebuilding a page keeps it.
+     */
+    private boolean isSuppressed(CatalogQuestion question, Query query) {
+        if (query.exposure() == null || query.date() == null || question.maxFrequencyDays() <= 0) {
+            return false;
+        }
+        LocalDate lastAsked = query.exposure().lastAsked(question.id());
+        return lastAsked != null && lastAsked.isBefore(query.date())
+            && query.date().isBefore(lastAsked.plusDays(question.maxFrequencyDays()));
+    }
+    
+    /**
+     * Immutable view of an active TalaQuestion
+     */
+    public record CatalogQuestion(
+        long id,
+        String questionText,
+        String questionType,
+        String topic,
+        String category,
+        int minAgeMonths,
+        Integer maxAgeMonths,
+        boolean requiresDaycare,
+        boolean requiresIncident,
+        String requiresEventType,
+        String answerType,
+        List<String> answerChoices,
+        int basePriority,
+        int maxFrequencyDays,
+        Set<String> tags
+    ) {
+        
+        static CatalogQuestion from(TalaQuestion question) {
+            return new CatalogQuestion(
+                question.getId(),
+                question.getQuestionText(),
+                question.getQuestionType(),
+                question.getTopic(),
+                question.getCategory(),
+                question.getMinAgeMonths() != null ? question.getMinAgeMonths() : 0,
+                question.getMaxAgeMonths(),
+                Boolean.TRUE.equals(question.getRequiresDaycare()),
+                Boolean.TRUE.equals(question.getRequiresIncident()),
+                question.getRequiresEventType() != null ? question.getRequiresEventType().toLowerCase(Locale.ROOT) : null,
+                question.getAnswerType(),
+                question.getAnswerChoices() != null ? List.copyOf(question.getAnswerChoices()) : List.of(),
+                question.getBasePriority() != null ? question.getBasePriority() : 50,
+                question.getMaxFrequencyDays() != null ? question.getMaxFrequencyDays() : 0,
+                question.getTags() != null
+                    ? Arrays.stream(question.getTags()).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet())
+                    : Set.of()
+            );
+        }
+        
+        boolean validAt(int ageMonths) {
+            return ageMonths >= minAgeMonths && (maxAgeMonths == null || ageMonths <= maxAgeMonths);
+        }
+    }
+    
+    /**
+     * Selection criteria; requirements not met by the query exclude a question
+     * 
+     * @param topic Optional topic filter
+     * @param daycare Whether the baby attends daycare (for requires_daycare questions)
+     * @param incident Whether an incident was reported (for requires_incident questions)
+     * @param eventTypes Lower-case recent event types (for requires_event_type questions)
+     * @param tags Optional tags a question must all carry
+     * @param date Selection date, for max_frequency_days suppression
+     * @param exposure When questions were last asked; no suppression if null
+     */
+    @Builder(toBuilder = true)
+    public record Query(
+        String questionType,
+        String topic,
+        Integer ageMonths,
+        boolean daycare,
+        boolean incident,
+        Set<String> eventTypes,
+        Set<String> tags,
+        LocalDate date,
+        Exposure exposure
+    ) {
+        
+        /**
+         * Query with age, requirements and date taken from a context
+         */
+        public static QueryBuilder forContext(PersonalizationContext context, String questionType) {
+            boolean daycare = context.getDaycareReport() != null
+                || "daycare".equalsIgnoreCase(context.getCareEnvironment())
+                || "preschool".equalsIgnoreCase(context.getCareEnvironment());
+            boolean incident = (context.getDailyContext() != null && Boolean.TRUE.equals(context.getDailyContext().getHasIncident()))
+                || (context.getDaycareReport() != null && Boolean.TRUE.equals(context.getDaycareReport().getHasIncident()));
+            Set<String> eventTypes = context.getRecentEvents() == null ? Set.of() : context.getRecentEvents().stream()
+                .map(PersonalizationContext.RecentEventData::getEventType)
+                .filter(Objects::nonNull)
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+            
+            return Query.builder()
+                .questionType(questionType)
+                .ageMonths(context.getBabyAgeMonths())
+                .daycare(daycare)
+                .incident(incident)
+                .eventTypes(eventTypes)
+                .date(context.getDate());
+        }
+    }
+    
+    /**
+     * Last time a question was asked to the user a selection is made for
+     */
+    @FunctionalInterface
+    public interface Exposure {
+        
+        /**
+         * @return Date the question was last asked, or null if never
+         */
+        LocalDate lastAsked(long questionId);
+    }
+    
+    /**
+     * Question IDs per age in months; the last array holds the questions of all older ages
+     */
+    private record AgeIndex(int[][] byAge) {
+        
+        int[] at(int ageMonths) {
+            return byAge[Math.max(0, Math.min(ageMonths, byAge.length - 1))];
+        }
+    }
+    
+    private static final class Snapshot {
+        
+        static final Snapshot EMPTY = new Snapshot(new CatalogQuestion[0], Map.of(), Map.of());
+        
+        final CatalogQuestion[] questions;
+        final Map<String, AgeIndex> byType;
+        final Map<String, AgeIndex> byTypeAndTopic;
+        final int maxFrequencyDays;
+        
+        private Snapshot(CatalogQuestion[] questions, Map<String, AgeIndex> byType, Map<String, AgeIndex> byTypeAndTopic) {
+            this.questions = questions;
+            this.byType = byType;
+            this.byTypeAndTopic = byTypeAndTopic;
+            this.maxFrequencyDays = Arrays.stream(questions).mapToInt(CatalogQuestion::maxFrequencyDays).max().orElse(0);
+        }
+        
+        static Snapshot of(List<CatalogQuestion> loaded) {
+            CatalogQuestion[] questions = loaded.stream()
+                .sorted(Comparator.comparingInt(CatalogQuestion::basePriority).reversed()
+                    .thenComparingLong(CatalogQuestion::id))
+                .toArray(CatalogQuestion[]::new);
+            
+            // Ages above every bound share the last array: only open-ended questions are valid there
+            int ages = 1;
+            for (CatalogQuestion question : questions) {
+                ages = Math.max(ages, question.minAgeMonths() + 1);
+                if (question.maxAgeMonths() != null) {
+                    ages = Math.max(ages, question.maxAgeMonths() + 2);
+                }
+            }
+            
+            Map<String, List<Integer>> typeMembers = new HashMap<>();
+            Map<String, List<Integer>> topicMembers = new HashMap<>();
+            for (int i = 0; i < questions.length; i++) {
+                typeMembers.computeIfAbsent(questions[i].questionType(), k -> new ArrayList<>()).add(i);
+                topicMembers.computeIfAbsent(questions[i].questionType() + "|" + questions[i].topic(),
+                    k -> new ArrayList<>()).add(i);
+            }
+            
+            return new Snapshot(questions, index(questions, typeMembers, ages), index(questions, topicMembers, ages));
+        }
+        
+        private static Map<String, AgeIndex> index(CatalogQuestion[] questions, Map<String, List<Integer>> members, int ages) {
+            Map<String, AgeIndex> index = new HashMap<>();
+            members.forEach((key, ids) -> {
+                int[][] byAge = new int[ages][];
+                for (int age = 0; age < ages; age++) {
+                    int at = age;
+                    // Members are in priority order, so each array is too
+                    byAge[age] = ids.stream().mapToInt(Integer::intValue)
+                        .filter(i -> questions[i].validAt(at))
+                        .toArray();
+                }
+                index.put(key, new AgeIndex(byAge));
+            });
+            return Map.copyOf(index);
+        }
+    }
+}
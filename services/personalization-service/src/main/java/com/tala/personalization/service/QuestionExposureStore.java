@@ -0,0 +1,175 @@
+package com.tala.personalization.service;
+
+import com.tala.personalization.dto.PersonalizationContext;
+import com.tala.personalization.dto.TalaStartersResponse;
+import com.tala.personalization.dto.TodayPageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which catalog questions a user was shown, for max_frequency_days suppression
+ * 
+ * One small Redis hash per (profile, user): question ID → epoch day it was last shown.
+ * Only the last day matters for "seen within N days", so the hash is bounded by the
+ * catalog size instead of growing per impression. A page build reads it at most once
+ * (HGETALL, on the first candidate question) and checks candidates in memory.
+ * Writes happen only when a question is shown on a new day; they also drop days older
+ * than any max_frequency_days, and the key expires with the same horizon, so users who
+ * stop coming back cost nothing. A write (HMSET, HDEL, EXPIRE) is one pipelined round trip.
+ * 
+ * Only pages handed to a user count: precompute builds record nothing, and every
+ * path serving a precomputed Today or Tala starters section records its questions
+ * through recordServed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuestionExposureStore {
+    
+    private static final String KEY_PREFIX = "personalization:question-exposure:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final QuestionCatalog questionCatalog;
+    
+    /**
+     * Exposures of a user, read from Redis on first use
+     */
+    public Exposures load(PersonalizationContext context) {
+        return new Exposures(() -> read(context.getUserId(), context.getProfileId()));
+    }
+    
+    /**
+     * Record questions shown on the context's date (best-effort, never fails the page)
+     */
+    public void record(PersonalizationContext context, Exposures exposures, Collection<Long> questionIds) {
+        if (context.isPrecomputed()) {
+            return;
+        }
+        record(context.getUserId(), context.getProfileId(), context.getDate(), exposures, questionIds);
+    }
+    
+    /**
+     * Record the questions of served precomputed sections (best-effort, either section may be null)
+     */
+    public void recordServed(Long userId, Long profileId, LocalDate date,
+                             TodayPageResponse today, TalaStartersResponse talaStarters) {
+        List<Long> questionIds = new ArrayList<>();
+        if (today != null) {
+            if (today.getAskBabyAbout() != null) {
+                today.getAskBabyAbout().forEach(topic -> questionIds.add(topic.getQuestionId()));
+            }
+            if (today.getDaytimeCheckin() != null) {
+                questionIds.add(today.getDaytimeCheckin().getQuestionId());
+            }
+        }
+        if (talaStarters != null && talaStarters.getStarters() != null) {
+            talaStarters.getStarters().forEach(starter -> questionIds.add(starter.getQuestionId()));
+        }
+        questionIds.removeIf(Objects::isNull);
+        record(userId, profileId, date, new Exposures(() -> read(userId, profileId)), questionIds);
+    }
+    
+    private void record(Long userId, Long profileId, LocalDate date, Exposures exposures, Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        long today = date.toEpochDay();
+        Map<String, String> shown = new HashMap<>();
+        Map<Long, Long> lastShown = exposures.lastShown();
+        for (Long questionId : questionIds) {
+            Long last = lastShown.get(questionId);
+            if (last == null || last < today) {
+                shown.put(questionId.toString(), Long.toString(today));
+                lastShown.put(questionId, today);
+            }
+        }
+        if (shown.isEmpty()) {
+            return;
+        }
+        
+        // Days outside every question's frequency window can no longer suppress anything
+        int horizonDays = Math.max(1, questionCatalog.maxFrequencyDays());
+        List<String> expired = new ArrayList<>();
+        lastShown.entrySet().removeIf(entry -> {
+            boolean old = entry.getValue() < today - horizonDays;
+            if (old) {
+                expired.add(entry.getKey().toString());
+            }
+            return old;
+        });
+        
+        try {
+            String key = key(userId, profileId);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection commands = (StringRedisConnection) connection;
+                commands.hMSet(key, shown);
+                if (!expired.isEmpty()) {
+                    commands.hDel(key, expired.toArray(new String[0]));
+                }
+                commands.expire(key, Duration.ofDays(horizonDays + 1L).toSeconds());
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to record question exposure: profileId={}, error={}", profileId, e.getMessage());
+        }
+    }
+    
+    /**
+     * @return Question ID → epoch day last shown (empty on Redis errors, i.e. no suppression)
+     */
+    private Map<Long, Long> read(Long userId, Long profileId) {
+        Map<Long, Long> lastShown = new HashMap<>();
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(userId, profileId));
+            entries.forEach((questionId, epochDay) ->
+                lastShown.put(Long.valueOf(questionId.toString()), Long.valueOf(epochDay.toString())));
+        } catch (Exception e) {
+            log.warn("Failed to load question exposure: profileId={}, error={}", profileId, e.getMessage());
+        }
+        return lastShown;
+    }
+    
+    private static String key(Long userId, Long profileId) {
+        return KEY_PREFIX + profileId + ":" + userId;
+    }
+    
+    /**
+     * Exposures of one user, loaded for a page build
+     */
+    public static class Exposures implements QuestionCatalog.Exposure {
+        
+        private final Supplier<Map<Long, Long>> loader;
+        private Map<Long, Long> lastShown;
+        
+        Exposures(Supplier<Map<Long, Long>> loader) {
+            this.loader = loader;
+        }
+        
+        @Override
+        public LocalDate lastAsked(long questionId) {
+            Long epochDay = lastShown().get(questionId);
+            return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+        }
+        
+        private Map<Long, Long> lastShown() {
+            if (lastShown == null) {
+                lastShown = loader.get();
+            }
+            return lastShown;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.tala.personalization.service;
 
+import com.tala.personalization.config.CacheConfig;
+import com.tala.personalization.dto.HomePageResponse;
 import com.tala.personalization.dto.PersonalizationContext;
 import com.tala.personalization.dto.TalaStartersResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -19,18 +22,38 @@ import java.util.*;
 @Slf4j
 public class TalaStartersService {
     
-    private final ContextBuilder contextBuilder;
+    private static final int MAX_STARTERS = 10;
+    
+    private final ContextSnapshotCache contextSnapshotCache;
+    private final PrecomputedPageStore precomputedPageStore;
     private final PriorityCalculator priorityCalculator;
+    private final QuestionCatalog questionCatalog;
+    private final QuestionExposureStore questionExposureStore;
     
     /**
      * Build Tala conversation starters
      */
+    @Cacheable(cacheNames = CacheConfig.TALA_STARTERS, key = "#profileId + ':' + #userId + ':' + #date", sync = true)
     public TalaStartersResponse buildTalaStarters(Long userId, Long profileId, LocalDate date) {
         log.info("Building Tala starters for user={}, profile={}, date={}", userId, profileId, date);
         
+        Optional<TalaStartersResponse> precomputed = precomputedPageStore.find(userId, profileId, date)
+            .map(HomePageResponse::getTalaStarters);
+        if (precomputed.isPresent()) {
+            questionExposureStore.recordServed(userId, profileId, date, null, precomputed.get());
+            return precomputed.get();
+        }
+        
         // Build context
-        PersonalizationContext context = contextBuilder.buildContext(userId, profileId, date);
+        PersonalizationContext context = contextSnapshotCache.get(userId, profileId, date);
         
+        return buildTalaStarters(context);
+    }
+    
+    /**
+     * Build Tala conversation starters from a context
+     */
+    public TalaStartersResponse buildTalaStarters(PersonalizationContext context) {
         // Generate starters from different sources
         List<TalaStartersResponse.ConversationStarter> starters = new ArrayList<>();
         
@@ -49,6 +72,9 @@ public class TalaStartersService {
         // 5. Development starters
         starters.addAll(generateDevelopmentStarters(context));
         
+        // 6. Starters maintained in the question catalog
+        starters.addAll(generateCatalogStarters(context));
+        
         // Calculate priority scores
         for (TalaStartersResponse.ConversationStarter starter : starters) {
             int score = calculateStarterPriority(starter, context);
@@ -63,10 +89,10 @@ public class TalaStartersService {
         
         // Limit to top 10 starters
         List<TalaStartersResponse.ConversationStarter> topStarters = 
-            starters.stream().limit(10).toList();
+            starters.stream().limit(MAX_STARTERS).toList();
         
         return TalaStartersResponse.builder()
-            .profileId(profileId)
+            .profileId(context.getProfileId())
             .starters(topStarters)
             .build();
     }
@@ -306,6 +332,36 @@ public class TalaStartersService {
         return starters;
     }
     
+    private List<TalaStartersResponse.ConversationStarter> generateCatalogStarters(
+        PersonalizationContext context) {
+        
+        List<TalaStartersResponse.ConversationStarter> starters = new ArrayList<>();
+        
+        QuestionExposureStore.Exposures exposures = questionExposureStore.load(context);
+        List<QuestionCatalog.CatalogQuestion> questions = questionCatalog.select(
+            context, QuestionCatalog.TYPE_CONVERSATION_STARTER, exposures, MAX_STARTERS);
+        if (questions.isEmpty()) {
+            return starters;
+        }
+        questionExposureStore.record(context, exposures,
+            questions.stream().map(QuestionCatalog.CatalogQuestion::id).toList());
+        
+        for (QuestionCatalog.CatalogQuestion question : questions) {
+            TalaStartersResponse.ConversationStarter starter = createStarter(
+                question.topic(),
+                question.category() != null ? question.category() : question.topic(),
+                question.questionText(),
+                "Suggested for this age",
+                question.basePriority() >= 70 ? "high" : question.basePriority() >= 50 ? "medium" : "low",
+                question.topic()
+            );
+            starter.setQuestionId(question.id());
+            starters.add(starter);
+        }
+        
+        return starters;
+    }
+    
     private TalaStartersResponse.ConversationStarter createStarter(
         String category, String title, String prompt, 
         String context, String priority, String icon) {
@@ -0,0 +1,102 @@
+package com.tala.personalization.service;
+
+import com.tala.personalization.constant.Topic;
+import com.tala.personalization.dto.PersonalizationContext;
+import com.tala.personalization.dto.TopicScores;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scores all topics of a context in one pass
+ * 
+ * Produces the same scores as PriorityCalculator/UrgencyCalculator per topic, but
+ * buckets the recent events by topic once (latest date and highest event urgency per
+ * topic) and computes the topic-independent parts once. The result is memoised on
+ * the context, so every page built from the same context reuses it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TopicScoringEngine {
+    
+    private final PriorityCalculator priorityCalculator;
+    private final UrgencyCalculator urgencyCalculator;
+    
+    /**
+     * Scores of all topics, computed on first use per context
+     */
+    public TopicScores score(PersonalizationContext context) {
+        TopicScores scores = context.getTopicScores();
+        if (scores == null) {
+            scores = compute(context);
+            context.setTopicScores(scores);
+        }
+        return scores;
+    }
+    
+    private TopicScores compute(PersonalizationContext context) {
+        Topic[] topics = Topic.all();
+        LocalDate today = context.getDate();
+        
+        // Bucket events by topic: most recent occurrence and highest event urgency
+        LocalDate[] mostRecent = new LocalDate[topics.length];
+        int[] eventUrgency = new int[topics.length];
+        List<PersonalizationContext.RecentEventData> events = context.getRecentEvents();
+        if (events != null) {
+            for (PersonalizationContext.RecentEventData event : events) {
+                int mask = Topic.maskOf(event.getEventType());
+                if (mask == 0) {
+                    continue;
+                }
+                
+                int urgency = urgencyCalculator.calculateSingleEventUrgency(event, today);
+                LocalDate occurredAt = event.getOccurredAt();
+                for (Topic topic : topics) {
+                    if ((mask & topic.bit()) == 0) {
+                        continue;
+                    }
+                    int i = topic.ordinal();
+                    eventUrgency[i] = Math.max(eventUrgency[i], urgency);
+                    if (occurredAt != null && (mostRecent[i] == null || occurredAt.isAfter(mostRecent[i]))) {
+                        mostRecent[i] = occurredAt;
+                    }
+                }
+            }
+        }
+        
+        // Topic-independent parts
+        double urgencyScore = priorityCalculator.calculateUrgencyScore(context);
+        int reminderUrgency = urgencyCalculator.calculateReminderUrgency(context);
+        int daycareUrgency = urgencyCalculator.calculateDaycareUrgency(context);
+        Integer ageMonths = context.getBabyAgeMonths();
+        
+        int[] priority = new int[topics.length];
+        int[] urgency = new int[topics.length];
+        for (Topic topic : topics) {
+            int i = topic.ordinal();
+            priority[i] = priorityCalculator.combine(
+                priorityCalculator.calculateUserInterestScore(topic.key(), context),
+                urgencyScore,
+                priorityCalculator.calculateAgeRelevanceScore(topic.key(), ageMonths),
+                priorityCalculator.recencyScore(mostRecent[i], today),
+                priorityCalculator.calculateTrendScore(topic.key(), context));
+            urgency[i] = urgencyCalculator.combine(
+                eventUrgency[i],
+                reminderUrgency,
+                urgencyCalculator.calculateTrendUrgency(topic.key(), context),
+                daycareUrgency);
+        }
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Topic scores for profile={}, date={}: priority={}, urgency={}",
+                context.getProfileId(), today, Arrays.toString(priority), Arrays.toString(urgency));
+        }
+        
+        return new TopicScores(priority, urgency);
+    }
+}
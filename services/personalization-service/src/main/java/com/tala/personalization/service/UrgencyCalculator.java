@@ -21,27 +21,32 @@ public class UrgencyCalculator {
      * 0 = no urgency
      */
     public int calculateTopicUrgency(String topic, PersonalizationContext context) {
-        int urgency = 0;
-        
         // 1. Check for critical events
-        urgency += calculateEventUrgency(topic, context);
+        int eventUrgency = calculateEventUrgency(topic, context);
         
         // 2. Check for time-sensitive reminders
-        urgency += calculateReminderUrgency(topic, context);
+        int reminderUrgency = calculateReminderUrgency(context);
         
         // 3. Check for declining trends
-        urgency += calculateTrendUrgency(topic, context);
+        int trendUrgency = calculateTrendUrgency(topic, context);
         
         // 4. Check for daycare concerns
-        urgency += calculateDaycareUrgency(topic, context);
+        int daycareUrgency = calculateDaycareUrgency(context);
         
-        int finalUrgency = Math.min(urgency, 10);
+        int finalUrgency = combine(eventUrgency, reminderUrgency, trendUrgency, daycareUrgency);
         
         log.debug("Urgency score for topic '{}': {}", topic, finalUrgency);
         
         return finalUrgency;
     }
     
+    /**
+     * Sum of the urgency parts, capped at 10
+     */
+    int combine(int eventUrgency, int reminderUrgency, int trendUrgency, int daycareUrgency) {
+        return Math.min(eventUrgency + reminderUrgency + trendUrgency + daycareUrgency, 10);
+    }
+    
     /**
      * Calculate urgency from events
      */
@@ -68,7 +73,7 @@ public class UrgencyCalculator {
     /**
      * Calculate urgency for a single event
      */
-    private int calculateSingleEventUrgency(PersonalizationContext.RecentEventData event, LocalDate today) {
+    int calculateSingleEventUrgency(PersonalizationContext.RecentEventData event, LocalDate today) {
         int urgency = 0;
         
         // Base urgency from event type
@@ -115,9 +120,9 @@ public class UrgencyCalculator {
     }
     
     /**
-     * Calculate urgency from reminders
+     * Calculate urgency from reminders (the same for every topic)
      */
-    private int calculateReminderUrgency(String topic, PersonalizationContext context) {
+    int calculateReminderUrgency(PersonalizationContext context) {
         if (context.getActiveReminders() == null || context.getActiveReminders().isEmpty()) {
             return 0;
         }
@@ -180,7 +185,7 @@ public class UrgencyCalculator {
     /**
      * Calculate urgency from trends
      */
-    private int calculateTrendUrgency(String topic, PersonalizationContext context) {
+    int calculateTrendUrgency(String topic, PersonalizationContext context) {
         if (context.getTopicTrends() == null) {
             return 0;
         }
@@ -205,9 +210,9 @@ public class UrgencyCalculator {
     }
     
     /**
-     * Calculate urgency from daycare report
+     * Calculate urgency from daycare report (the same for every topic)
      */
-    private int calculateDaycareUrgency(String topic, PersonalizationContext context) {
+    int calculateDaycareUrgency(PersonalizationContext context) {
         if (context.getDaycareReport() == null) {
             return 0;
         }
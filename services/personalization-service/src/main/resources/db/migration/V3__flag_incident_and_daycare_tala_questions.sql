@@ -0,0 +1,11 @@
+-- Flag the seeded incident and daycare questions, so they are only asked when they apply
+
+UPDATE personalization.tala_questions
+SET requires_incident = TRUE
+WHERE 'incident' = ANY(tags)
+  AND question_text IN ('What happened today? Are you okay?', 'Does it still hurt?');
+
+UPDATE personalization.tala_questions
+SET requires_daycare = TRUE
+WHERE 'daycare' = ANY(tags)
+  AND question_text = 'What did you do at school today?';
@@ -0,0 +1,84 @@
+package com.tala.query.config;
+
+import com.tala.query.service.AnalyticsCacheKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * Redis result cache for the ClickHouse analytics queries
+ * 
+ * One "analytics" cache keyed by AnalyticsCacheKey, with TTLs aligned to data freshness:
+ * - ranges ending before today (UTC): history-ttl, they only change through backfills
+ * - ranges including today: live-ttl, about the ingestion delay
+ * - all-history aggregates (patterns): patterns-ttl
+ * Cache failures are logged and fall through to ClickHouse.
+ */
+@Configuration
+@Slf4j
+public class AnalyticsCacheConfig implements CachingConfigurer {
+    
+    public static final String CACHE_NAME = "analytics";
+    
+    @Value("${analytics.cache.live-ttl:PT1M}")
+    private Duration liveTtl;
+    
+    @Value("${analytics.cache.history-ttl:PT6H}")
+    private Duration historyTtl;
+    
+    @Value("${analytics.cache.patterns-ttl:PT15M}")
+    private Duration patternsTtl;
+    
+    @Bean
+    public RedisCacheManagerBuilderCustomizer analyticsCacheCustomizer() {
+        RedisCacheWriter.TtlFunction ttlFunction = (key, value) -> {
+            if (key instanceof AnalyticsCacheKey cacheKey) {
+                if (cacheKey.endDate() == null) {
+                    return patternsTtl;
+                }
+                return cacheKey.endDate().isBefore(LocalDate.now(ZoneOffset.UTC)) ? historyTtl : liveTtl;
+            }
+            return liveTtl;
+        };
+        return builder -> builder.withCacheConfiguration(CACHE_NAME, RedisCacheConfiguration.defaultCacheConfig()
+                .prefixCacheNameWith("tala:query:")
+                .entryTtl(ttlFunction)
+                .disableCachingNullValues());
+    }
+    
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new CacheErrorHandler() {
+            @Override
+            public void handleCacheGetError(RuntimeException e, Cache cache, Object key) {
+                log.warn("Analytics cache read failed for {}: {}", key, e.getMessage());
+            }
+            
+            @Override
+            public void handleCachePutError(RuntimeException e, Cache cache, Object key, Object value) {
+                log.warn("Analytics cache write failed for {}: {}", key, e.getMessage());
+            }
+            
+            @Override
+            public void handleCacheEvictError(RuntimeException e, Cache cache, Object key) {
+                log.warn("Analytics cache evict failed for {}: {}", key, e.getMessage());
+            }
+            
+            @Override
+            public void handleCacheClearError(RuntimeException e, Cache cache) {
+                log.warn("Analytics cache clear failed: {}", e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.tala.query.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Batch Kafka listener factory for the timeline event consumers
+ * (ClickHouse ingestion, daily summary maintenance), and the backfill executor
+ * 
+ * Each poll is one buffer: the broker holds the fetch until fetch-min-size bytes
+ * are available or fetch-max-wait elapsed (size/time buffering), capped at
+ * max-poll-records. These settings only apply to this factory; other listeners keep
+ * the spring.kafka.consumer defaults. Offsets are committed only after the batch is
+ * written; a failed batch is retried with backoff until it succeeds, since skipping
+ * it would lose rows.
+ */
+@Configuration
+@Slf4j
+public class AnalyticsIngestConfig {
+    
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> analyticsBatchListenerFactory(
+            ConsumerFactory<String, String> consumerFactory,
+            @Value("${analytics.ingest.max-poll-records:5000}") int maxPollRecords,
+            @Value("${analytics.ingest.fetch-min-size:65536}") int fetchMinSize,
+            @Value("${analytics.ingest.fetch-max-wait:PT1S}") Duration fetchMaxWait,
+            @Value("${analytics.ingest.retry.initial-interval:PT1S}") Duration retryInitialInterval,
+            @Value("${analytics.ingest.retry.max-interval:PT1M}") Duration retryMaxInterval) {
+        Map<String, Object> properties = new HashMap<>(consumerFactory.getConfigurationProperties());
+        properties.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        properties.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinSize);
+        properties.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) fetchMaxWait.toMillis());
+        
+        ExponentialBackOff backOff = new ExponentialBackOff(retryInitialInterval.toMillis(), 2.0);
+        backOff.setMaxInterval(retryMaxInterval.toMillis());
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(backOff);
+        errorHandler.setRetryListeners((record, e, attempt) ->
+                log.warn("Timeline event batch failed (attempt {}), retrying: {}", attempt, e.getMessage()));
+        
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(properties));
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(errorHandler);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+    
+    /**
+     * Single worker for ClickHouse backfills, off the common fork-join pool
+     */
+    @Bean(name = "analyticsBackfillExecutor")
+    public ThreadPoolTaskExecutor analyticsBackfillExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("analytics-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,74 @@
+package com.tala.query.controller;
+
+import com.tala.query.service.AnalyticsBackfillService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Backfill of the ClickHouse analytics tables from PostgreSQL
+ */
+@RestController
+@RequestMapping("/api/v1/analytics/backfill")
+@Slf4j
+public class AnalyticsBackfillController {
+    
+    private final AnalyticsBackfillService analyticsBackfillService;
+    private final ThreadPoolTaskExecutor backfillExecutor;
+    
+    public AnalyticsBackfillController(
+            AnalyticsBackfillService analyticsBackfillService,
+            @Qualifier("analyticsBackfillExecutor") ThreadPoolTaskExecutor backfillExecutor) {
+        this.analyticsBackfillService = analyticsBackfillService;
+        this.backfillExecutor = backfillExecutor;
+    }
+    
+    /**
+     * Start a backfill in the background. Refused (409) while a backfill runs or
+     * the ClickHouse ingestion consumer is active on any instance.
+     * 
+     * POST /api/v1/analytics/backfill?startDate=2025-01-01&endDate=2025-12-31[&profileId=]
+     */
+    @PostMapping
+    public ResponseEntity<AnalyticsBackfillService.Status> backfill(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam(required = false) Long profileId
+    ) {
+        log.info("POST /api/v1/analytics/backfill - {}..{}, profileId={}", startDate, endDate, profileId);
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (analyticsBackfillService.getStatus().running() || analyticsBackfillService.isIngestActive()) {
+            return ResponseEntity.status(409).body(analyticsBackfillService.getStatus());
+        }
+        try {
+            backfillExecutor.execute(() -> {
+                try {
+                    analyticsBackfillService.backfill(startDate, endDate, profileId);
+                } catch (Exception e) {
+                    log.error("Analytics backfill failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(409).body(analyticsBackfillService.getStatus());
+        }
+        return ResponseEntity.accepted().body(analyticsBackfillService.getStatus());
+    }
+    
+    /**
+     * Backfill progress
+     * 
+     * GET /api/v1/analytics/backfill/status
+     */
+    @GetMapping("/status")
+    public ResponseEntity<AnalyticsBackfillService.Status> status() {
+        return ResponseEntity.ok(analyticsBackfillService.getStatus());
+    }
+}
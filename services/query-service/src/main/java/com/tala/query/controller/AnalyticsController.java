@@ -1,11 +1,20 @@
 package com.tala.query.controller;
 
+import com.tala.core.exception.ErrorCode;
+import com.tala.core.exception.TalaException;
+import com.tala.query.domain.DailyChildSummary;
+import com.tala.query.dto.DailyContextBatchRequest;
 import com.tala.query.dto.DailyContextResponse;
+import com.tala.query.dto.DailySummaryRow;
+import com.tala.query.dto.EventStats;
+import com.tala.query.dto.WeeklyPatternRow;
 import com.tala.query.service.AnalyticsService;
 import com.tala.query.service.DailyAggregationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -43,6 +52,37 @@ public class AnalyticsController {
         return ResponseEntity.ok(context);
     }
     
+    /**
+     * Get daily contexts for many (profileId, date) pairs in one call
+     * 
+     * POST /api/v1/analytics/daily-context/batch {"items": [{"profileId": 1, "date": "2025-01-01"}, ...]}
+     */
+    @PostMapping("/daily-context/batch")
+    public ResponseEntity<Map<Long, Map<LocalDate, DailyContextResponse>>> getDailyContexts(
+        @RequestBody DailyContextBatchRequest request
+    ) {
+        log.debug("POST /api/v1/analytics/daily-context/batch - items={}",
+            request.getItems() != null ? request.getItems().size() : 0);
+        try {
+            return ResponseEntity.ok(aggregationService.getDailyContexts(request.getItems()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Recompute a daily summary from the timeline (reconciliation)
+     */
+    @PostMapping("/daily-context/rebuild")
+    public ResponseEntity<DailyContextResponse> rebuildDailyContext(
+        @RequestParam Long profileId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        log.info("POST /api/v1/analytics/daily-context/rebuild - profileId={}, date={}", profileId, date);
+        DailyChildSummary summary = aggregationService.aggregateDailyData(profileId, date);
+        return ResponseEntity.ok(aggregationService.getDailyContext(summary.getProfileId(), summary.getDate()));
+    }
+    
     /**
      * Get recent summaries
      */
@@ -57,34 +97,47 @@ public class AnalyticsController {
     }
     
     @GetMapping("/daily-summary")
-    public ResponseEntity<List<Map<String, Object>>> getDailySummary(
+    public ResponseEntity<List<DailySummaryRow>> getDailySummary(
         @RequestParam Long profileId,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
     ) {
         log.info("GET /api/v1/analytics/daily-summary - profileId={}", profileId);
-        List<Map<String, Object>> summary = analyticsService.getDailySummary(profileId, startDate, endDate);
+        List<DailySummaryRow> summary = analyticsService.getDailySummary(profileId, startDate, endDate);
         return ResponseEntity.ok(summary);
     }
     
     @GetMapping("/patterns")
-    public ResponseEntity<List<Map<String, Object>>> getPatterns(
+    public ResponseEntity<List<WeeklyPatternRow>> getPatterns(
         @RequestParam Long profileId,
         @RequestParam String eventType
     ) {
         log.info("GET /api/v1/analytics/patterns - profileId={}, type={}", profileId, eventType);
-        List<Map<String, Object>> patterns = analyticsService.getWeeklyPatterns(profileId, eventType);
+        List<WeeklyPatternRow> patterns = analyticsService.getWeeklyPatterns(profileId, eventType);
         return ResponseEntity.ok(patterns);
     }
     
     @GetMapping("/stats")
-    public ResponseEntity<Map<String, Object>> getStats(
+    public ResponseEntity<EventStats> getStats(
         @RequestParam Long profileId,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
     ) {
         log.info("GET /api/v1/analytics/stats - profileId={}", profileId);
-        Map<String, Object> stats = analyticsService.getEventStats(profileId, startDate, endDate);
+        EventStats stats = analyticsService.getEventStats(profileId, startDate, endDate);
         return ResponseEntity.ok(stats);
     }
+    
+    /**
+     * Analytics query budget exhausted: ask the client to back off
+     */
+    @ExceptionHandler(TalaException.class)
+    public ResponseEntity<Map<String, Object>> handleTalaException(TalaException e) {
+        if (e.getErrorCode() != ErrorCode.QUERY_TIMEOUT) {
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("code", e.getStatusCode(), "message", e.getMessage()));
+    }
 }
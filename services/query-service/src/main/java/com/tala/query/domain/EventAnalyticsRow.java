@@ -0,0 +1,57 @@
+package com.tala.query.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One row of ClickHouse tala_analytics.events_analytics
+ * 
+ * id is the origin-data TimelineEntry ID, which makes replays and backfills
+ * idempotent (rows whose id already exists are skipped).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventAnalyticsRow {
+    
+    private long id;
+    private long profileId;
+    
+    /**
+     * Owner of the profile (users.profiles); 0 when the profile is unknown
+     */
+    private long userId;
+    private String eventType;
+    private Instant eventTime;
+    private LocalDate eventDate;
+    
+    /**
+     * Completed months of age on event_date; 0 without a birth date
+     */
+    private int ageInMonths;
+    
+    private Long durationMinutes;
+    private Float amount;
+    private String unit;
+    private String quality;
+    private String mood;
+    
+    private String feedingType;
+    private String foodName;
+    private String sleepLocation;
+    private String diaperType;
+    private String medicationName;
+    
+    private String aiSummary;
+    private List<String> aiTags;
+    
+    private Instant createdAt;
+    private String source;
+}
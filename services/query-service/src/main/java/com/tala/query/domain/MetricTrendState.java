@@ -0,0 +1,58 @@
+package com.tala.query.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming statistics of one metric (stored inside ProfileTrendSnapshot.state)
+ * 
+ * - count/mean/m2: Welford running mean and variance over all folded days
+ * - windows: EWMA mean and variance per window length in days (alpha = 2 / (N + 1))
+ * - cusumHigh/cusumLow: two-sided CUSUM of standardized deviations, for change points
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricTrendState {
+    
+    private long count;
+    private double mean;
+    private double m2;
+    private Double lastValue;
+    private LocalDate lastDate;
+    
+    @Builder.Default
+    private Map<String, Window> windows = new HashMap<>();
+    
+    private double cusumHigh;
+    private double cusumLow;
+    
+    /**
+     * Last date a sustained shift was detected
+     */
+    private LocalDate lastChangePoint;
+    
+    /**
+     * Direction of that shift: 1 up, -1 down
+     */
+    private int lastChangeDirection;
+    
+    public double variance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Window {
+        private double mean;
+        private double variance;
+    }
+}
@@ -0,0 +1,45 @@
+package com.tala.query.domain;
+
+import com.tala.core.domain.BaseEntity;
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rolling trend state of a profile after folding the daily summary of one date
+ * 
+ * state maps metric name to a serialized MetricTrendState, so the next day is
+ * folded from this snapshot alone instead of rescanning history.
+ */
+@Entity
+@Table(
+    name = "profile_trend_snapshots",
+    schema = "analytics",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_trend_profile_date", columnNames = {"profile_id", "date"})
+    }
+)
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileTrendSnapshot extends BaseEntity {
+    
+    @Column(name = "profile_id", nullable = false)
+    private Long profileId;
+    
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+    
+    @Type(JsonBinaryType.class)
+    @Column(name = "state", columnDefinition = "jsonb", nullable = false)
+    @Builder.Default
+    private Map<String, Object> state = new HashMap<>();
+}
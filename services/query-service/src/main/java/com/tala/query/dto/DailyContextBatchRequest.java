@@ -0,0 +1,32 @@
+package com.tala.query.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch daily context request: many (profileId, date) pairs in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyContextBatchRequest {
+    
+    @Builder.Default
+    private List<Item> items = new ArrayList<>();
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long profileId;
+        private LocalDate date;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tala.query.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Row of tala_analytics.daily_summary_mv (snake_case on the wire, as before)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class DailySummaryRow implements Serializable {
+    
+    private LocalDate eventDate;
+    private String eventType;
+    private long eventCount;
+    private Double avgDuration;
+    private Double avgAmount;
+}
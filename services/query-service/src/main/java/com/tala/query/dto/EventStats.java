@@ -0,0 +1,31 @@
+package com.tala.query.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Event statistics of a profile over a date range (snake_case on the wire, as before)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class EventStats implements Serializable {
+    
+    private long totalEvents;
+    private long eventTypes;
+    private Double avgDuration;
+    
+    /**
+     * Latest event_time (UTC), null when there are no events
+     */
+    private LocalDateTime latestEvent;
+}
@@ -0,0 +1,44 @@
+package com.tala.query.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TIMELINE_ENTRY_CREATED event consumed from tala.timeline-events
+ * (published by origin-data-service)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TimelineEntryEvent {
+    
+    public static final String TYPE_CREATED = "TIMELINE_ENTRY_CREATED";
+    
+    private Integer schemaVersion;
+    private String eventType;
+    private String eventId;
+    private Long timelineEntryId;
+    private Long originalEventId;
+    private Long profileId;
+    private String timelineType;
+    private String dataSource;
+    private Instant recordTime;
+    private List<String> tags;
+    private String summary;
+    
+    /**
+     * Structured event_data facts (amount, unit, duration_minutes, feeding_type, ...)
+     */
+    private Map<String, Object> facts;
+    private List<Long> attachmentIds;
+    private Instant occurredAt;
+}
@@ -0,0 +1,26 @@
+package com.tala.query.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Row of tala_analytics.weekly_patterns_mv (snake_case on the wire, as before)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class WeeklyPatternRow implements Serializable {
+    
+    private int dayOfWeek;
+    private int hourOfDay;
+    private long totalEvents;
+    private Double avgDuration;
+}
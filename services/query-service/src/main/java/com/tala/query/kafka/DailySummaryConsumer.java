@@ -0,0 +1,52 @@
+package com.tala.query.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.query.dto.TimelineEntryEvent;
+import com.tala.query.service.DailySummaryMaintenanceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Applies TIMELINE_ENTRY_CREATED events to the daily child summaries
+ * 
+ * Batch listener: the whole poll is applied in one transaction; a failure rolls it
+ * back and the poll is retried with backoff. Already applied entries are skipped.
+ * Only enabled when analytics.daily-summary.incremental.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "analytics.daily-summary.incremental.enabled", havingValue = "true", matchIfMissing = false)
+public class DailySummaryConsumer {
+    
+    private final ObjectMapper objectMapper;
+    private final DailySummaryMaintenanceService dailySummaryMaintenanceService;
+    
+    @KafkaListener(
+            topics = "${analytics.ingest.topic:tala.timeline-events}",
+            groupId = "${analytics.daily-summary.group-id:query-service-daily-summary}",
+            containerFactory = "analyticsBatchListenerFactory")
+    public void consume(List<String> messages) {
+        List<TimelineEntryEvent> events = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                TimelineEntryEvent event = objectMapper.readValue(message, TimelineEntryEvent.class);
+                if (TimelineEntryEvent.TYPE_CREATED.equals(event.getEventType())) {
+                    events.add(event);
+                }
+            } catch (Exception e) {
+                // Poison message: log and skip, a replay would fail the same way
+                log.error("Skipping unreadable timeline event: {}", message, e);
+            }
+        }
+        
+        int applied = dailySummaryMaintenanceService.apply(events);
+        log.debug("Consumed {} timeline events, applied {} to daily summaries", messages.size(), applied);
+    }
+}
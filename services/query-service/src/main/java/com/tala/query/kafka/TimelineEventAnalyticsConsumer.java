@@ -0,0 +1,59 @@
+package com.tala.query.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.query.domain.EventAnalyticsRow;
+import com.tala.query.dto.TimelineEntryEvent;
+import com.tala.query.service.ClickHouseEventWriter;
+import com.tala.query.service.EventAnalyticsMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feeds TIMELINE_ENTRY_CREATED events into ClickHouse events_analytics
+ * 
+ * Batch listener: a failed insert fails the whole poll, which is retried with backoff;
+ * the writer skips rows already inserted, so redelivery is harmless.
+ * Only enabled when analytics.ingest.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "analytics.ingest.enabled", havingValue = "true", matchIfMissing = false)
+public class TimelineEventAnalyticsConsumer {
+    
+    private final ObjectMapper objectMapper;
+    private final EventAnalyticsMapper eventAnalyticsMapper;
+    private final ClickHouseEventWriter clickHouseEventWriter;
+    
+    @KafkaListener(
+            topics = "${analytics.ingest.topic:tala.timeline-events}",
+            groupId = "${analytics.ingest.group-id:query-service-analytics}",
+            containerFactory = "analyticsBatchListenerFactory")
+    public void consume(List<String> messages) {
+        List<EventAnalyticsRow> rows = new ArrayList<>(messages.size());
+        for (String message : messages) {
+            try {
+                TimelineEntryEvent event = objectMapper.readValue(message, TimelineEntryEvent.class);
+                if (!TimelineEntryEvent.TYPE_CREATED.equals(event.getEventType())) {
+                    continue;
+                }
+                EventAnalyticsRow row = eventAnalyticsMapper.toRow(event);
+                if (row != null) {
+                    rows.add(row);
+                }
+            } catch (Exception e) {
+                // Poison message: log and skip, a replay would fail the same way
+                log.error("Skipping unreadable timeline event: {}", message, e);
+            }
+        }
+        
+        int inserted = clickHouseEventWriter.write(rows);
+        log.debug("Consumed {} timeline events, inserted {} analytics rows", messages.size(), inserted);
+    }
+}
@@ -1,12 +1,15 @@
 package com.tala.query.repository;
 
 import com.tala.query.domain.DailyChildSummary;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +28,17 @@ public interface DailyChildSummaryRepository extends JpaRepository<DailyChildSum
         @Param("date") LocalDate date
     );
     
+    /**
+     * Lock the row of a profile and date for a read-modify-write
+     * (includes soft-deleted rows, which still hold the unique key)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DailyChildSummary d WHERE d.profileId = :profileId AND d.date = :date")
+    Optional<DailyChildSummary> findForUpdate(
+        @Param("profileId") Long profileId,
+        @Param("date") LocalDate date
+    );
+    
     /**
      * Find by profile and date range
      */
@@ -41,6 +55,21 @@ public interface DailyChildSummaryRepository extends JpaRepository<DailyChildSum
         @Param("endDate") LocalDate endDate
     );
     
+    /**
+     * Find by several profiles and a date range (batch reads)
+     */
+    @Query("""
+        SELECT d FROM DailyChildSummary d 
+        WHERE d.profileId IN :profileIds 
+          AND d.date BETWEEN :startDate AND :endDate 
+          AND d.deletedAt IS NULL
+        """)
+    List<DailyChildSummary> findByProfileIdsAndDateRange(
+        @Param("profileIds") Collection<Long> profileIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
     /**
      * Find recent summaries
      */
@@ -0,0 +1,58 @@
+package com.tala.query.repository;
+
+import com.tala.query.domain.ProfileTrendSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Profile Trend Snapshot Repository
+ */
+@Repository
+public interface ProfileTrendSnapshotRepository extends JpaRepository<ProfileTrendSnapshot, Long> {
+    
+    /**
+     * Latest snapshot at or before a date
+     */
+    Optional<ProfileTrendSnapshot> findFirstByProfileIdAndDateLessThanEqualAndDeletedAtIsNullOrderByDateDesc(
+        Long profileId,
+        LocalDate date
+    );
+    
+    /**
+     * Latest snapshot strictly before a date (state to refold from)
+     */
+    Optional<ProfileTrendSnapshot> findFirstByProfileIdAndDateLessThanAndDeletedAtIsNullOrderByDateDesc(
+        Long profileId,
+        LocalDate date
+    );
+    
+    /**
+     * Snapshots of several profiles in a date range (batch reads)
+     */
+    @Query("""
+        SELECT t FROM ProfileTrendSnapshot t 
+        WHERE t.profileId IN :profileIds 
+          AND t.date BETWEEN :startDate AND :endDate 
+          AND t.deletedAt IS NULL
+        """)
+    List<ProfileTrendSnapshot> findByProfileIdsAndDateRange(
+        @Param("profileIds") Collection<Long> profileIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
+    /**
+     * Drop snapshots from a date on (before refolding them)
+     */
+    @Modifying
+    @Query("DELETE FROM ProfileTrendSnapshot t WHERE t.profileId = :profileId AND t.date >= :fromDate")
+    int deleteFrom(@Param("profileId") Long profileId, @Param("fromDate") LocalDate fromDate);
+}
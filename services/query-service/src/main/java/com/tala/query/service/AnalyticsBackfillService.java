@@ -0,0 +1,127 @@
+package com.tala.query.service;
+
+import com.tala.query.domain.EventAnalyticsRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backfills ClickHouse events_analytics from PostgreSQL
+ * 
+ * Streams origin_data timeline entries through TimelineFactReader, maps them exactly
+ * like the Kafka path and writes them with ClickHouseEventWriter. Rows already in
+ * ClickHouse are skipped, so a backfill can be re-run. It must not overlap live
+ * ingestion: both would pass the existence check for the same ids and insert them
+ * twice, so a backfill is refused while the ingestion consumer group has members.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsBackfillService {
+    
+    private final TimelineFactReader timelineFactReader;
+    private final EventAnalyticsMapper eventAnalyticsMapper;
+    private final ClickHouseEventWriter clickHouseEventWriter;
+    private final KafkaAdmin kafkaAdmin;
+    
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    
+    @Value("${analytics.ingest.batch-size:5000}")
+    private int batchSize;
+    
+    @Value("${analytics.ingest.group-id:query-service-analytics}")
+    private String ingestGroupId;
+    
+    /**
+     * Whether any instance consumes timeline events into ClickHouse.
+     * Treated as active when the group cannot be described.
+     */
+    public boolean isIngestActive() {
+        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            ConsumerGroupDescription group = adminClient.describeConsumerGroups(List.of(ingestGroupId))
+                    .describedGroups().get(ingestGroupId).get(10, TimeUnit.SECONDS);
+            return !group.members().isEmpty();
+        } catch (Exception e) {
+            log.warn("Could not describe consumer group {}: {}", ingestGroupId, e.getMessage());
+            return true;
+        }
+    }
+    
+    /**
+     * Backfill entries recorded in [startDate, endDate] (UTC days). Blocks until done.
+     * 
+     * @param profileId Optional profile filter
+     * @return Final status, or null if a backfill is already running on this instance
+     *         or the ingestion consumer is active
+     */
+    public Status backfill(LocalDate startDate, LocalDate endDate, Long profileId) {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Analytics backfill already in progress, skipping");
+            return null;
+        }
+        if (isIngestActive()) {
+            running.set(false);
+            log.warn("Analytics ingestion consumers are active, refusing backfill");
+            return null;
+        }
+        rowsRead.set(0);
+        rowsInserted.set(0);
+        
+        try {
+            log.info("Starting analytics backfill: {}..{}, profileId={}", startDate, endDate, profileId);
+            List<EventAnalyticsRow> buffer = new ArrayList<>(batchSize);
+            timelineFactReader.stream(
+                    startDate.atStartOfDay(ZoneOffset.UTC).toInstant(),
+                    endDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                    profileId,
+                    event -> {
+                        rowsRead.incrementAndGet();
+                        EventAnalyticsRow row = eventAnalyticsMapper.toRow(event);
+                        if (row != null) {
+                            buffer.add(row);
+                        }
+                        if (buffer.size() >= batchSize) {
+                            flush(buffer);
+                        }
+                    });
+            flush(buffer);
+            
+            log.info("Completed analytics backfill: read={}, inserted={}", rowsRead.get(), rowsInserted.get());
+            return getStatus();
+        
+        } finally {
+            running.set(false);
+        }
+    }
+    
+    public Status getStatus() {
+        return new Status(running.get(), rowsRead.get(), rowsInserted.get());
+    }
+    
+    private void flush(List<EventAnalyticsRow> buffer) {
+        if (!buffer.isEmpty()) {
+            rowsInserted.addAndGet(clickHouseEventWriter.write(buffer));
+            buffer.clear();
+        }
+    }
+    
+    /**
+     * Backfill progress
+     */
+    public record Status(boolean running, long rowsRead, long rowsInserted) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.tala.query.service;
+
+import java.time.LocalDate;
+
+/**
+ * Cache key of an analytics query: (query, profile, range, qualifier)
+ * 
+ * endDate drives the TTL: ranges that end before today only change through
+ * backfills, ranges that include today change with every ingested event.
+ * 
+ * @param endDate Range end, null for queries over all history
+ */
+public record AnalyticsCacheKey(String query, Long profileId, LocalDate startDate, LocalDate endDate, String qualifier) {
+    
+    public static AnalyticsCacheKey of(String query, Long profileId, LocalDate startDate, LocalDate endDate) {
+        return new AnalyticsCacheKey(query, profileId, startDate, endDate, null);
+    }
+    
+    public static AnalyticsCacheKey of(String query, Long profileId, String qualifier) {
+        return new AnalyticsCacheKey(query, profileId, null, null, qualifier);
+    }
+    
+    @Override
+    public String toString() {
+        return query + ":" + profileId + ":" + startDate + ":" + endDate + ":" + qualifier;
+    }
+}
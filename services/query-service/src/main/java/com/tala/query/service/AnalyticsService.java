@@ -1,28 +1,81 @@
 package com.tala.query.service;
 
-import lombok.RequiredArgsConstructor;
+import com.tala.core.clickhouse.ClickHouseQueryExecutor;
+import com.tala.query.config.AnalyticsCacheConfig;
+import com.tala.query.dto.DailySummaryRow;
+import com.tala.query.dto.EventStats;
+import com.tala.query.dto.WeeklyPatternRow;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Analytics Service using ClickHouse
+ * 
+ * Results are cached per (query, profile, range) in the "analytics" cache
+ * (see AnalyticsCacheConfig). Queries run through ClickHouseQueryExecutor with a
+ * per-query execution budget; concurrent misses for one key share one query there.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AnalyticsService {
     
-    private final JdbcTemplate jdbcTemplate;
+    private static final RowMapper<DailySummaryRow> DAILY_SUMMARY_MAPPER = (rs, rowNum) -> DailySummaryRow.builder()
+            .eventDate(rs.getObject("event_date", LocalDate.class))
+            .eventType(rs.getString("event_type"))
+            .eventCount(rs.getLong("event_count"))
+            .avgDuration(nullableDouble(rs, "avg_duration"))
+            .avgAmount(nullableDouble(rs, "avg_amount"))
+            .build();
+    
+    private static final RowMapper<WeeklyPatternRow> WEEKLY_PATTERN_MAPPER = (rs, rowNum) -> WeeklyPatternRow.builder()
+            .dayOfWeek(rs.getInt("day_of_week"))
+            .hourOfDay(rs.getInt("hour_of_day"))
+            .totalEvents(rs.getLong("total_events"))
+            .avgDuration(nullableDouble(rs, "avg_duration"))
+            .build();
+    
+    private static final RowMapper<EventStats> EVENT_STATS_MAPPER = (rs, rowNum) -> {
+        long totalEvents = rs.getLong("total_events");
+        Timestamp latestEvent = rs.getTimestamp("latest_event");
+        return EventStats.builder()
+                .totalEvents(totalEvents)
+                .eventTypes(rs.getLong("event_types"))
+                .avgDuration(nullableDouble(rs, "avg_duration"))
+                .latestEvent(totalEvents > 0 && latestEvent != null ? latestEvent.toLocalDateTime() : null)
+                .build();
+    };
+    
+    private final ClickHouseQueryExecutor queryExecutor;
+    
+    @Value("${analytics.clickhouse.max-execution-time.daily-summary:PT5S}")
+    private Duration dailySummaryBudget;
+    
+    @Value("${analytics.clickhouse.max-execution-time.weekly-patterns:PT10S}")
+    private Duration weeklyPatternsBudget;
+    
+    @Value("${analytics.clickhouse.max-execution-time.event-stats:PT5S}")
+    private Duration eventStatsBudget;
+    
+    public AnalyticsService(ClickHouseQueryExecutor queryExecutor) {
+        this.queryExecutor = queryExecutor;
+    }
     
     /**
      * Get daily summary for a profile
      */
-    public List<Map<String, Object>> getDailySummary(Long profileId, LocalDate startDate, LocalDate endDate) {
+    @Cacheable(cacheNames = AnalyticsCacheConfig.CACHE_NAME,
+            key = "T(com.tala.query.service.AnalyticsCacheKey).of('daily-summary', #profileId, #startDate, #endDate)")
+    public List<DailySummaryRow> getDailySummary(Long profileId, LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT 
                 event_date,
@@ -36,13 +89,16 @@ public class AnalyticsService {
             ORDER BY event_date DESC, event_type
             """;
         
-        return jdbcTemplate.queryForList(sql, profileId, startDate, endDate);
+        return queryExecutor.query("daily-summary", sql, dailySummaryBudget, DAILY_SUMMARY_MAPPER,
+                profileId, startDate, endDate);
     }
     
     /**
      * Get weekly patterns
      */
-    public List<Map<String, Object>> getWeeklyPatterns(Long profileId, String eventType) {
+    @Cacheable(cacheNames = AnalyticsCacheConfig.CACHE_NAME,
+            key = "T(com.tala.query.service.AnalyticsCacheKey).of('weekly-patterns', #profileId, #eventType)")
+    public List<WeeklyPatternRow> getWeeklyPatterns(Long profileId, String eventType) {
         String sql = """
             SELECT 
                 day_of_week,
@@ -56,13 +112,16 @@ public class AnalyticsService {
             ORDER BY day_of_week, hour_of_day
             """;
         
-        return jdbcTemplate.queryForList(sql, profileId, eventType);
+        return queryExecutor.query("weekly-patterns", sql, weeklyPatternsBudget, WEEKLY_PATTERN_MAPPER,
+                profileId, eventType);
     }
     
     /**
      * Get event statistics
      */
-    public Map<String, Object> getEventStats(Long profileId, LocalDate startDate, LocalDate endDate) {
+    @Cacheable(cacheNames = AnalyticsCacheConfig.CACHE_NAME,
+            key = "T(com.tala.query.service.AnalyticsCacheKey).of('event-stats', #profileId, #startDate, #endDate)")
+    public EventStats getEventStats(Long profileId, LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT 
                 count() as total_events,
@@ -74,6 +133,15 @@ public class AnalyticsService {
               AND event_date BETWEEN ? AND ?
             """;
         
-        return jdbcTemplate.queryForMap(sql, profileId, startDate, endDate);
+        return queryExecutor.queryForObject("event-stats", sql, eventStatsBudget, EVENT_STATS_MAPPER,
+                profileId, startDate, endDate);
+    }
+    
+    /**
+     * NULL and NaN (avg over no values) both become null
+     */
+    private static Double nullableDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() || Double.isNaN(value) ? null : value;
     }
 }
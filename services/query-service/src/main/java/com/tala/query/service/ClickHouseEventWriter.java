@@ -0,0 +1,164 @@
+package com.tala.query.service;
+
+import com.tala.query.domain.EventAnalyticsRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes rows into ClickHouse tala_analytics.events_analytics
+ * 
+ * Rows are inserted with JDBC batches (the ClickHouse driver streams prepared
+ * batches as RowBinary), one INSERT per batch-size rows. Inserts are idempotent:
+ * ids already present are filtered out first, so redelivered Kafka messages and
+ * repeated backfills do not double count in the materialized views. Rows of one
+ * profile are only ever written by one consumer (messages are keyed by profileId),
+ * and backfills are refused while that consumer group is active, so the
+ * check-then-insert does not race. user_id and age_in_months come from users.profiles.
+ */
+@Service
+@Slf4j
+public class ClickHouseEventWriter {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO tala_analytics.events_analytics (id, profile_id, user_id, event_type, event_time, event_date," +
+            " age_in_months, duration_minutes, amount, unit, quality, mood, feeding_type, food_name, sleep_location," +
+            " diaper_type, medication_name, ai_summary, ai_tags, created_at, source)" +
+            " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate clickHouseJdbcTemplate;
+    private final ProfileAttributesReader profileAttributesReader;
+    private final Counter insertedCounter;
+    private final Counter duplicateCounter;
+    private final Timer insertTimer;
+    
+    @Value("${analytics.ingest.batch-size:5000}")
+    private int batchSize;
+    
+    public ClickHouseEventWriter(
+            @Qualifier("clickHouseJdbcTemplate") JdbcTemplate clickHouseJdbcTemplate,
+            ProfileAttributesReader profileAttributesReader,
+            MeterRegistry meterRegistry) {
+        this.clickHouseJdbcTemplate = clickHouseJdbcTemplate;
+        this.profileAttributesReader = profileAttributesReader;
+        this.insertedCounter = Counter.builder("query.analytics_ingest.rows")
+                .tag("outcome", "inserted").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("query.analytics_ingest.rows")
+                .tag("outcome", "duplicate").register(meterRegistry);
+        this.insertTimer = Timer.builder("query.analytics_ingest.insert")
+                .description("ClickHouse batch insert latency")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Insert rows not yet present, in batches
+     * 
+     * @return Number of rows inserted
+     */
+    public int write(List<EventAnalyticsRow> rows) {
+        int inserted = 0;
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            inserted += writeBatch(rows.subList(from, Math.min(from + batchSize, rows.size())));
+        }
+        return inserted;
+    }
+    
+    private int writeBatch(List<EventAnalyticsRow> batch) {
+        // De-duplicate within the batch, then against ClickHouse
+        Map<Long, EventAnalyticsRow> byId = new LinkedHashMap<>();
+        batch.forEach(row -> byId.putIfAbsent(row.getId(), row));
+        Set<Long> existing = findExistingIds(byId.values());
+        
+        List<EventAnalyticsRow> fresh = new ArrayList<>(byId.size());
+        for (EventAnalyticsRow row : byId.values()) {
+            if (!existing.contains(row.getId())) {
+                fresh.add(row);
+            }
+        }
+        duplicateCounter.increment(batch.size() - fresh.size());
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+        enrich(fresh);
+        
+        insertTimer.record(() -> clickHouseJdbcTemplate.batchUpdate(INSERT_SQL, fresh, fresh.size(), (ps, row) -> {
+            ps.setLong(1, row.getId());
+            ps.setLong(2, row.getProfileId());
+            ps.setLong(3, row.getUserId());
+            ps.setString(4, row.getEventType());
+            ps.setObject(5, LocalDateTime.ofInstant(row.getEventTime(), ZoneOffset.UTC));
+            ps.setObject(6, row.getEventDate());
+            ps.setInt(7, row.getAgeInMonths());
+            ps.setObject(8, row.getDurationMinutes(), Types.BIGINT);
+            ps.setObject(9, row.getAmount(), Types.FLOAT);
+            ps.setString(10, row.getUnit());
+            ps.setString(11, row.getQuality());
+            ps.setString(12, row.getMood());
+            ps.setString(13, row.getFeedingType());
+            ps.setString(14, row.getFoodName());
+            ps.setString(15, row.getSleepLocation());
+            ps.setString(16, row.getDiaperType());
+            ps.setString(17, row.getMedicationName());
+            ps.setString(18, row.getAiSummary());
+            ps.setObject(19, row.getAiTags().toArray(new String[0]));
+            ps.setObject(20, LocalDateTime.ofInstant(row.getCreatedAt(), ZoneOffset.UTC));
+            ps.setString(21, row.getSource());
+        }));
+        
+        insertedCounter.increment(fresh.size());
+        log.debug("Inserted {} rows into events_analytics ({} duplicates skipped)",
+                fresh.size(), batch.size() - fresh.size());
+        return fresh.size();
+    }
+    
+    /**
+     * Fill in owner and age at the event from the profile; unknown profiles keep 0
+     */
+    private void enrich(List<EventAnalyticsRow> rows) {
+        Set<Long> profileIds = rows.stream().map(EventAnalyticsRow::getProfileId).collect(Collectors.toSet());
+        Map<Long, ProfileAttributesReader.ProfileAttributes> profiles = profileAttributesReader.read(profileIds);
+        for (EventAnalyticsRow row : rows) {
+            ProfileAttributesReader.ProfileAttributes profile = profiles.get(row.getProfileId());
+            if (profile != null) {
+                row.setUserId(profile.userId());
+                row.setAgeInMonths(profile.ageInMonths(row.getEventDate()));
+            }
+        }
+    }
+    
+    private Set<Long> findExistingIds(Iterable<EventAnalyticsRow> rows) {
+        Set<Long> profileIds = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        for (EventAnalyticsRow row : rows) {
+            profileIds.add(row.getProfileId());
+            ids.add(row.getId());
+        }
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        // Numeric literals only; profile_id leads the sorting key
+        String sql = "SELECT id FROM tala_analytics.events_analytics WHERE profile_id IN (" + join(profileIds) +
+                ") AND id IN (" + join(ids) + ")";
+        return new HashSet<>(clickHouseJdbcTemplate.queryForList(sql, Long.class));
+    }
+    
+    private String join(Set<Long> values) {
+        return values.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
@@ -1,17 +1,16 @@
 package com.tala.query.service;
 
-import com.tala.query.client.OriginDataServiceFeignClient;
 import com.tala.query.domain.DailyChildSummary;
+import com.tala.query.dto.DailyContextBatchRequest;
 import com.tala.query.dto.DailyContextResponse;
 import com.tala.query.repository.DailyChildSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,7 +23,12 @@ import java.util.stream.Collectors;
 public class DailyAggregationService {
     
     private final DailyChildSummaryRepository repository;
-    private final OriginDataServiceFeignClient originDataServiceFeignClient;
+    private final DailySummaryMaintenanceService dailySummaryMaintenanceService;
+    private final TrendSnapshotService trendSnapshotService;
+    private final TrendEngine trendEngine;
+    
+    @Value("${analytics.daily-context.batch-max-items:500}")
+    private int batchMaxItems;
     
     /**
      * Get daily context for AI services
@@ -37,33 +41,82 @@ public class DailyAggregationService {
         
         if (summaryOpt.isEmpty()) {
             log.warn("No daily summary found for profile={}, date={}", profileId, date);
-            return DailyContextResponse.builder()
-                .profileId(profileId)
-                .date(date)
-                .totalEvents(0)
-                .hasIncident(false)
-                .hasSickness(false)
-                .build();
+            return emptyContext(profileId, date);
         }
         
-        DailyChildSummary summary = summaryOpt.get();
+        // Rolling trends from the latest snapshot (no history scan)
+        DailyContextResponse context = toContextResponse(summaryOpt.get());
+        context.setRecentTrends(trendSnapshotService.getTrends(profileId, date));
+        return context;
+    }
+    
+    /**
+     * Get daily contexts for many (profileId, date) pairs: one summary query and one
+     * snapshot query per date window
+     * 
+     * Items are split into windows spanning at most the longest trend window, so a batch
+     * with far-apart dates never loads the summaries and snapshots in between.
+     * 
+     * @return profileId → date → context (empty context for days without a summary)
+     * @throws IllegalArgumentException if the batch is empty, too large or has incomplete items
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<LocalDate, DailyContextResponse>> getDailyContexts(List<DailyContextBatchRequest.Item> items) {
+        if (items == null || items.isEmpty() || items.size() > batchMaxItems) {
+            throw new IllegalArgumentException("Batch must contain 1.." + batchMaxItems + " items");
+        }
+        if (items.stream().anyMatch(item -> item.getProfileId() == null || item.getDate() == null)) {
+            throw new IllegalArgumentException("Every item needs profileId and date");
+        }
         
-        // Get recent trends
-        List<DailyContextResponse.TrendData> trends = calculateTrends(profileId, date);
+        Map<Long, Map<LocalDate, DailyContextResponse>> contexts = new LinkedHashMap<>();
+        items.forEach(item -> contexts.computeIfAbsent(item.getProfileId(), id -> new TreeMap<>()));
+        
+        List<DailyContextBatchRequest.Item> byDate = new ArrayList<>(items);
+        byDate.sort(Comparator.comparing(DailyContextBatchRequest.Item::getDate));
+        int span = Math.max(1, trendEngine.longestWindow());
+        int windows = 0;
+        for (int from = 0; from < byDate.size(); windows++) {
+            LocalDate windowEnd = byDate.get(from).getDate().plusDays(span - 1L);
+            int to = from;
+            while (to < byDate.size() && !byDate.get(to).getDate().isAfter(windowEnd)) {
+                to++;
+            }
+            addContexts(byDate.subList(from, to), contexts);
+            from = to;
+        }
         
-        return DailyContextResponse.builder()
-            .profileId(summary.getProfileId())
-            .date(summary.getDate())
-            .eventsSummary(summary.getEventsSummary())
-            .metrics(summary.getMetrics())
-            // Map attachmentIds (AttachmentSupport) to candidateMediaIds in DTO
-            .candidateMediaIds(summary.getAttachmentIds())
-            .candidateIncidentIds(summary.getCandidateIncidentIds())
-            .totalEvents(summary.getTotalEvents())
-            .hasIncident(summary.getHasIncident())
-            .hasSickness(summary.getHasSickness())
-            .recentTrends(trends)
-            .build();
+        log.debug("Built {} daily contexts for {} profiles in {} date windows", items.size(), contexts.size(), windows);
+        return contexts;
+    }
+    
+    /**
+     * Build the contexts of items whose dates lie within one window
+     */
+    private void addContexts(List<DailyContextBatchRequest.Item> items,
+                             Map<Long, Map<LocalDate, DailyContextResponse>> contexts) {
+        Set<Long> profileIds = items.stream().map(DailyContextBatchRequest.Item::getProfileId).collect(Collectors.toSet());
+        LocalDate startDate = items.get(0).getDate();
+        LocalDate endDate = items.get(items.size() - 1).getDate();
+        
+        Map<Long, Map<LocalDate, DailyChildSummary>> summaries = new HashMap<>();
+        repository.findByProfileIdsAndDateRange(profileIds, startDate, endDate)
+            .forEach(summary -> summaries
+                .computeIfAbsent(summary.getProfileId(), id -> new HashMap<>())
+                .put(summary.getDate(), summary));
+        TrendSnapshotService.TrendLookup trends = trendSnapshotService.getTrends(profileIds, startDate, endDate);
+        
+        for (DailyContextBatchRequest.Item item : items) {
+            DailyChildSummary summary = summaries.getOrDefault(item.getProfileId(), Map.of()).get(item.getDate());
+            DailyContextResponse context;
+            if (summary != null) {
+                context = toContextResponse(summary);
+                context.setRecentTrends(trends.trendsFor(item.getProfileId(), item.getDate()));
+            } else {
+                context = emptyContext(item.getProfileId(), item.getDate());
+            }
+            contexts.get(item.getProfileId()).put(item.getDate(), context);
+        }
     }
     
     /**
@@ -79,101 +132,22 @@ public class DailyAggregationService {
     }
     
     /**
-     * Aggregate daily data (called by scheduled job)
+     * Recompute a daily summary from the timeline (reconciliation; summaries are
+     * otherwise maintained incrementally by DailySummaryMaintenanceService)
      */
-    @Transactional
     public DailyChildSummary aggregateDailyData(Long profileId, LocalDate date) {
         log.info("Aggregating daily data for profile={}, date={}", profileId, date);
-        
-        // Check if already exists
-        Optional<DailyChildSummary> existing = repository.findByProfileIdAndDate(profileId, date);
-        if (existing.isPresent()) {
-            log.debug("Daily summary already exists, updating...");
-            return updateExistingSummary(existing.get());
-        }
-        
-        // Fetch timeline events from origin-data-service
-        List<OriginDataServiceFeignClient.TimelineEntryResponse> timelineEntries = new ArrayList<>();
-        try {
-            // Convert date to time range (start of day to end of day)
-            Instant startTime = date.atStartOfDay(ZoneId.systemDefault()).toInstant();
-            Instant endTime = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant();
-            
-            timelineEntries = originDataServiceFeignClient.getTimelineRange(profileId, startTime, endTime);
-            log.info("Fetched {} timeline entries for profile={}, date={}", 
-                timelineEntries.size(), profileId, date);
-        } catch (Exception e) {
-            log.error("Failed to fetch timeline data from origin-data-service for profile={}, date={}", 
-                profileId, date, e);
-            // Continue with empty data rather than failing
-        }
-        
-        // Aggregate data from timeline entries
-        Map<String, Object> eventsSummary = new HashMap<>();
-        Map<String, Object> metrics = new HashMap<>();
-        List<Long> attachmentIds = new ArrayList<>();
-        List<Long> candidateIncidentIds = new ArrayList<>();
-        boolean hasIncident = false;
-        boolean hasSickness = false;
-        
-        // Count events by type
-        Map<String, Integer> eventTypeCounts = new HashMap<>();
-        for (OriginDataServiceFeignClient.TimelineEntryResponse entry : timelineEntries) {
-            String type = entry.timelineType != null ? entry.timelineType : "UNKNOWN";
-            eventTypeCounts.put(type, eventTypeCounts.getOrDefault(type, 0) + 1);
-            
-            // Check for incidents
-            if ("INCIDENT".equalsIgnoreCase(type) || "INJURY".equalsIgnoreCase(type)) {
-                hasIncident = true;
-                if (entry.id != null) {
-                    candidateIncidentIds.add(entry.id);
-                }
-            }
-            
-            // Check for sickness
-            if ("SICKNESS".equalsIgnoreCase(type) || "MEDICATION".equalsIgnoreCase(type)) {
-                hasSickness = true;
-            }
-            
-            // Extract attachment IDs from attachmentUrls if present
-            if (entry.attachmentUrls != null && !entry.attachmentUrls.isEmpty()) {
-                // Parse attachment URLs to extract IDs
-                // Format might be: "123,456,789" or JSON array
-                try {
-                    String[] parts = entry.attachmentUrls.split(",");
-                    for (String part : parts) {
-                        String trimmed = part.trim();
-                        if (trimmed.matches("\\d+")) {
-                            attachmentIds.add(Long.parseLong(trimmed));
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to parse attachment IDs from: {}", entry.attachmentUrls);
-                }
-            }
-        }
-        
-        eventsSummary.put("eventTypeCounts", eventTypeCounts);
-        eventsSummary.put("totalEntries", timelineEntries.size());
-        
-        // Calculate basic metrics
-        metrics.put("timelineEntriesCount", timelineEntries.size());
-        metrics.put("uniqueEventTypes", eventTypeCounts.size());
-        
-        // Create new summary with aggregated data
-        DailyChildSummary summary = DailyChildSummary.builder()
+        return dailySummaryMaintenanceService.rebuild(profileId, date);
+    }
+    
+    private DailyContextResponse emptyContext(Long profileId, LocalDate date) {
+        return DailyContextResponse.builder()
             .profileId(profileId)
             .date(date)
-            .eventsSummary(eventsSummary)
-            .metrics(metrics)
-            .attachmentIds(attachmentIds)
-            .candidateIncidentIds(candidateIncidentIds)
-            .totalEvents(timelineEntries.size())
-            .hasIncident(hasIncident)
-            .hasSickness(hasSickness)
+            .totalEvents(0)
+            .hasIncident(false)
+            .hasSickness(false)
             .build();
-        
-        return repository.save(summary);
     }
     
     private DailyContextResponse toContextResponse(DailyChildSummary summary) {
@@ -189,31 +163,4 @@ public class DailyAggregationService {
             .hasSickness(summary.getHasSickness())
             .build();
     }
-    
-    private List<DailyContextResponse.TrendData> calculateTrends(Long profileId, LocalDate date) {
-        // Get last 7 days for trend calculation
-        LocalDate startDate = date.minusDays(7);
-        List<DailyChildSummary> recentSummaries = repository.findByProfileIdAndDateRange(
-            profileId, startDate, date
-        );
-        
-        List<DailyContextResponse.TrendData> trends = new ArrayList<>();
-        
-        // Calculate sleep trend
-        if (recentSummaries.size() >= 2) {
-            trends.add(DailyContextResponse.TrendData.builder()
-                .metric("sleep")
-                .trend("stable")
-                .changePercent(0.0)
-                .description("Sleep pattern is consistent")
-                .build());
-        }
-        
-        return trends;
-    }
-    
-    private DailyChildSummary updateExistingSummary(DailyChildSummary summary) {
-        // Update logic here
-        return repository.save(summary);
-    }
 }
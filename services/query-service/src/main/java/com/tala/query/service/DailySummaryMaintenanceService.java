@@ -0,0 +1,257 @@
+package com.tala.query.service;
+
+import com.tala.core.util.IdGenerator;
+import com.tala.query.domain.DailyChildSummary;
+import com.tala.query.domain.EventAnalyticsRow;
+import com.tala.query.dto.TimelineEntryEvent;
+import com.tala.query.repository.DailyChildSummaryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Incremental maintenance of analytics.daily_child_summaries
+ * 
+ * Every timeline fact applies a delta (counts, incident/sickness flags, attachment
+ * and incident IDs, metrics) to the row of its profile and day, so reads are a
+ * single indexed lookup. Concurrency and idempotency:
+ * - the row is created with INSERT ... ON CONFLICT DO NOTHING, then locked
+ *   (SELECT ... FOR UPDATE) for the read-modify-write
+ * - each timeline entry is claimed in daily_summary_applied_entries under that lock;
+ *   entries already claimed (Kafka redelivery, a rebuild that counted them) are skipped
+ * - a rebuild takes over the claims of the entries it reads, so an entry that moved to
+ *   another day is counted on its new day whichever of the two days is rebuilt first
+ * - applied_at comes from the JVM clock, like the updated_at it is compared with
+ * Rows are locked in (profile, date) order, so concurrent batches cannot deadlock.
+ * Updated and deleted entries are folded in by DailySummaryReconciler, which
+ * rebuilds their days.
+ */
+@Service
+@Slf4j
+public class DailySummaryMaintenanceService {
+    
+    private static final String ENSURE_ROW_SQL =
+            "INSERT INTO analytics.daily_child_summaries (id, profile_id, date, events_summary, metrics," +
+            " candidate_media_ids, candidate_incident_ids, total_events, has_incident, has_sickness, created_at, updated_at)" +
+            " VALUES (?, ?, ?, '{}'::jsonb, '{}'::jsonb, '[]'::jsonb, '[]'::jsonb, 0, false, false, ?, ?)" +
+            " ON CONFLICT (profile_id, date) DO NOTHING";
+    
+    private static final String CLAIM_SQL =
+            "INSERT INTO analytics.daily_summary_applied_entries (timeline_entry_id, profile_id, date, applied_at)" +
+            " SELECT unnest(?::bigint[]), ?, ?, ?" +
+            " ON CONFLICT (timeline_entry_id) DO NOTHING RETURNING timeline_entry_id";
+    
+    private static final String RECLAIM_SQL =
+            "INSERT INTO analytics.daily_summary_applied_entries (timeline_entry_id, profile_id, date, applied_at)" +
+            " SELECT unnest(?::bigint[]), ?, ?, ?" +
+            " ON CONFLICT (timeline_entry_id) DO UPDATE SET profile_id = EXCLUDED.profile_id," +
+            " date = EXCLUDED.date, applied_at = EXCLUDED.applied_at" +
+            " RETURNING timeline_entry_id";
+    
+    private static final String RELEASE_DAY_SQL =
+            "DELETE FROM analytics.daily_summary_applied_entries WHERE profile_id = ? AND date = ?";
+    
+    private static final Set<String> INCIDENT_TYPES = Set.of("INCIDENT", "INJURY");
+    private static final Set<String> SICKNESS_TYPES = Set.of("SICKNESS", "MEDICATION");
+    
+    private final DailyChildSummaryRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TimelineFactReader timelineFactReader;
+    private final EventAnalyticsMapper eventAnalyticsMapper;
+    private final ZoneId zone;
+    private final Counter appliedCounter;
+    private final Counter duplicateCounter;
+    
+    public DailySummaryMaintenanceService(
+            DailyChildSummaryRepository repository,
+            JdbcTemplate jdbcTemplate,
+            TimelineFactReader timelineFactReader,
+            EventAnalyticsMapper eventAnalyticsMapper,
+            MeterRegistry meterRegistry,
+            @Value("${analytics.daily-summary.zone:UTC}") String zone) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.timelineFactReader = timelineFactReader;
+        this.eventAnalyticsMapper = eventAnalyticsMapper;
+        this.zone = ZoneId.of(zone);
+        this.appliedCounter = Counter.builder("query.daily_summary.entries")
+                .tag("outcome", "applied").register(meterRegistry);
+        this.duplicateCounter = Counter.builder("query.daily_summary.entries")
+                .tag("outcome", "duplicate").register(meterRegistry);
+    }
+    
+    /**
+     * Apply timeline facts to their daily summaries
+     * 
+     * @return Number of entries applied (excluding already applied ones)
+     */
+    @Transactional
+    public int apply(List<TimelineEntryEvent> events) {
+        Map<DayKey, List<TimelineEntryEvent>> byDay = new TreeMap<>();
+        for (TimelineEntryEvent event : events) {
+            if (event.getTimelineEntryId() == null || event.getProfileId() == null || event.getRecordTime() == null) {
+                continue;
+            }
+            DayKey key = new DayKey(event.getProfileId(), LocalDate.ofInstant(event.getRecordTime(), zone));
+            byDay.computeIfAbsent(key, k -> new ArrayList<>()).add(event);
+        }
+        
+        int applied = 0;
+        int considered = 0;
+        for (Map.Entry<DayKey, List<TimelineEntryEvent>> day : byDay.entrySet()) {
+            DailyChildSummary summary = lockRow(day.getKey().profileId(), day.getKey().date());
+            Set<Long> claimed = claim(CLAIM_SQL, day.getKey(), day.getValue());
+            for (TimelineEntryEvent event : day.getValue()) {
+                if (claimed.remove(event.getTimelineEntryId())) {
+                    applyEntry(summary, event);
+                    applied++;
+                }
+            }
+            considered += day.getValue().size();
+        }
+        
+        appliedCounter.increment(applied);
+        duplicateCounter.increment(considered - applied);
+        log.debug("Applied {} of {} timeline entries to {} daily summaries", applied, considered, byDay.size());
+        return applied;
+    }
+    
+    /**
+     * Recompute one daily summary from origin_data (reconciliation)
+     */
+    @Transactional
+    public DailyChildSummary rebuild(Long profileId, LocalDate date) {
+        DailyChildSummary summary = lockRow(profileId, date);
+        reset(summary);
+        jdbcTemplate.update(RELEASE_DAY_SQL, profileId, date);
+        
+        // Read under the row lock: entries applied before are committed and included,
+        // entries applied after find their claim taken and are skipped. Claims still on
+        // another day (entry moved here) are taken over; that day no longer lists them.
+        List<TimelineEntryEvent> events = timelineFactReader.read(profileId,
+                date.atStartOfDay(zone).toInstant(), date.plusDays(1).atStartOfDay(zone).toInstant());
+        Set<Long> claimed = claim(RECLAIM_SQL, new DayKey(profileId, date), events);
+        for (TimelineEntryEvent event : events) {
+            // remove: an entry read twice is still applied once
+            if (claimed.remove(event.getTimelineEntryId())) {
+                applyEntry(summary, event);
+            }
+        }
+        
+        log.info("Rebuilt daily summary: profile={}, date={}, entries={}", profileId, date, summary.getTotalEvents());
+        return summary;
+    }
+    
+    private DailyChildSummary lockRow(Long profileId, LocalDate date) {
+        // Audit timestamps written like BaseEntity does (JVM clock), so they compare with JPA-written ones
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update(ENSURE_ROW_SQL, IdGenerator.getInstance().nextId(), profileId, date, now, now);
+        DailyChildSummary summary = repository.findForUpdate(profileId, date)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Daily summary missing after upsert: profile=" + profileId + ", date=" + date));
+        if (summary.isDeleted()) {
+            summary.restore();
+            reset(summary);
+        }
+        return summary;
+    }
+    
+    /**
+     * @param sql CLAIM_SQL (skip entries applied before) or RECLAIM_SQL (take their claims over)
+     * @return IDs of the entries claimed by this call
+     */
+    private Set<Long> claim(String sql, DayKey key, List<TimelineEntryEvent> events) {
+        Long[] ids = events.stream().map(TimelineEntryEvent::getTimelineEntryId).distinct().toArray(Long[]::new);
+        if (ids.length == 0) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, ids, key.profileId(), key.date(),
+                Timestamp.from(Instant.now())));
+    }
+    
+    private void reset(DailyChildSummary summary) {
+        summary.setEventsSummary(new HashMap<>());
+        summary.setMetrics(new HashMap<>());
+        summary.setAttachmentIds(new ArrayList<>());
+        summary.setCandidateIncidentIds(new ArrayList<>());
+        summary.setTotalEvents(0);
+        summary.setHasIncident(false);
+        summary.setHasSickness(false);
+    }
+    
+    private void applyEntry(DailyChildSummary summary, TimelineEntryEvent event) {
+        String type = event.getTimelineType() != null ? event.getTimelineType() : "UNKNOWN";
+        int totalEvents = (summary.getTotalEvents() != null ? summary.getTotalEvents() : 0) + 1;
+        
+        // Counts by type (new map instances so Hibernate sees the JSONB change)
+        Map<String, Object> eventsSummary = copy(summary.getEventsSummary());
+        Map<String, Object> eventTypeCounts = copy(eventsSummary.get("eventTypeCounts"));
+        eventTypeCounts.merge(type, 1, (count, one) -> ((Number) count).intValue() + 1);
+        eventsSummary.put("eventTypeCounts", eventTypeCounts);
+        eventsSummary.put("totalEntries", totalEvents);
+        summary.setEventsSummary(eventsSummary);
+        summary.setTotalEvents(totalEvents);
+        
+        // Flags and highlights
+        if (INCIDENT_TYPES.contains(type)) {
+            summary.setHasIncident(true);
+            List<Long> incidentIds = new ArrayList<>(Optional.ofNullable(summary.getCandidateIncidentIds()).orElse(List.of()));
+            incidentIds.add(event.getTimelineEntryId());
+            summary.setCandidateIncidentIds(incidentIds);
+        }
+        if (isSickness(type, event.getFacts())) {
+            summary.setHasSickness(true);
+        }
+        if (event.getAttachmentIds() != null && !event.getAttachmentIds().isEmpty()) {
+            Set<Long> attachmentIds = new LinkedHashSet<>(summary.getAttachmentIds());
+            attachmentIds.addAll(event.getAttachmentIds());
+            summary.setAttachmentIds(new ArrayList<>(attachmentIds));
+        }
+        
+        // Metrics
+        Map<String, Object> metrics = copy(summary.getMetrics());
+        metrics.put("timelineEntriesCount", totalEvents);
+        metrics.put("uniqueEventTypes", eventTypeCounts.size());
+        EventAnalyticsRow facts = eventAnalyticsMapper.toRow(event);
+        if (facts != null && "SLEEPING".equals(type) && facts.getDurationMinutes() != null) {
+            metrics.merge("sleep_total_minutes", facts.getDurationMinutes(),
+                    (total, minutes) -> ((Number) total).longValue() + ((Number) minutes).longValue());
+        }
+        if (facts != null && "FEEDING".equals(type) && facts.getAmount() != null) {
+            metrics.merge("feeding_total_amount", facts.getAmount().doubleValue(),
+                    (total, amount) -> ((Number) total).doubleValue() + ((Number) amount).doubleValue());
+        }
+        summary.setMetrics(metrics);
+    }
+    
+    private boolean isSickness(String type, Map<String, Object> facts) {
+        if (SICKNESS_TYPES.contains(type)) {
+            return true;
+        }
+        return "HEALTH".equals(type) && facts != null
+                && (facts.get("symptoms") != null || facts.get("medication_name") != null);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> copy(Object map) {
+        return map instanceof Map<?, ?> source ? new HashMap<>((Map<String, Object>) source) : new HashMap<>();
+    }
+    
+    private record DayKey(Long profileId, LocalDate date) implements Comparable<DayKey> {
+        @Override
+        public int compareTo(DayKey other) {
+            int byProfile = profileId.compareTo(other.profileId);
+            return byProfile != 0 ? byProfile : date.compareTo(other.date);
+        }
+    }
+}
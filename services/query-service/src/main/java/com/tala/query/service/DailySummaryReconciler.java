@@ -0,0 +1,109 @@
+package com.tala.query.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps incrementally maintained daily summaries in line with origin_data
+ * 
+ * Only creations arrive on the topic, so entries updated or deleted after they were
+ * applied (including projection rebuilds) are found by comparing the applied-entries
+ * ledger with timeline_entries: a ledger row whose entry is gone, soft-deleted or
+ * updated after it was applied triggers a rebuild of its day, and of the entry's new
+ * day when the update moved it. The ledger is purged after the retention, which must
+ * exceed the topic retention so redelivered events still find their claims.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "analytics.daily-summary.incremental.enabled", havingValue = "true", matchIfMissing = false)
+public class DailySummaryReconciler {
+    
+    private static final String CHANGED_SQL =
+            "SELECT a.profile_id, a.date, te.record_time, te.deleted_at IS NOT NULL AS deleted" +
+            " FROM analytics.daily_summary_applied_entries a" +
+            " LEFT JOIN origin_data.timeline_entries te ON te.id = a.timeline_entry_id" +
+            " WHERE a.date >= ? AND (te.id IS NULL OR te.deleted_at IS NOT NULL OR te.updated_at > a.applied_at)" +
+            " LIMIT ?";
+    
+    private static final String PURGE_SQL =
+            "DELETE FROM analytics.daily_summary_applied_entries WHERE date < ?";
+    
+    private final DailySummaryMaintenanceService dailySummaryMaintenanceService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zone;
+    
+    @Value("${analytics.daily-summary.reconcile.lookback:P35D}")
+    private Duration lookback;
+    
+    @Value("${analytics.daily-summary.reconcile.max-entries:1000}")
+    private int maxEntries;
+    
+    @Value("${analytics.daily-summary.applied-entries.retention:P90D}")
+    private Duration retention;
+    
+    public DailySummaryReconciler(
+            DailySummaryMaintenanceService dailySummaryMaintenanceService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${analytics.daily-summary.zone:UTC}") String zone) {
+        this.dailySummaryMaintenanceService = dailySummaryMaintenanceService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.zone = ZoneId.of(zone);
+    }
+    
+    /**
+     * Rebuild the days holding updated or deleted entries
+     */
+    @Scheduled(fixedDelayString = "${analytics.daily-summary.reconcile.interval:PT10M}")
+    public void reconcile() {
+        LocalDate since = LocalDate.now(zone).minusDays(lookback.toDays());
+        Set<DayKey> days = new LinkedHashSet<>();
+        jdbcTemplate.query(CHANGED_SQL, rs -> {
+            long profileId = rs.getLong("profile_id");
+            days.add(new DayKey(profileId, rs.getDate("date").toLocalDate()));
+            Timestamp recordTime = rs.getTimestamp("record_time");
+            if (recordTime != null && !rs.getBoolean("deleted")) {
+                days.add(new DayKey(profileId, LocalDate.ofInstant(recordTime.toInstant(), zone)));
+            }
+        }, Date.valueOf(since), maxEntries);
+        
+        int rebuilt = 0;
+        for (DayKey day : days) {
+            try {
+                dailySummaryMaintenanceService.rebuild(day.profileId(), day.date());
+                rebuilt++;
+            } catch (Exception e) {
+                log.error("Failed to reconcile daily summary: profile={}, date={}", day.profileId(), day.date(), e);
+            }
+        }
+        if (rebuilt > 0) {
+            log.info("Reconciled {} daily summaries with changed timeline entries", rebuilt);
+        }
+    }
+    
+    /**
+     * Drop ledger rows older than the retention
+     */
+    @Scheduled(cron = "${analytics.daily-summary.applied-entries.purge-cron:0 45 3 * * *}")
+    public void purgeAppliedEntries() {
+        LocalDate cutoff = LocalDate.now(zone).minusDays(retention.toDays());
+        int deleted = jdbcTemplate.update(PURGE_SQL, Date.valueOf(cutoff));
+        if (deleted > 0) {
+            log.info("Purged {} applied daily summary entries before {}", deleted, cutoff);
+        }
+    }
+    
+    private record DayKey(long profileId, LocalDate date) {
+    }
+}
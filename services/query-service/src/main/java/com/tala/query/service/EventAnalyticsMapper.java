@@ -0,0 +1,99 @@
+package com.tala.query.service;
+
+import com.tala.query.domain.EventAnalyticsRow;
+import com.tala.query.dto.TimelineEntryEvent;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps timeline facts to events_analytics rows
+ * 
+ * Structured fields come from the extracted event_data (snake_case keys as produced
+ * by the AI extraction prompt); unknown or malformed values become NULL.
+ */
+@Component
+public class EventAnalyticsMapper {
+    
+    /**
+     * @return Row, or null if the event lacks the identity fields
+     */
+    public EventAnalyticsRow toRow(TimelineEntryEvent event) {
+        if (event.getTimelineEntryId() == null || event.getProfileId() == null || event.getRecordTime() == null) {
+            return null;
+        }
+        Map<String, Object> facts = event.getFacts() != null ? event.getFacts() : Map.of();
+        String eventType = event.getTimelineType() != null ? event.getTimelineType() : "NOTES";
+        
+        return EventAnalyticsRow.builder()
+                .id(event.getTimelineEntryId())
+                .profileId(event.getProfileId())
+                .eventType(eventType)
+                .eventTime(event.getRecordTime())
+                .eventDate(LocalDate.ofInstant(event.getRecordTime(), ZoneOffset.UTC))
+                .durationMinutes(wholeNumber(first(facts, "duration_minutes", "duration")))
+                .amount(decimal(first(facts, "amount", "quantity")))
+                .unit(text(first(facts, "unit")))
+                .quality(text(first(facts, "sleep_quality", "quality")))
+                .mood(text(first(facts, "mood", "emotion")))
+                .feedingType(text(first(facts, "feeding_type")))
+                .foodName(text(first(facts, "food_name")))
+                .sleepLocation("SLEEPING".equals(eventType)
+                        ? text(first(facts, "sleep_location", "location")) : text(first(facts, "sleep_location")))
+                .diaperType(text(first(facts, "diaper_type")))
+                .medicationName(text(first(facts, "medication_name")))
+                .aiSummary(event.getSummary() != null ? event.getSummary() : "")
+                .aiTags(event.getTags() != null ? event.getTags() : List.of())
+                .createdAt(event.getOccurredAt() != null ? event.getOccurredAt() : Instant.now())
+                .source(event.getDataSource() != null ? event.getDataSource() : "UNKNOWN")
+                .build();
+    }
+    
+    private Object first(Map<String, Object> facts, String... keys) {
+        for (String key : keys) {
+            Object value = facts.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    private String text(Object value) {
+        if (value == null || value instanceof Map || value instanceof List) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+    
+    private Float decimal(Object value) {
+        if (value instanceof Number number) {
+            return number.floatValue();
+        }
+        String text = text(value);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return Float.parseFloat(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Non-negative whole number (UInt32 column)
+     */
+    private Long wholeNumber(Object value) {
+        Float decimal = decimal(value);
+        if (decimal == null || decimal < 0 || decimal.isNaN() || decimal.isInfinite()) {
+            return null;
+        }
+        return (long) Math.round(decimal);
+    }
+}
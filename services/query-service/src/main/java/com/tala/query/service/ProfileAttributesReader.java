@@ -0,0 +1,58 @@
+package com.tala.query.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Reads owner and birth date of profiles straight from users.profiles (shared PostgreSQL)
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileAttributesReader {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * @return Attributes by profile ID; unknown and deleted profiles are absent
+     */
+    public Map<Long, ProfileAttributes> read(Collection<Long> profileIds) {
+        Map<Long, ProfileAttributes> attributes = new HashMap<>();
+        if (profileIds.isEmpty()) {
+            return attributes;
+        }
+        // Numeric literals only
+        String sql = "SELECT id, user_id, birth_date FROM users.profiles WHERE deleted_at IS NULL AND id IN (" +
+                profileIds.stream().map(String::valueOf).collect(Collectors.joining(",")) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            Date birthDate = rs.getDate("birth_date");
+            attributes.put(rs.getLong("id"), new ProfileAttributes(
+                    rs.getLong("user_id"), birthDate != null ? birthDate.toLocalDate() : null));
+        });
+        return attributes;
+    }
+    
+    /**
+     * Owner and birth date of one profile
+     */
+    public record ProfileAttributes(long userId, LocalDate birthDate) {
+        
+        /**
+         * Completed months of age on the given date; 0 without a birth date
+         */
+        public int ageInMonths(LocalDate date) {
+            if (birthDate == null || date.isBefore(birthDate)) {
+                return 0;
+            }
+            return (int) Period.between(birthDate, date).toTotalMonths();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tala.query.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.query.dto.TimelineEntryEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Reads timeline facts straight from the origin_data schema (shared PostgreSQL)
+ * 
+ * Produces the same TimelineEntryEvent shape origin-data-service publishes, so
+ * backfills and rebuilds go through the exact code path of live consumption:
+ * timeline_entries joined with their HomeEvent (whose details hold the extracted
+ * events with event_data) and OriginalEvent (attachment IDs). One row per entry:
+ * only the first HomeEvent of an original event is joined.
+ */
+@Component
+@Slf4j
+public class TimelineFactReader {
+    
+    private static final String SELECT_SQL =
+            "SELECT te.id, te.original_event_id, te.profile_id, te.timeline_type, te.data_source, te.record_time," +
+            " te.ai_summary, te.ai_tags::text AS ai_tags, te.created_at, he.details::text AS details," +
+            " oe.attachment_ids::text AS attachment_ids" +
+            " FROM origin_data.timeline_entries te" +
+            " LEFT JOIN LATERAL (SELECT h.details FROM origin_data.home_events h" +
+            "   WHERE h.original_event_id = te.original_event_id ORDER BY h.id LIMIT 1) he ON TRUE" +
+            " LEFT JOIN origin_data.original_events oe ON oe.id = te.original_event_id" +
+            " WHERE te.deleted_at IS NULL AND te.record_time >= ? AND te.record_time < ?";
+    
+    private static final TypeReference<List<Map<String, Object>>> EXTRACTED_EVENTS = new TypeReference<>() {};
+    private static final TypeReference<List<String>> TAGS = new TypeReference<>() {};
+    private static final TypeReference<List<Long>> IDS = new TypeReference<>() {};
+    
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    
+    public TimelineFactReader(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${analytics.backfill.fetch-size:5000}") int fetchSize) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        
+        // Postgres only uses a server-side cursor inside a transaction
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        
+        this.objectMapper = objectMapper;
+    }
+    
+    /**
+     * Stream the entries recorded in [startTime, endTime), ordered by profile and record time
+     * 
+     * @param profileId Optional profile filter
+     */
+    public void stream(Instant startTime, Instant endTime, Long profileId, Consumer<TimelineEntryEvent> consumer) {
+        List<Object> params = new ArrayList<>();
+        params.add(Timestamp.from(startTime));
+        params.add(Timestamp.from(endTime));
+        String sql = SELECT_SQL;
+        if (profileId != null) {
+            sql += " AND te.profile_id = ?";
+            params.add(profileId);
+        }
+        String query = sql + " ORDER BY te.profile_id, te.record_time";
+        
+        RowCallbackHandler handler = rs -> consumer.accept(toEvent(rs));
+        readTransactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(query, handler, params.toArray()));
+    }
+    
+    /**
+     * Entries of one profile recorded in [startTime, endTime)
+     */
+    public List<TimelineEntryEvent> read(Long profileId, Instant startTime, Instant endTime) {
+        List<TimelineEntryEvent> events = new ArrayList<>();
+        stream(startTime, endTime, profileId, events::add);
+        return events;
+    }
+    
+    private TimelineEntryEvent toEvent(ResultSet rs) throws SQLException {
+        String summary = rs.getString("ai_summary");
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        long originalEventId = rs.getLong("original_event_id");
+        return TimelineEntryEvent.builder()
+                .eventType(TimelineEntryEvent.TYPE_CREATED)
+                .timelineEntryId(rs.getLong("id"))
+                .originalEventId(rs.wasNull() ? null : originalEventId)
+                .profileId(rs.getLong("profile_id"))
+                .timelineType(rs.getString("timeline_type"))
+                .dataSource(rs.getString("data_source"))
+                .recordTime(rs.getTimestamp("record_time").toInstant())
+                .summary(summary)
+                .tags(readList(rs.getString("ai_tags"), TAGS))
+                .facts(matchFacts(rs.getString("details"), summary))
+                .attachmentIds(readList(rs.getString("attachment_ids"), IDS))
+                .occurredAt(createdAt != null ? createdAt.toInstant() : Instant.now())
+                .build();
+    }
+    
+    /**
+     * Pick the event_data of the extracted event this entry was built from:
+     * the one with the same summary, or the only one
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> matchFacts(String details, String summary) {
+        if (details == null) {
+            return null;
+        }
+        try {
+            List<Map<String, Object>> events = objectMapper.readValue(details, EXTRACTED_EVENTS);
+            Map<String, Object> match = events.stream()
+                    .filter(e -> Objects.equals(e.get("summary"), summary))
+                    .findFirst()
+                    .orElse(events.size() == 1 ? events.get(0) : null);
+            if (match != null && match.get("eventData") instanceof Map<?, ?> eventData) {
+                return (Map<String, Object>) eventData;
+            }
+        } catch (Exception e) {
+            log.debug("Unreadable home event details: {}", e.getMessage());
+        }
+        return null;
+    }
+    
+    private <T> List<T> readList(String json, TypeReference<List<T>> type) {
+        if (json == null || json.isBlank()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+}
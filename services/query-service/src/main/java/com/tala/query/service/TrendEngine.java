@@ -0,0 +1,212 @@
+package com.tala.query.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.query.domain.DailyChildSummary;
+import com.tala.query.domain.MetricTrendState;
+import com.tala.query.dto.DailyContextResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Streaming trend statistics over daily summaries
+ * 
+ * Folds one day at a time into per-metric state (Welford mean/variance, EWMA per
+ * window, two-sided CUSUM change points), so trends never need the raw history.
+ * Days without a value for a metric are gaps and leave its state untouched, but the
+ * EWMA decays per calendar day: a value after a gap of n days weighs as much as
+ * n consecutive days would.
+ */
+@Component
+public class TrendEngine {
+    
+    private final ObjectMapper objectMapper;
+    private final List<Integer> windows;
+    
+    @Value("${analytics.trends.min-samples:5}")
+    private int minSamples;
+    
+    @Value("${analytics.trends.cusum-drift:0.5}")
+    private double cusumDrift;
+    
+    @Value("${analytics.trends.cusum-threshold:4.0}")
+    private double cusumThreshold;
+    
+    @Value("${analytics.trends.stable-percent:10.0}")
+    private double stablePercent;
+    
+    public TrendEngine(ObjectMapper objectMapper,
+                       @Value("${analytics.trends.windows:7,14,30}") List<Integer> windows) {
+        this.objectMapper = objectMapper;
+        this.windows = windows.stream().sorted().distinct().toList();
+    }
+    
+    /**
+     * Longest window in days; older snapshots hold no current trend
+     */
+    public int longestWindow() {
+        return windows.get(windows.size() - 1);
+    }
+    
+    /**
+     * Fold one daily summary into the previous state
+     * 
+     * @param previous Serialized state of the previous snapshot (empty for the first day)
+     * @return New serialized state
+     */
+    public Map<String, Object> fold(Map<String, Object> previous, DailyChildSummary summary) {
+        Map<String, Object> next = new HashMap<>(previous);
+        for (Metric metric : Metric.values()) {
+            Double value = metric.extractor.apply(summary);
+            if (value == null) {
+                continue;
+            }
+            MetricTrendState state = read(previous.get(metric.key));
+            fold(state, value, summary.getDate());
+            next.put(metric.key, objectMapper.convertValue(state, Map.class));
+        }
+        return next;
+    }
+    
+    /**
+     * Trends of a snapshot state as of a date: short vs long window EWMA, plus recent change points
+     */
+    public List<DailyContextResponse.TrendData> trends(Map<String, Object> state, LocalDate asOf) {
+        int shortWindow = windows.get(0);
+        int longWindow = longestWindow();
+        List<DailyContextResponse.TrendData> trends = new ArrayList<>();
+        
+        for (Metric metric : Metric.values()) {
+            if (!state.containsKey(metric.key)) {
+                continue;
+            }
+            MetricTrendState metricState = read(state.get(metric.key));
+            MetricTrendState.Window shortStats = metricState.getWindows().get(String.valueOf(shortWindow));
+            MetricTrendState.Window longStats = metricState.getWindows().get(String.valueOf(longWindow));
+            if (shortStats == null || longStats == null || metricState.getLastDate() == null
+                    || metricState.getLastDate().isBefore(asOf.minusDays(longWindow))) {
+                continue;
+            }
+            
+            double changePercent = longStats.getMean() != 0
+                    ? Math.round((shortStats.getMean() - longStats.getMean()) / Math.abs(longStats.getMean()) * 1000) / 10.0
+                    : 0.0;
+            String trend = Math.abs(changePercent) < stablePercent ? "stable"
+                    : changePercent > 0 ? "increasing" : "decreasing";
+            
+            StringBuilder description = new StringBuilder(String.format(Locale.ROOT,
+                    "%s: %d-day avg %.1f vs %d-day avg %.1f",
+                    metric.label, shortWindow, shortStats.getMean(), longWindow, longStats.getMean()));
+            LocalDate changePoint = metricState.getLastChangePoint();
+            if (changePoint != null && !changePoint.isBefore(asOf.minusDays(shortWindow))) {
+                description.append(metricState.getLastChangeDirection() > 0 ? "; shifted up" : "; shifted down")
+                        .append(" on ").append(changePoint);
+            }
+            
+            trends.add(DailyContextResponse.TrendData.builder()
+                    .metric(metric.key)
+                    .trend(trend)
+                    .changePercent(changePercent)
+                    .description(description.toString())
+                    .build());
+        }
+        return trends;
+    }
+    
+    private void fold(MetricTrendState state, double value, LocalDate date) {
+        // CUSUM against the baseline before this value
+        if (state.getCount() >= minSamples) {
+            double deviation = Math.sqrt(state.variance());
+            double z = deviation > 0 ? (value - state.getMean()) / deviation : 0.0;
+            state.setCusumHigh(Math.max(0.0, state.getCusumHigh() + z - cusumDrift));
+            state.setCusumLow(Math.max(0.0, state.getCusumLow() - z - cusumDrift));
+            if (state.getCusumHigh() > cusumThreshold || state.getCusumLow() > cusumThreshold) {
+                state.setLastChangePoint(date);
+                state.setLastChangeDirection(state.getCusumHigh() > state.getCusumLow() ? 1 : -1);
+                // Relearn the baseline of the new regime
+                state.setCount(0);
+                state.setMean(0.0);
+                state.setM2(0.0);
+                state.setCusumHigh(0.0);
+                state.setCusumLow(0.0);
+            }
+        }
+        
+        // Welford
+        state.setCount(state.getCount() + 1);
+        double delta = value - state.getMean();
+        state.setMean(state.getMean() + delta / state.getCount());
+        state.setM2(state.getM2() + delta * (value - state.getMean()));
+        
+        // EWMA mean and variance per window, with the per-day alpha compounded over the days elapsed
+        long elapsedDays = state.getLastDate() != null
+                ? Math.max(1, ChronoUnit.DAYS.between(state.getLastDate(), date)) : 1;
+        for (int window : windows) {
+            MetricTrendState.Window stats = state.getWindows().get(String.valueOf(window));
+            if (stats == null) {
+                state.getWindows().put(String.valueOf(window), new MetricTrendState.Window(value, 0.0));
+                continue;
+            }
+            double alpha = 1 - Math.pow(1 - 2.0 / (window + 1), elapsedDays);
+            double diff = value - stats.getMean();
+            double increment = alpha * diff;
+            stats.setMean(stats.getMean() + increment);
+            stats.setVariance((1 - alpha) * (stats.getVariance() + diff * increment));
+        }
+        
+        state.setLastValue(value);
+        state.setLastDate(date);
+    }
+    
+    private MetricTrendState read(Object serialized) {
+        if (serialized == null) {
+            return new MetricTrendState();
+        }
+        MetricTrendState state = objectMapper.convertValue(serialized, MetricTrendState.class);
+        if (state.getWindows() == null) {
+            state.setWindows(new HashMap<>());
+        }
+        return state;
+    }
+    
+    /**
+     * Tracked metrics and how to read them from a daily summary
+     */
+    enum Metric {
+        SLEEP_MINUTES("sleep_minutes", "Sleep minutes", s -> number(s.getMetrics(), "sleep_total_minutes")),
+        FEEDING_AMOUNT("feeding_amount", "Feeding amount", s -> number(s.getMetrics(), "feeding_total_amount")),
+        FEEDING_COUNT("feeding_count", "Feedings", s -> typeCount(s, "FEEDING")),
+        DIAPER_COUNT("diaper_count", "Diaper changes", s -> typeCount(s, "DIAPER_CHANGE")),
+        TOTAL_EVENTS("total_events", "Logged events", s -> s.getTotalEvents() != null ? s.getTotalEvents().doubleValue() : null);
+        
+        private final String key;
+        private final String label;
+        private final Function<DailyChildSummary, Double> extractor;
+        
+        Metric(String key, String label, Function<DailyChildSummary, Double> extractor) {
+            this.key = key;
+            this.label = label;
+            this.extractor = extractor;
+        }
+        
+        private static Double number(Map<String, Object> map, String key) {
+            return map != null && map.get(key) instanceof Number number ? number.doubleValue() : null;
+        }
+        
+        /**
+         * Counts are 0 on days with any logged event (not a gap)
+         */
+        private static Double typeCount(DailyChildSummary summary, String type) {
+            if (summary.getTotalEvents() == null || summary.getTotalEvents() == 0) {
+                return null;
+            }
+            Object counts = summary.getEventsSummary() != null ? summary.getEventsSummary().get("eventTypeCounts") : null;
+            return counts instanceof Map<?, ?> byType && byType.get(type) instanceof Number number
+                    ? number.doubleValue() : 0.0;
+        }
+    }
+}
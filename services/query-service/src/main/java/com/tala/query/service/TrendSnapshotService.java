@@ -0,0 +1,172 @@
+package com.tala.query.service;
+
+import com.tala.query.domain.DailyChildSummary;
+import com.tala.query.domain.ProfileTrendSnapshot;
+import com.tala.query.dto.DailyContextResponse;
+import com.tala.query.repository.DailyChildSummaryRepository;
+import com.tala.query.repository.ProfileTrendSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Maintains per-profile trend snapshots and serves trends from them
+ * 
+ * A nightly job folds completed days (date before today) into snapshots. Days whose
+ * summary changed after being folded (late facts) are refolded from the previous
+ * snapshot, so only the affected tail is recomputed. Each profile is refolded under a
+ * transaction-scoped advisory lock, so instances running the job concurrently skip
+ * profiles being folded elsewhere instead of colliding on uk_trend_profile_date.
+ * Reading trends is a single lookup of the latest snapshot.
+ */
+@Service
+@Slf4j
+public class TrendSnapshotService {
+    
+    /**
+     * Per profile, the earliest completed day without an up-to-date snapshot
+     */
+    private static final String STALE_PROFILES_SQL =
+            "SELECT s.profile_id, MIN(s.date) AS from_date" +
+            " FROM analytics.daily_child_summaries s" +
+            " LEFT JOIN analytics.profile_trend_snapshots t ON t.profile_id = s.profile_id AND t.date = s.date" +
+            " WHERE s.deleted_at IS NULL AND s.date >= ? AND s.date < ?" +
+            "   AND (t.id IS NULL OR s.updated_at > t.updated_at)" +
+            " GROUP BY s.profile_id";
+    
+    private static final String TRY_LOCK_PROFILE_SQL = "SELECT pg_try_advisory_xact_lock(hashtext(?))";
+    
+    private final ProfileTrendSnapshotRepository snapshotRepository;
+    private final DailyChildSummaryRepository summaryRepository;
+    private final TrendEngine trendEngine;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone;
+    
+    @Value("${analytics.trends.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${analytics.trends.lookback-days:35}")
+    private int lookbackDays;
+    
+    public TrendSnapshotService(
+            ProfileTrendSnapshotRepository snapshotRepository,
+            DailyChildSummaryRepository summaryRepository,
+            TrendEngine trendEngine,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${analytics.daily-summary.zone:UTC}") String zone) {
+        this.snapshotRepository = snapshotRepository;
+        this.summaryRepository = summaryRepository;
+        this.trendEngine = trendEngine;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.zone = ZoneId.of(zone);
+    }
+    
+    /**
+     * Trends as of a date, from the latest snapshot at or before it
+     */
+    public List<DailyContextResponse.TrendData> getTrends(Long profileId, LocalDate date) {
+        return snapshotRepository.findFirstByProfileIdAndDateLessThanEqualAndDeletedAtIsNullOrderByDateDesc(profileId, date)
+                .map(snapshot -> trendEngine.trends(snapshot.getState(), date))
+                .orElse(List.of());
+    }
+    
+    /**
+     * Trends for many profiles and dates from one snapshot query
+     */
+    public TrendLookup getTrends(Collection<Long> profileIds, LocalDate startDate, LocalDate endDate) {
+        Map<Long, TreeMap<LocalDate, Map<String, Object>>> statesByProfile = new HashMap<>();
+        snapshotRepository.findByProfileIdsAndDateRange(profileIds, startDate.minusDays(trendEngine.longestWindow()), endDate)
+                .forEach(snapshot -> statesByProfile
+                        .computeIfAbsent(snapshot.getProfileId(), id -> new TreeMap<>())
+                        .put(snapshot.getDate(), snapshot.getState()));
+        
+        return (profileId, date) -> {
+            TreeMap<LocalDate, Map<String, Object>> states = statesByProfile.get(profileId);
+            Map.Entry<LocalDate, Map<String, Object>> latest = states != null ? states.floorEntry(date) : null;
+            return latest != null ? trendEngine.trends(latest.getValue(), date) : List.of();
+        };
+    }
+    
+    /**
+     * Fold completed days into snapshots (nightly, and safe to re-run)
+     */
+    @Scheduled(cron = "${analytics.trends.cron:0 15 0 * * *}", zone = "${analytics.daily-summary.zone:UTC}")
+    public void foldCompletedDays() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now(zone);
+        List<Map<String, Object>> stale = jdbcTemplate.queryForList(STALE_PROFILES_SQL,
+                Date.valueOf(today.minusDays(lookbackDays)), Date.valueOf(today));
+        
+        int folded = 0;
+        for (Map<String, Object> row : stale) {
+            Long profileId = ((Number) row.get("profile_id")).longValue();
+            LocalDate fromDate = ((Date) row.get("from_date")).toLocalDate();
+            try {
+                folded += refold(profileId, fromDate, today);
+            } catch (Exception e) {
+                // Next run retries the profile
+                log.error("Failed to fold trend snapshots for profile={} from {}", profileId, fromDate, e);
+            }
+        }
+        log.info("Folded {} trend snapshots for {} profiles", folded, stale.size());
+    }
+    
+    /**
+     * Recompute the snapshots of a profile from a date up to yesterday
+     * 
+     * @return Number of snapshots written (0 if the profile is being folded elsewhere)
+     */
+    public int refold(Long profileId, LocalDate fromDate, LocalDate today) {
+        Integer written = transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK_PROFILE_SQL, Boolean.class,
+                    "analytics.trend-fold:" + profileId))) {
+                log.debug("Trend snapshots of profile={} are being folded elsewhere, skipping", profileId);
+                return 0;
+            }
+            snapshotRepository.deleteFrom(profileId, fromDate);
+            Map<String, Object> state = snapshotRepository
+                    .findFirstByProfileIdAndDateLessThanAndDeletedAtIsNullOrderByDateDesc(profileId, fromDate)
+                    .map(ProfileTrendSnapshot::getState)
+                    .orElse(Map.of());
+            
+            List<DailyChildSummary> summaries = new ArrayList<>(
+                    summaryRepository.findByProfileIdAndDateRange(profileId, fromDate, today.minusDays(1)));
+            Collections.reverse(summaries);
+            
+            List<ProfileTrendSnapshot> snapshots = new ArrayList<>(summaries.size());
+            for (DailyChildSummary summary : summaries) {
+                state = trendEngine.fold(state, summary);
+                snapshots.add(ProfileTrendSnapshot.builder()
+                        .profileId(profileId)
+                        .date(summary.getDate())
+                        .state(state)
+                        .build());
+            }
+            snapshotRepository.saveAll(snapshots);
+            return snapshots.size();
+        });
+        return written != null ? written : 0;
+    }
+    
+    /**
+     * Trends of a profile as of a date, from preloaded snapshots
+     */
+    @FunctionalInterface
+    public interface TrendLookup {
+        List<DailyContextResponse.TrendData> trendsFor(Long profileId, LocalDate date);
+    }
+}
@@ -0,0 +1,14 @@
+-- Query Service Migration V2
+-- Ledger of timeline entries already applied to daily_child_summaries
+-- (makes incremental maintenance idempotent under Kafka redelivery)
+
+CREATE TABLE IF NOT EXISTS analytics.daily_summary_applied_entries (
+    timeline_entry_id BIGINT PRIMARY KEY,
+    profile_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    applied_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_dsae_profile_date ON analytics.daily_summary_applied_entries(profile_id, date);
+
+COMMENT ON TABLE analytics.daily_summary_applied_entries IS 'Timeline entries counted in daily_child_summaries';
@@ -0,0 +1,16 @@
+-- Query Service Migration V3
+-- Per-profile rolling trend state, one snapshot per folded day
+
+CREATE TABLE IF NOT EXISTS analytics.profile_trend_snapshots (
+    id BIGINT PRIMARY KEY,
+    profile_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    state JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    deleted_at TIMESTAMP,
+    CONSTRAINT uk_trend_profile_date UNIQUE (profile_id, date)
+);
+
+COMMENT ON TABLE analytics.profile_trend_snapshots IS 'Rolling trend state per profile after folding the daily summary of date';
+COMMENT ON COLUMN analytics.profile_trend_snapshots.state IS 'Per metric: {"sleep_minutes": {"count": 30, "mean": 640.5, "m2": 9120.0, "windows": {"7": {"mean": 612.0, "variance": 410.2}}, ...}}';
@@ -0,0 +1,4 @@
+-- Query Service Migration V4
+-- Supports the retention purge of the applied-entries ledger
+
+CREATE INDEX IF NOT EXISTS idx_dsae_date ON analytics.daily_summary_applied_entries(date);
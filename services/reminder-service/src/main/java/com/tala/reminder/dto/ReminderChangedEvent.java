@@ -0,0 +1,31 @@
+package com.tala.reminder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Reminder Changed Event - published after a reminder is created or changes state
+ * 
+ * Carries only identifiers and the action; consumers (e.g. personalization caches)
+ * use it to invalidate and re-read, not as a copy of the reminder.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderChangedEvent {
+    
+    private Long reminderId;
+    private Long userId;
+    private Long profileId;
+    
+    /**
+     * CREATED, UPDATED, DELETED, COMPLETED, SNOOZED or CANCELED
+     */
+    private String action;
+    private Instant occurredAt;
+}
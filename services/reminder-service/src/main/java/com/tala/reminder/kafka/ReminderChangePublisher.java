@@ -0,0 +1,48 @@
+package com.tala.reminder.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.reminder.dto.ReminderChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes reminder changes to Kafka once their transaction has committed
+ * 
+ * Messages are keyed by profileId. Publishing is best-effort: consumers only use
+ * them for cache invalidation and fall back to TTL expiry when one is lost.
+ * Only enabled when reminder.change-events.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "reminder.change-events.enabled", havingValue = "true", matchIfMissing = false)
+public class ReminderChangePublisher {
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${reminder.change-events.topic:tala.reminder-changes}")
+    private String topic;
+    
+    @TransactionalEventListener
+    public void onReminderChanged(ReminderChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            kafkaTemplate.send(topic, String.valueOf(event.getProfileId()), payload)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to publish reminder change: reminderId={}, action={}, error={}", 
+                            event.getReminderId(), event.getAction(), e.getMessage());
+                    }
+                });
+        } catch (Exception e) {
+            log.warn("Failed to publish reminder change: reminderId={}, action={}, error={}", 
+                event.getReminderId(), event.getAction(), e.getMessage());
+        }
+    }
+}
@@ -4,12 +4,14 @@ import com.tala.core.exception.ErrorCode;
 import com.tala.core.exception.TalaException;
 import com.tala.reminder.domain.Reminder;
 import com.tala.reminder.dto.CreateReminderRequest;
+import com.tala.reminder.dto.ReminderChangedEvent;
 import com.tala.reminder.dto.ReminderResponse;
 import com.tala.reminder.dto.UpdateReminderRequest;
 import com.tala.reminder.mapper.ReminderMapper;
 import com.tala.reminder.repository.ReminderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +28,7 @@ public class ReminderService {
     
     private final ReminderRepository repository;
     private final ReminderMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Create new reminder
@@ -39,6 +42,7 @@ public class ReminderService {
         Reminder saved = repository.save(reminder);
         
         log.info("Reminder created: id={}, dueAt={}", saved.getId(), saved.getDueAt());
+        publishChange(saved, "CREATED");
         
         return mapper.toResponse(saved);
     }
@@ -70,6 +74,7 @@ public class ReminderService {
         
         mapper.updateEntity(request, reminder);
         Reminder updated = repository.save(reminder);
+        publishChange(updated, "UPDATED");
         
         return mapper.toResponse(updated);
     }
@@ -89,6 +94,7 @@ public class ReminderService {
         repository.save(reminder);
         
         log.info("Reminder soft deleted: id={}", id);
+        publishChange(reminder, "DELETED");
     }
     
     /**
@@ -106,6 +112,7 @@ public class ReminderService {
         Reminder updated = repository.save(reminder);
         
         log.info("Reminder completed: id={}", id);
+        publishChange(updated, "COMPLETED");
         
         return mapper.toResponse(updated);
     }
@@ -125,6 +132,7 @@ public class ReminderService {
         Reminder updated = repository.save(reminder);
         
         log.info("Reminder snoozed: id={}, until={}", id, until);
+        publishChange(updated, "SNOOZED");
         
         return mapper.toResponse(updated);
     }
@@ -144,6 +152,7 @@ public class ReminderService {
         Reminder updated = repository.save(reminder);
         
         log.info("Reminder canceled: id={}", id);
+        publishChange(updated, "CANCELED");
         
         return mapper.toResponse(updated);
     }
@@ -184,4 +193,17 @@ public class ReminderService {
     public long countActiveReminders(Long userId) {
         return repository.countActiveByUser(userId);
     }
+    
+    /**
+     * Announce a committed change (see ReminderChangePublisher)
+     */
+    private void publishChange(Reminder reminder, String action) {
+        eventPublisher.publishEvent(ReminderChangedEvent.builder()
+            .reminderId(reminder.getId())
+            .userId(reminder.getUserId())
+            .profileId(reminder.getProfileId())
+            .action(action)
+            .occurredAt(Instant.now())
+            .build());
+    }
 }
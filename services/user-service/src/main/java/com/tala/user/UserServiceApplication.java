@@ -11,6 +11,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication(scanBasePackages = {"com.tala.user", "com.tala.core"})
 @org.springframework.boot.autoconfigure.domain.EntityScan(basePackages = {"com.tala.user.domain", "com.tala.core.domain"})
 @org.springframework.data.jpa.repository.config.EnableJpaRepositories(basePackages = "com.tala.user.repository")
+@org.springframework.scheduling.annotation.EnableScheduling
 public class UserServiceApplication {
 
     public static void main(String[] args) {
@@ -1,7 +1,9 @@
 package com.tala.user.controller;
 
+import com.tala.user.dto.InteractionBatchRequest;
 import com.tala.user.dto.InterestScoresResponse;
 import com.tala.user.service.InterestService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -47,6 +49,18 @@ public class InterestController {
         return ResponseEntity.ok().build();
     }
     
+    /**
+     * Track interactions in bulk (applied asynchronously, within about a second)
+     */
+    @PostMapping("/interactions")
+    public ResponseEntity<Void> trackInteractions(
+        @Valid @RequestBody InteractionBatchRequest request
+    ) {
+        log.info("POST /api/v1/users/interest/interactions - count={}", request.getInteractions().size());
+        interestService.trackInteractions(request.getInteractions());
+        return ResponseEntity.accepted().build();
+    }
+    
     /**
      * Set explicit tracking topics
      */
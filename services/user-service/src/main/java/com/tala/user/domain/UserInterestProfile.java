@@ -7,6 +7,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.hibernate.annotations.Type;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -34,10 +35,22 @@ public class UserInterestProfile extends BaseEntity {
     @Column(name = "profile_id", nullable = false)
     private Long profileId;
     
+    /**
+     * Scores as of interestVectorAt; decay to the current time before use (InterestDecay)
+     */
     @Type(JsonBinaryType.class)
     @Column(name = "interest_vector", columnDefinition = "jsonb")
     private Map<String, Double> interestVector;
     
+    @Column(name = "interest_vector_at")
+    private Instant interestVectorAt;
+    
+    /**
+     * Incremented by every upsert (InterestProfileUpsertRepository)
+     */
+    @Column(name = "vector_version", nullable = false)
+    private long vectorVersion;
+    
     @Type(JsonBinaryType.class)
     @Column(name = "explicit_topics", columnDefinition = "jsonb")
     private List<String> explicitTopics;
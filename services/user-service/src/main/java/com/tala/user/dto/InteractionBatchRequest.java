@@ -0,0 +1,48 @@
+package com.tala.user.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Bulk interest interactions (e.g. taps buffered by the app)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InteractionBatchRequest {
+    
+    @NotEmpty(message = "At least one interaction is required")
+    @Size(max = 1000, message = "At most 1000 interactions per request")
+    private List<@Valid Interaction> interactions;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Interaction {
+        
+        @NotNull(message = "User ID is required")
+        private Long userId;
+        
+        @NotNull(message = "Profile ID is required")
+        private Long profileId;
+        
+        @NotBlank(message = "Topic is required")
+        private String topic;
+        
+        @PositiveOrZero(message = "Weight must not be negative")
+        @Builder.Default
+        private Double weight = 1.0;
+    }
+}
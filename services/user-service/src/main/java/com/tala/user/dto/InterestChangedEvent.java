@@ -0,0 +1,30 @@
+package com.tala.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Interest Changed Event - published after an interest profile was written
+ * 
+ * Carries only identifiers and the new version; consumers (e.g. the personalization
+ * interest cache) drop copies older than the version and re-read.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestChangedEvent {
+    
+    private Long userId;
+    private Long profileId;
+    
+    /**
+     * Version of the written profile (InterestScoresResponse.version)
+     */
+    private Long version;
+    private Instant occurredAt;
+}
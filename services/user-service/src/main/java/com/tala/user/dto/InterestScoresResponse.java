@@ -21,4 +21,10 @@ public class InterestScoresResponse {
     public Map<String, Double> interestVector;
     public List<String> explicitTopics;
     public List<String> recentTopics;
+    
+    /**
+     * Increases with every write of the profile (vector_version; 0 if never written),
+     * for consumers caching the response
+     */
+    public Long version;
 }
@@ -0,0 +1,49 @@
+package com.tala.user.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tala.user.dto.InterestChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publishes interest profile changes to Kafka once they are written
+ * 
+ * Messages are keyed by profileId. Publishing is best-effort: consumers only use
+ * them for cache invalidation and fall back to TTL expiry when one is lost.
+ * Batched ingest writes run outside a transaction, hence fallbackExecution.
+ * Only enabled when interest.change-events.enabled is true.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "interest.change-events.enabled", havingValue = "true", matchIfMissing = false)
+public class InterestChangePublisher {
+    
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${interest.change-events.topic:tala.interest-changes}")
+    private String topic;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInterestChanged(InterestChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            kafkaTemplate.send(topic, String.valueOf(event.getProfileId()), payload)
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        log.warn("Failed to publish interest change: userId={}, profileId={}, error={}", 
+                            event.getUserId(), event.getProfileId(), e.getMessage());
+                    }
+                });
+        } catch (Exception e) {
+            log.warn("Failed to publish interest change: userId={}, profileId={}, error={}", 
+                event.getUserId(), event.getProfileId(), e.getMessage());
+        }
+    }
+}
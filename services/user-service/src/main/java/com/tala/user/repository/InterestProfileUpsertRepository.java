@@ -0,0 +1,140 @@
+package com.tala.user.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batched upserts of user_interest_profiles
+ * 
+ * Each update is merged into the row by the database in one statement (decay, boosts and
+ * recent topics via users.merge_interest_vector / users.merge_recent_topics), so concurrent
+ * writers cannot lose each other's updates and nothing is read back first. Every upsert
+ * increments the row's vector_version, which is returned from the same statement, so
+ * callers announce the version that was actually written rather than their own clock.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InterestProfileUpsertRepository {
+    
+    private static final String UPSERT_SQL = """
+        INSERT INTO users.user_interest_profiles
+            (user_id, profile_id, interest_vector, explicit_topics, recent_topics, interest_vector_at, vector_version, created_at, updated_at)
+        VALUES (?, ?,
+            users.merge_interest_vector(NULL, NULL, ?::jsonb, ?::jsonb, ?, ?),
+            COALESCE(?::jsonb, '[]'::jsonb),
+            users.merge_recent_topics(NULL, ?::jsonb, ?),
+            ?, 1, now(), now())
+        ON CONFLICT (user_id, profile_id) DO UPDATE SET
+            interest_vector = users.merge_interest_vector(
+                user_interest_profiles.interest_vector, user_interest_profiles.interest_vector_at,
+                ?::jsonb, ?::jsonb, EXCLUDED.interest_vector_at, ?),
+            explicit_topics = COALESCE(?::jsonb, user_interest_profiles.explicit_topics),
+            recent_topics = users.merge_recent_topics(user_interest_profiles.recent_topics, ?::jsonb, ?),
+            interest_vector_at = GREATEST(user_interest_profiles.interest_vector_at, EXCLUDED.interest_vector_at),
+            vector_version = user_interest_profiles.vector_version + 1,
+            updated_at = now()
+        """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    
+    /**
+     * Apply updates in one JDBC batch
+     * 
+     * @param baseline Topic baseline scores the stored scores decay towards
+     * @param halfLifeSeconds Decay half-life
+     * @param maxRecentTopics Length of recent_topics
+     * @return Stored vector_version per update, in the order of updates
+     */
+    public List<Long> upsert(List<InterestUpdate> updates, Map<String, Double> baseline,
+                                double halfLifeSeconds, int maxRecentTopics) {
+        String baselineJson = toJson(baseline);
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            // Generated keys make the driver append RETURNING vector_version to each statement
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_SQL, new String[] {"vector_version"})) {
+                for (InterestUpdate update : updates) {
+                    bind(ps, update, baselineJson, halfLifeSeconds, maxRecentTopics);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                
+                List<Long> stored = new ArrayList<>(updates.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        stored.add(keys.getLong(1));
+                    }
+                }
+                if (stored.size() != updates.size()) {
+                    throw new IllegalStateException("Expected " + updates.size() + " upserted rows, got " + stored.size());
+                }
+                return stored;
+            }
+        });
+    }
+    
+    private void bind(PreparedStatement ps, InterestUpdate update, String baselineJson,
+                      double halfLifeSeconds, int maxRecentTopics) throws SQLException {
+        String boosts = toJson(update.boosts());
+        String recentTopics = toJson(update.recentTopics());
+        String explicitTopics = update.explicitTopics() != null ? toJson(update.explicitTopics()) : null;
+        Timestamp at = Timestamp.from(update.at());
+        
+        // INSERT
+        ps.setLong(1, update.userId());
+        ps.setLong(2, update.profileId());
+        ps.setString(3, boosts);
+        ps.setString(4, baselineJson);
+        ps.setTimestamp(5, at);
+        ps.setDouble(6, halfLifeSeconds);
+        ps.setString(7, explicitTopics);
+        ps.setString(8, recentTopics);
+        ps.setInt(9, maxRecentTopics);
+        ps.setTimestamp(10, at);
+        // ON CONFLICT DO UPDATE
+        ps.setString(11, boosts);
+        ps.setString(12, baselineJson);
+        ps.setDouble(13, halfLifeSeconds);
+        ps.setString(14, explicitTopics);
+        ps.setString(15, recentTopics);
+        ps.setInt(16, maxRecentTopics);
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize interest update", e);
+        }
+    }
+    
+    /**
+     * Merged interactions of one (user, profile)
+     * 
+     * @param boosts Score to add per topic (after decaying the stored score to at)
+     * @param recentTopics Topics to put in front of recent_topics, most recent first
+     * @param explicitTopics New explicit topics, or null to keep the stored ones
+     * @param at Time the merged vector is valid as of
+     */
+    public record InterestUpdate(
+        Long userId,
+        Long profileId,
+        Map<String, Double> boosts,
+        List<String> recentTopics,
+        List<String> explicitTopics,
+        Instant at
+    ) {
+    }
+}
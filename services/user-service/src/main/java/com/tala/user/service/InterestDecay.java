@@ -0,0 +1,71 @@
+package com.tala.user.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Time-based interest decay, applied lazily
+ * 
+ * A stored interest vector is valid as of its interest_vector_at. Scores drift back to the
+ * topic baseline with a configurable half-life; readers decay to "now" on read and writers
+ * decay while merging (users.merge_interest_vector), so no write touches every topic just
+ * because time passed.
+ */
+@Component
+public class InterestDecay {
+    
+    /**
+     * Neutral score per topic; unknown topics default to 0.5
+     */
+    private static final Map<String, Double> BASELINE = Map.of(
+        "sleep", 0.7,
+        "food", 0.7,
+        "health", 0.8,
+        "development", 0.6,
+        "social", 0.5,
+        "activity", 0.5,
+        "mood", 0.6
+    );
+    
+    private static final double UNKNOWN_TOPIC_BASELINE = 0.5;
+    
+    private final Duration halfLife;
+    
+    public InterestDecay(@Value("${interest.decay.half-life:P14D}") Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+    
+    public Map<String, Double> baseline() {
+        return new HashMap<>(BASELINE);
+    }
+    
+    public double halfLifeSeconds() {
+        return halfLife.toSeconds();
+    }
+    
+    /**
+     * Decay a stored vector from vectorAt to now (vectors without a timestamp are taken as current)
+     */
+    public Map<String, Double> decay(Map<String, Double> vector, Instant vectorAt, Instant now) {
+        Map<String, Double> decayed = baseline();
+        if (vector == null) {
+            return decayed;
+        }
+        
+        double elapsed = vectorAt != null ? Math.max(0, Duration.between(vectorAt, now).toSeconds()) : 0;
+        double factor = Math.pow(0.5, elapsed / halfLifeSeconds());
+        vector.forEach((topic, score) -> {
+            if (score == null) {
+                return;
+            }
+            double base = BASELINE.getOrDefault(topic, UNKNOWN_TOPIC_BASELINE);
+            decayed.put(topic, Math.min(1.0, Math.max(0.0, base + (score - base) * factor)));
+        });
+        return decayed;
+    }
+}
@@ -0,0 +1,202 @@
+package com.tala.user.service;
+
+import com.tala.user.dto.InterestChangedEvent;
+import com.tala.user.repository.InterestProfileUpsertRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffered interest interaction ingestion
+ * 
+ * Interactions are aggregated per (user, profile) in memory: boosts are summed per topic
+ * and the recent topics kept in order. A flush (every flush interval, or early when many
+ * profiles are pending) writes all pending profiles in one JDBC batch of upserts, so a
+ * burst of taps becomes one row write instead of one read-modify-write per tap.
+ * Each written profile is announced as an InterestChangedEvent.
+ * Pending interactions are lost if the instance dies before flushing; they are
+ * engagement signals, not user data.
+ */
+@Service
+@Slf4j
+public class InterestIngestService {
+    
+    /**
+     * Score boost per unit of interaction weight
+     */
+    static final double BOOST_PER_WEIGHT = 0.1;
+    static final int MAX_RECENT_TOPICS = 10;
+    
+    private final InterestProfileUpsertRepository upsertRepository;
+    private final InterestDecay interestDecay;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<ProfileKey, PendingInteractions> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private final Counter acceptedInteractions;
+    private final Counter flushedProfiles;
+    private final Counter failedFlushes;
+    
+    @Value("${interest.ingest.max-pending-profiles:10000}")
+    private int maxPendingProfiles;
+    
+    public InterestIngestService(InterestProfileUpsertRepository upsertRepository,
+                                 InterestDecay interestDecay,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.upsertRepository = upsertRepository;
+        this.interestDecay = interestDecay;
+        this.eventPublisher = eventPublisher;
+        this.acceptedInteractions = Counter.builder("user.interest.ingest.interactions")
+            .register(meterRegistry);
+        this.flushedProfiles = Counter.builder("user.interest.ingest.flushed")
+            .tag("outcome", "success")
+            .register(meterRegistry);
+        this.failedFlushes = Counter.builder("user.interest.ingest.flushed")
+            .tag("outcome", "failure")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Queue an interaction for the next flush
+     */
+    public void submit(Long userId, Long profileId, String topic, double weight) {
+        pending.compute(new ProfileKey(userId, profileId), (key, interactions) -> {
+            PendingInteractions merged = interactions != null ? interactions : new PendingInteractions();
+            merged.add(topic, weight * BOOST_PER_WEIGHT);
+            return merged;
+        });
+        acceptedInteractions.increment();
+        
+        if (pending.size() >= maxPendingProfiles && flushLock.tryLock()) {
+            try {
+                flushPending();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Write all pending interactions
+     */
+    @Scheduled(fixedDelayString = "${interest.ingest.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    private void flushPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        
+        // remove() is atomic with compute(), so interactions submitted meanwhile go to the next flush
+        Instant now = Instant.now();
+        Map<ProfileKey, PendingInteractions> drained = new HashMap<>();
+        List<InterestProfileUpsertRepository.InterestUpdate> updates = new ArrayList<>();
+        for (ProfileKey key : pending.keySet()) {
+            PendingInteractions interactions = pending.remove(key);
+            if (interactions != null) {
+                drained.put(key, interactions);
+                updates.add(interactions.toUpdate(key, now));
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        
+        try {
+            List<Long> stored = upsertRepository.upsert(
+                updates, interestDecay.baseline(), interestDecay.halfLifeSeconds(), MAX_RECENT_TOPICS);
+            flushedProfiles.increment(updates.size());
+            log.debug("Flushed interest interactions: profiles={}", updates.size());
+            for (int i = 0; i < updates.size(); i++) {
+                publishChange(updates.get(i), stored.get(i));
+            }
+        } catch (Exception e) {
+            failedFlushes.increment(updates.size());
+            log.error("Failed to flush interest interactions: profiles={}, error={}", updates.size(), e.getMessage());
+            // Retry with the next flush, merged with whatever arrived meanwhile
+            drained.forEach((key, interactions) -> pending.merge(key, interactions, PendingInteractions::mergeOlder));
+        }
+    }
+    
+    /**
+     * Announce a written profile (cache invalidation in personalization-service)
+     * 
+     * @param version vector_version as stored; the version readers see, whichever pod wrote last
+     */
+    void publishChange(InterestProfileUpsertRepository.InterestUpdate update, long version) {
+        eventPublisher.publishEvent(InterestChangedEvent.builder()
+            .userId(update.userId())
+            .profileId(update.profileId())
+            .version(version)
+            .occurredAt(update.at())
+            .build());
+    }
+    
+    private record ProfileKey(Long userId, Long profileId) {
+    }
+    
+    /**
+     * Interactions of one (user, profile) since the last flush
+     */
+    private static final class PendingInteractions {
+        
+        private final Map<String, Double> boosts = new HashMap<>();
+        
+        /**
+         * Least recent first
+         */
+        private final LinkedHashSet<String> topics = new LinkedHashSet<>();
+        
+        void add(String topic, double boost) {
+            boosts.merge(topic, boost, Double::sum);
+            topics.remove(topic);
+            topics.add(topic);
+        }
+        
+        /**
+         * Merge older (failed to flush) interactions into these
+         */
+        PendingInteractions mergeOlder(PendingInteractions older) {
+            older.boosts.forEach((topic, boost) -> boosts.merge(topic, boost, Double::sum));
+            LinkedHashSet<String> ordered = new LinkedHashSet<>(older.topics);
+            ordered.removeAll(topics);
+            ordered.addAll(topics);
+            topics.clear();
+            topics.addAll(ordered);
+            return this;
+        }
+        
+        InterestProfileUpsertRepository.InterestUpdate toUpdate(ProfileKey key, Instant at) {
+            List<String> recentTopics = new ArrayList<>(topics).reversed();
+            return new InterestProfileUpsertRepository.InterestUpdate(
+                key.userId(), key.profileId(), boosts, recentTopics, null, at);
+        }
+    }
+}
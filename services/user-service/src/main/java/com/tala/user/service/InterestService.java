@@ -1,7 +1,9 @@
 package com.tala.user.service;
 
 import com.tala.user.domain.UserInterestProfile;
+import com.tala.user.dto.InteractionBatchRequest;
 import com.tala.user.dto.InterestScoresResponse;
+import com.tala.user.repository.InterestProfileUpsertRepository;
 import com.tala.user.repository.UserInterestProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,16 +15,21 @@ import java.util.*;
 
 /**
  * User interest tracking service
+ * 
+ * Interactions go through InterestIngestService (buffered, batched upserts); stored
+ * interest vectors are decayed lazily on read (see InterestDecay).
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class InterestService {
     
-    private final UserInterestProfileRepository repository;
+    private static final double EXPLICIT_TOPIC_BOOST = 0.3;
     
-    private static final double DECAY_FACTOR = 0.95;
-    private static final int MAX_RECENT_TOPICS = 10;
+    private final UserInterestProfileRepository repository;
+    private final InterestProfileUpsertRepository upsertRepository;
+    private final InterestIngestService interestIngestService;
+    private final InterestDecay interestDecay;
     
     /**
      * Get interest scores for user and profile
@@ -38,7 +45,8 @@ public class InterestService {
             return InterestScoresResponse.builder()
                 .userId(userId)
                 .profileId(profileId)
-                .interestVector(getDefaultInterestVector())
+                .version(0L)
+                .interestVector(interestDecay.baseline())
                 .explicitTopics(new ArrayList<>())
                 .recentTopics(new ArrayList<>())
                 .build();
@@ -49,8 +57,9 @@ public class InterestService {
         return InterestScoresResponse.builder()
             .userId(userId)
             .profileId(profileId)
-            .interestVector(profile.getInterestVector() != null ? 
-                profile.getInterestVector() : getDefaultInterestVector())
+            .version(profile.getVectorVersion())
+            .interestVector(interestDecay.decay(
+                profile.getInterestVector(), profile.getInterestVectorAt(), Instant.now()))
             .explicitTopics(profile.getExplicitTopics() != null ? 
                 profile.getExplicitTopics() : new ArrayList<>())
             .recentTopics(profile.getRecentTopics() != null ? 
@@ -59,52 +68,25 @@ public class InterestService {
     }
     
     /**
-     * Track user interaction with a topic
+     * Track user interaction with a topic (written with the next ingest flush)
      */
-    @Transactional
     public void trackInteraction(Long userId, Long profileId, String topic, Double weight) {
         log.debug("Tracking interaction: userId={}, profileId={}, topic={}, weight={}", 
             userId, profileId, topic, weight);
         
-        UserInterestProfile profile = repository.findByUserIdAndProfileId(userId, profileId)
-            .orElseGet(() -> createNewProfile(userId, profileId));
-        
-        // Update interest vector
-        Map<String, Double> interestVector = profile.getInterestVector();
-        if (interestVector == null) {
-            interestVector = getDefaultInterestVector();
-        }
-        
-        // Apply decay to all scores
-        for (Map.Entry<String, Double> entry : interestVector.entrySet()) {
-            entry.setValue(entry.getValue() * DECAY_FACTOR);
-        }
-        
-        // Boost the interacted topic
-        double currentScore = interestVector.getOrDefault(topic, 0.5);
-        double newScore = Math.min(currentScore + (weight * 0.1), 1.0);
-        interestVector.put(topic, newScore);
-        
-        profile.setInterestVector(interestVector);
-        
-        // Update recent topics
-        List<String> recentTopics = profile.getRecentTopics();
-        if (recentTopics == null) {
-            recentTopics = new ArrayList<>();
-        }
+        interestIngestService.submit(userId, profileId, topic, weight != null ? weight : 1.0);
+    }
         
-        // Remove if already exists and add to front
-        recentTopics.remove(topic);
-        recentTopics.add(0, topic);
+    /**
+     * Track a batch of interactions (written with the next ingest flush)
+     */
+    public void trackInteractions(List<InteractionBatchRequest.Interaction> interactions) {
+        log.debug("Tracking {} interactions", interactions.size());
         
-        // Keep only MAX_RECENT_TOPICS
-        if (recentTopics.size() > MAX_RECENT_TOPICS) {
-            recentTopics = recentTopics.subList(0, MAX_RECENT_TOPICS);
+        for (InteractionBatchRequest.Interaction interaction : interactions) {
+            interestIngestService.submit(interaction.getUserId(), interaction.getProfileId(), interaction.getTopic(),
+                interaction.getWeight() != null ? interaction.getWeight() : 1.0);
         }
-        
-        profile.setRecentTopics(recentTopics);
-        
-        repository.save(profile);
     }
     
     /**
@@ -115,46 +97,19 @@ public class InterestService {
         log.debug("Setting explicit topics: userId={}, profileId={}, topics={}", 
             userId, profileId, topics);
         
-        UserInterestProfile profile = repository.findByUserIdAndProfileId(userId, profileId)
-            .orElseGet(() -> createNewProfile(userId, profileId));
-        
-        profile.setExplicitTopics(topics);
-        
-        // Boost interest scores for explicit topics
-        Map<String, Double> interestVector = profile.getInterestVector();
-        if (interestVector == null) {
-            interestVector = getDefaultInterestVector();
-        }
-        
+        // Boost interest scores for explicit topics, merged like interactions
+        Map<String, Double> boosts = new HashMap<>();
         for (String topic : topics) {
-            interestVector.put(topic, Math.min(interestVector.getOrDefault(topic, 0.5) + 0.3, 1.0));
+            boosts.put(topic, EXPLICIT_TOPIC_BOOST);
         }
         
-        profile.setInterestVector(interestVector);
-        
-        repository.save(profile);
-    }
-    
-    private UserInterestProfile createNewProfile(Long userId, Long profileId) {
-        return UserInterestProfile.builder()
-            .userId(userId)
-            .profileId(profileId)
-            .interestVector(getDefaultInterestVector())
-            .explicitTopics(new ArrayList<>())
-            .recentTopics(new ArrayList<>())
-            .build();
-    }
-    
-    private Map<String, Double> getDefaultInterestVector() {
-        Map<String, Double> vector = new HashMap<>();
-        // Default neutral scores for all topics
-        vector.put("sleep", 0.7);
-        vector.put("food", 0.7);
-        vector.put("health", 0.8);
-        vector.put("development", 0.6);
-        vector.put("social", 0.5);
-        vector.put("activity", 0.5);
-        vector.put("mood", 0.6);
-        return vector;
+        InterestProfileUpsertRepository.InterestUpdate update = new InterestProfileUpsertRepository.InterestUpdate(
+            userId, profileId, boosts, List.of(), topics, Instant.now());
+        List<Long> stored = upsertRepository.upsert(
+            List.of(update),
+            interestDecay.baseline(),
+            interestDecay.halfLifeSeconds(),
+            InterestIngestService.MAX_RECENT_TOPICS);
+        interestIngestService.publishChange(update, stored.get(0));
     }
 }
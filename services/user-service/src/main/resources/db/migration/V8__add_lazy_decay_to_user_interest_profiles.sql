@@ -0,0 +1,57 @@
+-- Lazy interest decay and batched interaction upserts
+-- interest_vector holds the scores as of interest_vector_at; readers decay them to "now"
+-- towards the baseline, writers merge decayed scores and new boosts in one upsert.
+
+ALTER TABLE users.user_interest_profiles
+ADD COLUMN interest_vector_at TIMESTAMP;
+
+-- Decay current_vector from current_at to merged_at (half-life towards baseline), add boosts, clamp to [0, 1].
+-- Rows without current_at (written before lazy decay) are taken as current.
+CREATE OR REPLACE FUNCTION users.merge_interest_vector(
+    current_vector JSONB,
+    current_at TIMESTAMP,
+    boosts JSONB,
+    baseline JSONB,
+    merged_at TIMESTAMP,
+    half_life_seconds DOUBLE PRECISION
+) RETURNS JSONB
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT COALESCE(jsonb_object_agg(topic,
+               LEAST(1.0, GREATEST(0.0,
+                   base + (score - base) * power(0.5, elapsed / half_life_seconds) + boost))),
+           '{}'::jsonb)
+    FROM (
+        SELECT t.topic,
+               COALESCE((baseline ->> t.topic)::float8, 0.5) AS base,
+               COALESCE((current_vector ->> t.topic)::float8, (baseline ->> t.topic)::float8, 0.5) AS score,
+               COALESCE((boosts ->> t.topic)::float8, 0) AS boost,
+               GREATEST(0, EXTRACT(EPOCH FROM merged_at - COALESCE(current_at, merged_at))) AS elapsed
+        FROM jsonb_object_keys(COALESCE(current_vector, '{}'::jsonb) || baseline || boosts) AS t(topic)
+    ) scores
+$$;
+
+-- Put new_topics (most recent first) in front of current_topics, without duplicates, keep max_topics
+CREATE OR REPLACE FUNCTION users.merge_recent_topics(
+    current_topics JSONB,
+    new_topics JSONB,
+    max_topics INTEGER
+) RETURNS JSONB
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT COALESCE(jsonb_agg(topic ORDER BY position), '[]'::jsonb)
+    FROM (
+        SELECT topic, position
+        FROM (
+            SELECT DISTINCT ON (topic) topic, position
+            FROM (
+                SELECT value AS topic, ordinality AS position
+                FROM jsonb_array_elements_text(COALESCE(new_topics, '[]'::jsonb)) WITH ORDINALITY
+                UNION ALL
+                SELECT value, 1000000 + ordinality
+                FROM jsonb_array_elements_text(COALESCE(current_topics, '[]'::jsonb)) WITH ORDINALITY
+            ) candidates
+            ORDER BY topic, position
+        ) deduplicated
+        ORDER BY position
+        LIMIT max_topics
+    ) kept
+$$;
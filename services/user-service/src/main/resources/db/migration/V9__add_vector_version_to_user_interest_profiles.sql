@@ -0,0 +1,6 @@
+-- Interest profile version for cache invalidation
+-- Incremented by every upsert of the row, so consumers can order writes without
+-- depending on the clocks of the pods that wrote them.
+
+ALTER TABLE users.user_interest_profiles
+ADD COLUMN vector_version BIGINT NOT NULL DEFAULT 0;
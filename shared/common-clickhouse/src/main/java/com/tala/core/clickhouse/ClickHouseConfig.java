@@ -0,0 +1,41 @@
+package com.tala.core.clickhouse;
+
+import com.clickhouse.jdbc.ClickHouseDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * ClickHouse access next to the primary PostgreSQL datasource
+ * 
+ * The ClickHouse DataSource is deliberately not a bean, so Spring Boot keeps
+ * auto-configuring the PostgreSQL DataSource (JPA, Flyway). Since a second
+ * JdbcTemplate disables the auto-configured one, the PostgreSQL JdbcTemplate
+ * is declared here as @Primary.
+ */
+@Configuration
+public class ClickHouseConfig {
+    
+    @Bean
+    @Primary
+    public JdbcTemplate jdbcTemplate(DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
+    
+    @Bean(name = "clickHouseJdbcTemplate")
+    public JdbcTemplate clickHouseJdbcTemplate(
+            @Value("${spring.clickhouse.url}") String url,
+            @Value("${spring.clickhouse.username:default}") String username,
+            @Value("${spring.clickhouse.password:}") String password) throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        return new JdbcTemplate(new ClickHouseDataSource(url, properties));
+    }
+}
@@ -0,0 +1,137 @@
+package com.tala.core.clickhouse;
+
+import com.tala.core.exception.ErrorCode;
+import com.tala.core.exception.TalaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Budgeted ClickHouse reads
+ * 
+ * Every query runs with its own max_execution_time (SETTINGS clause, enforced by the
+ * server) and under a per-instance concurrency limit. Callers that cannot get a slot
+ * within the queue timeout are rejected with QUERY_TIMEOUT instead of piling up, so a
+ * refresh storm degrades to fast errors rather than saturating the cluster.
+ * Identical queries (same SQL and arguments) in flight at the same time run once:
+ * later callers wait for the first one's result (per-key single flight), so cache
+ * misses of one key do not fan out while misses of other keys proceed in parallel.
+ */
+@Component
+@Slf4j
+public class ClickHouseQueryExecutor {
+    
+    private final JdbcTemplate clickHouseJdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    private final Counter rejectedCounter;
+    private final Counter sharedCounter;
+    private final ConcurrentHashMap<QueryKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    
+    public ClickHouseQueryExecutor(
+            @Qualifier("clickHouseJdbcTemplate") JdbcTemplate clickHouseJdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.clickhouse.max-concurrent-queries:8}") int maxConcurrentQueries,
+            @Value("${spring.clickhouse.queue-timeout:PT2S}") Duration queueTimeout) {
+        this.clickHouseJdbcTemplate = clickHouseJdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxConcurrentQueries, true);
+        this.queueTimeout = queueTimeout;
+        this.rejectedCounter = Counter.builder("clickhouse.query.rejected").register(meterRegistry);
+        this.sharedCounter = Counter.builder("clickhouse.query.shared")
+                .description("Callers served by an identical query already in flight")
+                .register(meterRegistry);
+        Gauge.builder("clickhouse.query.in_flight", permits, p -> maxConcurrentQueries - p.availablePermits())
+                .register(meterRegistry);
+    }
+    
+    public <T> List<T> query(String name, String sql, Duration maxExecutionTime, RowMapper<T> rowMapper, Object... args) {
+        return singleFlight(new QueryKey(sql, false, Arrays.asList(args)),
+                () -> execute(name, sql, maxExecutionTime, budgeted -> clickHouseJdbcTemplate.query(budgeted, rowMapper, args)));
+    }
+    
+    public <T> T queryForObject(String name, String sql, Duration maxExecutionTime, RowMapper<T> rowMapper, Object... args) {
+        return singleFlight(new QueryKey(sql, true, Arrays.asList(args)),
+                () -> execute(name, sql, maxExecutionTime, budgeted -> clickHouseJdbcTemplate.queryForObject(budgeted, rowMapper, args)));
+    }
+    
+    /**
+     * Run the query, or wait for the identical one already in flight
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T singleFlight(QueryKey key, Supplier<T> query) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            sharedCounter.increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        
+        try {
+            T result = query.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+    
+    private <T> T execute(String name, String sql, Duration maxExecutionTime, Function<String, T> query) {
+        try {
+            if (!permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejectedCounter.increment();
+                log.warn("Rejected ClickHouse query {}: {} queries in flight", name, permits.availablePermits());
+                throw new TalaException(ErrorCode.QUERY_TIMEOUT, "Analytics is busy, retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TalaException(ErrorCode.QUERY_TIMEOUT, "Interrupted waiting for an analytics query slot");
+        }
+        
+        try {
+            return Timer.builder("query.clickhouse.query")
+                    .tag("query", name)
+                    .register(meterRegistry)
+                    .record(() -> query.apply(withBudget(sql, maxExecutionTime)));
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private static String withBudget(String sql, Duration maxExecutionTime) {
+        long seconds = Math.max(1, maxExecutionTime.toSeconds());
+        return sql.stripTrailing() + "\nSETTINGS max_execution_time = " + seconds;
+    }
+    
+    /**
+     * Identity of a query for single flight
+     */
+    private record QueryKey(String sql, boolean single, List<Object> args) {
+    }
+}
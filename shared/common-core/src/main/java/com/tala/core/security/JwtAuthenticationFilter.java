@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,6 +17,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * JWT Authentication Filter for servlet-based applications
@@ -63,6 +65,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = JwtUtils.extractTokenFromHeader(authHeader);
             
             if (token != null && JwtUtils.validateToken(token, jwtSecret)) {
+                // Service-to-service call without a user (e.g. scheduled jobs)
+                String serviceName = JwtUtils.getServiceName(token, jwtSecret);
+                if (serviceName != null) {
+                    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                        setServiceAuthentication(request, serviceName);
+                        log.debug("Set authentication for service: {}", serviceName);
+                    }
+                    return;
+                }
+                
                 // Verify it's an access token
                 if (!JwtUtils.isAccessToken(token, jwtSecret)) {
                     log.warn("Token is not an access token");
@@ -102,6 +114,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
     
+    private void setServiceAuthentication(HttpServletRequest request, String serviceName) {
+        UsernamePasswordAuthenticationToken authentication = 
+            new UsernamePasswordAuthenticationToken(
+                "service:" + serviceName,
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))
+            );
+        
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+    
     @Override
     protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
         String path = request.getRequestURI();
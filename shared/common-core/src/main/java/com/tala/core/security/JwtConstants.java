@@ -19,12 +19,15 @@ public final class JwtConstants {
     public static final String CLAIM_USER_ID = "userId";
     public static final String CLAIM_EMAIL = "email";
     public static final String CLAIM_TOKEN_TYPE = "tokenType";
+    public static final String CLAIM_SERVICE = "service";
     
     // Token types
     public static final String TOKEN_TYPE_ACCESS = "access";
     public static final String TOKEN_TYPE_REFRESH = "refresh";
+    public static final String TOKEN_TYPE_SERVICE = "service";
     
     // Token expiration
     public static final long ACCESS_TOKEN_EXPIRATION_MS = 3600000L; // 1 hour
     public static final long REFRESH_TOKEN_EXPIRATION_MS = 604800000L; // 7 days
+    public static final long SERVICE_TOKEN_EXPIRATION_MS = 300000L; // 5 minutes
 }
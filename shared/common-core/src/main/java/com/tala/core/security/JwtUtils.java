@@ -35,6 +35,21 @@ public final class JwtUtils {
         return generateToken(userId, email, secret, JwtConstants.REFRESH_TOKEN_EXPIRATION_MS, JwtConstants.TOKEN_TYPE_REFRESH);
     }
     
+    /**
+     * Generate a service token: identifies the calling service, carries no user
+     */
+    public static String generateServiceToken(String serviceName, String secret) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject("service:" + serviceName)
+                .claim(JwtConstants.CLAIM_SERVICE, serviceName)
+                .claim(JwtConstants.CLAIM_TOKEN_TYPE, JwtConstants.TOKEN_TYPE_SERVICE)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + JwtConstants.SERVICE_TOKEN_EXPIRATION_MS))
+                .signWith(getSigningKey(secret), SignatureAlgorithm.HS256)
+                .compact();
+    }
+    
     /**
      * Generate JWT token with custom expiration and type
      */
@@ -154,6 +169,17 @@ public final class JwtUtils {
         return JwtConstants.TOKEN_TYPE_ACCESS.equals(tokenType);
     }
     
+    /**
+     * Name of the calling service if the token is a service token, else null
+     */
+    public static String getServiceName(String token, String secret) {
+        Claims claims = getClaimsFromToken(token, secret);
+        if (claims == null || !JwtConstants.TOKEN_TYPE_SERVICE.equals(claims.get(JwtConstants.CLAIM_TOKEN_TYPE, String.class))) {
+            return null;
+        }
+        return claims.get(JwtConstants.CLAIM_SERVICE, String.class);
+    }
+    
     /**
      * Validate that token is a refresh token
      */